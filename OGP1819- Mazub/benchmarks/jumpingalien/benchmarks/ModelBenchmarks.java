@@ -0,0 +1,279 @@
+package jumpingalien.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.ModelException;
+import jumpingalien.util.Sprite;
+
+/**
+ * Micro benchmarks for the hot paths of the model, run on synthetic worlds that
+ * are built through the facade.
+ *
+ * Every benchmark is run for each combination of world size, object count and
+ * object mix. Each run consists of warmup iterations followed by measured
+ * iterations of a fixed duration, each on a freshly built world. The average
+ * time per operation and its standard deviation over the measured iterations
+ * are written as CSV, one line per run. A runtime exception thrown by the model
+ * ends the benchmarks.
+ *
+ * Usage: ModelBenchmarks [-out file.csv] [-warmup N] [-iterations N]
+ * [-time ms] [-filter benchmarkName]
+ */
+public class ModelBenchmarks {
+
+	private static final int TILE_LENGTH = 50;
+	private static final int[][] WORLD_SIZES = { { 100, 20 }, { 400, 40 } };
+	private static final int[] OBJECT_COUNTS = { 10, 50, 100 };
+	private static final String[] OBJECT_MIXES = { "mixed", "enemies", "plants" };
+	private static final int NB_PROBES = 1024;
+
+	private static final IFacade facade = new Facade();
+
+	/**
+	 * Sink for the results of the benchmarked operations, so that they cannot
+	 * be optimised away.
+	 */
+	public static volatile long sink;
+
+	private interface Benchmark {
+		long run(Setup setup, int op);
+	}
+
+	private static final Map<String, Benchmark> BENCHMARKS = new LinkedHashMap<>();
+
+	static {
+		BENCHMARKS.put("World.advanceTime", (s, op) -> {
+			s.world.advanceTime(0.02);
+			return s.world.getGameObjects().size();
+		});
+		BENCHMARKS.put("World.getGeologicalFeature", (s, op) -> s.world
+				.getGeologicalFeature(s.probeX(op), s.probeY(op)).getNumber());
+		BENCHMARKS.put("GameObject.collidesWithGeological", (s, op) -> s.object(op)
+				.collidesWithGeological(s.probeX(op), s.probeY(op), Geological.WATER) ? 1 : 0);
+		BENCHMARKS.put("GameObject.collidesWithGeologicals", (s, op) -> s.object(op)
+				.collidesWithGeologicals(s.probeX(op), s.probeY(op), s.hazards) ? 1 : 0);
+		BENCHMARKS.put("GameObject.objectBumpsOnOtherObject", (s, op) -> s.object(op)
+				.objectBumpsOnOtherObject(s.probeX(op), s.probeY(op)) ? 1 : 0);
+		BENCHMARKS.put("GameObject.isStandingOnGameObject", (s, op) -> s.object(op)
+				.isStandingOnGameObject(s.probeX(op), s.probeY(op)) ? 1 : 0);
+		BENCHMARKS.put("Mazub.eatPlants", (s, op) -> {
+			s.mazub.eatPlants(s.probeX(op), s.probeY(op), 0.001);
+			return s.mazub.getHitPoints();
+		});
+	}
+
+	/**
+	 * A synthetic world with its game objects and a fixed sequence of probe
+	 * positions.
+	 */
+	private static final class Setup {
+
+		final World world;
+		final Mazub mazub;
+		final List<GameObject> objects = new ArrayList<>();
+		final HashSet<Geological> hazards = new HashSet<>(
+				Arrays.asList(Geological.WATER, Geological.MAGMA, Geological.GAS));
+		final int[] probesX = new int[NB_PROBES];
+		final int[] probesY = new int[NB_PROBES];
+
+		Setup(int nbTilesX, int nbTilesY, int nbObjects, String mix) {
+			Random random = new Random(nbTilesX * 31 + nbTilesY);
+			facade.cleanAllSlimeIds();
+			world = facade.createWorld(TILE_LENGTH, nbTilesX, nbTilesY,
+					new int[] { nbTilesX - 1, 2 }, 1000, 600,
+					createTerrain(nbTilesX, nbTilesY, random));
+			world.setMaxGameObjects(nbObjects + 1);
+			int width = nbTilesX * TILE_LENGTH;
+			int ground = 2 * TILE_LENGTH;
+			mazub = facade.createMazub(TILE_LENGTH, ground, mazubSprites());
+			facade.addGameObject(mazub, world);
+			objects.add(mazub);
+
+			List<School<?>> schools = new ArrayList<>();
+			for (int i = 1; i < nbObjects; i++) {
+				int x = TILE_LENGTH * 3 + (int) ((long) i * (width - TILE_LENGTH * 6) / nbObjects);
+				GameObject object = createObject(mix, i, x, ground, schools);
+				try {
+					facade.addGameObject(object, world);
+					objects.add(object);
+				} catch (ModelException exc) {
+					// skip objects that cannot be placed
+				}
+			}
+			facade.startGame(world);
+
+			for (int i = 0; i < NB_PROBES; i++) {
+				probesX[i] = random.nextInt(width - 3 * TILE_LENGTH);
+				probesY[i] = random.nextInt((nbTilesY - 3) * TILE_LENGTH);
+			}
+		}
+
+		private GameObject createObject(String mix, int i, int x, int y, List<School<?>> schools) {
+			int kind;
+			switch (mix) {
+			case "enemies":
+				kind = i % 2;
+				break;
+			case "plants":
+				kind = 2 + i % 2;
+				break;
+			default:
+				kind = i % 4;
+			}
+			switch (kind) {
+			case 0:
+				if (schools.size() < 10)
+					schools.add(facade.createSchool(world));
+				return facade.createSlime(i, x, y, schools.get(i % schools.size()),
+						new Sprite("Slime Left", 40, 30), new Sprite("Slime Right", 40, 30));
+			case 1:
+				return facade.createShark(x, y, new Sprite("Shark Rest", 60, 30),
+						new Sprite("Shark Left", 60, 30), new Sprite("Shark Right", 60, 30));
+			case 2:
+				return facade.createSneezewort(x, y + TILE_LENGTH,
+						new Sprite("Sneezewort Left", 40, 30), new Sprite("Sneezewort Right", 40, 30));
+			default:
+				return facade.createSkullcab(x, y + TILE_LENGTH,
+						new Sprite("Skullcab Up", 50, 40), new Sprite("Skullcab Down", 50, 40));
+			}
+		}
+
+		GameObject object(int op) {
+			return objects.get(op % objects.size());
+		}
+
+		int probeX(int op) {
+			return probesX[op % NB_PROBES];
+		}
+
+		int probeY(int op) {
+			return probesY[op % NB_PROBES];
+		}
+	}
+
+	/**
+	 * Return the geological features of a world with two rows of solid ground and
+	 * some randomly placed pools of water, magma and gas above it.
+	 */
+	private static int[] createTerrain(int nbTilesX, int nbTilesY, Random random) {
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int col = 0; col < nbTilesX; col++) {
+			features[col] = Geological.SOLID_GROUND.getNumber();
+			features[nbTilesX + col] = Geological.SOLID_GROUND.getNumber();
+		}
+		Geological[] pools = { Geological.WATER, Geological.MAGMA, Geological.GAS, Geological.ICE };
+		for (int pool = 0; pool < nbTilesX / 5; pool++) {
+			int col = random.nextInt(nbTilesX);
+			int row = 4 + random.nextInt(nbTilesY - 4);
+			features[row * nbTilesX + col] = pools[random.nextInt(pools.length)].getNumber();
+		}
+		return features;
+	}
+
+	static Sprite[] mazubSprites() {
+		Sprite[] sprites = new Sprite[18];
+		sprites[0] = new Sprite("Stationary Idle", 100, 50);
+		sprites[1] = new Sprite("Stationary Ducking", 75, 30);
+		for (int i = 2; i < sprites.length; i++)
+			sprites[i] = new Sprite("Moving " + i, 90, (i == 6 || i == 7) ? 30 : 45);
+		return sprites;
+	}
+
+	public static void main(String[] args) throws FileNotFoundException {
+		PrintStream out = System.out;
+		int nbWarmups = 3;
+		int nbIterations = 5;
+		long iterationNanos = 200_000_000L;
+		String filter = null;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-out":
+				out = new PrintStream(args[++i]);
+				break;
+			case "-warmup":
+				nbWarmups = Integer.parseInt(args[++i]);
+				break;
+			case "-iterations":
+				nbIterations = Integer.parseInt(args[++i]);
+				break;
+			case "-time":
+				iterationNanos = Long.parseLong(args[++i]) * 1_000_000L;
+				break;
+			case "-filter":
+				filter = args[++i];
+				break;
+			}
+		}
+
+		out.println("benchmark,tilesX,tilesY,objects,mix,iterations,nsPerOp,stddev");
+		for (Map.Entry<String, Benchmark> benchmark : BENCHMARKS.entrySet()) {
+			if (filter != null && !benchmark.getKey().contains(filter))
+				continue;
+			for (int[] size : WORLD_SIZES)
+				for (int nbObjects : OBJECT_COUNTS)
+					for (String mix : OBJECT_MIXES) {
+						double[] scores = new double[nbIterations];
+						for (int i = 0; i < nbWarmups + nbIterations; i++) {
+							Setup setup = new Setup(size[0], size[1], nbObjects, mix);
+							double score = measure(benchmark.getValue(), setup, iterationNanos);
+							if (i >= nbWarmups)
+								scores[i - nbWarmups] = score;
+						}
+						out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%s,%d,%.1f,%.1f",
+								benchmark.getKey(), size[0], size[1], nbObjects, mix,
+								nbIterations, mean(scores), stddev(scores)));
+						out.flush();
+					}
+		}
+		if (out != System.out)
+			out.close();
+	}
+
+	/**
+	 * Return the average time in nanoseconds of the given benchmark on the given
+	 * setup, running it repeatedly for the given duration.
+	 */
+	private static double measure(Benchmark benchmark, Setup setup, long durationNanos) {
+		long result = 0;
+		int ops = 0;
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			for (int i = 0; i < 64; i++)
+				result += benchmark.run(setup, ops++);
+			elapsed = System.nanoTime() - start;
+		} while (elapsed < durationNanos);
+		sink = result;
+		return (double) elapsed / ops;
+	}
+
+	private static double mean(double[] values) {
+		double sum = 0;
+		for (double value : values)
+			sum += value;
+		return sum / values.length;
+	}
+
+	private static double stddev(double[] values) {
+		if (values.length < 2)
+			return 0;
+		double mean = mean(values);
+		double sum = 0;
+		for (double value : values)
+			sum += (value - mean) * (value - mean);
+		return Math.sqrt(sum / (values.length - 1));
+	}
+
+}
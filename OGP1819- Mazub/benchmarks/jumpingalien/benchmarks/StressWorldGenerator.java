@@ -0,0 +1,336 @@
+package jumpingalien.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.GameObject;
+import jumpingalien.model.Geological;
+import jumpingalien.model.ModelMetrics;
+import jumpingalien.model.School;
+import jumpingalien.model.World;
+import jumpingalien.util.ModelException;
+import jumpingalien.util.Sprite;
+
+/**
+ * Builds large synthetic worlds through the facade, to see how the model
+ * scales beyond the shipped levels.
+ *
+ * A generated world has two rows of solid ground. Pools of water and magma on
+ * top of the ground cover the requested fraction of its width, and platforms of
+ * solid ground and ice and pockets of gas float in the air above it. Sharks are
+ * spread over the pools, slimes over the dry ground and plants over the air.
+ * Objects that cannot be placed where they are spread to (e.g. because they
+ * overlap a platform) are skipped and counted. The limits on the number of game
+ * objects and schools of the world are raised to fit the requested counts.
+ *
+ * Generating a world clears the slime ids, so slimes of previously generated
+ * worlds may share ids with the slimes of the new world.
+ *
+ * Run as a soak test: StressWorldGenerator [-tilesx N] [-tilesy N] [-sharks N]
+ * [-slimes N] [-schools N] [-sneezeworts N] [-skullcabs N] [-liquid fraction]
+ * [-platforms fraction] [-seed N] [-ticks N] [-dt seconds] [-parallel true]
+ * [-entitysystems true] [-activemargin pixels]
+ */
+public class StressWorldGenerator {
+
+	private static final IFacade facade = new Facade();
+
+	private static final int GROUND_ROWS = 2;
+	private static final int MAX_POOL_WIDTH = 12;
+	private static final int MAX_POOL_DEPTH = 4;
+	private static final int BORDER_COLUMNS = 5;
+
+	private int tileLength = 50;
+	private int nbTilesX = 1000;
+	private int nbTilesY = 50;
+	private double liquidCoverage = 0.2;
+	private double magmaShare = 0.25;
+	private double platformDensity = 0.02;
+	private double iceShare = 0.3;
+	private double gasDensity = 0.002;
+	private int nbSharks = 50;
+	private int nbSlimes = 200;
+	private int nbSchools = 20;
+	private int nbSneezeworts = 100;
+	private int nbSkullcabs = 100;
+	private long seed = 1;
+
+	private int nbSkipped;
+
+	public void setTileLength(int tileLength) {
+		this.tileLength = tileLength;
+	}
+
+	public void setSize(int nbTilesX, int nbTilesY) {
+		if (nbTilesX < 2 * BORDER_COLUMNS || nbTilesY < GROUND_ROWS + MAX_POOL_DEPTH + 2)
+			throw new IllegalArgumentException("World too small: " + nbTilesX + "x" + nbTilesY);
+		this.nbTilesX = nbTilesX;
+		this.nbTilesY = nbTilesY;
+	}
+
+	/**
+	 * Set the fraction of the columns covered by pools of water or magma, and the
+	 * fraction of those pools that are magma.
+	 */
+	public void setLiquid(double coverage, double magmaShare) {
+		this.liquidCoverage = coverage;
+		this.magmaShare = magmaShare;
+	}
+
+	/**
+	 * Set the fraction of the air tiles that are platforms, the fraction of those
+	 * platforms that are ice, and the fraction of the air tiles that are gas.
+	 */
+	public void setTerrainMix(double platformDensity, double iceShare, double gasDensity) {
+		this.platformDensity = platformDensity;
+		this.iceShare = iceShare;
+		this.gasDensity = gasDensity;
+	}
+
+	public void setEnemies(int nbSharks, int nbSlimes, int nbSchools) {
+		this.nbSharks = nbSharks;
+		this.nbSlimes = nbSlimes;
+		this.nbSchools = Math.max(1, nbSchools);
+	}
+
+	public void setPlants(int nbSneezeworts, int nbSkullcabs) {
+		this.nbSneezeworts = nbSneezeworts;
+		this.nbSkullcabs = nbSkullcabs;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Return the number of objects that could not be placed in the last
+	 * generated world.
+	 */
+	public int getNbSkipped() {
+		return nbSkipped;
+	}
+
+	/**
+	 * Build a new world with a Mazub at its left border and the target tile at
+	 * its right border, without starting the game.
+	 */
+	public World generate() {
+		Random random = new Random(seed);
+		nbSkipped = 0;
+		facade.cleanAllSlimeIds();
+
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int row = 0; row < GROUND_ROWS; row++)
+			for (int col = 0; col < nbTilesX; col++)
+				features[row * nbTilesX + col] = Geological.SOLID_GROUND.getNumber();
+		List<int[]> waterPools = createPools(features, random);
+		createPlatforms(features, random);
+
+		World world = facade.createWorld(tileLength, nbTilesX, nbTilesY,
+				new int[] { nbTilesX - 2, GROUND_ROWS }, 1000, 600, features);
+		world.setMaxGameObjects(1 + nbSharks + nbSlimes + nbSneezeworts + nbSkullcabs);
+		world.setMaxSchools(nbSchools);
+
+		int ground = GROUND_ROWS * tileLength;
+		facade.addGameObject(facade.createMazub(tileLength, ground,
+				ModelBenchmarks.mazubSprites()), world);
+
+		for (int i = 0; i < nbSharks && !waterPools.isEmpty(); i++) {
+			int[] pool = waterPools.get(i % waterPools.size());
+			int x = pool[0] * tileLength + random.nextInt(Math.max(1, pool[1] * tileLength - 60));
+			add(world, () -> facade.createShark(x, ground, new Sprite("Shark Rest", 60, 30),
+					new Sprite("Shark Left", 60, 30), new Sprite("Shark Right", 60, 30)));
+		}
+		nbSkipped += waterPools.isEmpty() ? nbSharks : 0;
+
+		List<School<?>> schools = new ArrayList<>();
+		for (int i = 0; i < nbSchools; i++)
+			schools.add(facade.createSchool(world));
+		int dryWidth = (nbTilesX - 2 * BORDER_COLUMNS) * tileLength;
+		for (int i = 0; i < nbSlimes; i++) {
+			long id = i + 1;
+			int x = BORDER_COLUMNS * tileLength + (int) ((long) i * dryWidth / nbSlimes);
+			School<?> school = schools.get(i % nbSchools);
+			if (isAboveLiquid(features, x, 40))
+				nbSkipped++;
+			else
+				add(world, () -> facade.createSlime(id, x, ground, school,
+						new Sprite("Slime Left", 40, 30), new Sprite("Slime Right", 40, 30)));
+		}
+
+		int airHeight = (nbTilesY - GROUND_ROWS - MAX_POOL_DEPTH - 2) * tileLength;
+		for (int i = 0; i < nbSneezeworts + nbSkullcabs; i++) {
+			int x = BORDER_COLUMNS * tileLength + random.nextInt(dryWidth);
+			int y = (GROUND_ROWS + MAX_POOL_DEPTH + 1) * tileLength + random.nextInt(airHeight);
+			if (i < nbSneezeworts)
+				add(world, () -> facade.createSneezewort(x, y,
+						new Sprite("Sneezewort Left", 40, 30), new Sprite("Sneezewort Right", 40, 30)));
+			else
+				add(world, () -> facade.createSkullcab(x, y,
+						new Sprite("Skullcab Up", 50, 40), new Sprite("Skullcab Down", 50, 40)));
+		}
+		return world;
+	}
+
+	private interface ObjectFactory {
+		GameObject create();
+	}
+
+	private void add(World world, ObjectFactory factory) {
+		try {
+			GameObject object = factory.create();
+			try {
+				facade.addGameObject(object, world);
+			} catch (ModelException exc) {
+				object.terminate();
+				nbSkipped++;
+			}
+		} catch (ModelException exc) {
+			nbSkipped++;
+		}
+	}
+
+	/**
+	 * Carve pools of water and magma on top of the ground, and return the
+	 * leftmost column and width of each pool of water.
+	 */
+	private List<int[]> createPools(int[] features, Random random) {
+		List<int[]> waterPools = new ArrayList<>();
+		int liquidColumns = (int) (liquidCoverage * (nbTilesX - 2 * BORDER_COLUMNS));
+		int col = BORDER_COLUMNS;
+		while (liquidColumns > 0 && col < nbTilesX - BORDER_COLUMNS) {
+			int width = Math.min(liquidColumns, 2 + random.nextInt(MAX_POOL_WIDTH - 1));
+			width = Math.min(width, nbTilesX - BORDER_COLUMNS - col);
+			int depth = 1 + random.nextInt(MAX_POOL_DEPTH);
+			boolean magma = random.nextDouble() < magmaShare;
+			Geological liquid = magma ? Geological.MAGMA : Geological.WATER;
+			for (int row = GROUND_ROWS; row < GROUND_ROWS + depth; row++)
+				for (int c = col; c < col + width; c++)
+					features[row * nbTilesX + c] = liquid.getNumber();
+			if (!magma)
+				waterPools.add(new int[] { col, width });
+			liquidColumns -= width;
+			// leave dry ground between pools, in proportion to the coverage
+			int gap = liquidCoverage >= 1 ? 1
+					: 1 + (int) (width * (1 - liquidCoverage) / Math.max(liquidCoverage, 0.01));
+			col += width + gap;
+		}
+		return waterPools;
+	}
+
+	private void createPlatforms(int[] features, Random random) {
+		for (int row = GROUND_ROWS + MAX_POOL_DEPTH + 2; row < nbTilesY; row++)
+			for (int col = 0; col < nbTilesX; col++) {
+				double draw = random.nextDouble();
+				if (draw < platformDensity)
+					features[row * nbTilesX + col] = (random.nextDouble() < iceShare ? Geological.ICE
+							: Geological.SOLID_GROUND).getNumber();
+				else if (draw < platformDensity + gasDensity)
+					features[row * nbTilesX + col] = Geological.GAS.getNumber();
+			}
+	}
+
+	private boolean isAboveLiquid(int[] features, int x, int width) {
+		int row = GROUND_ROWS * nbTilesX;
+		for (int col = x / tileLength; col <= (x + width - 1) / tileLength; col++)
+			if (features[row + col] != Geological.AIR.getNumber())
+				return true;
+		return false;
+	}
+
+	public static void main(String[] args) {
+		StressWorldGenerator generator = new StressWorldGenerator();
+		int nbTicks = 300;
+		double dt = 1.0 / 30;
+		boolean parallel = false;
+		boolean entitySystems = false;
+		int activeMargin = -1;
+		int nbTilesX = generator.nbTilesX, nbTilesY = generator.nbTilesY;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-tilesx":
+				nbTilesX = Integer.parseInt(args[++i]);
+				break;
+			case "-tilesy":
+				nbTilesY = Integer.parseInt(args[++i]);
+				break;
+			case "-sharks":
+				generator.nbSharks = Integer.parseInt(args[++i]);
+				break;
+			case "-slimes":
+				generator.nbSlimes = Integer.parseInt(args[++i]);
+				break;
+			case "-schools":
+				generator.nbSchools = Math.max(1, Integer.parseInt(args[++i]));
+				break;
+			case "-sneezeworts":
+				generator.nbSneezeworts = Integer.parseInt(args[++i]);
+				break;
+			case "-skullcabs":
+				generator.nbSkullcabs = Integer.parseInt(args[++i]);
+				break;
+			case "-liquid":
+				generator.liquidCoverage = Double.parseDouble(args[++i]);
+				break;
+			case "-platforms":
+				generator.platformDensity = Double.parseDouble(args[++i]);
+				break;
+			case "-seed":
+				generator.seed = Long.parseLong(args[++i]);
+				break;
+			case "-ticks":
+				nbTicks = Integer.parseInt(args[++i]);
+				break;
+			case "-dt":
+				dt = Double.parseDouble(args[++i]);
+				break;
+			case "-parallel":
+				parallel = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-entitysystems":
+				entitySystems = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-activemargin":
+				activeMargin = Integer.parseInt(args[++i]);
+				break;
+			}
+		}
+		generator.setSize(nbTilesX, nbTilesY);
+
+		long start = System.nanoTime();
+		World world = generator.generate();
+		facade.startGame(world);
+		System.out.println(String.format("Generated %dx%d tiles with %d objects (%d skipped) in %.3f s, "
+				+ "%d of %d terrain chunks materialised",
+				nbTilesX, nbTilesY, world.getGameObjects().size(), generator.getNbSkipped(),
+				(System.nanoTime() - start) / 1e9, world.getNbMaterialisedTerrainChunks(),
+				world.getNbTerrainChunks()));
+
+		world.getMetrics().setEnabled(true);
+		world.setParallelTickEnabled(parallel);
+		world.setEntitySystemsEnabled(entitySystems);
+		if (activeMargin >= 0) {
+			world.setActiveRegionMargin(activeMargin);
+			world.setActiveRegionEnabled(true);
+		}
+		long maxTick = 0;
+		int tick = 0;
+		start = System.nanoTime();
+		for (; tick < nbTicks && !world.isTerminated() && world.getPlayableMazub() != null; tick++) {
+			long tickStart = System.nanoTime();
+			world.advanceTime(dt);
+			maxTick = Math.max(maxTick, System.nanoTime() - tickStart);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format("%d ticks in %.3f s (%.1f ticks/s, max %.3f ms), %d objects left (%d dormant)",
+				tick, seconds, tick / seconds, maxTick / 1e6, world.getGameObjects().size(),
+				world.getNbDormantGameObjects()));
+		for (ModelMetrics.Counter counter : ModelMetrics.Counter.values())
+			System.out.println(String.format("  %-18s %.1f per tick", counter.name().toLowerCase(),
+					(double) world.getMetrics().get(counter) / Math.max(tick, 1)));
+	}
+
+}
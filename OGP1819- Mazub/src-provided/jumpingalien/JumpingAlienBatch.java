@@ -0,0 +1,519 @@
+package jumpingalien;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.internal.JumpingAlienOptions;
+import jumpingalien.internal.game.IActionHandler;
+import jumpingalien.internal.game.JumpingAlienGame;
+import jumpingalien.internal.game.ObjectInfoProvider;
+import jumpingalien.model.GameObject;
+import jumpingalien.model.TickProfiler;
+
+/**
+ * Runs levels without a GUI and reports the simulation throughput.
+ *
+ * Usage: JumpingAlienBatch -level &lt;file.tmx&gt; [-level ...] [-ticks N] [-dt seconds]
+ * [-script file] [-copies N] [-threads N] [-profileticks true] [-countwork true]
+ * [-paralleltick true] [-entitysystems true] [-activemargin pixels]
+ *
+ * A script contains lines of the form "&lt;tick&gt; &lt;action&gt;", where the action
+ * is one of the methods of {@link IActionHandler} (e.g. "12 startMoveRight").
+ * Empty lines and lines starting with # are ignored. Without a script, Mazub
+ * keeps moving right and jumps once every second. Every tick advances the world
+ * by exactly -dt seconds, so the timescale of the game is not used.
+ *
+ * Level files are read from the levels/ folder of the working directory, like the
+ * game does, so the batch has to be started from the project folder.
+ *
+ * Each level is run as a scenario, repeated -copies times. The scenarios are
+ * run concurrently on -threads threads by {@link #runAll}; each scenario has
+ * its own game, options, facade and world and runs entirely on one thread.
+ */
+public class JumpingAlienBatch {
+
+	private static final int VISIBLE_SCREEN_WIDTH = 1024;
+	private static final int VISIBLE_SCREEN_HEIGHT = 768;
+
+	/**
+	 * A level together with the actions performed on it.
+	 */
+	public static final class Scenario {
+
+		private final String level;
+		private final List<String[]> actions;
+		private final int nbTicks;
+		private final double dt;
+
+		/**
+		 * The actions are pairs of a tick and the name of a method of
+		 * {@link IActionHandler}, sorted by tick.
+		 * 
+		 * @throws IllegalArgumentException
+		 *             If the time step is not positive or larger than
+		 *             {@link JumpingAlienGame#MAX_TIME_STEP}.
+		 */
+		public Scenario(String level, List<String[]> actions, int nbTicks, double dt) {
+			if (!(dt > 0 && dt <= JumpingAlienGame.MAX_TIME_STEP))
+				throw new IllegalArgumentException("The time step must be greater than 0 and at most "
+						+ JumpingAlienGame.MAX_TIME_STEP + " seconds, got " + dt);
+			this.level = level;
+			this.actions = new ArrayList<>(actions);
+			this.nbTicks = nbTicks;
+			this.dt = dt;
+		}
+
+		/**
+		 * Create a scenario in which Mazub keeps moving right and jumps once every second.
+		 */
+		public Scenario(String level, int nbTicks, double dt) {
+			this(level, createDefaultScript(nbTicks, dt), nbTicks, dt);
+		}
+
+		public String getLevel() {
+			return level;
+		}
+
+		public List<String[]> getActions() {
+			return Collections.unmodifiableList(actions);
+		}
+
+		public int getNbTicks() {
+			return nbTicks;
+		}
+
+		public double getDt() {
+			return dt;
+		}
+	}
+
+	/**
+	 * The totals of the tick profiler of a world at the end of a scenario. A profile
+	 * is a copy, so it does not change when the profiler goes on profiling.
+	 */
+	public static final class Profile {
+
+		private final long nbTicks;
+		private final long totalTickTime;
+		// per profiled type, the total time of each phase followed by the total number of substeps
+		private final Map<Class<? extends GameObject>, long[]> totals = new LinkedHashMap<>();
+
+		private Profile(TickProfiler profiler) {
+			this.nbTicks = profiler.getNbTicks();
+			this.totalTickTime = profiler.getTotalTickTime();
+			TickProfiler.Phase[] phases = TickProfiler.Phase.values();
+			for (Class<? extends GameObject> type : profiler.getProfiledTypes()) {
+				long[] typeTotals = new long[phases.length + 1];
+				for (TickProfiler.Phase phase : phases)
+					typeTotals[phase.ordinal()] = profiler.getTotalTime(type, phase);
+				typeTotals[phases.length] = profiler.getTotalSubsteps(type);
+				totals.put(type, typeTotals);
+			}
+		}
+
+		public long getNbTicks() {
+			return nbTicks;
+		}
+
+		/**
+		 * Return the total time of all profiled ticks, in nanoseconds.
+		 */
+		public long getTotalTickTime() {
+			return totalTickTime;
+		}
+
+		/**
+		 * Return the types of game objects that were profiled, in the order of the profiler.
+		 */
+		public List<Class<? extends GameObject>> getProfiledTypes() {
+			return Collections.unmodifiableList(new ArrayList<>(totals.keySet()));
+		}
+
+		/**
+		 * Return the total time spent on the given phase for game objects of the given type,
+		 * in nanoseconds.
+		 */
+		public long getTotalTime(Class<? extends GameObject> type, TickProfiler.Phase phase) {
+			long[] typeTotals = totals.get(type);
+			return typeTotals == null ? 0 : typeTotals[phase.ordinal()];
+		}
+
+		/**
+		 * Return the total number of substeps taken by game objects of the given type.
+		 */
+		public long getTotalSubsteps(Class<? extends GameObject> type) {
+			long[] typeTotals = totals.get(type);
+			return typeTotals == null ? 0 : typeTotals[typeTotals.length - 1];
+		}
+	}
+
+	/**
+	 * The outcome and timing of running a scenario. A result only keeps numbers, so that
+	 * the game of the scenario can be collected as soon as it has run.
+	 */
+	public static final class Result {
+
+		private final String level;
+		private final int nbTicks;
+		private final long totalNanos;
+		private final long[] latencies;
+		private final Integer alienHealth;
+		private final int nbSlimes;
+		private final int nbSharks;
+		private final int nbSneezeworts;
+		private final int nbSkullcabs;
+		private final Profile profile;
+		private final Map<String, Long> workCounters;
+
+		private Result(Scenario scenario, JumpingAlienGame game, int nbTicks, long totalNanos,
+				long[] latencies) {
+			this.level = scenario.getLevel();
+			this.nbTicks = nbTicks;
+			this.totalNanos = totalNanos;
+			this.latencies = latencies;
+			Arrays.sort(this.latencies);
+			this.alienHealth = game.getAlienInfoProvider().getAlienHealth().orElse(null);
+			ObjectInfoProvider objects = game.getObjectInfoProvider();
+			this.nbSlimes = objects.getSlimes().size();
+			this.nbSharks = objects.getSharks().size();
+			this.nbSneezeworts = objects.getSneezeworts().size();
+			this.nbSkullcabs = objects.getSkullcabs().size();
+			this.profile = game.getWorldInfoProvider().getTickProfiler().map(Profile::new).orElse(null);
+			this.workCounters = game.getWorkCounters();
+		}
+
+		public String getLevel() {
+			return level;
+		}
+
+		/**
+		 * Return the number of ticks that were run, which is less than the number of
+		 * ticks of the scenario if the game stopped early.
+		 */
+		public int getNbTicks() {
+			return nbTicks;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public double getTicksPerSecond() {
+			return nbTicks / (totalNanos / 1e9);
+		}
+
+		/**
+		 * Return the latency of the tick at the given fraction of all ticks, sorted by
+		 * latency, in milliseconds.
+		 */
+		public double getLatencyPercentile(double fraction) {
+			return percentile(latencies, fraction);
+		}
+
+		public Optional<Integer> getAlienHealth() {
+			return Optional.ofNullable(alienHealth);
+		}
+
+		public int getNbSlimes() {
+			return nbSlimes;
+		}
+
+		public int getNbSharks() {
+			return nbSharks;
+		}
+
+		public int getNbSneezeworts() {
+			return nbSneezeworts;
+		}
+
+		public int getNbSkullcabs() {
+			return nbSkullcabs;
+		}
+
+		/**
+		 * Return the tick profile of the world of the scenario at its end, if its ticks were
+		 * profiled.
+		 */
+		public Optional<Profile> getProfile() {
+			return Optional.ofNullable(profile);
+		}
+
+		/**
+		 * Return the work counters of the world of the scenario, which are empty if its work
+		 * was not counted.
+		 */
+		public Map<String, Long> getWorkCounters() {
+			return Collections.unmodifiableMap(workCounters);
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		System.setProperty("java.awt.headless", "true");
+
+		List<String> levels = new ArrayList<>();
+		int nbTicks = 1000;
+		double dt = 1.0 / 30;
+		String script = null;
+		int nbCopies = 1;
+		int nbThreads = 1;
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "-level":
+				levels.add(args[++i]);
+				break;
+			case "-ticks":
+				nbTicks = Integer.parseInt(args[++i]);
+				break;
+			case "-dt":
+				dt = Double.parseDouble(args[++i]);
+				break;
+			case "-script":
+				script = args[++i];
+				break;
+			case "-copies":
+				nbCopies = Integer.parseInt(args[++i]);
+				break;
+			case "-threads":
+				nbThreads = Integer.parseInt(args[++i]);
+				break;
+			}
+		}
+		if (levels.isEmpty())
+			levels.add("level1.tmx");
+		for (String level : levels) {
+			if (!getLevelFile(level).isFile()) {
+				System.err.println("Could not find level " + level + " at "
+						+ getLevelFile(level).getAbsolutePath()
+						+ "; levels are read from the " + JumpingAlienGame.LEVELS_FOLDER
+						+ " folder of the working directory, as in the game");
+				System.exit(1);
+				return;
+			}
+		}
+
+		List<String[]> actions = script == null ? createDefaultScript(nbTicks, dt)
+				: readScript(script);
+		List<Scenario> scenarios = new ArrayList<>();
+		for (int copy = 0; copy < nbCopies; copy++)
+			for (String level : levels)
+				scenarios.add(new Scenario(level, actions, nbTicks, dt));
+
+		JumpingAlienOptions options = JumpingAlienOptions.parse(args);
+		ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+		List<Result> results;
+		long start = System.nanoTime();
+		try {
+			results = runAll(scenarios, options, executor);
+		} catch (ExecutionException e) {
+			System.err.println("Could not run scenario: " + e.getCause().getMessage());
+			System.exit(1);
+			return;
+		} finally {
+			executor.shutdown();
+		}
+		long total = System.nanoTime() - start;
+
+		for (Result result : results)
+			printReport(result);
+		if (results.size() > 1)
+			printSummary(results, nbThreads, total);
+	}
+
+	/**
+	 * Run the given scenarios on the given executor, each with its own game, and
+	 * return their results in the order of the scenarios.
+	 *
+	 * @throws ExecutionException
+	 *             If one of the scenarios could not be run.
+	 */
+	public static List<Result> runAll(List<Scenario> scenarios, JumpingAlienOptions options,
+			ExecutorService executor) throws InterruptedException, ExecutionException {
+		List<Future<Result>> futures = new ArrayList<>();
+		for (Scenario scenario : scenarios)
+			futures.add(executor.submit(() -> run(scenario, options)));
+		List<Result> results = new ArrayList<>();
+		for (Future<Result> future : futures)
+			results.add(future.get());
+		return results;
+	}
+
+	/**
+	 * Return the file from which the game reads the given level.
+	 */
+	public static File getLevelFile(String level) {
+		return new File(JumpingAlienGame.LEVELS_FOLDER, level);
+	}
+
+	/**
+	 * Run the given scenario on the current thread in a new game.
+	 * 
+	 * The game gets its own copy of the given options and advances its world
+	 * by the time step of the scenario on every tick, without scaling it.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the level of the scenario cannot be read.
+	 */
+	public static Result run(Scenario scenario, JumpingAlienOptions options) {
+		// slime IDs only have to be unique among the slimes created by the facade of this game
+		JumpingAlienGame game = new JumpingAlienGame(options.copy(), new Facade());
+		game.setVisibleScreenSize(VISIBLE_SCREEN_WIDTH, VISIBLE_SCREEN_HEIGHT);
+		if (!game.setMapFile(scenario.getLevel()))
+			throw new IllegalArgumentException("Could not read level " + scenario.getLevel()
+					+ " from " + getLevelFile(scenario.getLevel()).getAbsolutePath());
+		game.start();
+
+		List<String[]> actions = scenario.getActions();
+		double dt = scenario.getDt();
+
+		long[] latencies = new long[scenario.getNbTicks()];
+		int nextAction = 0;
+		int tick = 0;
+		long start = System.nanoTime();
+		for (; tick < scenario.getNbTicks() && game.isRunning(); tick++) {
+			while (nextAction < actions.size()
+					&& Integer.parseInt(actions.get(nextAction)[0]) <= tick) {
+				perform(game.getActionHandler(), actions.get(nextAction)[1]);
+				nextAction++;
+			}
+			long tickStart = System.nanoTime();
+			game.step(dt);
+			latencies[tick] = System.nanoTime() - tickStart;
+		}
+		long total = System.nanoTime() - start;
+
+		return new Result(scenario, game, tick, total, Arrays.copyOf(latencies, tick));
+	}
+
+	private static List<String[]> createDefaultScript(int nbTicks, double dt) {
+		List<String[]> actions = new ArrayList<>();
+		actions.add(new String[] { "0", "startMoveRight" });
+		int period = Math.max(2, (int) Math.round(1 / dt));
+		for (int tick = period; tick < nbTicks; tick += period) {
+			actions.add(new String[] { Integer.toString(tick), "startJump" });
+			actions.add(new String[] { Integer.toString(tick + period / 2), "endJump" });
+		}
+		return actions;
+	}
+
+	private static List<String[]> readScript(String fileName) throws IOException {
+		List<String[]> actions = new ArrayList<>();
+		for (String line : Files.readAllLines(Paths.get(fileName))) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			String[] action = line.split("\\s+");
+			if (action.length != 2)
+				throw new IllegalArgumentException("Invalid script line: " + line);
+			actions.add(action);
+		}
+		actions.sort((a, b) -> Integer.compare(Integer.parseInt(a[0]),
+				Integer.parseInt(b[0])));
+		return actions;
+	}
+
+	private static void perform(IActionHandler handler, String action) {
+		switch (action) {
+		case "startJump":
+			handler.startJump();
+			break;
+		case "endJump":
+			handler.endJump();
+			break;
+		case "startMoveLeft":
+			handler.startMoveLeft();
+			break;
+		case "endMoveLeft":
+			handler.endMoveLeft();
+			break;
+		case "startMoveRight":
+			handler.startMoveRight();
+			break;
+		case "endMoveRight":
+			handler.endMoveRight();
+			break;
+		case "startDuck":
+			handler.startDuck();
+			break;
+		case "endDuck":
+			handler.endDuck();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown action: " + action);
+		}
+	}
+
+	private static void printReport(Result result) {
+		System.out.println(String.format("Level %s: %d ticks in %.3f s (%.1f ticks/s)",
+				result.getLevel(), result.getNbTicks(),
+				result.getTotalNanos() / 1e9, result.getTicksPerSecond()));
+		System.out.println(String.format(
+				"Tick latency p50 %.3f ms | p90 %.3f ms | p99 %.3f ms | max %.3f ms",
+				result.getLatencyPercentile(0.50), result.getLatencyPercentile(0.90),
+				result.getLatencyPercentile(0.99), result.getLatencyPercentile(1)));
+		System.out.println(String.format(
+				"Objects: Mazub %s | Slimes %d | Sharks %d | Sneezeworts %d | Skullcabs %d",
+				result.getAlienHealth().map(hp -> hp + " HP").orElse("-"),
+				result.getNbSlimes(), result.getNbSharks(),
+				result.getNbSneezeworts(), result.getNbSkullcabs()));
+		result.getProfile().ifPresent(JumpingAlienBatch::printProfile);
+		if (!result.getWorkCounters().isEmpty())
+			printWork(result.getWorkCounters());
+	}
+
+	private static void printSummary(List<Result> results, int nbThreads, long totalNanos) {
+		long nbTicks = 0;
+		long busyNanos = 0;
+		for (Result result : results) {
+			nbTicks += result.getNbTicks();
+			busyNanos += result.getTotalNanos();
+		}
+		System.out.println(String.format(
+				"%d scenarios on %d threads: %d ticks in %.3f s (%.1f ticks/s, %.1f ticks/s per scenario)",
+				results.size(), nbThreads, nbTicks, totalNanos / 1e9, nbTicks / (totalNanos / 1e9),
+				nbTicks / (busyNanos / 1e9)));
+	}
+
+	private static void printWork(Map<String, Long> counters) {
+		double ticks = Math.max(1, counters.getOrDefault("ticks", 0L));
+		System.out.println(String.format("Work of %d ticks:", counters.getOrDefault("ticks", 0L)));
+		counters.forEach((name, value) -> {
+			if (!name.equals("ticks"))
+				System.out.println(String.format("  %-18s %12d (%.1f per tick)", name, value, value / ticks));
+		});
+	}
+
+	private static void printProfile(Profile profile) {
+		System.out.println(String.format("Profile of %d ticks (%.3f ms per tick):",
+				profile.getNbTicks(), profile.getTotalTickTime() / 1e6 / Math.max(profile.getNbTicks(), 1)));
+		for (Class<? extends GameObject> type : profile.getProfiledTypes()) {
+			StringBuilder line = new StringBuilder(String.format("  %-10s", type.getSimpleName()));
+			for (TickProfiler.Phase phase : TickProfiler.Phase.values())
+				line.append(String.format(" | %s %.1f ms", phase.name().toLowerCase(),
+						profile.getTotalTime(type, phase) / 1e6));
+			line.append(String.format(" | %d substeps", profile.getTotalSubsteps(type)));
+			System.out.println(line);
+		}
+	}
+
+	private static double percentile(long[] sortedLatencies, double fraction) {
+		if (sortedLatencies.length == 0)
+			return 0;
+		int index = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+		return sortedLatencies[Math.max(index, 0)] / 1e6;
+	}
+
+}
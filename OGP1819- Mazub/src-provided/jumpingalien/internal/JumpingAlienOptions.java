@@ -12,6 +12,46 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 	 */
 	private double timeScale = 1.0;
 
+	/**
+	 * Number of in-game seconds the world advances in one simulation tick, or 0 to
+	 * advance the world once per frame by the elapsed time (default: 0). With a fixed
+	 * timestep, objects are painted at positions interpolated between the last two ticks.
+	 */
+	private double fixedTimestep = 0;
+
+	/**
+	 * Largest fixed timestep, the longest time period by which a world can be advanced.
+	 */
+	private static final double MAX_FIXED_TIMESTEP = 0.2;
+
+	/**
+	 * Record the time spent per object class and per phase in each tick of the
+	 * world (default: false).
+	 */
+	private boolean profileTicks = false;
+
+	/**
+	 * Count the tile probes, object pair tests, terrain scans, substeps and
+	 * simulated objects of the world (default: false).
+	 */
+	private boolean countWork = false;
+
+	/**
+	 * Advance independent groups of game objects in parallel (default: false).
+	 */
+	private boolean parallelTick = false;
+
+	/**
+	 * Advance the game objects in passes of the entity systems (default: false).
+	 */
+	private boolean entitySystems = false;
+
+	/**
+	 * Only advance the objects within this many pixels of the visible window;
+	 * a negative value advances all objects (default: -1).
+	 */
+	private int activeMargin = -1;
+
 	/**
 	 * Target framerate (default: 30 frames per second).
 	 */
@@ -92,6 +132,66 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 		this.timeScale = timeScale;
 	}
 
+	@Override
+	public double getFixedTimestep() {
+		return fixedTimestep;
+	}
+
+	@Override
+	public void setFixedTimestep(double fixedTimestep) {
+		this.fixedTimestep = fixedTimestep;
+	}
+
+	@Override
+	public boolean getProfileTicks() {
+		return profileTicks;
+	}
+
+	@Override
+	public void setProfileTicks(boolean profileTicks) {
+		this.profileTicks = profileTicks;
+	}
+
+	@Override
+	public boolean getCountWork() {
+		return countWork;
+	}
+
+	@Override
+	public void setCountWork(boolean countWork) {
+		this.countWork = countWork;
+	}
+
+	@Override
+	public boolean getParallelTick() {
+		return parallelTick;
+	}
+
+	@Override
+	public void setParallelTick(boolean parallelTick) {
+		this.parallelTick = parallelTick;
+	}
+
+	@Override
+	public boolean getEntitySystems() {
+		return entitySystems;
+	}
+
+	@Override
+	public void setEntitySystems(boolean entitySystems) {
+		this.entitySystems = entitySystems;
+	}
+
+	@Override
+	public int getActiveMargin() {
+		return activeMargin;
+	}
+
+	@Override
+	public void setActiveMargin(int activeMargin) {
+		this.activeMargin = activeMargin;
+	}
+
 	@Override
 	public boolean getDebugShowInfo() {
 		return debugShowInfo;
@@ -195,6 +295,33 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 		this.debugShowEntireWorld = debugShowEntireWorld;
 	}
 
+	/**
+	 * Return a copy of these options, so that a game can change its options (such as the
+	 * timescale) without affecting other games that started from the same options.
+	 */
+	public JumpingAlienOptions copy() {
+		JumpingAlienOptions result = new JumpingAlienOptions();
+		result.timeScale = timeScale;
+		result.fixedTimestep = fixedTimestep;
+		result.profileTicks = profileTicks;
+		result.countWork = countWork;
+		result.parallelTick = parallelTick;
+		result.entitySystems = entitySystems;
+		result.activeMargin = activeMargin;
+		result.targetFPS = targetFPS;
+		result.debugShowInfo = debugShowInfo;
+		result.debugShowAxes = debugShowAxes;
+		result.debugShowPixels = debugShowPixels;
+		result.debugShowAlienLocationAndSize = debugShowAlienLocationAndSize;
+		result.debugShowHistory = debugShowHistory;
+		result.debugShowTileTypes = debugShowTileTypes;
+		result.debugShowTileGridlines = debugShowTileGridlines;
+		result.debugShowAlienOverlappingTiles = debugShowAlienOverlappingTiles;
+		result.debugShowObjectString = debugShowObjectString;
+		result.debugShowEntireWorld = debugShowEntireWorld;
+		return result;
+	}
+
 	public static JumpingAlienOptions parse(String[] args) {
 		JumpingAlienOptions options = new JumpingAlienOptions();
 
@@ -207,6 +334,28 @@ public class JumpingAlienOptions implements JumpingAlienGameOptions, JumpingAlie
 			case "-timescale":
 				options.timeScale = Double.parseDouble(args[++i]);
 				break;
+			case "-fixedtimestep":
+				options.fixedTimestep = Double.parseDouble(args[++i]);
+				if (!(options.fixedTimestep > 0 && options.fixedTimestep <= MAX_FIXED_TIMESTEP)) {
+					throw new IllegalArgumentException("-fixedtimestep must be greater than 0 and at most "
+							+ MAX_FIXED_TIMESTEP + " seconds, got " + args[i]);
+				}
+				break;
+			case "-profileticks":
+				options.profileTicks = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-countwork":
+				options.countWork = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-paralleltick":
+				options.parallelTick = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-entitysystems":
+				options.entitySystems = Boolean.parseBoolean(args[++i]);
+				break;
+			case "-activemargin":
+				options.activeMargin = Integer.parseInt(args[++i]);
+				break;
 			case "-debuginfo":
 				options.debugShowInfo = Boolean.parseBoolean(args[++i]);
 				break;
@@ -3,10 +3,11 @@ package jumpingalien.internal.game;
 import java.io.File;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import jumpingalien.facade.IFacade;
 import jumpingalien.internal.game.AlienInfoProvider;
@@ -21,6 +22,7 @@ import jumpingalien.model.Shark;
 import jumpingalien.model.Skullcab;
 import jumpingalien.model.Slime;
 import jumpingalien.model.Sneezewort;
+import jumpingalien.model.TickProfiler;
 import jumpingalien.model.World;
 import jumpingalien.internal.tmxfile.TMXFileReader;
 import jumpingalien.internal.tmxfile.data.ImageTile;
@@ -39,7 +41,14 @@ public class JumpingAlienGame extends Game {
 
 	private static final int MAX_MISSED_DEADLINES = 4;
 
-	private static final double MAX_TIME_STEP = 0.200;
+	public static final double MAX_TIME_STEP = 0.200;
+
+	private static final int MAX_FIXED_TICKS_PER_UPDATE = 8;
+
+	/**
+	 * Folder, relative to the working directory, from which level files are read.
+	 */
+	public static final String LEVELS_FOLDER = "levels/";
 
 	private Mazub alien;
 	private World world;
@@ -81,13 +90,15 @@ public class JumpingAlienGame extends Game {
 	public void restart() {
 		this.world = null;
 		this.alien = null;
+		this.accumulatedTime = 0;
+		this.previousLocations.clear();
 		start();
 	}
 	
 
 	private boolean readLevelFile(String filename) {
 		try {
-			TMXFileReader reader = new TMXFileReader("levels/");
+			TMXFileReader reader = new TMXFileReader(LEVELS_FOLDER);
 			map = reader.read(filename);
 
 			if (map.getTileSizeY() != map.getTileSizeX()) {
@@ -137,6 +148,14 @@ public class JumpingAlienGame extends Game {
 				new int[] { map.getTargetTileX(), map.getTargetTileY() },
 				visibleWidth, visibleHeight,
 				getTileTypes()));
+		getWorld().getTickProfiler().setEnabled(getOptions().getProfileTicks());
+		getWorld().getMetrics().setEnabled(getOptions().getCountWork());
+		getWorld().setParallelTickEnabled(getOptions().getParallelTick());
+		getWorld().setEntitySystemsEnabled(getOptions().getEntitySystems());
+		if (getOptions().getActiveMargin() >= 0) {
+			getWorld().setActiveRegionMargin(getOptions().getActiveMargin());
+			getWorld().setActiveRegionEnabled(true);
+		}
 
 		setAlien(getFacade().createMazub(map.getInitialPositionX(),
 				map.getInitialPositionY(), JumpingAlienSprites.ALIEN_SPRITESET));
@@ -284,11 +303,19 @@ public class JumpingAlienGame extends Game {
 	protected void doUpdate(double dt) {
 		if (isRunning()) {
 			if (!firstUpdate) {
-				dt = applyTimescale(dt);
+				if (isFixedTimestep()) {
+					dt = Math.min(dt, MAX_TIME_STEP);
+				} else {
+					dt = applyTimescale(dt);
+				}
 				executePendingCommands();
 				try {
-					advanceTime(dt);
-					elapsedTime += dt;
+					if (isFixedTimestep()) {
+						advanceFixedTicks(dt);
+					} else {
+						advanceTime(dt);
+						elapsedTime += dt;
+					}
 				} catch (ModelException e) {
 					addMessage(new Message(MessageType.ERROR, e.getMessage()));
 					System.out.println("Could not advance time by dt=" + dt
@@ -300,6 +327,72 @@ public class JumpingAlienGame extends Game {
 		}
 	}
 
+	private boolean isFixedTimestep() {
+		return getOptions().getFixedTimestep() > 0;
+	}
+
+	/**
+	 * In-game time that has elapsed but has not yet been simulated by a fixed
+	 * tick.
+	 */
+	private double accumulatedTime = 0;
+
+	/**
+	 * Pixel positions of the game objects before the last fixed tick.
+	 */
+	private final IdentityHashMap<Object, int[]> previousLocations = new IdentityHashMap<>();
+
+	/**
+	 * Advance the world by as many fixed ticks as fit in the accumulated time.
+	 * 
+	 * The remainder is kept for the next update. At most
+	 * MAX_FIXED_TICKS_PER_UPDATE ticks are taken per update; the time that
+	 * is left after that is dropped, except for the part of a tick that is
+	 * used to interpolate the painted positions.
+	 */
+	protected void advanceFixedTicks(double dt) {
+		double step = getOptions().getFixedTimestep();
+		accumulatedTime += dt;
+		int nbTicks = 0;
+		while (isRunning() && accumulatedTime >= step
+				&& nbTicks < MAX_FIXED_TICKS_PER_UPDATE) {
+			storePreviousLocations();
+			advanceTime(step);
+			elapsedTime += step;
+			accumulatedTime -= step;
+			nbTicks++;
+		}
+		if (accumulatedTime >= step) {
+			accumulatedTime %= step;
+		}
+	}
+
+	private void storePreviousLocations() {
+		previousLocations.clear();
+		for (Object object : getFacade().getAllGameObjects(getWorld())) {
+			previousLocations.put(object, getFacade().getPixelPosition(object));
+		}
+	}
+
+	/**
+	 * Return the position at which the given object is painted.
+	 * 
+	 * With a fixed timestep, this is the position between the position before
+	 * and after the last tick, proportional to the time that has accumulated
+	 * since that tick. The given position is overwritten with the result.
+	 */
+	private int[] getPaintLocation(Object object, int[] current) {
+		if (!isFixedTimestep())
+			return current;
+		int[] previous = previousLocations.get(object);
+		if (previous == null)
+			return current;
+		double alpha = Math.min(accumulatedTime / getOptions().getFixedTimestep(), 1);
+		current[0] = (int) Math.round(previous[0] + alpha * (current[0] - previous[0]));
+		current[1] = (int) Math.round(previous[1] + alpha * (current[1] - previous[1]));
+		return current;
+	}
+
 	/**
 	 * Scale the given time interval based on the game options.
 	 * 
@@ -350,6 +443,28 @@ public class JumpingAlienGame extends Game {
 								MAX_TIME_STEP, newScale));
 	}
 
+	/**
+	 * Execute the pending commands and advance the world by exactly the given
+	 * time, as a batch run does with the time step of its script.
+	 * 
+	 * Unlike an update, the time is neither scaled nor split in fixed ticks,
+	 * so the timescale in the options of this game is left alone.
+	 * 
+	 * @throws IllegalArgumentException
+	 *             If the given time is not positive or larger than
+	 *             MAX_TIME_STEP.
+	 */
+	public void step(double dt) {
+		if (!(dt > 0 && dt <= MAX_TIME_STEP))
+			throw new IllegalArgumentException("A step must be greater than 0 and at most "
+					+ MAX_TIME_STEP + " seconds, got " + dt);
+		if (isRunning()) {
+			executePendingCommands();
+			advanceTime(dt);
+			elapsedTime += dt;
+		}
+	}
+
 	public boolean isRunning() {
 		return running;
 	}
@@ -365,6 +480,16 @@ public class JumpingAlienGame extends Game {
 		return elapsedTime;
 	}
 
+	@Override
+	public java.util.Map<String, Long> getWorkCounters() {
+		java.util.Map<String, Long> counters = new LinkedHashMap<>();
+		if (getWorld() != null && getWorld().getMetrics().isEnabled()) {
+			getWorld().getMetrics().snapshot().forEach((counter, value) -> counters
+					.put(counter.name().toLowerCase().replace('_', ' '), value));
+		}
+		return counters;
+	}
+
 	public void setVisibleScreenSize(int width, int height) {
 		this.visibleScreenWidth = width;
 		this.visibleScreenHeight = height;
@@ -394,7 +519,8 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Optional<int[]> getAlienXYPixel() {
-				return catchErrorGet(() -> getFacade().getPixelPosition(getAlien()));
+				return catchErrorGet(() -> getPaintLocation(getAlien(),
+						getFacade().getPixelPosition(getAlien())));
 			}
 			
 			@Override
@@ -502,6 +628,12 @@ public class JumpingAlienGame extends Game {
 				return catchErrorGet(() -> getFacade().didPlayerWin(getWorld()));
 			}
 
+			@Override
+			public Optional<TickProfiler> getTickProfiler() {
+				return Optional.ofNullable(getWorld()).map(World::getTickProfiler)
+						.filter(TickProfiler::isEnabled);
+			}
+
 		};
 	}
 	
@@ -511,12 +643,12 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Collection<Sneezewort> getSneezeworts() {
-				return getFacade().getAllGameObjects(getWorld()).stream().filter(Sneezewort.class::isInstance).map(Sneezewort.class::cast).collect(Collectors.toSet());
+				return getWorld().getGameObjectsOfClass(Sneezewort.class);
 			}
 
 			@Override
 			public Optional<int[]> getLocation(Sneezewort plant) {
-				return Optional.of(getFacade().getPixelPosition(plant));
+				return Optional.of(getPaintLocation(plant, getFacade().getPixelPosition(plant)));
 			}
 
 			@Override
@@ -527,12 +659,12 @@ public class JumpingAlienGame extends Game {
 			
 			@Override
 			public Collection<Skullcab> getSkullcabs() {
-				return getFacade().getAllGameObjects(getWorld()).stream().filter(Skullcab.class::isInstance).map(Skullcab.class::cast).collect(Collectors.toSet());
+				return getWorld().getGameObjectsOfClass(Skullcab.class);
 			}
 			
 			@Override
 			public Optional<int[]> getLocation(Skullcab plant) {
-				return Optional.of(getFacade().getPixelPosition(plant));
+				return Optional.of(getPaintLocation(plant, getFacade().getPixelPosition(plant)));
 			}
 			
 			@Override
@@ -544,22 +676,22 @@ public class JumpingAlienGame extends Game {
 
 			@Override
 			public Collection<Slime> getSlimes() {
-				return getFacade().getAllGameObjects(getWorld()).stream().filter(Slime.class::isInstance).map(Slime.class::cast).collect(Collectors.toSet());
+				return getWorld().getGameObjectsOfClass(Slime.class);
 			}
 
 			@Override
 			public Optional<int[]> getLocation(Slime slime) {
-				return Optional.of(getFacade().getPixelPosition(slime));
+				return Optional.of(getPaintLocation(slime, getFacade().getPixelPosition(slime)));
 			}
 
 			@Override
 			public Collection<Shark> getSharks() {
-				return getFacade().getAllGameObjects(getWorld()).stream().filter(Shark.class::isInstance).map(Shark.class::cast).collect(Collectors.toSet());
+				return getWorld().getGameObjectsOfClass(Shark.class);
 			}
 
 			@Override
 			public Optional<int[]> getLocation(Shark shark) {
-				return Optional.of(getFacade().getPixelPosition(shark));
+				return Optional.of(getPaintLocation(shark, getFacade().getPixelPosition(shark)));
 			}
 
 			@Override
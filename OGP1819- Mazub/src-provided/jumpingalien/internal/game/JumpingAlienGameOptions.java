@@ -6,4 +6,22 @@ public interface JumpingAlienGameOptions extends GameOptions {
 
 	public double getTimescale();
 	public void setTimescale(double value);
+
+	public double getFixedTimestep();
+	public void setFixedTimestep(double value);
+
+	public boolean getProfileTicks();
+	public void setProfileTicks(boolean value);
+
+	public boolean getCountWork();
+	public void setCountWork(boolean value);
+
+	public boolean getParallelTick();
+	public void setParallelTick(boolean value);
+
+	public boolean getEntitySystems();
+	public void setEntitySystems(boolean value);
+
+	public int getActiveMargin();
+	public void setActiveMargin(int value);
 }
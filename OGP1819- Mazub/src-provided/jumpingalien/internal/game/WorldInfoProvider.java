@@ -3,6 +3,7 @@ package jumpingalien.internal.game;
 import java.util.Optional;
 
 import jumpingalien.internal.tmxfile.data.ImageTile.TileType;
+import jumpingalien.model.TickProfiler;
 
 public interface WorldInfoProvider {
 
@@ -22,4 +23,6 @@ public interface WorldInfoProvider {
 
 	Optional<Boolean> didPlayerWin();
 
+	Optional<TickProfiler> getTickProfiler();
+
 }
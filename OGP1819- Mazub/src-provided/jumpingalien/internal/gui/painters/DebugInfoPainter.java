@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import jumpingalien.internal.gui.AlienGameScreen;
@@ -24,6 +25,12 @@ public class DebugInfoPainter extends
 
 		addInfo("Performance", () -> getFPSStats().toString());
 
+		addInfo("Game update latency", () -> getFPSStats().gameUpdateLatency.toString());
+
+		addInfo("Paint latency", () -> getFPSStats().paintLatency.toString());
+
+		addInfo("Sleep latency", () -> getFPSStats().sleepLatency.toString());
+
 		addInfo("Screen size", () -> String.format("%dx%d", getScreenWidth(),
 				getScreenHeight()));
 
@@ -70,6 +77,31 @@ public class DebugInfoPainter extends
 						.map(ar -> String.format("(%d,%d), (%d, %d)",
 								ar[0], ar[1], ar[2], ar[3]))
 						.orElse("Unknown"));
+
+		addInfo("Tick profile [ms movement/terrain/objects/hit points/sprite]", () -> getGame()
+						.getWorldInfoProvider()
+						.getTickProfiler()
+						.map(profiler -> profiler.toString())
+						.orElse("Disabled (-profileticks true)"));
+
+		addInfo("Work per tick", () -> formatWorkPerTick(getFPSStats().workCounters));
+	}
+
+	private static String formatWorkPerTick(Map<String, Long> counters) {
+		if (counters.isEmpty()) {
+			return "Disabled (-countwork true)";
+		}
+		double ticks = Math.max(1, counters.getOrDefault("ticks", 0L));
+		StringBuilder result = new StringBuilder();
+		for (Map.Entry<String, Long> counter : counters.entrySet()) {
+			if (!counter.getKey().equals("ticks")) {
+				if (result.length() > 0) {
+					result.append(" | ");
+				}
+				result.append(String.format("%s %.1f", counter.getKey(), counter.getValue() / ticks));
+			}
+		}
+		return result.toString();
 	}
 
 	@Override
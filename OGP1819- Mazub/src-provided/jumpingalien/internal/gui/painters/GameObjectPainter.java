@@ -135,6 +135,7 @@ public final class GameObjectPainter extends
 		}
 		AlienGUIUtils.drawImageInWorld(g, sprite.getImage(), xy[0], xy[1],
 				false);
+		addItemsDrawn(1);
 	}
 
 	private static final Color SIZE_BORDER = Color.RED;
@@ -57,6 +57,7 @@ public class TilePainter extends AbstractAlienPainter {
 			return;
 		}
 		int[][] tileCoordinatesToDraw = tileCoordinatesToDrawOpt.get();
+		addItemsDrawn(tileCoordinatesToDraw.length);
 
 		for (int[] tileXY : tileCoordinatesToDraw) {
 			int tileX = tileXY[0];
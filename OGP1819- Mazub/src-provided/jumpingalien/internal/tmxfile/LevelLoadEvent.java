@@ -0,0 +1,29 @@
+package jumpingalien.internal.tmxfile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the parsing of one level by
+ * {@link TMXFileReader#read(String)}, including the images of its tiles.
+ */
+@Name("jumpingalien.LevelLoad")
+@Label("Level Load")
+@Category({ "Jumping Alien", "Loading" })
+class LevelLoadEvent extends Event {
+
+	@Label("File Name")
+	String filename;
+
+	@Label("Tiles X")
+	int nbTilesX;
+
+	@Label("Tiles Y")
+	int nbTilesY;
+
+	@Label("Objects")
+	int nbObjects;
+
+}
@@ -23,13 +23,24 @@ public class TMXFileReader {
 	}
 
 	public Map read(String filename) throws IllegalArgumentException {
+		LevelLoadEvent event = new LevelLoadEvent();
+		event.begin();
 		try {
 			SAXParserFactory pf = SAXParserFactory.newInstance();
 			SAXParser parser = pf.newSAXParser();
 			TMXFileSAXHandler handler = new TMXFileSAXHandler(levelsFolder);
 			parser.parse(new FileInputStream(new File(levelsFolder, filename)),
 					handler);
-			return handler.getResult();
+			Map result = handler.getResult();
+			event.end();
+			if (event.shouldCommit()) {
+				event.filename = filename;
+				event.nbTilesX = result.getNbTilesX();
+				event.nbTilesY = result.getNbTilesY();
+				event.nbObjects = result.getObjects().size();
+				event.commit();
+			}
+			return result;
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new IllegalArgumentException("Could not parse: "
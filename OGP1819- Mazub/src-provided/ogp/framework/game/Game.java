@@ -1,6 +1,8 @@
 package ogp.framework.game;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import ogp.framework.command.Command;
@@ -29,8 +31,16 @@ public abstract class Game {
 	public abstract void start();
 
 	public final void update(double dt) {
+		GameUpdateEvent event = new GameUpdateEvent();
+		event.begin();
 		messageBox.advanceTime(dt);
 		doUpdate(dt);
+		event.end();
+		if (event.shouldCommit()) {
+			event.dt = dt;
+			event.game = getClass().getSimpleName();
+			event.commit();
+		}
 	}
 	
 	protected abstract void doUpdate(double dt);
@@ -57,5 +67,13 @@ public abstract class Game {
 		return messageBox.getCurrentMessage();
 	}
 
+	/**
+	 * Returns the amounts of work done by the game since it started, by name,
+	 * or an empty map if the game does not count its work.
+	 */
+	public Map<String, Long> getWorkCounters() {
+		return Collections.emptyMap();
+	}
+
 
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package ogp.framework.game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one call of {@link Game#update(double)}.
+ */
+@Name("ogp.framework.GameUpdate")
+@Label("Game Update")
+@Category({ "Jumping Alien", "Frame" })
+class GameUpdateEvent extends Event {
+
+	@Label("Delta T")
+	double dt;
+
+	@Label("Game")
+	String game;
+
+}
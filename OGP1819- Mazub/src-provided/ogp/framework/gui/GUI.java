@@ -33,7 +33,7 @@ public abstract class GUI<TGame extends Game> {
 	}
 
 	public PerformanceStats getCurrentStats() {
-		return fpsCounter.getStats();
+		return fpsCounter.getStats().withWorkCounters(game.getWorkCounters());
 	}
 
 	public Frame getFrame() {
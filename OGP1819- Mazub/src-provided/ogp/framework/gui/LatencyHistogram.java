@@ -0,0 +1,124 @@
+package ogp.framework.gui;
+
+/**
+ * A histogram of durations with a fixed number of logarithmic buckets.
+ *
+ * Durations are recorded with microsecond resolution. Below 16 µs every
+ * microsecond has its own bucket; above, every power of two is divided in 16
+ * buckets, so reported percentiles are at most 1/16th larger than the actual
+ * value. Recording never allocates.
+ *
+ * Not thread safe.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 40; // about 12 days in microseconds
+	private static final int NB_BUCKETS = SUB_BUCKETS * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+	private final long[] counts = new long[NB_BUCKETS];
+	private final long deadlineNS;
+
+	private long count;
+	private long maxNS;
+	private long missedDeadlines;
+
+	/**
+	 * Create a new histogram that counts the durations longer than the given
+	 * deadline as missed deadlines.
+	 */
+	public LatencyHistogram(long deadlineNS) {
+		this.deadlineNS = deadlineNS;
+	}
+
+	public void record(long durationNS) {
+		if (durationNS < 0) {
+			durationNS = 0;
+		}
+		counts[getBucket(durationNS / 1000)]++;
+		count++;
+		if (durationNS > maxNS) {
+			maxNS = durationNS;
+		}
+		if (durationNS > deadlineNS) {
+			missedDeadlines++;
+		}
+	}
+
+	/**
+	 * Add all durations recorded by the given histogram to this histogram.
+	 */
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < NB_BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		maxNS = Math.max(maxNS, other.maxNS);
+		missedDeadlines += other.missedDeadlines;
+	}
+
+	public void clear() {
+		java.util.Arrays.fill(counts, 0);
+		count = 0;
+		maxNS = 0;
+		missedDeadlines = 0;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMaxNS() {
+		return maxNS;
+	}
+
+	public long getMissedDeadlines() {
+		return missedDeadlines;
+	}
+
+	/**
+	 * Return the smallest duration in nanoseconds such that at least the given
+	 * fraction of the recorded durations is not longer, rounded up to the end of
+	 * its bucket, or 0 if nothing is recorded.
+	 */
+	public long getPercentileNS(double fraction) {
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for (int i = 0; i < NB_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				return Math.min(getBucketEnd(i) * 1000, maxNS);
+			}
+		}
+		return maxNS;
+	}
+
+	private static int getBucket(long micros) {
+		if (micros < SUB_BUCKETS) {
+			return (int) micros;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		if (exponent > MAX_EXPONENT) {
+			return NB_BUCKETS - 1;
+		}
+		int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return SUB_BUCKETS * (exponent - SUB_BUCKET_BITS + 1) + subBucket;
+	}
+
+	/**
+	 * Return the first duration in microseconds after the given bucket.
+	 */
+	private static long getBucketEnd(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket + 1;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		int subBucket = bucket % SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS);
+	}
+
+}
@@ -0,0 +1,20 @@
+package ogp.framework.gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the painting of one frame of the current
+ * screen, including showing the back buffer.
+ */
+@Name("ogp.framework.Paint")
+@Label("Paint Frame")
+@Category({ "Jumping Alien", "Frame" })
+class PaintEvent extends Event {
+
+	@Label("Screen")
+	String screen;
+
+}
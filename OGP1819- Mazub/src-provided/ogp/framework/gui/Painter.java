@@ -29,5 +29,32 @@ public abstract class Painter<ScreenType> {
 		
 	}
 
+	/**
+	 * Calls {@link #paintInWorld(Graphics2D)}, recorded as a Flight Recorder
+	 * event.
+	 */
+	public final void paintInWorldRecorded(Graphics2D g) {
+		PainterEvent event = new PainterEvent();
+		event.begin();
+		itemsDrawn = 0;
+		paintInWorld(g);
+		event.end();
+		if (event.shouldCommit()) {
+			event.painter = getClass().getSimpleName();
+			event.itemsDrawn = itemsDrawn;
+			event.commit();
+		}
+	}
+
+	private int itemsDrawn;
+
+	/**
+	 * Count tiles, objects, ... drawn by the current call of
+	 * {@link #paintInWorld(Graphics2D)} in its Flight Recorder event.
+	 */
+	protected void addItemsDrawn(int amount) {
+		itemsDrawn += amount;
+	}
+
 	
 }
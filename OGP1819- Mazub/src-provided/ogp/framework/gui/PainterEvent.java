@@ -0,0 +1,23 @@
+package ogp.framework.gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning one call of
+ * {@link Painter#paintInWorld(java.awt.Graphics2D)}.
+ */
+@Name("ogp.framework.PaintInWorld")
+@Label("Paint In World")
+@Category({ "Jumping Alien", "Frame" })
+class PainterEvent extends Event {
+
+	@Label("Painter")
+	String painter;
+
+	@Label("Items Drawn")
+	int itemsDrawn;
+
+}
@@ -1,5 +1,8 @@
 package ogp.framework.gui;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class PerformanceStats {
 
 	public final double avgGameUpdateTime;
@@ -11,12 +14,49 @@ public class PerformanceStats {
 	
 	public final double avgSleepTime;
 	
+	public final Latency gameUpdateLatency;
+	public final Latency paintLatency;
+	public final Latency sleepLatency;
+	
+	/**
+	 * Amounts of work done by the game since it started, by name.
+	 */
+	public final Map<String, Long> workCounters;
+	
 	public PerformanceStats(double game, double paint, double sleep, double fps, double targetFPS) {
+		this(game, paint, sleep, fps, targetFPS, Latency.NONE, Latency.NONE, Latency.NONE);
+	}
+	
+	public PerformanceStats(double game, double paint, double sleep, double fps, double targetFPS,
+			Latency gameLatency, Latency paintLatency, Latency sleepLatency) {
 		this.avgGameUpdateTime = game;
 		this.avgPaintTime = paint;
 		this.avgSleepTime = sleep;
 		this.fps = fps;
 		this.targetFPS = targetFPS;
+		this.gameUpdateLatency = gameLatency;
+		this.paintLatency = paintLatency;
+		this.sleepLatency = sleepLatency;
+		this.workCounters = Collections.emptyMap();
+	}
+	
+	private PerformanceStats(PerformanceStats stats, Map<String, Long> workCounters) {
+		this.avgGameUpdateTime = stats.avgGameUpdateTime;
+		this.avgPaintTime = stats.avgPaintTime;
+		this.avgSleepTime = stats.avgSleepTime;
+		this.fps = stats.fps;
+		this.targetFPS = stats.targetFPS;
+		this.gameUpdateLatency = stats.gameUpdateLatency;
+		this.paintLatency = stats.paintLatency;
+		this.sleepLatency = stats.sleepLatency;
+		this.workCounters = Collections.unmodifiableMap(workCounters);
+	}
+	
+	/**
+	 * Returns a copy of these statistics with the given work counters.
+	 */
+	public PerformanceStats withWorkCounters(Map<String, Long> workCounters) {
+		return new PerformanceStats(this, workCounters);
 	}
 	
 	@Override
@@ -24,4 +64,33 @@ public class PerformanceStats {
 		return String.format("Game update %3.0fms | Paint %3.0fms | Sleep %3.0fms | FPS %.1f (target %.0f)", avgGameUpdateTime, avgPaintTime, avgSleepTime, fps, targetFPS);
 	}
 	
+	/**
+	 * Percentiles and maximum of a duration in milliseconds, and the number of
+	 * frames in which it exceeded the time available for a frame.
+	 */
+	public static class Latency {
+		
+		public static final Latency NONE = new Latency(0, 0, 0, 0, 0);
+		
+		public final double p50;
+		public final double p90;
+		public final double p99;
+		public final double max;
+		
+		public final long missedDeadlines;
+		
+		public Latency(double p50, double p90, double p99, double max, long missedDeadlines) {
+			this.p50 = p50;
+			this.p90 = p90;
+			this.p99 = p99;
+			this.max = max;
+			this.missedDeadlines = missedDeadlines;
+		}
+		
+		@Override
+		public String toString() {
+			return String.format("p50 %.1fms | p90 %.1fms | p99 %.1fms | max %.1fms | missed %d", p50, p90, p99, max, missedDeadlines);
+		}
+	}
+	
 }
@@ -114,7 +114,7 @@ public abstract class Screen<TGame extends Game, TGUI extends GUI<TGame>> {
 			p.paintScreenPre(g);
 		}
 		for (Painter<?> p : getPainters()) {
-			p.paintInWorld(g);
+			p.paintInWorldRecorded(g);
 		}
 		for (Painter<?> p : getPainters()) {
 			p.paintScreenPost(g);
@@ -56,6 +56,8 @@ public abstract class ScreenPanel<T extends Game> extends Canvas {
 	}
 
 	protected void paintCurrentScreen() {
+		PaintEvent event = new PaintEvent();
+		event.begin();
 		Graphics2D g = null;
 		try {
 			g = (Graphics2D) bufferStrategy.getDrawGraphics();
@@ -69,6 +71,12 @@ public abstract class ScreenPanel<T extends Game> extends Canvas {
 		} finally {
 			if (g != null)
 				g.dispose();
+			event.end();
+			if (event.shouldCommit()) {
+				event.screen = currentScreen == null ? null
+						: currentScreen.getClass().getSimpleName();
+				event.commit();
+			}
 		}
 	}
 
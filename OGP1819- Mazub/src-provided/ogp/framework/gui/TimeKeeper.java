@@ -4,11 +4,16 @@ package ogp.framework.gui;
  * This class keeps track of how many time has passed between two frames, and
  * counts the framerate.
  * 
+ * The game update, paint and sleep times are also recorded in histograms that
+ * cover the last HISTOGRAM_PERIOD_NS to UPDATE_PERIOD_NS + HISTOGRAM_PERIOD_NS
+ * nanoseconds, so that single slow frames remain visible in the percentiles.
+ * 
  * Not thread safe.
  */
 public class TimeKeeper {
 
 	private static final int UPDATE_PERIOD_NS = 500_000_000; // nanoseconds
+	private static final long HISTOGRAM_PERIOD_NS = 5_000_000_000L; // nanoseconds
 
 	private long lastGameUpdateNS, lastFramePaintedNS, lastFrameDoneNS;
 	private long totalTimeSinceLastUpdateNS;
@@ -22,8 +27,24 @@ public class TimeKeeper {
 	private long totalPaintTimeNS, totalGameUpdateTimeNS, totalSleepTimeNS;
 	private double avgGameUpdateTimeMS, avgPaintTimeMS, avgSleepTimeMS;
 
+	// current and previous histogram period, and their sum at the last update
+	private final LatencyHistogram[] gameUpdateTimes, paintTimes, sleepTimes;
+	private long totalTimeSinceLastHistogramSwapNS;
+	private PerformanceStats.Latency gameUpdateLatency, paintLatency, sleepLatency;
+
 	public TimeKeeper(double targetFPS) {
 		this.targetFPS = targetFPS;
+		long deadlineNS = (long) (1e9 / targetFPS);
+		this.gameUpdateTimes = createHistograms(deadlineNS);
+		this.paintTimes = createHistograms(deadlineNS);
+		this.sleepTimes = createHistograms(deadlineNS);
+		updateLatencies();
+	}
+
+	private static LatencyHistogram[] createHistograms(long deadlineNS) {
+		return new LatencyHistogram[] { new LatencyHistogram(deadlineNS),
+				new LatencyHistogram(deadlineNS),
+				new LatencyHistogram(deadlineNS) };
 	}
 
 	public void start() {
@@ -37,7 +58,8 @@ public class TimeKeeper {
 
 	public PerformanceStats getStats() {
 		return new PerformanceStats(avgGameUpdateTimeMS, avgPaintTimeMS,
-				avgSleepTimeMS, fps, targetFPS);
+				avgSleepTimeMS, fps, targetFPS, gameUpdateLatency,
+				paintLatency, sleepLatency);
 	}
 
 	public long getTimeToSleep() {
@@ -56,20 +78,24 @@ public class TimeKeeper {
 	public void gameUpdated() {
 		lastGameUpdateNS = now();
 		totalGameUpdateTimeNS += lastGameUpdateNS - lastFrameDoneNS;
+		gameUpdateTimes[0].record(lastGameUpdateNS - lastFrameDoneNS);
 	}
 
 	public void framePainted() {
 		lastFramePaintedNS = now();
 		totalPaintTimeNS += lastFramePaintedNS - lastGameUpdateNS;
+		paintTimes[0].record(lastFramePaintedNS - lastGameUpdateNS);
 	}
 
 	public void frameDone() {
 		long now = now();
 		totalSleepTimeNS += now - lastFramePaintedNS;
+		sleepTimes[0].record(now - lastFramePaintedNS);
 		long elapsedSinceLastFrameNS = now - lastFrameDoneNS;
 		lastFrameDoneNS = now;
 
 		totalTimeSinceLastUpdateNS += elapsedSinceLastFrameNS;
+		totalTimeSinceLastHistogramSwapNS += elapsedSinceLastFrameNS;
 		timeToAdvanceS = elapsedSinceLastFrameNS / 1e9;
 		frameCount++;
 		if (totalTimeSinceLastUpdateNS >= UPDATE_PERIOD_NS) {
@@ -81,9 +107,40 @@ public class TimeKeeper {
 
 			totalTimeSinceLastUpdateNS = totalGameUpdateTimeNS = totalPaintTimeNS = totalSleepTimeNS = 0;
 			frameCount = 0;
+
+			updateLatencies();
+			if (totalTimeSinceLastHistogramSwapNS >= HISTOGRAM_PERIOD_NS) {
+				swapHistograms(gameUpdateTimes);
+				swapHistograms(paintTimes);
+				swapHistograms(sleepTimes);
+				totalTimeSinceLastHistogramSwapNS = 0;
+			}
 		}
 	}
 
+	private void updateLatencies() {
+		gameUpdateLatency = computeLatency(gameUpdateTimes);
+		paintLatency = computeLatency(paintTimes);
+		sleepLatency = computeLatency(sleepTimes);
+	}
+
+	private static PerformanceStats.Latency computeLatency(LatencyHistogram[] histograms) {
+		LatencyHistogram sum = histograms[2];
+		sum.clear();
+		sum.add(histograms[0]);
+		sum.add(histograms[1]);
+		return new PerformanceStats.Latency(sum.getPercentileNS(0.50) / 1e6,
+				sum.getPercentileNS(0.90) / 1e6, sum.getPercentileNS(0.99) / 1e6,
+				sum.getMaxNS() / 1e6, sum.getMissedDeadlines());
+	}
+
+	private static void swapHistograms(LatencyHistogram[] histograms) {
+		LatencyHistogram previous = histograms[1];
+		histograms[1] = histograms[0];
+		histograms[0] = previous;
+		previous.clear();
+	}
+
 	private long now() {
 		return System.nanoTime();
 	}
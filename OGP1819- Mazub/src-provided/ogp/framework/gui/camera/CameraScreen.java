@@ -67,7 +67,7 @@ public abstract class CameraScreen<TGame extends Game, TGUI extends GUI<TGame>>
 
 	private void paintWorld(Graphics2D g) {
 		for (Painter<?> painter : getPainters()) {
-			painter.paintInWorld(g);
+			painter.paintInWorldRecorded(g);
 		}
 	}
 
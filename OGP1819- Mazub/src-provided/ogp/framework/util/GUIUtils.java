@@ -97,10 +97,19 @@ public class GUIUtils {
 	}
 
 	public static BufferedImage loadImage(String filename) {
+		ImageLoadEvent event = new ImageLoadEvent();
+		event.begin();
 		try {
 			InputStream inputStream = openResource(filename);
 			BufferedImage result = ImageIO.read(inputStream);
 			inputStream.close();
+			event.end();
+			if (event.shouldCommit()) {
+				event.filename = filename;
+				event.width = result == null ? 0 : result.getWidth();
+				event.height = result == null ? 0 : result.getHeight();
+				event.commit();
+			}
 			return result;
 		} catch (IOException e) {
 			throw new RuntimeException(
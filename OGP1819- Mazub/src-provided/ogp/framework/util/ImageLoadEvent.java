@@ -0,0 +1,26 @@
+package ogp.framework.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event spanning the reading and decoding of one image by
+ * {@link GUIUtils#loadImage(String)}.
+ */
+@Name("ogp.framework.ImageLoad")
+@Label("Image Load")
+@Category({ "Jumping Alien", "Loading" })
+class ImageLoadEvent extends Event {
+
+	@Label("File Name")
+	String filename;
+
+	@Label("Width")
+	int width;
+
+	@Label("Height")
+	int height;
+
+}
@@ -24,6 +24,11 @@ import jumpingalien.util.Sprite;
 
 public class Facade implements IFacade {
 
+	/**
+	 * Set storing the IDs of the Slimes created by this facade since its IDs were last cleaned.
+	 */
+	private final Set<Long> slimeIds = new HashSet<>();
+
 	@Override
 	public boolean isTeamSolution() {
 		return true;
@@ -59,8 +64,7 @@ public class Facade implements IFacade {
 			alien.terminate();
 		}
 		if (alien.getWorld() != null) {
-			if (alien.collidesWithGeologicals((int) (newPosition[0]*100) ,(int) (newPosition[1]*100), 
-					Geological.getAllImpassable())){
+			if (alien.collidesWithImpassableTerrain((int) (newPosition[0]*100) ,(int) (newPosition[1]*100))){
 				throw new ModelException("Mazub in solid ground");
 			}
 		}
@@ -543,8 +547,12 @@ public class Facade implements IFacade {
 			throw new ModelException("Not legal slime");
 		if ((sprites[0] == null) | (sprites[1] == null))
 			throw new ModelException("Not legal slime");
+		if (slimeIds.contains(id))
+			throw new ModelException("Not legal ID");
 		try {
-			return new Slime(id,pixelLeftX,pixelBottomY,school,sprites);
+			Slime slime = new Slime(id,pixelLeftX,pixelBottomY,school,sprites);
+			slimeIds.add(id);
+			return slime;
 			} catch (RuntimeException exc) {
 			throw new ModelException("Cannot create slime");}
 	}
@@ -627,8 +635,7 @@ public class Facade implements IFacade {
 
 	@Override
 	public void cleanAllSlimeIds() {
-		// TODO Auto-generated method stub
-		Slime.clearSlimeIDs();
+		slimeIds.clear();
 	}
 
 	@Override
@@ -0,0 +1,118 @@
+package jumpingalien.model;
+
+import jumpingalien.util.Sprite;
+
+/**
+ * A class of systems animating the game objects of an entity store: they turn Mazubs that
+ * stand still to the front and choose the sprite that shows the current state of each Mazub.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class AnimationSystem {
+
+	/**
+	 * Time each sprite of an animation is shown.
+	 */
+	private static final double FRAME_TIME = 0.075;
+
+	private AnimationSystem() {
+	}
+
+	/**
+	 * Start a tick of the given time for the given game object: a Mazub remembers its
+	 * sprite, turns to the front if it has stood still long enough, and gets the sprite of its
+	 * current state.
+	 */
+	static void beginTick(EntityStore s, int e, double deltaT) {
+		if (s.kind[e] != EntityStore.MAZUB)
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		s.oldSprite[e] = s.sprite[e];
+		TickProfiler.Phase phase = mazub.enterPhase(TickProfiler.Phase.SPRITE);
+		orientationCorrection(s, e, deltaT);
+		updateSprites(s, e, deltaT);
+		mazub.exitPhase(phase);
+	}
+
+	/**
+	 * Add the given time to the time the given Mazub has stood still facing a side, and turn
+	 * it to the front once it has stood still for 1 second.
+	 */
+	static void orientationCorrection(EntityStore s, int e, double deltaT) {
+		Mazub mazub = (Mazub) s.handles[e];
+		if ((s.vx[e] == 0) && (s.orientation[e] != "front"))
+			mazub.setStandingStillTime(s.standingStillTime[e] + deltaT);
+		if (s.standingStillTime[e] >= 1) {
+			mazub.setOrientation("front");
+			mazub.setStandingStillTime(0);
+		}
+	}
+
+	/**
+	 * Give the given Mazub the sprite of its current state after the given time. A Mazub
+	 * that walks without ducking or jumping shows the sprites of its walking animation in
+	 * turn.
+	 */
+	static void updateSprites(EntityStore s, int e, double deltaT) {
+		Mazub mazub = (Mazub) s.handles[e];
+		int index = mazub.determineSpriteIndex();
+		int m = mazub.getM();
+		if (index < 8) {
+			mazub.setCurrentSprite(mazub.sprites[index]);
+			mazub.setRuntime(0);
+		}
+		if (index == 8) {
+			animate(s, e, deltaT, 8, m);
+		}
+		if (index == 8+m) {
+			animate(s, e, deltaT, 8+m, m);
+		}
+	}
+
+	/**
+	 * Show the sprite of the animation of the given number of sprites from the given index
+	 * on that the given Mazub reaches after the given time.
+	 */
+	static void animate(EntityStore s, int e, double deltaT, int from, int length) {
+		Mazub mazub = (Mazub) s.handles[e];
+		Sprite[] sprites = mazub.sprites;
+		mazub.setRuntime(s.runtime[e]+deltaT);
+		int k = (int) (s.runtime[e] / FRAME_TIME);
+		int l = k% length;
+		int oldIndex = 0;
+		for (int i = 0; i < length; i++) {
+			if (s.sprite[e] == sprites[from + i]) {
+				oldIndex = i;
+				break;
+			}
+		}
+		int newIndex = oldIndex +l;
+		if (newIndex >=length) {
+			newIndex = newIndex - length;
+		}
+		mazub.setCurrentSprite(sprites[from + newIndex]);
+		mazub.setRuntime(s.runtime[e] % FRAME_TIME);
+	}
+
+	/**
+	 * Let the given Mazub in its remainder settle when it is still alive: a Mazub that
+	 * ends its segment in impassable terrain, without standing on it with its lowest row of
+	 * pixels only, gets back the sprite it had at the start of the tick.
+	 */
+	static void settle(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		s.settled[e] = (s.segment[e] == EntitySystems.MAZUB_IN_WORLD) && (! s.dead[e]);
+		if (! s.settled[e])
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		if (mazub.getWorld() != null)
+			if (mazub.collidesWithImpassableTerrain(s.pixelX[e], s.pixelY[e]))
+				if (! mazub.mazubStartingInImpassableTerrain(s.pixelX[e], s.pixelY[e]))
+					mazub.setCurrentSprite(s.oldSprite[e]);
+	}
+
+}
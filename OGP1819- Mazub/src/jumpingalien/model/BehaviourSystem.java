@@ -0,0 +1,300 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems deciding in which segments the game objects of an entity store
+ * advance during a tick, and changing the direction in which Sharks and Plants move.
+ *
+ * The segments of a game object follow from a stack of frames. A tick starts with a single
+ * frame that advances the game object by the time of the tick; a Shark that stops or starts
+ * moving and a Plant that turns during that time split it in frames that advance the game
+ * object up to the moment of the change, make the change, and advance it by the rest of the
+ * time. The frames replace the recursive calls of advanceTime by which these game objects
+ * used to split a tick.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class BehaviourSystem {
+
+	/**
+	 * Kinds of frames: advance by a time period, let a Shark stop or start moving, let a
+	 * Plant turn, set the moving time of a Plant, and let a Plant touch the playable Mazub.
+	 */
+	private static final byte ADVANCE = 0;
+	private static final byte STOP = 1;
+	private static final byte START = 2;
+	private static final byte TURN = 3;
+	private static final byte MOVING_TIME = 4;
+	private static final byte CONTACT = 5;
+
+	private BehaviourSystem() {
+	}
+
+	/**
+	 * Start a tick of the given time for the given game object: give it a frame
+	 * advancing it by that time, set a Shark that has just started in motion, and let a Slime
+	 * that was blocked by the playable Mazub move on when it is gone.
+	 */
+	static void beginTick(EntityStore s, int e, double deltaT) {
+		s.frames[e] = 0;
+		push(s, e, ADVANCE, deltaT);
+		s.stage[e] = EntitySystems.ENDED;
+		if (s.kind[e] == EntityStore.SHARK) {
+			if (s.justStarted[e]) {
+				Shark shark = (Shark) s.handles[e];
+				s.justStarted[e] = false;
+				shark.startJump();
+				shark.setOrientation("left");
+				shark.setHorizontalAcceleration(-1.5);
+				shark.setCurrentSprite(shark.sprites[1]);
+			}
+		}
+		else if (s.kind[e] == EntityStore.SLIME) {
+			if (s.blocking[e]) {
+				Slime slime = (Slime) s.handles[e];
+				if (! slime.meetsMazub(s.pixelX[e], s.pixelY[e])) {
+					if (s.orientation[e] == "right")
+						slime.setHorizontalAcceleration(0.7);
+					if (s.orientation[e] == "left")
+						slime.setHorizontalAcceleration(-0.7);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Start the next segment of the given game object if its segment has ended, by handling
+	 * its frames until one of them starts a segment.
+	 *
+	 * @param  pass
+	 *         Whether the game object is advanced in passes over a whole world, in which
+	 *         case it stops if it was removed from its store.
+	 * @return True if and only if a segment of the game object starts.
+	 */
+	static boolean nextSegment(EntityStore s, int e, boolean pass) {
+		if (s.stage[e] != EntitySystems.ENDED)
+			return false;
+		s.stage[e] = EntitySystems.IDLE;
+		if (pass && s.isRemoved(e))
+			s.frames[e] = 0;
+		while (s.frames[e] > 0) {
+			if (pop(s, e)) {
+				s.stage[e] = EntitySystems.STARTING;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Push a frame of the given kind and time period on the frames of the given game object.
+	 *
+	 * @throws StackOverflowError
+	 *         The game object has no room for another frame, which is where its recursive
+	 *         advanceTime used to overflow the stack.
+	 */
+	private static void push(EntityStore s, int e, byte kind, double time) throws StackOverflowError {
+		int frame = s.frames[e];
+		if (frame == EntityStore.FRAMES)
+			throw new StackOverflowError();
+		s.frameKind[e*EntityStore.FRAMES + frame] = kind;
+		s.frameTime[e*EntityStore.FRAMES + frame] = time;
+		s.frames[e] = frame + 1;
+	}
+
+	/**
+	 * Handle the top frame of the given game object.
+	 *
+	 * @return True if and only if the frame starts a segment of the game object.
+	 */
+	private static boolean pop(EntityStore s, int e) {
+		int frame = --s.frames[e];
+		byte kind = s.frameKind[e*EntityStore.FRAMES + frame];
+		double time = s.frameTime[e*EntityStore.FRAMES + frame];
+		switch (kind) {
+		case ADVANCE:
+			return advance(s, e, time);
+		case STOP:
+			stop(s, e);
+			return false;
+		case START:
+			start(s, e);
+			return false;
+		case TURN:
+			turn(s, e);
+			return false;
+		case MOVING_TIME:
+			s.movingTime[e] = time;
+			return false;
+		default:
+			ContactSystem.touchMazub(s, e, time);
+			return false;
+		}
+	}
+
+	/**
+	 * Advance the given game object by the given time period, by starting a segment or by
+	 * pushing the frames in which the time period is split.
+	 *
+	 * @return True if and only if a segment of the game object starts.
+	 */
+	private static boolean advance(EntityStore s, int e, double deltaT) {
+		switch (s.kind[e]) {
+		case EntityStore.MAZUB:
+			if (s.handles[e].getWorld() == null)
+				return begin(s, e, s.dead[e] ? EntitySystems.DECAY_IN_VOID : EntitySystems.MAZUB_IN_VOID, deltaT);
+			return begin(s, e, s.dead[e] ? EntitySystems.DECAY : EntitySystems.MAZUB_IN_WORLD, deltaT);
+		case EntityStore.SLIME:
+			return begin(s, e, s.dead[e] ? EntitySystems.DECAY : EntitySystems.SLIME_MOVING, deltaT);
+		case EntityStore.SHARK:
+			return advanceShark(s, e, deltaT);
+		default:
+			return advancePlant(s, e, deltaT);
+		}
+	}
+
+	/**
+	 * Advance the given Shark by the given time period. A Shark blocked by a Mazub only
+	 * advances once the Mazub has blocked it for 0.6 seconds; a Shark stops after moving
+	 * for 0.5 seconds and starts moving again after resting for 1 second.
+	 */
+	private static boolean advanceShark(EntityStore s, int e, double deltaT) {
+		if (s.blocking[e]) {
+			s.contactTime[e] += deltaT;
+			if (s.contactTime[e] > 0.6) {
+				s.blocking[e] = false;
+				push(s, e, ADVANCE, s.contactTime[e] - 0.6);
+			}
+			return false;
+		}
+		if (s.ax[e] != 0) {
+			if (s.movingTime[e] + deltaT < 0.5) {
+				s.movingTime[e] += deltaT;
+				return begin(s, e, EntitySystems.SHARK_MOVING, deltaT);
+			}
+			double beforeStop = 0.5 - s.movingTime[e];
+			s.movingTime[e] = 0;
+			push(s, e, ADVANCE, deltaT - beforeStop);
+			push(s, e, STOP, 0);
+			push(s, e, ADVANCE, beforeStop);
+			return false;
+		}
+		if (s.movingTime[e] + deltaT < 1) {
+			s.movingTime[e] += deltaT;
+			return begin(s, e, EntitySystems.SHARK_RESTING, deltaT);
+		}
+		double beforeStart = 1 - s.movingTime[e];
+		s.movingTime[e] = 0;
+		push(s, e, ADVANCE, deltaT - beforeStart);
+		push(s, e, START, 0);
+		push(s, e, ADVANCE, beforeStart);
+		return false;
+	}
+
+	/**
+	 * Advance the given Plant by the given time period. A living Plant turns after moving
+	 * for 0.5 seconds, and touches the playable Mazub after advancing.
+	 *
+	 * @throws IllegalArgumentException
+	 *         The given time period is negative or larger than 0.2 seconds.
+	 *       | (deltaT <= -0.000001) || (deltaT > 0.2)
+	 */
+	private static boolean advancePlant(EntityStore s, int e, double deltaT) throws IllegalArgumentException {
+		if (deltaT <= -0.000001)
+			throw new IllegalArgumentException();
+		if (deltaT > 0.2)
+			throw new IllegalArgumentException();
+		if (s.dead[e])
+			return begin(s, e, EntitySystems.DECAY, deltaT);
+		s.movingTime[e] += deltaT;
+		push(s, e, CONTACT, deltaT);
+		if (s.movingTime[e] <= 0.5) {
+			s.lifeTime[e] -= deltaT;
+			return begin(s, e, EntitySystems.PLANT_MOVING, deltaT);
+		}
+		double afterTurn = s.movingTime[e] - 0.5;
+		s.movingTime[e] = 0;
+		push(s, e, MOVING_TIME, afterTurn);
+		push(s, e, ADVANCE, afterTurn);
+		push(s, e, TURN, 0);
+		push(s, e, ADVANCE, deltaT - afterTurn);
+		return false;
+	}
+
+	/**
+	 * Start a segment of the given kind and time period for the given game object.
+	 *
+	 * @return True.
+	 */
+	private static boolean begin(EntityStore s, int e, byte segment, double deltaT) {
+		s.segment[e] = segment;
+		s.segmentTime[e] = deltaT;
+		return true;
+	}
+
+	/**
+	 * Let the given Shark stop moving, facing the front.
+	 */
+	private static void stop(EntityStore s, int e) {
+		Shark shark = (Shark) s.handles[e];
+		shark.setOldOrientation(shark.getOrientation());
+		shark.setOrientation("front");
+		shark.stopMove();
+		shark.setCurrentSprite(shark.sprites[0]);
+		shark.endJump();
+		s.movingTime[e] = 0;
+	}
+
+	/**
+	 * Let the given Shark jump and move in the direction opposite to the one it last moved in.
+	 */
+	private static void start(EntityStore s, int e) {
+		Shark shark = (Shark) s.handles[e];
+		shark.startJump();
+		if (shark.getOldOrientation() == "left") {
+			shark.setOrientation("right");
+			shark.setHorizontalAcceleration(1.5);
+			shark.setCurrentSprite(shark.sprites[2]);
+		}
+		else if (shark.getOldOrientation() == "right") {
+			shark.setOrientation("left");
+			shark.setHorizontalAcceleration(-1.5);
+			shark.setCurrentSprite(shark.sprites[1]);
+		}
+		s.movingTime[e] = 0;
+	}
+
+	/**
+	 * Let the given Plant move in the opposite direction: a Sneezewort turns horizontally
+	 * and a Skullcab vertically.
+	 */
+	private static void turn(EntityStore s, int e) {
+		GameObject plant = s.handles[e];
+		if (s.kind[e] == EntityStore.SNEEZEWORT) {
+			if (s.orientation[e] == "left") {
+				plant.setOrientation("right");
+				plant.setHorizontalVelocity(0.5);
+				plant.setCurrentSprite(plant.sprites[1]);
+			}
+			else {
+				plant.setOrientation("left");
+				plant.setHorizontalVelocity(-0.5);
+				plant.setCurrentSprite(plant.sprites[0]);
+			}
+		}
+		else {
+			if (s.vy[e] > 0) {
+				plant.setVerticalVelocity(-0.5);
+				plant.setCurrentSprite(plant.sprites[1]);
+			}
+			else {
+				plant.setVerticalVelocity(0.5);
+				plant.setCurrentSprite(plant.sprites[0]);
+			}
+		}
+		s.movingTime[e] = 0;
+	}
+
+}
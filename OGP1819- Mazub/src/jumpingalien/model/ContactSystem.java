@@ -0,0 +1,341 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems handling the contacts between the game objects of an entity store:
+ * game objects bumping into each other, Mazubs eating Plants, and Slimes and Sharks blocking
+ * or hurting the game objects they meet.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class ContactSystem {
+
+	private ContactSystem() {
+	}
+
+	/**
+	 * Stop the given Mazub or moving Shark whose segment starts against another game
+	 * object.
+	 */
+	static void beginSegment(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.STARTING) || ((s.segment[e] != EntitySystems.MAZUB_IN_WORLD) &&
+				(s.segment[e] != EntitySystems.SHARK_MOVING)))
+			return;
+		GameObject handle = s.handles[e];
+		if (handle.objectBumpsOnOtherObject(s.pixelX[e], s.pixelY[e])) {
+			handle.setVerticalVelocity(0);
+			handle.setHorizontalAcceleration(0);
+			handle.setHorizontalVelocity(0);
+		}
+	}
+
+	/**
+	 * Count the free substeps of the given moving Shark that is blocking a Mazub in the
+	 * time it has been blocking it.
+	 */
+	static void beforeFreeSubsteps(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] == 0) ||
+				(s.segment[e] != EntitySystems.SHARK_MOVING))
+			return;
+		if (s.blocking[e])
+			s.contactTime[e] += s.free[e]*s.dt[e];
+	}
+
+	/**
+	 * Let the given Mazub that takes a free substep eat the Plants it overlaps after the
+	 * first substep, or count the free substeps of the given Slime that was blocked by a Mazub
+	 * in the time it has been blocked. A Slime moves on once it has been blocked for 0.6
+	 * seconds.
+	 */
+	static void afterFreeSubsteps(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] == 0))
+			return;
+		double dt = s.dt[e];
+		int freeSubsteps = s.free[e];
+		if (s.segment[e] == EntitySystems.MAZUB_IN_WORLD) {
+			Mazub mazub = (Mazub) s.handles[e];
+			TickProfiler.Phase phase = mazub.enterPhase(TickProfiler.Phase.HIT_POINTS);
+			mazub.eatPlants((int) (100*s.newX[e]), (int) (100*s.newY[e]), dt);
+			mazub.exitPhase(phase);
+		}
+		else if ((s.segment[e] == EntitySystems.SLIME_MOVING) && (s.blocking[e])) {
+			int blockedSubsteps = (int) Math.ceil((0.6 - s.contactTime[e])/dt);
+			if (blockedSubsteps <= freeSubsteps) {
+				s.contactTime[e] = ((s.contactTime[e] + blockedSubsteps*dt)%0.6);
+				s.blocking[e] = false;
+			}
+			else
+				s.contactTime[e] += freeSubsteps*dt;
+		}
+	}
+
+	/**
+	 * Let the given Mazub or moving Shark that takes a substep that is not free and bumps
+	 * into another game object at the position it reaches stay at the position of its previous
+	 * substep, stop, and count its substeps anew. Such a Mazub falls unless something supports
+	 * it.
+	 */
+	static void bump(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0))
+			return;
+		byte segment = s.segment[e];
+		if ((segment != EntitySystems.MAZUB_IN_WORLD) && (segment != EntitySystems.SHARK_MOVING))
+			return;
+		GameObject handle = s.handles[e];
+		double dt = s.dt[e];
+		TickProfiler.Phase phase = handle.enterPhase(TickProfiler.Phase.OBJECT_COLLISION);
+		if (handle.objectBumpsOnOtherObject((int) (100*s.newX[e]),(int) (100*s.newY[e]))) {
+			handle.updatePosition((s.nbdtX[e]-2)*dt, (s.nbdtY[e]-2)*dt);
+			handle.setVerticalVelocity(0);
+			if (segment == EntitySystems.MAZUB_IN_WORLD)
+				GravitySystem.fallUnlessSupported(handle, s.pixelX[e], s.pixelY[e]);
+			handle.setHorizontalAcceleration(0);
+			handle.setHorizontalVelocity(0);
+			s.deltaTX[e] -= (s.nbdtX[e]-2)*dt;
+			s.deltaTY[e] -= (s.nbdtY[e]-2)*dt;
+			s.nbdtX[e] = 2;
+			s.nbdtY[e] = 2;
+		}
+		handle.exitPhase(phase);
+	}
+
+	/**
+	 * Let the given Slime that takes a substep that is not free meet the game objects at
+	 * the position it reaches. A Slime that meets a Mazub stays at the position of its previous
+	 * substep and stops, and loses 30 hit points if the Mazub did not block it yet; a Slime that
+	 * meets another Slime without bumping into terrain stays at the position of its previous
+	 * substep and turns around; a Slime that meets a Shark dies.
+	 */
+	static void substep(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0) ||
+				(s.segment[e] != EntitySystems.SLIME_MOVING))
+			return;
+		Slime slime = (Slime) s.handles[e];
+		double dt = s.dt[e];
+		int newPosX = (int) (100*s.newX[e]);
+		int newPosY = (int) (100*s.newY[e]);
+		if (s.blocking[e]) {
+			s.contactTime[e] += dt;
+			if (s.contactTime[e] >= 0.6) {
+				s.contactTime[e] = (s.contactTime[e]%0.6);
+				s.blocking[e] = false;
+			}
+		}
+		TickProfiler.Phase phase = slime.enterPhase(TickProfiler.Phase.OBJECT_COLLISION);
+		if (slime.meetsMazub(newPosX, newPosY)) {
+			slime.updatePosition((s.nbdtX[e]-2)*dt, (s.nbdtY[e]-2)*dt);
+			s.deltaTX[e] -= (s.nbdtX[e]-2)*dt;
+			s.nbdtX[e] = 2;
+			slime.setHorizontalVelocity(0);
+			slime.setHorizontalAcceleration(0);
+			if (! s.blocking[e]) {
+				slime.setHitPoints(s.hitPoints[e]-30);
+				slime.updateHitpointsSchool();
+				s.blocking[e] = true;
+			}
+		}
+		if ((( !slime.objectBumpsImpassableTerrainRight(newPosX, newPosY)) &&
+				(! slime.objectBumpsImpassableTerrainLeft(newPosX, newPosY))) &&
+				(slime.meetsOtherSlime(newPosX, newPosY))) {
+			slime.updatePosition((s.nbdtX[e]-2)*dt, (s.nbdtY[e]-2)*dt);
+			s.deltaTX[e] -= (s.nbdtX[e]-2)*dt;
+			s.nbdtX[e] = 2;
+			turnAround(s, e);
+		}
+		if (slime.meetsShark(newPosX, newPosY)) {
+			slime.kill();
+			slime.terminate();
+		}
+		slime.exitPhase(phase);
+	}
+
+	/**
+	 * Let the given Mazub that takes a substep that is not free interact with the game
+	 * objects and eat the Plants at the position it reaches.
+	 */
+	static void interactions(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0) ||
+				(s.segment[e] != EntitySystems.MAZUB_IN_WORLD))
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		TickProfiler.Phase phase = mazub.enterPhase(TickProfiler.Phase.HIT_POINTS);
+		mazub.updateHitpointsAfterInteractionsWithGameObjects((int)(100*s.newX[e]), (int) (100*s.newY[e]));
+		mazub.eatPlants((int)(100*s.newX[e]),(int) (100*s.newY[e]),s.dt[e]);
+		mazub.exitPhase(phase);
+	}
+
+	/**
+	 * Count the substep of the given moving Shark that takes a substep that is not free
+	 * and is blocking a Mazub in the time it has been blocking it.
+	 */
+	static void afterSubstep(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0) ||
+				(s.segment[e] != EntitySystems.SHARK_MOVING))
+			return;
+		if (s.blocking[e])
+			s.contactTime[e] += s.dt[e];
+	}
+
+	/**
+	 * Let the given game object in its remainder meet the game objects at the end of its
+	 * segment. A Mazub that bumps into another game object interacts with it and stays at the
+	 * position of its last substep; a Slime meets other Slimes, Sharks and Mazubs as in its
+	 * substeps, and counts the remainder in the time it has been blocked; a moving Shark counts
+	 * the remainder in the time it has been blocking a Mazub.
+	 */
+	static void remainder(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			remainderMazub(s, e);
+			break;
+		case EntitySystems.SHARK_MOVING:
+			if (s.blocking[e])
+				s.contactTime[e] += s.segmentTime[e]%s.dt[e];
+			break;
+		case EntitySystems.SLIME_MOVING:
+			remainderSlime(s, e);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Let the given Mazub in its remainder bump into the game objects at the end of its
+	 * segment.
+	 */
+	private static void remainderMazub(EntityStore s, int e) {
+		Mazub mazub = (Mazub) s.handles[e];
+		int newPosX = (int) (100*s.newX[e]);
+		int newPosY = (int) (100*s.newY[e]);
+		if (mazub.objectBumpsOnOtherObject(newPosX, newPosY)) {
+			double deltaTX = s.deltaTX[e];
+			double rest = s.segmentTime[e]%s.dt[e];
+			mazub.updateHitpointsAfterInteractionsWithGameObjects(newPosX, newPosY);
+			mazub.updatePosition(deltaTX-rest, deltaTX-rest);
+			GravitySystem.fallUnlessSupported(mazub, newPosX, newPosY);
+			mazub.setHorizontalAcceleration(0);
+			mazub.setHorizontalVelocity(0);
+			s.placed[e] = true;
+		}
+	}
+
+	/**
+	 * Let the given Slime in its remainder meet the game objects at the end of its segment.
+	 */
+	private static void remainderSlime(EntityStore s, int e) {
+		Slime slime = (Slime) s.handles[e];
+		double deltaT = s.segmentTime[e];
+		double deltaTX = s.deltaTX[e];
+		double dt = s.dt[e];
+		int newPosX = (int) (100*s.newX[e]);
+		int newPosY = (int) (100*s.newY[e]);
+		if (s.blocking[e]) {
+			s.contactTime[e] += (deltaTX%dt);
+			if (s.contactTime[e] >=0.6) {
+				s.contactTime[e] = (s.contactTime[e]%0.6);
+				s.blocking[e] = false;
+			}
+		}
+		if (slime.meetsOtherSlime(newPosX, newPosY)){
+			slime.updatePosition(deltaTX-deltaT%dt, deltaT);
+			slime.setHorizontalVelocity(0);
+			turnAround(s, e);
+			s.placed[e] = true;
+		}
+		else if (slime.meetsShark(newPosX, newPosY)){
+			slime.kill();
+			slime.terminate();
+			s.placed[e] = true;
+		}
+		else if (slime.meetsMazub(newPosX, newPosY)){
+			slime.updatePosition(deltaTX-deltaT%dt, deltaT);
+			slime.setHorizontalVelocity(0);
+			slime.setHorizontalAcceleration(0);
+			if (! s.blocking[e]) {
+				slime.setHitPoints(s.hitPoints[e]-30);
+				slime.updateHitpointsSchool();
+				s.blocking[e] = true;
+			}
+			s.placed[e] = true;
+		}
+	}
+
+	/**
+	 * Let the given Slime turn around.
+	 */
+	private static void turnAround(EntityStore s, int e) {
+		GameObject slime = s.handles[e];
+		if (s.orientation[e] == "right") {
+			slime.setOrientation("left");
+			slime.setCurrentSprite(slime.sprites[1]);
+			slime.setHorizontalVelocity(0);
+			slime.setHorizontalAcceleration(-0.7);
+		}
+		else if (s.orientation[e] == "left") {
+			slime.setOrientation("right");
+			slime.setCurrentSprite(slime.sprites[0]);
+			slime.setHorizontalVelocity(0);
+			slime.setHorizontalAcceleration(0.7);
+		}
+	}
+
+	/**
+	 * Let the given Mazub in its remainder eat the Plants it overlaps at the end of its
+	 * segment.
+	 */
+	static void eatRemainder(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.REMAINDER) || (s.segment[e] != EntitySystems.MAZUB_IN_WORLD))
+			return;
+		((Mazub) s.handles[e]).eatPlants(s.pixelX[e],s.pixelY[e],s.segmentTime[e] % s.dt[e]);
+	}
+
+	/**
+	 * Let the given living Mazub in its remainder that ends its segment against a Slime
+	 * lose 20 hit points at the first contact and after every 0.6 seconds of contact.
+	 */
+	static void settle(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.REMAINDER) || (! s.settled[e]))
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		if (mazub.meetsSlime(s.pixelX[e],s.pixelY[e])) {
+			if (s.contactTime[e] == 0) {
+				mazub.setHitPoints(s.hitPoints[e]-20);
+			}
+			s.contactTime[e] += s.dt[e];
+			if (s.contactTime[e] > 0.6) {
+				mazub.setHitPoints(s.hitPoints[e]-
+					((int) (s.contactTime[e]/0.6))*20);
+				s.contactTime[e] = (s.contactTime[e]%0.6);
+			}
+		}
+	}
+
+	/**
+	 * End the tick of the given game object: a Mazub is no longer hurt by the dead
+	 * Skullcab it ate in this tick.
+	 */
+	static void endTick(EntityStore s, int e) {
+		if (s.kind[e] == EntityStore.MAZUB)
+			((Mazub) s.handles[e]).skullcabDeadAndHurtsMazub = false;
+	}
+
+	/**
+	 * Let the given Plant touch the playable Mazub of its world after advancing by the
+	 * given time period.
+	 */
+	static void touchMazub(EntityStore s, int e, double deltaT) {
+		GameObject plant = s.handles[e];
+		TickProfiler.Phase phase = plant.enterPhase(TickProfiler.Phase.OBJECT_COLLISION);
+		if (s.kind[e] == EntityStore.SNEEZEWORT)
+			((Sneezewort) plant).sneezewortOverlapsPlayableMazub();
+		else
+			((Skullcab) plant).skullcabOverlapsPlayableMazub(deltaT);
+		plant.exitPhase(phase);
+	}
+
+}
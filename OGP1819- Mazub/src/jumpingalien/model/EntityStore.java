@@ -0,0 +1,575 @@
+package jumpingalien.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import jumpingalien.util.Sprite;
+
+/**
+ * A class of stores that own the state of game objects in dense arrays, one array per
+ * component and one index per game object.
+ *
+ * Every game object is a handle on an index of a store: its getters and setters read and
+ * write the arrays of that store, and the systems of the entity core advance the objects of
+ * a store in passes over these arrays. A game object that is not in a world has a store of
+ * its own; adding it to a world moves its state into the store of that world.
+ *
+ * Besides the state of the game objects, a store holds the progress of the segments in
+ * which the systems advance its objects during a tick. These arrays only have a meaning
+ * while the store is advancing.
+ *
+ * @invar  Each index below the size of a store belongs to the handle registered on it.
+ *       | for each entity in 0..getSize()-1:
+ *       |   handles[entity].store == this && handles[entity].entity == entity
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class EntityStore {
+
+	/**
+	 * Kinds of game objects, registered on the index of each game object.
+	 */
+	static final byte MAZUB = 0;
+	static final byte SHARK = 1;
+	static final byte SLIME = 2;
+	static final byte SNEEZEWORT = 3;
+	static final byte SKULLCAB = 4;
+
+	/**
+	 * Number of pending frames each game object can have in a tick. The frames stand for the
+	 * recursive calls by which the game objects used to split a tick in segments.
+	 */
+	static final int FRAMES = 8;
+
+	/**
+	 * Initialize this new store with room for the given number of game objects.
+	 *
+	 * @param  capacity
+	 *         The number of game objects this new store can hold before it grows.
+	 * @post   This new store holds no game objects.
+	 *       | new.getSize() == 0
+	 */
+	EntityStore(int capacity) {
+		this.allocate(Math.max(capacity, 1));
+	}
+
+	/**
+	 * Return an empty store for a game object of its own. The store that a game object left
+	 * last, when it was added to a world, is reused if there is one, so that creating and
+	 * adding game objects one by one leaves no stores behind.
+	 *
+	 * @return A store that holds no game objects.
+	 *       | result.getSize() == 0
+	 */
+	static EntityStore own() {
+		EntityStore store;
+		synchronized (EntityStore.class) {
+			store = spare;
+			spare = null;
+		}
+		if (store == null) {
+			store = new EntityStore(1);
+			store.own = true;
+		}
+		else
+			copy(BLANK, 0, store, 0);
+		return store;
+	}
+
+	/**
+	 * Offer this store, which belongs to a single game object and became empty, to be reused
+	 * by the next game object that needs a store of its own.
+	 */
+	private void recycle() {
+		if (this.own && (this.size == 0) && ! this.advancing)
+			synchronized (EntityStore.class) {
+				spare = this;
+			}
+	}
+
+	/**
+	 * Variable registering whether this store belongs to a single game object.
+	 */
+	private boolean own = false;
+
+	/**
+	 * Variable registering an empty store of a single game object to reuse.
+	 */
+	private static EntityStore spare = null;
+
+	/**
+	 * Variable registering a store of which the first index holds the initial state of a
+	 * game object.
+	 */
+	private static final EntityStore BLANK = new EntityStore(1);
+
+	/**
+	 * Return the number of game objects in this store.
+	 */
+	@Basic
+	int getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Variable registering the number of game objects in this store.
+	 */
+	private int size;
+
+	/**
+	 * Return whether this store is advancing its game objects.
+	 */
+	@Basic
+	boolean isAdvancing() {
+		return this.advancing;
+	}
+
+	/**
+	 * Mark this store as advancing its game objects. Game objects that are removed from
+	 * this store from now on keep their index until the end of the advance.
+	 *
+	 * @post | new.isAdvancing()
+	 */
+	void beginAdvance() {
+		this.advancing = true;
+	}
+
+	/**
+	 * End the advance of the game objects of this store, and move the game objects that
+	 * were removed during it to a store of their own.
+	 *
+	 * @post | ! new.isAdvancing()
+	 * @effect Each game object that was removed during the advance is released.
+	 *       | for each entity with removed[entity]:
+	 *       |   this.release(entity)
+	 */
+	void endAdvance() {
+		this.advancing = false;
+		if (this.nbRemoved == 0)
+			return;
+		// releasing an index moves the last game object onto it, which is already checked
+		for (int entity = this.size - 1; entity >= 0; entity--)
+			if (this.removed[entity])
+				this.release(entity);
+		this.nbRemoved = 0;
+		this.recycle();
+	}
+
+	/**
+	 * Return whether the game object on the given index was removed from this store during
+	 * the current advance.
+	 */
+	@Basic
+	boolean isRemoved(int entity) {
+		return this.removed[entity];
+	}
+
+	/**
+	 * Variable registering whether this store is advancing its game objects.
+	 */
+	private boolean advancing = false;
+
+	/**
+	 * Variable registering the number of game objects removed from this store during the
+	 * current advance.
+	 */
+	private int nbRemoved = 0;
+
+	/**
+	 * Register the given game object, which is not in any store yet, on a new index of this
+	 * store.
+	 *
+	 * @param  handle
+	 *         The game object to register.
+	 * @return The new index of the given game object.
+	 */
+	int add(GameObject handle) {
+		int entity = this.reserve();
+		this.handles[entity] = handle;
+		this.kind[entity] = kindOf(handle);
+		return entity;
+	}
+
+	/**
+	 * Move the state of the given game object to this store, and make the game object a
+	 * handle on its new index.
+	 *
+	 * @param  handle
+	 *         The game object to move to this store.
+	 * @post   | handle.store == this
+	 * @effect If the game object was removed from this store during the current advance,
+	 *         it stays on its index.
+	 */
+	void attach(GameObject handle) {
+		EntityStore from = handle.store;
+		if (from == this) {
+			if (this.removed[handle.entity]) {
+				this.removed[handle.entity] = false;
+				this.nbRemoved--;
+			}
+			return;
+		}
+		int entity = this.reserve();
+		copy(from, handle.entity, this, entity);
+		from.detach(handle);
+		handle.store = this;
+		handle.entity = entity;
+	}
+
+	/**
+	 * Move the state of the given game object of this store to a store of its own. While
+	 * this store is advancing, the game object keeps its index until the end of the advance.
+	 *
+	 * @param  handle
+	 *         The game object to remove from this store.
+	 */
+	void remove(GameObject handle) {
+		if (handle.store != this)
+			return;
+		int entity = handle.entity;
+		if (this.advancing) {
+			if (! this.removed[entity]) {
+				this.removed[entity] = true;
+				this.nbRemoved++;
+			}
+		}
+		else
+			this.release(entity);
+	}
+
+	/**
+	 * Move the game object on the given index to a new store of its own.
+	 */
+	private void release(int entity) {
+		GameObject handle = this.handles[entity];
+		EntityStore own = own();
+		int index = own.reserve();
+		copy(this, entity, own, index);
+		this.detach(handle);
+		handle.store = own;
+		handle.entity = index;
+	}
+
+	/**
+	 * Free the index of the given game object of this store, by moving the last game object
+	 * of this store onto it.
+	 */
+	private void detach(GameObject handle) {
+		int entity = handle.entity;
+		int last = this.size - 1;
+		this.removed[entity] = false;
+		if (entity != last) {
+			copy(this, last, this, entity);
+			this.removed[entity] = this.removed[last];
+			this.removed[last] = false;
+			this.handles[entity].entity = entity;
+		}
+		this.handles[last] = null;
+		this.sprite[last] = null;
+		this.oldSprite[last] = null;
+		this.orientation[last] = null;
+		this.size = last;
+		this.recycle();
+	}
+
+	/**
+	 * Return the kind of the given game object.
+	 */
+	private static byte kindOf(GameObject handle) {
+		if (handle instanceof Mazub)
+			return MAZUB;
+		if (handle instanceof Shark)
+			return SHARK;
+		if (handle instanceof Slime)
+			return SLIME;
+		if (handle instanceof Skullcab)
+			return SKULLCAB;
+		return SNEEZEWORT;
+	}
+
+	/**
+	 * Return a new index at the end of this store, growing the arrays if they are full.
+	 */
+	private int reserve() {
+		if (this.size == this.handles.length)
+			this.grow(2 * this.handles.length);
+		return this.size++;
+	}
+
+	/**
+	 * Copy the state of the game object on the given index of the given store to the given
+	 * index of the other given store.
+	 */
+	private static void copy(EntityStore from, int source, EntityStore to, int target) {
+		to.handles[target] = from.handles[source];
+		to.kind[target] = from.kind[source];
+		to.x[target] = from.x[source];
+		to.y[target] = from.y[source];
+		to.pixelX[target] = from.pixelX[source];
+		to.pixelY[target] = from.pixelY[source];
+		to.vx[target] = from.vx[source];
+		to.vy[target] = from.vy[source];
+		to.ax[target] = from.ax[source];
+		to.ay[target] = from.ay[source];
+		to.minVx[target] = from.minVx[source];
+		to.maxVx[target] = from.maxVx[source];
+		to.sprite[target] = from.sprite[source];
+		to.orientation[target] = from.orientation[source];
+		to.hitPoints[target] = from.hitPoints[source];
+		to.dead[target] = from.dead[source];
+		to.terminated[target] = from.terminated[source];
+		to.delay[target] = from.delay[source];
+		to.timeInWater[target] = from.timeInWater[source];
+		to.timeInMagma[target] = from.timeInMagma[source];
+		to.timeInGas[target] = from.timeInGas[source];
+		to.timeOutOfWater[target] = from.timeOutOfWater[source];
+		to.inWater[target] = from.inWater[source];
+		to.inMagma[target] = from.inMagma[source];
+		to.inGas[target] = from.inGas[source];
+		to.leftWater[target] = from.leftWater[source];
+		to.movingTime[target] = from.movingTime[source];
+		to.lifeTime[target] = from.lifeTime[source];
+		to.contactTime[target] = from.contactTime[source];
+		to.runtime[target] = from.runtime[source];
+		to.standingStillTime[target] = from.standingStillTime[source];
+		to.jumping[target] = from.jumping[source];
+		to.justStarted[target] = from.justStarted[source];
+		to.blocking[target] = from.blocking[source];
+	}
+
+	/**
+	 * Allocate the arrays of this store with room for the given number of game objects.
+	 */
+	private void allocate(int capacity) {
+		this.handles = new GameObject[capacity];
+		this.kind = new byte[capacity];
+		this.removed = new boolean[capacity];
+		this.x = new double[capacity];
+		this.y = new double[capacity];
+		this.pixelX = new int[capacity];
+		this.pixelY = new int[capacity];
+		this.vx = new double[capacity];
+		this.vy = new double[capacity];
+		this.ax = new double[capacity];
+		this.ay = new double[capacity];
+		this.minVx = new double[capacity];
+		this.maxVx = new double[capacity];
+		this.sprite = new Sprite[capacity];
+		this.orientation = new String[capacity];
+		this.hitPoints = new int[capacity];
+		this.dead = new boolean[capacity];
+		this.terminated = new boolean[capacity];
+		this.delay = new double[capacity];
+		this.timeInWater = new double[capacity];
+		this.timeInMagma = new double[capacity];
+		this.timeInGas = new double[capacity];
+		this.timeOutOfWater = new double[capacity];
+		this.inWater = new boolean[capacity];
+		this.inMagma = new boolean[capacity];
+		this.inGas = new boolean[capacity];
+		this.leftWater = new boolean[capacity];
+		this.movingTime = new double[capacity];
+		this.lifeTime = new double[capacity];
+		this.contactTime = new double[capacity];
+		this.runtime = new double[capacity];
+		this.standingStillTime = new double[capacity];
+		this.jumping = new boolean[capacity];
+		this.justStarted = new boolean[capacity];
+		this.blocking = new boolean[capacity];
+		this.segment = new byte[capacity];
+		this.stage = new byte[capacity];
+		this.segmentTime = new double[capacity];
+		this.dt = new double[capacity];
+		this.time = new double[capacity];
+		this.deltaTX = new double[capacity];
+		this.deltaTY = new double[capacity];
+		this.newX = new double[capacity];
+		this.newY = new double[capacity];
+		this.nbdtX = new int[capacity];
+		this.nbdtY = new int[capacity];
+		this.free = new int[capacity];
+		this.placed = new boolean[capacity];
+		this.settled = new boolean[capacity];
+		this.oldSprite = new Sprite[capacity];
+		this.frames = new int[capacity];
+		this.frameKind = new byte[capacity * FRAMES];
+		this.frameTime = new double[capacity * FRAMES];
+	}
+
+	/**
+	 * Grow the arrays of this store to the given number of game objects.
+	 */
+	private void grow(int capacity) {
+		this.handles = Arrays.copyOf(this.handles, capacity);
+		this.kind = Arrays.copyOf(this.kind, capacity);
+		this.removed = Arrays.copyOf(this.removed, capacity);
+		this.x = Arrays.copyOf(this.x, capacity);
+		this.y = Arrays.copyOf(this.y, capacity);
+		this.pixelX = Arrays.copyOf(this.pixelX, capacity);
+		this.pixelY = Arrays.copyOf(this.pixelY, capacity);
+		this.vx = Arrays.copyOf(this.vx, capacity);
+		this.vy = Arrays.copyOf(this.vy, capacity);
+		this.ax = Arrays.copyOf(this.ax, capacity);
+		this.ay = Arrays.copyOf(this.ay, capacity);
+		this.minVx = Arrays.copyOf(this.minVx, capacity);
+		this.maxVx = Arrays.copyOf(this.maxVx, capacity);
+		this.sprite = Arrays.copyOf(this.sprite, capacity);
+		this.orientation = Arrays.copyOf(this.orientation, capacity);
+		this.hitPoints = Arrays.copyOf(this.hitPoints, capacity);
+		this.dead = Arrays.copyOf(this.dead, capacity);
+		this.terminated = Arrays.copyOf(this.terminated, capacity);
+		this.delay = Arrays.copyOf(this.delay, capacity);
+		this.timeInWater = Arrays.copyOf(this.timeInWater, capacity);
+		this.timeInMagma = Arrays.copyOf(this.timeInMagma, capacity);
+		this.timeInGas = Arrays.copyOf(this.timeInGas, capacity);
+		this.timeOutOfWater = Arrays.copyOf(this.timeOutOfWater, capacity);
+		this.inWater = Arrays.copyOf(this.inWater, capacity);
+		this.inMagma = Arrays.copyOf(this.inMagma, capacity);
+		this.inGas = Arrays.copyOf(this.inGas, capacity);
+		this.leftWater = Arrays.copyOf(this.leftWater, capacity);
+		this.movingTime = Arrays.copyOf(this.movingTime, capacity);
+		this.lifeTime = Arrays.copyOf(this.lifeTime, capacity);
+		this.contactTime = Arrays.copyOf(this.contactTime, capacity);
+		this.runtime = Arrays.copyOf(this.runtime, capacity);
+		this.standingStillTime = Arrays.copyOf(this.standingStillTime, capacity);
+		this.jumping = Arrays.copyOf(this.jumping, capacity);
+		this.justStarted = Arrays.copyOf(this.justStarted, capacity);
+		this.blocking = Arrays.copyOf(this.blocking, capacity);
+		// the progress of the segments is only used while the store is advancing, when it
+		// does not grow
+		this.segment = new byte[capacity];
+		this.stage = new byte[capacity];
+		this.segmentTime = new double[capacity];
+		this.dt = new double[capacity];
+		this.time = new double[capacity];
+		this.deltaTX = new double[capacity];
+		this.deltaTY = new double[capacity];
+		this.newX = new double[capacity];
+		this.newY = new double[capacity];
+		this.nbdtX = new int[capacity];
+		this.nbdtY = new int[capacity];
+		this.free = new int[capacity];
+		this.placed = new boolean[capacity];
+		this.settled = new boolean[capacity];
+		this.oldSprite = new Sprite[capacity];
+		this.frames = new int[capacity];
+		this.frameKind = new byte[capacity * FRAMES];
+		this.frameTime = new double[capacity * FRAMES];
+	}
+
+	/**
+	 * Arrays registering the game object and its kind on each index of this store, and
+	 * whether it was removed during the current advance.
+	 */
+	GameObject[] handles;
+	byte[] kind;
+	private boolean[] removed;
+
+	/**
+	 * Arrays registering the actual position and the pixel position of each game object.
+	 */
+	double[] x;
+	double[] y;
+	int[] pixelX;
+	int[] pixelY;
+
+	/**
+	 * Arrays registering the velocity, the acceleration and the bounds on the horizontal
+	 * velocity of each game object.
+	 */
+	double[] vx;
+	double[] vy;
+	double[] ax;
+	double[] ay;
+	double[] minVx;
+	double[] maxVx;
+
+	/**
+	 * Arrays registering the current sprite, which is the bounding box, and the orientation
+	 * of each game object.
+	 */
+	Sprite[] sprite;
+	String[] orientation;
+
+	/**
+	 * Arrays registering the hit points of each game object, whether it is dead or
+	 * terminated, and how long it has been dead.
+	 */
+	int[] hitPoints;
+	boolean[] dead;
+	boolean[] terminated;
+	double[] delay;
+
+	/**
+	 * Arrays registering the hazard timers of each game object: how long it has been in
+	 * water, magma and gas, or out of water, and whether it was in them.
+	 */
+	double[] timeInWater;
+	double[] timeInMagma;
+	double[] timeInGas;
+	double[] timeOutOfWater;
+	boolean[] inWater;
+	boolean[] inMagma;
+	boolean[] inGas;
+	boolean[] leftWater;
+
+	/**
+	 * Arrays registering the behaviour of each game object: the time it has moved in its
+	 * current direction, the time it has left to live, the time it has been in contact with
+	 * another game object, the times of its animation, and whether it is jumping, has just
+	 * started or is blocking or blocked by another game object.
+	 */
+	double[] movingTime;
+	double[] lifeTime;
+	double[] contactTime;
+	double[] runtime;
+	double[] standingStillTime;
+	boolean[] jumping;
+	boolean[] justStarted;
+	boolean[] blocking;
+
+	/**
+	 * Arrays registering the segment each game object is advancing in, the stage of that
+	 * segment and its time period.
+	 */
+	byte[] segment;
+	byte[] stage;
+	double[] segmentTime;
+
+	/**
+	 * Arrays registering the substeps of the segment of each game object: the length of a
+	 * substep, the time advanced, the time periods not yet committed in each direction, the
+	 * candidate position, the number of substeps since the last commit in each direction and
+	 * the number of event free substeps of the current substep.
+	 */
+	double[] dt;
+	double[] time;
+	double[] deltaTX;
+	double[] deltaTY;
+	double[] newX;
+	double[] newY;
+	int[] nbdtX;
+	int[] nbdtY;
+	int[] free;
+
+	/**
+	 * Arrays registering whether each game object was placed by a collision at the end of
+	 * its segment, whether it settles after that segment, and its sprite at the start of
+	 * the tick.
+	 */
+	boolean[] placed;
+	boolean[] settled;
+	Sprite[] oldSprite;
+
+	/**
+	 * Arrays registering the pending frames of each game object: their number, and the kind
+	 * and time period of each frame, on index entity * FRAMES + frame.
+	 */
+	int[] frames;
+	byte[] frameKind;
+	double[] frameTime;
+
+}
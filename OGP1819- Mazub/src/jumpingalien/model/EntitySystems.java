@@ -0,0 +1,349 @@
+package jumpingalien.model;
+
+/**
+ * A class scheduling the systems that advance the game objects of an entity store.
+ *
+ * The systems advance a game object in steps. A tick of a game object is divided in
+ * segments: it advances in one segment at a time, and the frames of the behaviour system
+ * decide which segment comes next. Each step handles the stage that the segment of the game
+ * object is in, and does nothing for a game object in another stage.
+ *
+ * A game object that advances on its own takes the steps that handle its segment one after
+ * another, which are exactly the steps it used to take in its own advanceTime, in the same
+ * order. A batch of game objects advances their segments together, in passes: each step is
+ * taken by all game objects of the batch before the next step, and the substeps of the
+ * segments are taken in lockstep, one substep of every game object per round of passes.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class EntitySystems {
+
+	/**
+	 * Segments in which game objects advance: a Mazub in a world or without a world, a
+	 * dead game object in a world or without a world, a moving or resting Shark, a Slime
+	 * and a living Plant.
+	 */
+	static final byte MAZUB_IN_WORLD = 0;
+	static final byte MAZUB_IN_VOID = 1;
+	static final byte DECAY = 2;
+	static final byte DECAY_IN_VOID = 3;
+	static final byte SHARK_MOVING = 4;
+	static final byte SHARK_RESTING = 5;
+	static final byte SLIME_MOVING = 6;
+	static final byte PLANT_MOVING = 7;
+
+	/**
+	 * Stages of the segment of a game object: it has no segment left in this tick, its
+	 * segment starts, takes its substeps, commits its remainder, or has ended.
+	 */
+	static final byte IDLE = 0;
+	static final byte STARTING = 1;
+	static final byte SUBSTEPS = 2;
+	static final byte REMAINDER = 3;
+	static final byte ENDED = 4;
+
+	private EntitySystems() {
+	}
+
+	/**
+	 * Advance the time of the given game object by the given time, on its own.
+	 *
+	 * @param  handle
+	 *         The game object to advance.
+	 * @param  deltaT
+	 *         The time by which the game object is advanced.
+	 */
+	static void advanceOne(GameObject handle, double deltaT) {
+		EntityStore store = handle.store;
+		boolean owner = ! store.isAdvancing();
+		if (owner)
+			store.beginAdvance();
+		try {
+			run(store, handle.entity, deltaT);
+		} finally {
+			if (owner)
+				store.endAdvance();
+		}
+	}
+
+	/**
+	 * Advance the time of the given game objects of the given store, which is advancing,
+	 * by the given time in passes over all of them. A game object that is removed from the
+	 * store during the tick stops at the end of its current segment.
+	 *
+	 * @param  store
+	 *         The store of the game objects.
+	 * @param  batch
+	 *         The indices of the game objects to advance, in the order in which each pass
+	 *         handles them.
+	 * @param  count
+	 *         The number of indices in the batch.
+	 * @param  deltaT
+	 *         The time by which the game objects are advanced.
+	 */
+	static void advance(EntityStore store, int[] batch, int count, double deltaT) {
+		run(store, batch, count, deltaT);
+	}
+
+	/**
+	 * Take the steps of the systems for the given game object of the given store for one
+	 * tick. Each segment only takes the steps that handle its kind of segment.
+	 */
+	private static void run(EntityStore s, int e, double deltaT) {
+		AnimationSystem.beginTick(s, e, deltaT);
+		BehaviourSystem.beginTick(s, e, deltaT);
+		while (BehaviourSystem.nextSegment(s, e, false)) {
+			switch (s.segment[e]) {
+			case MAZUB_IN_WORLD:
+				mazubInWorld(s, e);
+				break;
+			case MAZUB_IN_VOID:
+				GravitySystem.beginSegment(s, e);
+				IntegrationSystem.beginSegment(s, e);
+				break;
+			case DECAY:
+			case DECAY_IN_VOID:
+				HazardSystem.decay(s, e);
+				break;
+			case SHARK_MOVING:
+				sharkMoving(s, e);
+				break;
+			case SHARK_RESTING:
+				sharkResting(s, e);
+				break;
+			case SLIME_MOVING:
+				slimeMoving(s, e);
+				break;
+			default:
+				IntegrationSystem.beginSegment(s, e);
+				TerrainCollisionSystem.checkStart(s, e);
+				HazardSystem.beginSegment(s, e);
+				break;
+			}
+		}
+		ContactSystem.endTick(s, e);
+	}
+
+	/**
+	 * Take the steps of a segment of the given Mazub in a world.
+	 */
+	private static void mazubInWorld(EntityStore s, int e) {
+		TerrainCollisionSystem.beginSegment(s, e);
+		GravitySystem.beginSegment(s, e);
+		IntegrationSystem.beginSegment(s, e);
+		HazardSystem.beginSegment(s, e);
+		ContactSystem.beginSegment(s, e);
+		while (IntegrationSystem.beginSubstep(s, e)) {
+			if (s.free[e] > 0) {
+				HazardSystem.freeSubsteps(s, e);
+				ContactSystem.afterFreeSubsteps(s, e);
+			}
+			else {
+				HazardSystem.beforeSubstep(s, e);
+				ContactSystem.bump(s, e);
+				TerrainCollisionSystem.substep(s, e);
+				HazardSystem.deaths(s, e);
+				ContactSystem.interactions(s, e);
+				TerrainCollisionSystem.bounds(s, e);
+			}
+			IntegrationSystem.endSubstep(s, e);
+		}
+		IntegrationSystem.beginRemainder(s, e);
+		ContactSystem.remainder(s, e);
+		IntegrationSystem.commitRemainder(s, e);
+		ContactSystem.eatRemainder(s, e);
+		HazardSystem.remainder(s, e);
+		AnimationSystem.settle(s, e);
+		TerrainCollisionSystem.land(s, e);
+		ContactSystem.settle(s, e);
+		TerrainCollisionSystem.settleSides(s, e);
+		TerrainCollisionSystem.endBounds(s, e);
+		IntegrationSystem.endSegment(s, e);
+	}
+
+	/**
+	 * Take the steps of a segment of the given moving Shark.
+	 */
+	private static void sharkMoving(EntityStore s, int e) {
+		IntegrationSystem.beginSegment(s, e);
+		TerrainCollisionSystem.checkStart(s, e);
+		ContactSystem.beginSegment(s, e);
+		while (IntegrationSystem.beginSubstep(s, e)) {
+			if (s.free[e] > 0) {
+				ContactSystem.beforeFreeSubsteps(s, e);
+				HazardSystem.freeSubsteps(s, e);
+			}
+			else {
+				ContactSystem.bump(s, e);
+				TerrainCollisionSystem.substep(s, e);
+				TerrainCollisionSystem.bounds(s, e);
+				ContactSystem.afterSubstep(s, e);
+				HazardSystem.substep(s, e);
+			}
+			IntegrationSystem.endSubstep(s, e);
+		}
+		IntegrationSystem.beginRemainder(s, e);
+		TerrainCollisionSystem.remainder(s, e);
+		ContactSystem.remainder(s, e);
+		HazardSystem.remainder(s, e);
+		IntegrationSystem.endSegment(s, e);
+	}
+
+	/**
+	 * Take the steps of a segment of the given resting Shark, which has no substeps free of
+	 * events.
+	 */
+	private static void sharkResting(EntityStore s, int e) {
+		GravitySystem.beginSegment(s, e);
+		IntegrationSystem.beginSegment(s, e);
+		while (IntegrationSystem.beginSubstep(s, e)) {
+			TerrainCollisionSystem.substep(s, e);
+			TerrainCollisionSystem.bounds(s, e);
+			HazardSystem.substep(s, e);
+			IntegrationSystem.endSubstep(s, e);
+		}
+		IntegrationSystem.beginRemainder(s, e);
+		TerrainCollisionSystem.remainder(s, e);
+		HazardSystem.remainder(s, e);
+		IntegrationSystem.endSegment(s, e);
+	}
+
+	/**
+	 * Take the steps of a segment of the given Slime.
+	 */
+	private static void slimeMoving(EntityStore s, int e) {
+		IntegrationSystem.beginSegment(s, e);
+		HazardSystem.beginSegment(s, e);
+		while (IntegrationSystem.beginSubstep(s, e)) {
+			if (s.free[e] > 0) {
+				HazardSystem.freeSubsteps(s, e);
+				ContactSystem.afterFreeSubsteps(s, e);
+			}
+			else {
+				TerrainCollisionSystem.substep(s, e);
+				ContactSystem.substep(s, e);
+				TerrainCollisionSystem.bounds(s, e);
+				HazardSystem.substep(s, e);
+			}
+			IntegrationSystem.endSubstep(s, e);
+		}
+		IntegrationSystem.beginRemainder(s, e);
+		ContactSystem.remainder(s, e);
+		IntegrationSystem.commitRemainder(s, e);
+		HazardSystem.remainder(s, e);
+		TerrainCollisionSystem.endBounds(s, e);
+		IntegrationSystem.endSegment(s, e);
+	}
+
+	/**
+	 * Take the steps of the systems in passes over the given batch of game objects of the
+	 * given store for one tick.
+	 */
+	private static void run(EntityStore s, int[] batch, int count, double deltaT) {
+		for (int i = 0; i < count; i++)
+			AnimationSystem.beginTick(s, batch[i], deltaT);
+		for (int i = 0; i < count; i++)
+			BehaviourSystem.beginTick(s, batch[i], deltaT);
+		while (nextSegments(s, batch, count) > 0) {
+			for (int i = 0; i < count; i++)
+				HazardSystem.decay(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.beginSegment(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				GravitySystem.beginSegment(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				IntegrationSystem.beginSegment(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.checkStart(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				HazardSystem.beginSegment(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				ContactSystem.beginSegment(s, batch[i]);
+			while (beginSubsteps(s, batch, count) > 0) {
+				for (int i = 0; i < count; i++)
+					ContactSystem.beforeFreeSubsteps(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					HazardSystem.freeSubsteps(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					ContactSystem.afterFreeSubsteps(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					HazardSystem.beforeSubstep(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					ContactSystem.bump(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					TerrainCollisionSystem.substep(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					ContactSystem.substep(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					HazardSystem.deaths(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					ContactSystem.interactions(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					TerrainCollisionSystem.bounds(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					ContactSystem.afterSubstep(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					HazardSystem.substep(s, batch[i]);
+				for (int i = 0; i < count; i++)
+					IntegrationSystem.endSubstep(s, batch[i]);
+			}
+			for (int i = 0; i < count; i++)
+				IntegrationSystem.beginRemainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.remainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				ContactSystem.remainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				IntegrationSystem.commitRemainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				ContactSystem.eatRemainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				HazardSystem.remainder(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				AnimationSystem.settle(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.land(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				ContactSystem.settle(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.settleSides(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				TerrainCollisionSystem.endBounds(s, batch[i]);
+			for (int i = 0; i < count; i++)
+				IntegrationSystem.endSegment(s, batch[i]);
+		}
+		for (int i = 0; i < count; i++)
+			ContactSystem.endTick(s, batch[i]);
+	}
+
+	/**
+	 * Start the next segment of each of the given game objects whose segment has ended.
+	 * Game objects that were removed from the store stop.
+	 *
+	 * @return The number of game objects whose segment starts.
+	 */
+	private static int nextSegments(EntityStore s, int[] batch, int count) {
+		int started = 0;
+		for (int i = 0; i < count; i++)
+			if (BehaviourSystem.nextSegment(s, batch[i], true))
+				started++;
+		return started;
+	}
+
+	/**
+	 * Start the next substep of each of the given game objects.
+	 *
+	 * @return The number of game objects taking a substep.
+	 */
+	private static int beginSubsteps(EntityStore s, int[] batch, int count) {
+		int stepping = 0;
+		for (int i = 0; i < count; i++)
+			if (IntegrationSystem.beginSubstep(s, batch[i]))
+				stepping++;
+		return stepping;
+	}
+
+}
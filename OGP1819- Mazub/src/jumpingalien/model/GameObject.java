@@ -1,7 +1,9 @@
 package jumpingalien.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Raw;
@@ -54,7 +56,18 @@ import jumpingalien.util.Sprite;
  * 
  */
 public abstract class GameObject {
-	
+
+	/**
+	 * Variable registering the store that owns the state of this GameObject. A GameObject
+	 * that is not in a world has a store of its own.
+	 */
+	EntityStore store = EntityStore.own();
+
+	/**
+	 * Variable registering the index of this GameObject in its store.
+	 */
+	int entity = this.store.add(this);
+
 	/**
 	 * Initialize this new GameObject with given actual position (x-coordinate and y-coordinate)
 	 * and a given pixel position (pixelX and pixelY) .
@@ -214,7 +227,7 @@ public abstract class GameObject {
 	@Basic 
 	@Raw
 	public double getActualX() {
-		return this.actualX;
+		return this.store.x[this.entity];
 	}
 
 	/**
@@ -228,13 +241,8 @@ public abstract class GameObject {
 	 */
 	@Raw
 	public void setActualX(double actualX) { 
-		this.actualX = actualX; 
+		this.store.x[this.entity] = actualX;
 	}
-
-	/**
-	 * Variable registering the actualX of this GameObject.
-	 */
-	protected double actualX;
 	
 	/**
 	 * Return the actualY of this GameObject.
@@ -242,7 +250,7 @@ public abstract class GameObject {
 	@Basic 
 	@Raw
 	public double getActualY() {
-		return this.actualY;
+		return this.store.y[this.entity];
 	}
 	
 	/**
@@ -256,21 +264,16 @@ public abstract class GameObject {
 	 */
 	@Raw
 	public void setActualY(double actualY) { 
-		this.actualY = actualY;
-		
+		this.store.y[this.entity] = actualY;
 	}
 
-	/**
-	 * Variable registering the actualY of this GameObject.
-	 */
-	protected double actualY;
 
 	/**
 	 * Return the pixelX of this GameObject.
 	 */
 	@Basic @Raw
 	public int getPixelX() {
-		return this.pixelX;
+		return this.store.pixelX[this.entity];
 	}
 
 	/**
@@ -299,6 +302,9 @@ public abstract class GameObject {
 	 *         The given pixelX is not a valid pixelX for any
 	 *         GameObject.
 	 *       | (! isValidPixelX(getPixelX())
+	 * @effect If this GameObject is in a world, its registration in the grid of that world is updated.
+	 *       | if (this.getWorld() != null)
+	 *       |   then this.getWorld().updateGridCells(this)
 	 */
 	@Raw
 	public void setPixelX(int pixelX) 
@@ -306,20 +312,17 @@ public abstract class GameObject {
 		if (! isValidPixelX(pixelX)) {
 			throw new IllegalArgumentException();
 		}
-		this.pixelX = pixelX;
+		this.store.pixelX[this.entity] = pixelX;
+		if (this.getWorld() != null)
+			this.getWorld().updateGridCells(this);
 	}
-
-	/**
-	 * Variable registering the pixelX of this GameObject.
-	 */
-	private int pixelX;
 	
 	/**
 	 * Return the pixelY of this GameObject.
 	 */
 	@Basic @Raw
 	public int getPixelY() {
-		return this.pixelY;
+		return this.store.pixelY[this.entity];
 	}
 
 	/**
@@ -348,19 +351,19 @@ public abstract class GameObject {
 	 *         The given pixelY is not a valid pixelY for any
 	 *         GameObject.
 	 *       | ! isValidPixelY(getPixelY())
+	 * @effect If this GameObject is in a world, its registration in the grid of that world is updated.
+	 *       | if (this.getWorld() != null)
+	 *       |   then this.getWorld().updateGridCells(this)
 	 */
 	@Raw
 	public void setPixelY(int pixelY) 
 			throws IllegalArgumentException {
 		if (! isValidPixelY(pixelY))
 			throw new IllegalArgumentException();
-		this.pixelY = pixelY;
+		this.store.pixelY[this.entity] = pixelY;
+		if (this.getWorld() != null)
+			this.getWorld().updateGridCells(this);
 	}
-
-	/**
-	 * Variable registering the pixelY of this GameObject.
-	 */
-	private int pixelY;
 	
 	/**
 	 * Return the height of the gaming world that applies to all GameObjects.
@@ -382,23 +385,6 @@ public abstract class GameObject {
 		}
 	}
 	
-	/**
-	 * Set the height of the gaming world that applies to all GameObjects to the given height. 
-	 * @param pixelHeight
-	 *  	  The new height of the gaming world.
-	 * @post The new height of the gaming world that applies to all GameObjects is equal to the given
-	 * 		 height.
-	 * 		| GameObject.pixelHeight = pixelHeight
-	 */
-	private static void setPixelHeight(int pixelHeight) {
-		GameObject.pixelHeight = pixelHeight;
-	}
-	
-	/**
-	 * Variable registering the pixel height of the gaming world.
-	 */
-	private static int pixelHeight = 760008;
-	
 	/**
 	 * Return the width of the gaming world that applies to all GameObjects.
 	 * This is the highest possible value for the pixelX of a GameObject. 
@@ -418,30 +404,13 @@ public abstract class GameObject {
 		}
 	}
 	
-	/**
-	 * Set the width of the gaming world that applies to all GameObjects to the given width. 
-	 * @param pixelWidth
-	 *  	  The new width of the gaming world
-	 * @post The new width of the gaming world that applies to all GameObjects is equal to the given
-	 * 		 width.
-	 * 		| GameObject.pixelWidth = pixelWidth
-	 */
-	private static void setPixelWidth(int pixelWidth) {
-		GameObject.pixelWidth = pixelWidth;
-	}
-	
-	/**
-	 * Variable registering the actual pixel width of the gaming world.
-	 */
-	private static int pixelWidth = 1024000;
-	
 	/**
 	 * Return the orientation of this GameObject.
 	 */
 	@Basic 
 	@Raw
 	public String getOrientation() {
-		return this.orientation;
+		return this.store.orientation[this.entity];
 	}
 	/**
 	 * Check whether the given orientation is a valid orientation for
@@ -473,20 +442,15 @@ public abstract class GameObject {
 	@Raw
 	public void setOrientation(String orientation) {
 		assert isValidOrientation(orientation);
-		this.orientation = orientation;
+		this.store.orientation[this.entity] = orientation;
 	}
 	
-	/**
-	 * Variable registering the orientation of this GameObject.
-	 */
-	public String orientation;
-	
 	/**
 	 * Return the horizontalVelocity of this GameObject.
 	 */
 	@Basic @Raw
 	public double getHorizontalVelocity() {
-		return this.horizontalVelocity;
+		return this.store.vx[this.entity];
 	}
 	
 	/**
@@ -530,39 +494,34 @@ public abstract class GameObject {
 	@Raw
 	public void setHorizontalVelocity(double horizontalVelocity) {
 		if (isValidHorizontalVelocity(horizontalVelocity))
-			this.horizontalVelocity = horizontalVelocity;
+			this.store.vx[this.entity] = horizontalVelocity;
 		else {
 			if (Math.abs(horizontalVelocity) > this.getMaxHorizontalVelocity()) {
 				this.setHorizontalAcceleration(0);
 				if (this.getOrientation() == "left")
-					this.horizontalVelocity = - this.getMaxHorizontalVelocity();
+					this.store.vx[this.entity] = - this.getMaxHorizontalVelocity();
 				if (this.getOrientation() == "right")
-					this.horizontalVelocity =this.getMaxHorizontalVelocity();
+					this.store.vx[this.entity] = this.getMaxHorizontalVelocity();
 			}
 			if (Math.abs(horizontalVelocity) < this.getMinHorizontalVelocity()) {
 				if (this.getOrientation() == "left")
-					this.horizontalVelocity = - this.getMinHorizontalVelocity();
+					this.store.vx[this.entity] = - this.getMinHorizontalVelocity();
 				if (this.getOrientation() == "right")
-					this.horizontalVelocity = this.getMinHorizontalVelocity();
+					this.store.vx[this.entity] = this.getMinHorizontalVelocity();
 			}
 			if (horizontalVelocity == 0) {
-				this.horizontalVelocity = 0;
+				this.store.vx[this.entity] = 0;
 			}
 		}		
 					
 	}
 	
-	/**
-	 * Variable registering the horizontalVelocity of this GameObject.
-	 */
-	protected double horizontalVelocity;
-	
 	/**
 	 * Return the minHorizontalVelocity of this GameObject.
 	 */
 	@Basic @Raw
 	public double getMinHorizontalVelocity() {
-		return this.minHorizontalVelocity;
+		return this.store.minVx[this.entity];
 	}
 	
 	/**
@@ -586,20 +545,15 @@ public abstract class GameObject {
 	@Raw
 	public void setMinHorizontalVelocity(double minHorizontalVelocity) {
 		if (isValidMinHorizontalVelocity(minHorizontalVelocity))
-			this.minHorizontalVelocity = minHorizontalVelocity;	
+			this.store.minVx[this.entity] = minHorizontalVelocity;
 	}
 	
-	/**
-	 * Variable registering the minHorizontalVelocity of this GameObject.
-	 */
-	private double minHorizontalVelocity;
-	
 	/**
 	 * Return the maxHorizontalVelocity of this GameObject.
 	 */
 	@Basic @Raw
 	public double getMaxHorizontalVelocity() {
-		return this.maxHorizontalVelocity;
+		return this.store.maxVx[this.entity];
 	}
 	
 	/**
@@ -632,22 +586,17 @@ public abstract class GameObject {
 	@Raw
 	public void setMaxHorizontalVelocity(double maxHorizontalVelocity) {
 		if (isValidMaxHorizontalVelocity(maxHorizontalVelocity))
-			this.maxHorizontalVelocity = maxHorizontalVelocity;
+			this.store.maxVx[this.entity] = maxHorizontalVelocity;
 		else 
-			this.maxHorizontalVelocity = this.getMinHorizontalVelocity();
+			this.store.maxVx[this.entity] = this.getMinHorizontalVelocity();
 	}
-
-	/**
-	 * Variable registering the maxHorizontalVelocity of this GameObject.
-	 */
-	private double maxHorizontalVelocity;
 	
 	/**
 	 * Return the verticalVelocity of this GameObject.
 	 */
 	@Basic @Raw
 	public double getVerticalVelocity() {
-		return this.verticalVelocity;
+		return this.store.vy[this.entity];
 	}
 	
 	/**
@@ -675,16 +624,11 @@ public abstract class GameObject {
 	@Raw
 	public void setVerticalVelocity(double verticalVelocity) {
 		if (isValidVerticalVelocity(verticalVelocity))
-			this.verticalVelocity = verticalVelocity;
+			this.store.vy[this.entity] = verticalVelocity;
 		else
-			this.verticalVelocity = 0;
+			this.store.vy[this.entity] = 0;
 	}
 	
-	/**
-	 * Variable registering the verticalVelocity of this GameObject.
-	 */
-	protected double verticalVelocity;
-	
 	/**
 	 * Variable registering the maximal vertical velocity that applies to all GameObjects.		
 	 */
@@ -695,7 +639,7 @@ public abstract class GameObject {
 	 */
 	@Basic @Raw
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.store.ax[this.entity];
 	}
 	
 	/**
@@ -722,13 +666,9 @@ public abstract class GameObject {
 	@Raw
 	public void setHorizontalAcceleration(double horizontalAcceleration) {
 		assert isValidHorizontalAcceleration(horizontalAcceleration);
-		this.horizontalAcceleration = horizontalAcceleration;
+		this.store.ax[this.entity] = horizontalAcceleration;
 	}
 	
-	/**
-	 * Variable registering the horizontalAcceleration of this GameObject.
-	 */
-	protected double horizontalAcceleration;
 
 
 	/**
@@ -736,7 +676,7 @@ public abstract class GameObject {
 	 */
 	@Basic @Raw
 	public double getVerticalAcceleration() {
-		return this.verticalAcceleration;
+		return this.store.ay[this.entity];
 	}
 	
 	/**
@@ -773,13 +713,9 @@ public abstract class GameObject {
 			throws RuntimeException {
 		if (! isValidVerticalAcceleration(verticalAcceleration))
 			throw new RuntimeException();
-		this.verticalAcceleration = verticalAcceleration;
+		this.store.ay[this.entity] = verticalAcceleration;
 	}
 	
-	/**
-	 * Variable registering the verticalAcceleration of this GameObject.
-	 */		
-	protected double verticalAcceleration;
 		
 	/**
 	 * Return the sprites of this GameObject.
@@ -828,7 +764,7 @@ public abstract class GameObject {
 	 */
 	@Basic @Raw
 	public Sprite getCurrentSprite() {
-		return this.currentSprite;
+		return this.store.sprite[this.entity];
 	}
 	
 	/**
@@ -863,20 +799,20 @@ public abstract class GameObject {
 	 *         The given currentSprite is not a valid currentSprite for any
 	 *         GameObject.
 	 *       | ! isValidCurrentSprite(getCurrentSprite())
+	 * @effect If this GameObject is in a world, its registration in the grid of that world is updated.
+	 *       | if (this.getWorld() != null)
+	 *       |   then this.getWorld().updateGridCells(this)
 	 */
 	@Raw
 	public void setCurrentSprite(Sprite currentSprite) 
 			throws RuntimeException {
 		if (! isValidCurrentSprite(currentSprite))
 			throw new RuntimeException();
-		this.currentSprite = currentSprite;
+		this.store.sprite[this.entity] = currentSprite;
+		if (this.getWorld() != null)
+			this.getWorld().updateGridCells(this);
 	}
 	
-	/**
-	 * Variable registering the currentSprite of this GameObject.
-	 */
-	private Sprite currentSprite;
-	
 	/**
 	 * Set the world of the GameObject to the given world.
 	 * @post The new world of this GameObject is equal to the given world. 
@@ -908,7 +844,7 @@ public abstract class GameObject {
 	 * 		   |	   this.setWorld(null);
 	 */
 	public void terminate() {
-		this.isTerminated = true;
+		this.store.terminated[this.entity] = true;
 		if (this.getWorld() != null) {
 			this.getWorld().removeGameObject(this);
 			this.setWorld(null);
@@ -921,14 +857,9 @@ public abstract class GameObject {
 	 * 		| result == this.isTerminated
 	 */
 	public boolean isTerminated() {
-		return this.isTerminated;
+		return this.store.terminated[this.entity];
 	}
 	
-	/**
-	 * Boolean registering whether the GameObject is terminated.
-	 */
-	private boolean isTerminated = false;
-	
 	/**
 	 * kills a GameObject that is not dead yet
 	 * @effect the horizontal velocity is set to zero
@@ -943,8 +874,8 @@ public abstract class GameObject {
 	 * 		  |this.setDelay(0)
 	 */
 	public void kill() {
-		if (! this.isDead) {
-			this.isDead = true;
+		if (! this.store.dead[this.entity]) {
+			this.store.dead[this.entity] = true;
 			this.setHorizontalVelocity(0);
 			this.setHorizontalAcceleration(0);
 			this.setVerticalVelocity(0);
@@ -962,41 +893,29 @@ public abstract class GameObject {
 	 * 		| new.delay = delay
 	 */
 	public void setDelay(double delay) {
-		this.delay = delay;
-		
+		this.store.delay[this.entity] = delay;
 	}
 	
 	/**
 	 * Return the delay of the GameObject.
 	 */
 	public double getDelay() {
-		return this.delay;
+		return this.store.delay[this.entity];
 	}
-	
-	/**
-	 * Variable registering the delay of the dead GameObject. This is the time to wait to 
-	 * terminate the GameObject.
-	 */
-	private double delay=0;
 
 	/**
 	 * Boolean checking whether the GameObject is dead.
 	 */
 	public boolean isDead() {
-		return this.isDead;
+		return this.store.dead[this.entity];
 	}
 	
-	/**
-	 * Boolean registering whether the GameObject is dead.
-	 */
-	private boolean isDead = false;
-	
 	/**
 	 * Return the hitPoints of this GameObject.
 	 */
 	@Basic @Raw
 	public int getHitPoints() {
-		return this.hitPoints;
+		return this.store.hitPoints[this.entity];
 	}
 	
 	/**
@@ -1035,20 +954,15 @@ public abstract class GameObject {
 	@Raw
 	public void setHitPoints(int hitPoints) {
 		if (isValidHitPoints(hitPoints))
-			this.hitPoints = hitPoints;
+			this.store.hitPoints[this.entity] = hitPoints;
 		if (hitPoints >500)
-			this.hitPoints = 500;
+			this.store.hitPoints[this.entity] = 500;
 		if (hitPoints <=0) {
-			this.hitPoints = 0;
+			this.store.hitPoints[this.entity] = 0;
 			this.kill();
 		}
 	}
 	
-	/**
-	 * Variable registering the hitPoints of this GameObject.
-	 */
-	private int hitPoints;
-	
 	/**
 	 * Advance the time of this GameObject.
 	 * @param deltaT
@@ -1056,6 +970,49 @@ public abstract class GameObject {
 	 */
 	public abstract void advanceTime(double deltaT);
 	
+	/**
+	 * Charge the time from now on to the given phase in the tick profiler of the world of
+	 * this GameObject.
+	 * @param phase
+	 * 		  The phase that is entered.
+	 * @return The phase that was left, or null if this GameObject is not being profiled.
+	 * 		 | if (this.getWorld() == null)
+	 * 		 |		result == null
+	 * 		 | else result == this.getWorld().getTickProfiler().enterPhase(phase)
+	 */
+	TickProfiler.Phase enterPhase(TickProfiler.Phase phase) {
+		World world = this.getWorld();
+		if (world == null)
+			return null;
+		return world.getTickProfiler().enterPhase(phase);
+	}
+
+	/**
+	 * Return to the given phase in the tick profiler of the world of this GameObject.
+	 * @param previous
+	 * 		  The phase that was left, as returned by enterPhase.
+	 * @effect | if ((previous != null) && (this.getWorld() != null))
+	 * 		   |	this.getWorld().getTickProfiler().exitPhase(previous)
+	 */
+	void exitPhase(TickProfiler.Phase previous) {
+		World world = this.getWorld();
+		if ((previous != null) && (world != null))
+			world.getTickProfiler().exitPhase(previous);
+	}
+
+	/**
+	 * Increment the given counter in the work counters of the world of this GameObject.
+	 * @param counter
+	 * 		  The counter to increment.
+	 * @effect | if (this.getWorld() != null)
+	 * 		   |	this.getWorld().getMetrics().increment(counter)
+	 */
+	void countWork(ModelMetrics.Counter counter) {
+		World world = this.getWorld();
+		if (world != null)
+			world.getMetrics().increment(counter);
+	}
+
 	/**
 	 * A method that calculates dt that divides a bigger time period delta T in smaller time.
 	 * periods
@@ -1065,23 +1022,324 @@ public abstract class GameObject {
 	 * 		 | dt = 0.01/(sqrt(this.getHorizontalVelocity()*this.getHorizontalVelocity()
 	 *       | + this.getVerticalVelocity()*this.getVerticalVelocity())+sqrt(this.getHorizontalAcceleration()*this.getHorizontalAcceleration()
 	 *       | + this.getVerticalAcceleration()*this.getVerticalAcceleration())*deltaT)
+	 *       | if this.getWorld() == null
+	 * @effect If this GameObject is in a world, dt is calculated by the substep policy of that
+	 * 		 world, and limited so that delta T is divided in at most the maximal number of
+	 * 		 substeps per tick of that world
+	 * 		 | dt = max(this.getWorld().getSubstepPolicy().calculateDT(speed, acceleration, deltaT, this.getWorld()),
+	 * 		 |		deltaT/this.getWorld().getMaxSubstepsPerTick())
 	 * @effect If dt is infinity, delta T is returned
-	 *		 | dt = deltaT 
+	 *		 | dt = deltaT
+	 * @effect The number of substeps is added to the substep count of the class of this
+	 * 		 GameObject in its world
+	 * 		 | this.getWorld().addSubsteps(this.getClass(), ceil(deltaT/dt))
 	 */
 	public double calculateDT(double deltaT) {
 		double vX = this.getHorizontalVelocity();
 		double vY = this.getVerticalVelocity();
 		double aX = this.getHorizontalAcceleration();
 		double aY = this.getVerticalAcceleration();
+		World world = this.getWorld();
 
-		double firstTermDenominator = Math.sqrt(vX*vX+vY*vY);
-		double secondTermDenominator = Math.sqrt(aX*aX+aY*aY);
-		double denominator = firstTermDenominator + (secondTermDenominator*deltaT);
+		double dt;
 		if ((vX== 0) & (vY == 0) & (aX == 0) & (aY == 0)) {
-			return deltaT;
+			dt = deltaT;
+		}
+		else {
+			double speed = Math.sqrt(vX*vX+vY*vY);
+			double acceleration = Math.sqrt(aX*aX+aY*aY);
+			if (world == null)
+				return SubstepPolicy.CURRENT.calculateDT(speed, acceleration, deltaT, null);
+			dt = Math.max(world.getSubstepPolicy().calculateDT(speed, acceleration, deltaT, world),
+					deltaT/world.getMaxSubstepsPerTick());
+		}
+		if (world != null)
+			world.addSubsteps(this.getClass(), (long) Math.ceil(deltaT/dt));
+		return dt;
+	}
+	
+	/**
+	 * Return the number of substeps of size dt, starting with substep nbdtX along the x-axis and
+	 * substep nbdtY along the y-axis, that this GameObject can take without any contact event.
+	 * A sequence of substeps has no contact event if the box that is swept by this GameObject 
+	 * during these substeps, extended by the pixels that are probed at its edges, lies inside
+	 * the world of this GameObject, does not overlap impassable terrain, water, magma or gas, and
+	 * does not overlap an other game object. None of the checks of a substep can change the state
+	 * of this GameObject during such substeps, so they can be skipped.
+	 * The number follows from the time of impact of the swept box: the box of the first substep
+	 * is grown, one row or column of tiles at a time, into the largest free rectangle inside the
+	 * box swept during all substeps, and the first moment at which the quadratic trajectory of
+	 * this GameObject leaves that rectangle is solved in closed form.
+	 * @param nbdtX
+	 * 		  The number of the first substep along the x-axis.
+	 * @param nbdtY
+	 * 		  The number of the first substep along the y-axis.
+	 * @param dt
+	 * 		  The size of the substeps.
+	 * @param maxSubsteps
+	 * 		  The maximum number of substeps to return.
+	 * @return If the world of this GameObject does not use continuous collision detection, or if
+	 * 		   this GameObject has no hitpoints left, zero is returned.
+	 * 		 | if ((this.getWorld() == null) || (! this.getWorld().isContinuousCollisionEnabled()) || 
+	 * 		 |	(this.getHitPoints() <= 0))
+	 * 		 |	then result == 0
+	 * @return Otherwise, a number of substeps, not above maxSubsteps, without any contact event.
+	 * 		 | else (result <= maxSubsteps) && this.isEventFree(nbdtX, nbdtY, dt, result)
+	 */
+	public int getEventFreeSubsteps(int nbdtX, int nbdtY, double dt, int maxSubsteps) {
+		World world = this.getWorld();
+		if ((world == null) || (! world.isContinuousCollisionEnabled()) || 
+				(this.getHitPoints() <= 0) || (maxSubsteps <= 0))
+			return 0;
+		if (! this.isEventFree(nbdtX, nbdtY, dt, 1))
+			return 0;
+		if (this.isEventFree(nbdtX, nbdtY, dt, maxSubsteps))
+			return maxSubsteps;
+		double fromTX = nbdtX*dt;
+		double fromTY = nbdtY*dt;
+		int width = this.getCurrentSprite().getWidth();
+		int height = this.getCurrentSprite().getHeight();
+		int left = (int) Math.floor(100*this.calculatePositionX(fromTX)) - 2;
+		int right = (int) Math.ceil(100*this.calculatePositionX(fromTX)) + width + 1;
+		int bottom = (int) Math.floor(100*this.calculatePositionY(fromTY)) - 2;
+		int top = (int) Math.ceil(100*this.calculatePositionY(fromTY)) + height + 1;
+		int minLeft = Math.max(0, 
+				(int) Math.floor(100*this.getMinimumPositionX(fromTX, (nbdtX+maxSubsteps-1)*dt)) - 2);
+		int maxRight = Math.min(world.getWorldWidth() - 1, 
+				(int) Math.ceil(100*this.getMaximumPositionX(fromTX, (nbdtX+maxSubsteps-1)*dt)) + width + 1);
+		int minBottom = Math.max(0, 
+				(int) Math.floor(100*this.getMinimumPositionY(fromTY, (nbdtY+maxSubsteps-1)*dt)) - 2);
+		int maxTop = Math.min(world.getWorldHeight() - 1, 
+				(int) Math.ceil(100*this.getMaximumPositionY(fromTY, (nbdtY+maxSubsteps-1)*dt)) + height + 1);
+		int tileLength = world.getTileLength();
+		boolean growLeft = left > minLeft;
+		boolean growRight = right < maxRight;
+		boolean growDown = bottom > minBottom;
+		boolean growUp = top < maxTop;
+		while (growLeft || growRight || growDown || growUp) {
+			if (growLeft) {
+				int newLeft = Math.max(minLeft, ((left - 1)/tileLength)*tileLength);
+				growLeft = this.isFreeArea(newLeft, bottom, left - newLeft, top - bottom + 1);
+				if (growLeft)
+					left = newLeft;
+				growLeft &= left > minLeft;
+			}
+			if (growRight) {
+				int newRight = Math.min(maxRight, world.getLastPixelInTile(right + 1));
+				growRight = this.isFreeArea(right + 1, bottom, newRight - right, top - bottom + 1);
+				if (growRight)
+					right = newRight;
+				growRight &= right < maxRight;
+			}
+			if (growDown) {
+				int newBottom = Math.max(minBottom, ((bottom - 1)/tileLength)*tileLength);
+				growDown = this.isFreeArea(left, newBottom, right - left + 1, bottom - newBottom);
+				if (growDown)
+					bottom = newBottom;
+				growDown &= bottom > minBottom;
+			}
+			if (growUp) {
+				int newTop = Math.min(maxTop, world.getLastPixelInTile(top + 1));
+				growUp = this.isFreeArea(left, top + 1, right - left + 1, newTop - top);
+				if (growUp)
+					top = newTop;
+				growUp &= top < maxTop;
 			}
-		return (0.01/denominator);
 		}
+		double timeOfImpact = Math.min(
+				getTimeOfExit(100*this.getActualX(), 100*this.getHorizontalVelocity(), 
+						100*this.getHorizontalAcceleration(), left + 2, right - width - 1, fromTX) - fromTX,
+				getTimeOfExit(100*this.getActualY(), 100*this.getVerticalVelocity(), 
+						100*this.getVerticalAcceleration(), bottom + 2, top - height - 1, fromTY) - fromTY);
+		int result = (int) Math.min(maxSubsteps, Math.max(1, Math.ceil(timeOfImpact/dt)));
+		while ((result > 1) && (! this.isEventFree(nbdtX, nbdtY, dt, result)))
+			result -= 1;
+		return result;
+	}
+	
+	/**
+	 * Return the first moment of time, not before the given moment, at which a position that
+	 * follows the given quadratic trajectory leaves the given interval.
+	 * @param position
+	 * 		  The position at time zero.
+	 * @param velocity
+	 * 		  The velocity at time zero.
+	 * @param acceleration
+	 * 		  The constant acceleration.
+	 * @param lowest
+	 * 		  The lowest position in the interval.
+	 * @param highest
+	 * 		  The highest position in the interval.
+	 * @param fromT
+	 * 		  The moment of time from which on the trajectory is followed.
+	 * @return The smallest moment of time t, not before fromT, at which the position reaches
+	 * 		   one of the bounds of the interval, or infinity if there is no such moment.
+	 * 		 | let p(t) = position + velocity*t + acceleration*t*t/2
+	 * 		 | result == min { t >= fromT | p(t) == lowest || p(t) == highest }
+	 */
+	private static double getTimeOfExit(double position, double velocity, double acceleration,
+			double lowest, double highest, double fromT) {
+		return Math.min(getTimeOfCrossing(position, velocity, acceleration, lowest, fromT),
+				getTimeOfCrossing(position, velocity, acceleration, highest, fromT));
+	}
+	
+	/**
+	 * Return the first moment of time, not before the given moment, at which a position that
+	 * follows the given quadratic trajectory reaches the given level.
+	 * @param position
+	 * 		  The position at time zero.
+	 * @param velocity
+	 * 		  The velocity at time zero.
+	 * @param acceleration
+	 * 		  The constant acceleration.
+	 * @param level
+	 * 		  The level to reach.
+	 * @param fromT
+	 * 		  The moment of time from which on the trajectory is followed.
+	 * @return | let p(t) = position + velocity*t + acceleration*t*t/2
+	 * 		   | result == min { t >= fromT | p(t) == level }
+	 */
+	private static double getTimeOfCrossing(double position, double velocity, double acceleration,
+			double level, double fromT) {
+		double result = Double.POSITIVE_INFINITY;
+		if (acceleration == 0) {
+			if (velocity != 0)
+				result = (level - position)/velocity;
+			return (result >= fromT) ? result : Double.POSITIVE_INFINITY;
+		}
+		double discriminant = velocity*velocity - 2*acceleration*(position - level);
+		if (discriminant < 0)
+			return result;
+		double root = Math.sqrt(discriminant);
+		double first = Math.min((-velocity - root)/acceleration, (-velocity + root)/acceleration);
+		double second = Math.max((-velocity - root)/acceleration, (-velocity + root)/acceleration);
+		if (first >= fromT)
+			return first;
+		if (second >= fromT)
+			return second;
+		return result;
+	}
+	
+	/**
+	 * Check whether the given number of substeps of size dt, starting with substep nbdtX along 
+	 * the x-axis and substep nbdtY along the y-axis, have no contact event.
+	 * @param nbdtX
+	 * 		  The number of the first substep along the x-axis.
+	 * @param nbdtY
+	 * 		  The number of the first substep along the y-axis.
+	 * @param dt
+	 * 		  The size of the substeps.
+	 * @param substeps
+	 * 		  The number of substeps to check.
+	 * @return True if and only if the box swept by the current sprite of this GameObject during
+	 * 		   the substeps, extended by two pixels at each side, lies inside the world of this
+	 * 		   GameObject and overlaps no impassable terrain, water, magma, gas or other game object.
+	 */
+	private boolean isEventFree(int nbdtX, int nbdtY, double dt, int substeps) {
+		World world = this.getWorld();
+		int left = (int) Math.floor(100*this.getMinimumPositionX(nbdtX*dt, (nbdtX+substeps-1)*dt)) - 2;
+		int right = (int) Math.ceil(100*this.getMaximumPositionX(nbdtX*dt, (nbdtX+substeps-1)*dt)) + 
+				this.getCurrentSprite().getWidth() + 1;
+		int bottom = (int) Math.floor(100*this.getMinimumPositionY(nbdtY*dt, (nbdtY+substeps-1)*dt)) - 2;
+		int top = (int) Math.ceil(100*this.getMaximumPositionY(nbdtY*dt, (nbdtY+substeps-1)*dt)) + 
+				this.getCurrentSprite().getHeight() + 1;
+		if ((left < 0) || (bottom < 0) || (right >= world.getWorldWidth()) || (top >= world.getWorldHeight()))
+			return false;
+		return this.isFreeArea(left, bottom, right - left + 1, top - bottom + 1);
+	}
+	
+	/**
+	 * Check whether the given rectangle of the world of this GameObject holds no impassable
+	 * terrain, water, magma, gas or other game object.
+	 * @param pixelX
+	 * 		  The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		  The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		  The width of the rectangle.
+	 * @param height
+	 * 		  The height of the rectangle.
+	 * @return | result == (this.getWorld().getOverlappedGeologicalClasses(pixelX, pixelY, width, height) == 0) &&
+	 * 		   |	(for each other in this.getWorld().getGameObjectsNear(pixelX, pixelY, width, height):
+	 * 		   |		other == this)
+	 */
+	private boolean isFreeArea(int pixelX, int pixelY, int width, int height) {
+		World world = this.getWorld();
+		if (world.getOverlappedGeologicalClasses(pixelX, pixelY, width, height) != 0)
+			return false;
+		world.getGameObjectsNear(pixelX, pixelY, width, height, this.gameObjectsNear);
+		List<GameObject> near = this.gameObjectsNear;
+		for (int index = 0; index < near.size(); index++) {
+			GameObject other = near.get(index);
+			if (other != this)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Return the smallest actualX of this GameObject between the given moments of time.
+	 * @param fromT
+	 * 		  The first moment of time.
+	 * @param toT
+	 * 		  The last moment of time.
+	 * @return | result == min { this.calculatePositionX(t) | fromT <= t <= toT }
+	 */
+	private double getMinimumPositionX(double fromT, double toT) {
+		double result = Math.min(this.calculatePositionX(fromT), this.calculatePositionX(toT));
+		double extremeT = -this.getHorizontalVelocity()/this.getHorizontalAcceleration();
+		if ((extremeT > fromT) && (extremeT < toT))
+			result = Math.min(result, this.calculatePositionX(extremeT));
+		return result;
+	}
+	
+	/**
+	 * Return the largest actualX of this GameObject between the given moments of time.
+	 * @param fromT
+	 * 		  The first moment of time.
+	 * @param toT
+	 * 		  The last moment of time.
+	 * @return | result == max { this.calculatePositionX(t) | fromT <= t <= toT }
+	 */
+	private double getMaximumPositionX(double fromT, double toT) {
+		double result = Math.max(this.calculatePositionX(fromT), this.calculatePositionX(toT));
+		double extremeT = -this.getHorizontalVelocity()/this.getHorizontalAcceleration();
+		if ((extremeT > fromT) && (extremeT < toT))
+			result = Math.max(result, this.calculatePositionX(extremeT));
+		return result;
+	}
+	
+	/**
+	 * Return the smallest actualY of this GameObject between the given moments of time.
+	 * @param fromT
+	 * 		  The first moment of time.
+	 * @param toT
+	 * 		  The last moment of time.
+	 * @return | result == min { this.calculatePositionY(t) | fromT <= t <= toT }
+	 */
+	private double getMinimumPositionY(double fromT, double toT) {
+		double result = Math.min(this.calculatePositionY(fromT), this.calculatePositionY(toT));
+		double extremeT = -this.getVerticalVelocity()/this.getVerticalAcceleration();
+		if ((extremeT > fromT) && (extremeT < toT))
+			result = Math.min(result, this.calculatePositionY(extremeT));
+		return result;
+	}
+	
+	/**
+	 * Return the largest actualY of this GameObject between the given moments of time.
+	 * @param fromT
+	 * 		  The first moment of time.
+	 * @param toT
+	 * 		  The last moment of time.
+	 * @return | result == max { this.calculatePositionY(t) | fromT <= t <= toT }
+	 */
+	private double getMaximumPositionY(double fromT, double toT) {
+		double result = Math.max(this.calculatePositionY(fromT), this.calculatePositionY(toT));
+		double extremeT = -this.getVerticalVelocity()/this.getVerticalAcceleration();
+		if ((extremeT > fromT) && (extremeT < toT))
+			result = Math.max(result, this.calculatePositionY(extremeT));
+		return result;
+	}
 	
 	/**
 	 * Determines whether the given GameObject collides with a GameObject with
@@ -1102,6 +1360,7 @@ public abstract class GameObject {
 	 *		  |		return true
 	 */
 	public boolean collidesWith(int xOther,int yOther,int xPOther, int yPOther) {
+		this.countWork(ModelMetrics.Counter.OBJECT_PAIR_TESTS);
 		int x = this.getPixelX();
 		int y = this.getPixelY();
 		int xP = this.getCurrentSprite().getWidth();
@@ -1129,6 +1388,7 @@ public abstract class GameObject {
 	 *		  | 	return true;
 	 */
 	public boolean collidesWithOtherGameObect(int posX,int posY,GameObject other) {
+		this.countWork(ModelMetrics.Counter.OBJECT_PAIR_TESTS);
 		int x = posX;
 		int y = posY;
 		int xP = this.getCurrentSprite().getWidth();
@@ -1147,102 +1407,72 @@ public abstract class GameObject {
 	/**
 	 * Determines whether the given GameObject collides with a tile that consists
 	 * of the given geological when he is moved to the given position.
+	 * Only the tiles covered by the current sprite of the GameObject are inspected.
 	 * @param x
 	 * 		  pixelX of the GameObject
 	 * @param y
 	 * 		  pixelY of the GameObject
-	 * @param geologicals
-	 * 		  the set of geological that is checked for overlap with the GameObject
-	 * @return true if the GameObject does not overlap with all the tiles that contain
-	 * 		   the given geological
-	 * 		  | for (int index=0; index < this.getWorld().getGeologicalFeatures().length; index++) 
-	 *   	  |		if (this.getWorld().getGeologicalFeatures()[index] == geological)
-	 *   	  |			nbGeologicals +=1
-	 *   	  |			if ((x +(this.getCurrentSprite().getWidth() -1) < this.getWorld().getPositionGeologicalFeature(index)[0]) || 
-	 *   	  |   		(this.getWorld().getPositionGeologicalFeature(index)[0] +(this.getWorld().getTileLength() - 1) < x) ||
-	 *   	  |			(y +(this.getCurrentSprite().getHeight() -1) < this.getWorld().getPositionGeologicalFeature(index)[1]) || 
-	 *   	  |			(this.getWorld().getPositionGeologicalFeature(index)[1] +(this.getWorld().getTileLength() - 1) < y)) 
-	 *   	  |				nbNotCollisions +=1
-	 *   	  |	if (nbGeologicals == nbNotCollisions) 
-	 *   	  |		return false
-	 *   	  |	else
-	 *        |		return true
+	 * @param geological
+	 * 		  the geological that is checked for overlap with the GameObject
+	 * @return true if the GameObject overlaps with a tile that contains the given geological
+	 * 		  | result == this.getWorld().overlapsGeologicalFeature(x, y, this.getCurrentSprite().getWidth(),
+	 * 		  |		this.getCurrentSprite().getHeight(), geological)
 	 */
 	public boolean collidesWithGeological(int x,int y,Geological geological) {
-		int nbGeologicals=0;
-		int nbNotCollisions = 0;
-		int xP = this.getCurrentSprite().getWidth();
-		int yP = this.getCurrentSprite().getHeight();
-		for (int index=0; index < this.getWorld().getGeologicalFeatures().length; index++) {
-			if (this.getWorld().getGeologicalFeatures()[index] == geological) {
-				nbGeologicals +=1;
-				int xOther = this.getWorld().getPositionGeologicalFeature(index)[0];
-				int yOther = this.getWorld().getPositionGeologicalFeature(index)[1];
-				int xPOther = this.getWorld().getTileLength();
-				int yPOther = this.getWorld().getTileLength();
-				if ((x +(xP -1) < xOther) || (xOther +(xPOther - 1) < x) ||
-						(y +(yP -1) < yOther) || (yOther +(yPOther - 1) < y)) {
-					nbNotCollisions +=1;
-				}
-			}
-			}
-		if (nbGeologicals == nbNotCollisions) 
-			return false;
-		else
-			return true;
-		
-		}
+		return this.getWorld().overlapsGeologicalFeature(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight(), geological);
+	}
 	
 	/**
 	 * Determines whether the given GameObject collides with a tile that consists
 	 * of the given geologicals when he is moved to the given position.
+	 * Only the tiles covered by the current sprite of the GameObject are inspected.
 	 * @param x
 	 * 		  pixelX of the GameObject
 	 * @param y
 	 * 		  pixelY of the GameObject
 	 * @param geologicals
 	 * 		  the set of geologicals that is checked for overlap with the GameObject
-	 * @return true if the GameObject does not overlap with all the tiles that contain
-	 * 		   the given geologicals
-	 * 		  | for (int index=0; index < this.getWorld().getGeologicalFeatures().length; index++) 
-	 *   	  |		if (geologicals.contains(this.getWorld().getGeologicalFeatures()[index]))
-	 *   	  |			nbGeologicals +=1
-	 *   	  |			if ((x +(this.getCurrentSprite().getWidth() -1) < this.getWorld().getPositionGeologicalFeature(index)[0]) || 
-	 *   	  |   		(this.getWorld().getPositionGeologicalFeature(index)[0] +(this.getWorld().getTileLength() - 1) < x) ||
-	 *   	  |			(y +(this.getCurrentSprite().getHeight() -1) < this.getWorld().getPositionGeologicalFeature(index)[1]) || 
-	 *   	  |			(this.getWorld().getPositionGeologicalFeature(index)[1] +(this.getWorld().getTileLength() - 1) < y)) 
-	 *   	  |				nbNotCollisions +=1
-	 *   	  |	if (nbGeologicals == nbNotCollisions) 
-	 *   	  |		return false
-	 *   	  |	else
-	 *        |		return true
+	 * @return true if the GameObject overlaps with a tile that contains one of the given geologicals
+	 * 		  | result == this.getWorld().overlapsGeologicalFeatures(x, y, this.getCurrentSprite().getWidth(),
+	 * 		  |		this.getCurrentSprite().getHeight(), geologicals)
 	 */
 	public boolean collidesWithGeologicals(int x,int y,HashSet<Geological> geologicals) {
-		int nbGeologicals=0;
-		int nbNotCollisions = 0;
-		int xP = this.getCurrentSprite().getWidth();
-		int yP = this.getCurrentSprite().getHeight();
-		for (int index=0; index < this.getWorld().getGeologicalFeatures().length; index++) {
-			if (geologicals.contains(this.getWorld().getGeologicalFeatures()[index])) {
-				nbGeologicals +=1;
-				int xOther = this.getWorld().getPositionGeologicalFeature(index)[0];
-				int yOther = this.getWorld().getPositionGeologicalFeature(index)[1];
-				int xPOther = this.getWorld().getTileLength();
-				int yPOther = this.getWorld().getTileLength();
-				if ((x +(xP -1) < xOther) || (xOther +(xPOther - 1) < x) ||
-						(y +(yP -1) < yOther) || (yOther +(yPOther - 1) < y)) {
-					nbNotCollisions +=1;
-				}
-			}
-			}
-		
-		if (nbGeologicals == nbNotCollisions) 
-			return false;
-		
-		else
-			return true;
-		
-		}
+		return this.getWorld().overlapsGeologicalFeatures(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight(), geologicals);
+	}
+	
+	/**
+	 * Determines whether the given GameObject collides with a tile that consists
+	 * of impassable terrain when he is moved to the given position.
+	 * @param x
+	 * 		  pixelX of the GameObject
+	 * @param y
+	 * 		  pixelY of the GameObject
+	 * @return true if the GameObject overlaps with a tile that contains impassable terrain
+	 * 		  | result == this.getWorld().overlapsGeologicalClass(x, y, this.getCurrentSprite().getWidth(),
+	 * 		  |		this.getCurrentSprite().getHeight(), Geological.IMPASSABLE_MASK)
+	 */
+	public boolean collidesWithImpassableTerrain(int x,int y) {
+		return this.getWorld().overlapsGeologicalClass(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight(), Geological.IMPASSABLE_MASK);
+	}
+	
+	/**
+	 * Return the union of the class masks of all tiles the given GameObject overlaps with
+	 * when he is moved to the given position.
+	 * @param x
+	 * 		  pixelX of the GameObject
+	 * @param y
+	 * 		  pixelY of the GameObject
+	 * @return the class masks of all overlapped tiles, combined in a single pass
+	 * 		  | result == this.getWorld().getOverlappedGeologicalClasses(x, y, this.getCurrentSprite().getWidth(),
+	 * 		  |		this.getCurrentSprite().getHeight())
+	 */
+	public int getOverlappedGeologicalClasses(int x,int y) {
+		return this.getWorld().getOverlappedGeologicalClasses(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight());
+	}
 	
 	/**
 	 * Set the timeInWater of this GameObject to the given timeInWater.
@@ -1254,26 +1484,21 @@ public abstract class GameObject {
 	 *       | new.timeInWater = timeInWater
 	 */
 	public void setTimeInWater(double timeInWater) {
-		this.timeInWater = timeInWater;
+		this.store.timeInWater[this.entity] = timeInWater;
 	}
 	
 	/**
 	 * Return the timeInWater of this GameObject.
 	 */
 	public double getTimeInWater() {
-		return this.timeInWater;
+		return this.store.timeInWater[this.entity];
 	}
 	
-	/**
-	 * A variable registering the time this GameObject has spend in water.
-	 */
-	private double timeInWater=0;
-	
 	/**
 	 * Return the timeInMagma of this GameObject.
 	 */
 	public double getTimeInMagma() {
-		return this.timeInMagma;
+		return this.store.timeInMagma[this.entity];
 	}
 
 	/**
@@ -1285,14 +1510,9 @@ public abstract class GameObject {
 	 *       | new.timeInMagma = timeInMagma
 	 */
 	public void setTimeInMagma(double timeInMagma) {
-		this.timeInMagma = timeInMagma;
+		this.store.timeInMagma[this.entity] = timeInMagma;
 	}
 	
-	/**
-	 * A variable registering the time the GameObject has spend in the water.
-	 */
-	private double timeInMagma=0;
-	
 	/**
 	 * Set the timeInWater that applies to all GameObjects to the given timeInGas.
 	 * 
@@ -1303,21 +1523,16 @@ public abstract class GameObject {
 	 *       | new.timeInGas = timeInGas
 	 */
 	public void setTimeInGas(double timeInGas) {
-		this.timeInGas = timeInGas;
+		this.store.timeInGas[this.entity] = timeInGas;
 	}
 	
 	/**
 	 * Return the timeInGas of this GameObject.
 	 */
 	public double getTimeInGas() {
-		return this.timeInGas;
+		return this.store.timeInGas[this.entity];
 	}
 	
-	/**
-	 * A variable registering the time the GameObject has spend in gas.
-	 */
-	private double timeInGas=0;
-	
 	/**
 	 * A boolean checking whether the GameObject is standing on impassable terrain.
 	 * @param posX
@@ -1328,24 +1543,23 @@ public abstract class GameObject {
 	 * 		   has an impassable terrain as its geological feature or if the row beneath the bottom row
 	 * 		   consist of a pixel that has an impassable terrain as its geological feature
 	 * 	     | for (index=0;index <=this.getCurrentSprite().getWidth();index ++) 
-	 *		 | if (((! Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-	 *		 |	(Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY-1)))) ||
-	 *		 |		((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-	 *		 |				(!Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY+1)))))
+	 *		 | if (((! this.getWorld().isImpassable(posX+index, posY)) &&
+	 *		 |	(this.getWorld().isImpassable(posX+index, posY-1))) ||
+	 *		 |		((this.getWorld().isImpassable(posX+index, posY)) &&
+	 *		 |				(!this.getWorld().isImpassable(posX+index, posY+1))))
 	 *		 |			return true
 	 */
 	public boolean objectOnImpassableTerrain(int posX,int posY) {
 		int index;
 		for (index=0;index <this.getCurrentSprite().getWidth();
-				index ++) {
-			if (((! Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-					(Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY-1)))) ||
-					((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-						(!Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY+1)))))
+				index = this.getWorld().getLastPixelInTile(posX + index) - posX + 1) {
+			if (((! this.getWorld().isImpassable(posX+index, posY)) &&
+					(this.getWorld().isImpassable(posX+index, posY-1))) ||
+					((this.getWorld().isImpassable(posX+index, posY)) &&
+						(!this.getWorld().isImpassable(posX+index, posY+1))))
 				return true;
 		}
 			return false;
-		
 	}
 	
 	/**
@@ -1381,13 +1595,7 @@ public abstract class GameObject {
 	 *		 |	 (0.5*horizontalAcceleration*deltaT*deltaT)
 	 */
 	public double calculatePositionX(double deltaT) {
-		double actualX = this.getActualX();
-		double horizontalVelocity = this.getHorizontalVelocity();
-		double horizontalAcceleration = this.getHorizontalAcceleration();
-		double newActualX = actualX +  (horizontalVelocity*deltaT) +
-				 (0.5*horizontalAcceleration*deltaT*deltaT);
-		
-		return newActualX;
+		return IntegrationSystem.positionX(this.store, this.entity, deltaT);
 	}
 	
 	/**
@@ -1400,12 +1608,7 @@ public abstract class GameObject {
 	 *		 |	 (0.5*verticalAcceleration*deltaT*deltaT)
 	 */
 	public double calculatePositionY(double deltaT) {
-		double actualY = this.getActualY();
-		double verticalVelocity = this.getVerticalVelocity();
-		double verticalAcceleration = this.getVerticalAcceleration();
-		double newActualY = actualY + (verticalVelocity*deltaT) + 
-				(0.5*(verticalAcceleration)*deltaT*deltaT);
-		return newActualY;
+		return IntegrationSystem.positionY(this.store, this.entity, deltaT);
 	}
 
 	/**
@@ -1417,11 +1620,7 @@ public abstract class GameObject {
 	 *       | newHorizontalVelocity = horizontalVelocity +  (horizontalAcceleration*deltaT)
 	 */
 	public double calculateHorizontalVelocity(double deltaT) {
-		double horizontalVelocity = this.getHorizontalVelocity();
-		double horizontalAcceleration = this.getHorizontalAcceleration();
-		double newHorizontalVelocity = horizontalVelocity +  (horizontalAcceleration*deltaT);
-		return newHorizontalVelocity;
-			
+		return IntegrationSystem.velocityX(this.store, this.entity, deltaT);
 	}
 	
 	/**
@@ -1434,11 +1633,7 @@ public abstract class GameObject {
 	 * 
 	 */
 	public double calculateVerticalVelocity(double deltaT) {
-		double verticalVelocity = this.getVerticalVelocity();
-		double verticalAcceleration = this.getVerticalAcceleration();
-		double newVerticalVelocity = (verticalVelocity +  (verticalAcceleration*deltaT));
-		return newVerticalVelocity;
-				
+		return IntegrationSystem.velocityY(this.store, this.entity, deltaT);
 	}
 	
 	/**
@@ -1450,15 +1645,15 @@ public abstract class GameObject {
 	 * @return True if and only if GameObject's top row of pixels consist of a pixel that
 	 * 		   has impassable terrain as its geological feature.
 	 * 	     | for (index=0;index <=this.getCurrentSprite().getWidth();index ++) 
-	 *		 | 		if ((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))))
+	 *		 | 		if ((this.getWorld().isImpassable(posX+index, posY)))
 	 *		 |			return true
 	 */
 	public boolean objectBumpsImpassableTerrainAbove(int posX, int posY) {
 		posY += (this.getCurrentSprite().getHeight());
 		int index;
 		for (index=1;index <this.getCurrentSprite().getWidth();
-				index ++) {
-			if ((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY)))){
+				index = this.getWorld().getLastPixelInTile(posX + index) - posX + 1) {
+			if ((this.getWorld().isImpassable(posX+index, posY))){
 				return true;
 			}
 			}
@@ -1474,13 +1669,13 @@ public abstract class GameObject {
 	 * @return True if and only if GameObject's leftmost column of pixels consist of a pixel that
 	 * 		   has solid ground as its geological feature.
 	 * 	     | for (int index=1;index <=this.getCurrentSprite().getHeight();index ++) do
-	 *		 |	if (Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX-1, posY + index))) 
+	 *		 |	if (this.getWorld().isImpassable(posX-1, posY + index)) 
 	 *		 |			return true
 	 */
 	public boolean objectBumpsImpassableTerrainLeft(int posX,int posY) {
 		for (int index=1;index < this.getCurrentSprite().getHeight();
-				index ++) {
-			if (Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX-1, posY + index))) 
+				index = this.getWorld().getLastPixelInTile(posY + index) - posY + 1) {
+			if (this.getWorld().isImpassable(posX-1, posY + index)) 
 				return true;
 			
 		}
@@ -1496,18 +1691,73 @@ public abstract class GameObject {
 	 * @return True if and only if GameObject rightmost column of pixels consist of a pixel that
 	 * 		   has an impassable terrain as its geological feature.
 	 * 	     | for (int index=1;index <=this.getCurrentSprite().getHeight();index ++) do
-	 *		 |	 if (Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX, posY + index)))
+	 *		 |	 if (this.getWorld().isImpassable(posX, posY + index))
 	 *		 |			return true
 	 */
 	public boolean objectBumpsImpassableTerrainRight(int posX,int posY) {
 		posX += this.getCurrentSprite().getWidth();
 		for (int index=1;index <this.getCurrentSprite().getHeight();
-				index ++) {
-			if (Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX, posY + index)))
+				index = this.getWorld().getLastPixelInTile(posY + index) - posY + 1) {
+			if (this.getWorld().isImpassable(posX, posY + index))
 				return true;	
 		}
 		return false;
-		}
+	}
+	
+	/**
+	 * Return the game objects of the world of this GameObject that can overlap with this
+	 * GameObject when he is moved to the given position.
+	 * @param x
+	 * 		  the pixelX of the GameObject.
+	 * @param y
+	 * 		  the pixelY of the GameObject.
+	 * @return the game objects near the current sprite of this GameObject on the given position,
+	 * 		   including all game objects that overlap with it.
+	 * 		 | result == this.getWorld().getGameObjectsNear(x, y, this.getCurrentSprite().getWidth(),
+	 * 		 |		this.getCurrentSprite().getHeight())
+	 */
+	public List<GameObject> getGameObjectsNear(int x, int y) {
+		return this.getWorld().getGameObjectsNear(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight());
+	}
+	
+	/**
+	 * Replace the contents of the given list by the game objects of the world of this 
+	 * GameObject that can overlap with this GameObject when he is moved to the given position.
+	 * @param x
+	 * 		  the pixelX of the GameObject.
+	 * @param y
+	 * 		  the pixelY of the GameObject.
+	 * @param result
+	 * 		  the list to fill.
+	 * @post | new.result.equals(this.getGameObjectsNear(x, y))
+	 */
+	public void getGameObjectsNear(int x, int y, List<GameObject> result) {
+		this.getWorld().getGameObjectsNear(x, y, this.getCurrentSprite().getWidth(),
+				this.getCurrentSprite().getHeight(), result);
+	}
+	
+	/**
+	 * Return the list of this GameObject that is filled with the game objects of its world 
+	 * that can overlap with this GameObject when he is moved to the given position.
+	 * The list is refilled by every call, so it must not be used after the next call. Callers
+	 * loop over it by index, so that the collision checks do not allocate an iterator either.
+	 * @param x
+	 * 		  the pixelX of the GameObject.
+	 * @param y
+	 * 		  the pixelY of the GameObject.
+	 * @return | result.equals(this.getGameObjectsNear(x, y))
+	 */
+	List<GameObject> fillGameObjectsNear(int x, int y) {
+		this.getGameObjectsNear(x, y, this.gameObjectsNear);
+		return this.gameObjectsNear;
+	}
+	
+	/**
+	 * A list that the collision checks of this GameObject fill with the game objects near 
+	 * this GameObject, so that they do not allocate a new list in every substep.
+	 */
+	private final List<GameObject> gameObjectsNear = new ArrayList<>();
 	
 	/**
 	 * A method that checks whether the given GameObject bumps on an other GameObject.
@@ -1522,7 +1772,9 @@ public abstract class GameObject {
 	 *       |				return true
 	 */
 	public boolean objectBumpsOnOtherObject(int x, int y) {
-		for (GameObject GameObjects: this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(x, y);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject GameObjects = near.get(index);
 			if ((!( GameObjects instanceof Plant)) && (GameObjects !=this)) {
 				if	(this.collidesWithOtherGameObect(x, y, GameObjects)){
 					return true;
@@ -1534,30 +1786,33 @@ public abstract class GameObject {
 	
 	/**
 	 * A method that checks of the GameObject is standing on an other GameObject.
+	 * The dimensions of the gaming world are used as the dimensions of both GameObjects, so that
+	 * landing on top of an other GameObject is handled as a collision with that GameObject.
+	 * The candidates are looked up in the grid of the world, since no GameObject has a negative
+	 * pixelX or pixelY.
 	 * @param x
 	 * 		  the pixelX of the GameObject
 	 * @param y
 	 * 		  the pixelY of the GameObject
 	 * @return True if the lowest row of the GameObject is located one row above
 	 * 		   the highest row an other GameObject.
-	 * 		  | for (GameObject newGameObject: this.getWorld().getGameObjects()) do
-	 * 		  | 	for (int index=0;index < xP;index +=1) do
-	 * 		  | 		if ((y == newGameObject.getPixelY() + newGameObject.getPixelHeight()&&(newGameObject.getPixelX() <= x+index) && (x+index < newGameObject.getPixelX() +newGameObject.getPixelWidth()))
-	 * 		  |				return true 
+	 * 		  | result == for some newGameObject in this.getWorld().getGameObjects()
+	 * 		  |		(y == newGameObject.getPixelY() + newGameObject.getPixelHeight()) &&
+	 * 		  |		(newGameObject.getPixelX() < x + this.getPixelWidth()) &&
+	 * 		  |		(x < newGameObject.getPixelX() + newGameObject.getPixelWidth())
 	 */
 	public boolean isStandingOnGameObject(int x, int y) {
-		int xP = this.getPixelWidth();
-		for (GameObject newGameObject: this.getWorld().getGameObjects()) {
-			int xOther = newGameObject.getPixelX();
-			int yOther = newGameObject.getPixelY();
-			int xPOther = newGameObject.getPixelWidth();
-			int yPOther = newGameObject.getPixelHeight();
-				for (int index=0;index < xP;index +=1) {
-					if ((y == yOther + yPOther)&&(xOther <= x+index) && 
-							(x+index < xOther +xPOther)) {
-						return true;
-						}
-					}
+		int width = this.getPixelWidth();
+		int height = this.getPixelHeight();
+		if (y - height < 0)
+			return false;
+		this.getWorld().getGameObjectsNear(x - width + 1, y - height, 2 * width - 1, 1, this.gameObjectsNear);
+		List<GameObject> near = this.gameObjectsNear;
+		for (int index = 0; index < near.size(); index++) {
+			GameObject other = near.get(index);
+			if ((y == other.getPixelY() + height) && (other.getPixelX() < x + width) &&
+					(x < other.getPixelX() + width))
+				return true;
 		}
 		return false;
 	}
@@ -1624,21 +1879,16 @@ public abstract class GameObject {
 	 */
 	@Raw
 	public void setInWater(boolean inWater) {
-		this.inWater = inWater;
+		this.store.inWater[this.entity] = inWater;
 	}
 	
 	/**
 	 * Return whether this GameObject is in water.
 	 */
 	public boolean isInWater() {
-		return this.inWater;
+		return this.store.inWater[this.entity];
 	}
 	
-	/**
-	 * Boolean registering whether this GameObject is in water.
-	 */
-	public boolean inWater = false;
-	
 	/**
 	 * Set if this GameObject is in gas.
 	 * @param inGas
@@ -1648,7 +1898,7 @@ public abstract class GameObject {
 	 */
 	@Raw
 	public void setInGas(boolean inGas) {
-		this.inGas = inGas;
+		this.store.inGas[this.entity] = inGas;
 	}
 	
 	/**
@@ -1656,14 +1906,9 @@ public abstract class GameObject {
 	 */
 	@Basic @Raw
 	public boolean isInGas() {
-		return this.inGas;
+		return this.store.inGas[this.entity];
 	}
 	
-	/**
-	 * Boolean to check whether the GameObject is in the gas.
-	 */
-	public boolean inGas = false;
-	
 	/**
 	 * Set if this GameObject is in magma.
 	 * @param inWater
@@ -1673,19 +1918,15 @@ public abstract class GameObject {
 	 */
 	@Raw
 	public boolean isInMagma() {
-		return this.inMagma;
+		return this.store.inMagma[this.entity];
 	}
 	
 	/**
 	 * Return whether this GameObject is in magma.
 	 */
 	public void setInMagma(boolean inMagma) {
-		this.inMagma = inMagma;
+		this.store.inMagma[this.entity] = inMagma;
 	}
 	
-	/**
-	 * Boolean registering whether this GameObject is in magma.
-	 */
-	public boolean inMagma = false;
 
 }
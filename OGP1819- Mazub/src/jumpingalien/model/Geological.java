@@ -19,24 +19,50 @@ import be.kuleuven.cs.som.annotate.Value;
 @Value
 public enum Geological {
 	
-	AIR(0,0), SOLID_GROUND(1,1),WATER(2,0),MAGMA(3,0),
-	ICE(4,1),GAS(5,0);
+	AIR(0,0,0), SOLID_GROUND(1,1,0),WATER(2,0,Geological.WATER_MASK),MAGMA(3,0,Geological.MAGMA_MASK),
+	ICE(4,1,0),GAS(5,0,Geological.GAS_MASK);
 	
 	/**
-	 * Initialize this geological feature with the given number and passable state.
+	 * Constant registering the bit of the class mask of all impassable geological features.
+	 */
+	public static final byte IMPASSABLE_MASK = 1;
+	
+	/**
+	 * Constant registering the bit of the class mask of water.
+	 */
+	public static final byte WATER_MASK = 2;
+	
+	/**
+	 * Constant registering the bit of the class mask of magma.
+	 */
+	public static final byte MAGMA_MASK = 4;
+	
+	/**
+	 * Constant registering the bit of the class mask of gas.
+	 */
+	public static final byte GAS_MASK = 8;
+	
+	/**
+	 * Initialize this geological feature with the given number, passable state and hazard mask.
 	 * @param number
 	 * 		The number of the geological feature.
 	 * @param passable
 	 * 		The passable state of this geological feature(0 is passable, 1 is impassable).
+	 * @param hazardMask
+	 * 		The bits of the class mask of this geological feature, apart from its passable state.
 	 * @post The number of the geological feature is equal to the given number
 	 * 		| new.getNumber() = number
 	 * @post The passable state of the geological feature is equal to the passable state
 	 * 		| new.getPassable() = passable
+	 * @post The class mask of the geological feature consists of the given hazard mask and 
+	 * 		 the impassable bit if this geological feature is impassable
+	 * 		| new.getClassMask() = hazardMask | (passable == 1 ? IMPASSABLE_MASK : 0)
 	 */
 	@Raw
-	private Geological(int number,int passable) {
+	private Geological(int number,int passable,int hazardMask) {
 		this.passable = passable;
 		this.number = number;
+		this.classMask = (byte) (hazardMask | (passable == 1 ? IMPASSABLE_MASK : 0));
 	}
 
 	/**
@@ -64,6 +90,30 @@ public enum Geological {
 	 */
 	private final int passable;
 	
+	/**
+	 * Return the class mask of this geological feature.
+	 */
+	@Basic
+	@Raw
+	@Immutable
+	public byte getClassMask() {
+		return classMask;
+	}
+	
+	/**
+	 * Check whether this geological feature is impassable.
+	 * @return
+	 * 		| result == ((this.getClassMask() & IMPASSABLE_MASK) != 0)
+	 */
+	public boolean isImpassable() {
+		return (this.classMask & IMPASSABLE_MASK) != 0;
+	}
+	
+	/**
+	 * Variable registering the class mask of this geological feature.
+	 */
+	private final byte classMask;
+	
 	/**
 	 * Return (a set of) all impassable geological features.
 	 */
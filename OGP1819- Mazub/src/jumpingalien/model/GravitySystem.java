@@ -0,0 +1,59 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems letting the game objects of an entity store fall when nothing
+ * supports them.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class GravitySystem {
+
+	private GravitySystem() {
+	}
+
+	/**
+	 * Let the given game object whose segment starts fall if nothing supports it. A
+	 * Mazub falls unless it stands on impassable terrain or on another game object, and above
+	 * the bottom of the void when it has no world. A resting Shark that stands on impassable
+	 * terrain or is in water does not move in its segment.
+	 */
+	static void beginSegment(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.STARTING)
+			return;
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			fallUnlessSupported(s.handles[e], s.pixelX[e], s.pixelY[e]);
+			break;
+		case EntitySystems.MAZUB_IN_VOID:
+			if (s.y[e] > 0)
+				s.handles[e].setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
+			break;
+		case EntitySystems.SHARK_RESTING:
+			Shark shark = (Shark) s.handles[e];
+			if ((shark.objectOnImpassableTerrain(s.pixelX[e], s.pixelY[e]))||
+					(shark.isInWater(s.pixelX[e], s.pixelY[e])))
+				s.stage[e] = EntitySystems.ENDED;
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Let the given game object fall if it does not stand on impassable terrain or on
+	 * another game object at the given pixel position.
+	 *
+	 * @effect | if ((! handle.objectOnImpassableTerrain(posX, posY)) &&
+	 *         |		(! handle.isStandingOnGameObject(posX, posY)))
+	 *         |	then handle.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION)
+	 */
+	static void fallUnlessSupported(GameObject handle, int posX, int posY) {
+		if ((! handle.objectOnImpassableTerrain(posX, posY))&&
+				(! handle.isStandingOnGameObject(posX, posY)))
+			handle.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
+	}
+
+}
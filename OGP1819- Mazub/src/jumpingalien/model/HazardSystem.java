@@ -0,0 +1,338 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems updating the hit points of the game objects of an entity store by the
+ * hazards of the terrain they overlap, and letting dead game objects decay.
+ *
+ * The hazard timers of a game object register how long it has been in water, magma or gas,
+ * or out of water for a Shark. The rules by which these timers take hit points are those of
+ * the updateHitPoints methods of the game objects, which use this system.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class HazardSystem {
+
+	private HazardSystem() {
+	}
+
+	/**
+	 * Let the given dead game object whose segment starts decay for the time of that
+	 * segment. A dead Mazub or Slime in a world is terminated once it has been dead for more
+	 * than 0.6 seconds, a dead Plant once it has been dead for 0.6 seconds.
+	 */
+	static void decay(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.STARTING)
+			return;
+		byte segment = s.segment[e];
+		if (segment == EntitySystems.DECAY_IN_VOID) {
+			s.handles[e].setDelay(s.delay[e]+s.segmentTime[e]);
+			s.stage[e] = EntitySystems.ENDED;
+		}
+		else if (segment == EntitySystems.DECAY) {
+			GameObject handle = s.handles[e];
+			handle.setDelay(s.delay[e]+s.segmentTime[e]);
+			byte kind = s.kind[e];
+			if ((kind == EntityStore.MAZUB) || (kind == EntityStore.SLIME) ?
+					(s.delay[e]>0.6) : (s.delay[e] >=0.6))
+				handle.terminate();
+			s.stage[e] = EntitySystems.ENDED;
+		}
+	}
+
+	/**
+	 * Let the hazards at the start of its segment act on the given Mazub or Slime whose
+	 * segment starts, and kill the given Plant whose segment starts if its life time is over.
+	 * The segment of a Plant ends here.
+	 */
+	static void beginSegment(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.STARTING)
+			return;
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			mazub(s, e, s.pixelX[e], s.pixelY[e], 0);
+			break;
+		case EntitySystems.SLIME_MOVING:
+			slime(s, e, s.pixelX[e], s.pixelY[e], 0);
+			break;
+		case EntitySystems.PLANT_MOVING:
+			if (s.lifeTime[e] <= 0)
+				s.handles[e].kill();
+			s.stage[e] = EntitySystems.ENDED;
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Let the hazards act on the given game object that takes a free substep, for the
+	 * time of a substep, at the position it reaches after the first substep. A Shark also
+	 * suffers the time of the other substeps at that position.
+	 */
+	static void freeSubsteps(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] == 0))
+			return;
+		GameObject handle = s.handles[e];
+		int freePosX = (int) (100*s.newX[e]);
+		int freePosY = (int) (100*s.newY[e]);
+		double dt = s.dt[e];
+		TickProfiler.Phase phase = handle.enterPhase(TickProfiler.Phase.HIT_POINTS);
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			mazub(s, e, freePosX, freePosY, dt);
+			break;
+		case EntitySystems.SHARK_MOVING:
+			shark(s, e, freePosX, freePosY, dt);
+			if (s.free[e] > 1)
+				shark(s, e, freePosX, freePosY, (s.free[e] - 1)*dt);
+			break;
+		default:
+			slime(s, e, freePosX, freePosY, dt);
+			break;
+		}
+		handle.exitPhase(phase);
+	}
+
+	/**
+	 * Let the hazards act on the given Mazub that takes a substep that is not free, at
+	 * the position it reaches.
+	 */
+	static void beforeSubstep(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0) ||
+				(s.segment[e] != EntitySystems.MAZUB_IN_WORLD))
+			return;
+		GameObject mazub = s.handles[e];
+		TickProfiler.Phase phase = mazub.enterPhase(TickProfiler.Phase.HIT_POINTS);
+		mazub(s, e, (int)(100*s.newX[e]),(int)(100*s.newY[e]),s.dt[e]);
+		mazub.exitPhase(phase);
+	}
+
+	/**
+	 * Kill the given Mazub that takes a substep that is not free if it has no hit points
+	 * left, and end its segment. It decays for the rest of its segment.
+	 */
+	static void deaths(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0) ||
+				(s.segment[e] != EntitySystems.MAZUB_IN_WORLD))
+			return;
+		if (s.hitPoints[e] <= 0) {
+			GameObject mazub = s.handles[e];
+			mazub.kill();
+			double deadtime = s.segmentTime[e]-s.time[e];
+			mazub.setDelay(s.delay[e]+deadtime);
+			if (s.delay[e]>0.6) {
+				mazub.terminate();
+			}
+			s.stage[e] = EntitySystems.ENDED;
+		}
+	}
+
+	/**
+	 * Let the hazards act on the given Shark or Slime that takes a substep that is not
+	 * free. A moving Shark and a Slime suffer them at the position they reach, a resting Shark
+	 * at its current position.
+	 */
+	static void substep(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0))
+			return;
+		GameObject handle = s.handles[e];
+		switch (s.segment[e]) {
+		case EntitySystems.SHARK_MOVING: {
+			TickProfiler.Phase phase = handle.enterPhase(TickProfiler.Phase.HIT_POINTS);
+			shark(s, e, (int) (100*s.newX[e]),
+					(int) (100*s.newY[e]), s.dt[e]);
+			handle.exitPhase(phase);
+			break;
+		}
+		case EntitySystems.SHARK_RESTING:
+			shark(s, e, s.pixelX[e], s.pixelY[e], s.dt[e]);
+			break;
+		case EntitySystems.SLIME_MOVING: {
+			TickProfiler.Phase phase = handle.enterPhase(TickProfiler.Phase.HIT_POINTS);
+			slime(s, e, (int) (100*s.newX[e]),(int) (100*s.newY[e]), s.dt[e]);
+			handle.exitPhase(phase);
+			break;
+		}
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Let the hazards act on the given game object in its remainder, for the part of its
+	 * segment after its last substep.
+	 */
+	static void remainder(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		double rest = s.segmentTime[e]%s.dt[e];
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			mazub(s, e, s.pixelX[e],s.pixelY[e], rest);
+			break;
+		case EntitySystems.SLIME_MOVING:
+			slime(s, e, s.pixelX[e],s.pixelY[e], rest);
+			break;
+		default:
+			shark(s, e, s.pixelX[e],
+					s.pixelY[e],rest);
+			break;
+		}
+	}
+
+	/**
+	 * Update the hit points of the given Mazub at the given pixel position after the given
+	 * time. A Mazub loses 2 hit points every 0.2 seconds in water without magma or gas,
+	 * 50 hit points at the first contact with magma and every 0.2 seconds in it, and 4 hit
+	 * points at the first contact with gas and every 0.2 seconds in it, if there is no magma.
+	 */
+	static void mazub(EntityStore s, int e, int newPosX, int newPosY, double deltaT) {
+		GameObject mazub = s.handles[e];
+		int classes = mazub.getOverlappedGeologicalClasses(newPosX,newPosY);
+		boolean inWater = (classes & Geological.WATER_MASK) != 0;
+		boolean inMagma = (classes & Geological.MAGMA_MASK) != 0;
+		boolean inGas = (classes & Geological.GAS_MASK) != 0;
+		if ((inWater) && ((! inMagma) && (! inGas))){
+			if (s.inWater[e]) {
+				s.timeInWater[e] = s.timeInWater[e] + deltaT;
+				if (s.timeInWater[e] >0.2) {
+					mazub.setHitPoints(s.hitPoints[e]- ((int) (s.timeInWater[e]/0.2))*2);
+					s.timeInWater[e] = s.timeInWater[e]%0.2;
+				}
+			}
+			if (! s.inWater[e])
+				s.inWater[e] = true;
+		}
+		if (! inWater) {
+			s.timeInWater[e] = 0;
+			s.inWater[e] = false;
+		}
+		if (! inMagma) {
+			s.timeInMagma[e] = 0;
+			s.inMagma[e] = false;
+		}
+		if (inMagma) {
+			if (s.inMagma[e]) {
+				s.timeInMagma[e] = s.timeInMagma[e] + deltaT;
+				if (s.timeInMagma[e] > 0.2) {
+					mazub.setHitPoints(s.hitPoints[e]- ((int) (s.timeInMagma[e]/0.2))*50);
+					s.timeInMagma[e] = s.timeInMagma[e]%0.2;
+				}
+			}
+			if (! s.inMagma[e]) {
+				mazub.setHitPoints(s.hitPoints[e]-50);
+				s.inMagma[e] = true;
+			}
+		}
+		if (! inGas) {
+			s.timeInGas[e] = 0;
+			s.inGas[e] = false;
+		}
+		if ((inGas) && (! inMagma)) {
+			if (s.inGas[e]) {
+				s.timeInGas[e] = s.timeInGas[e] + deltaT;
+				if (s.timeInGas[e] > 0.2) {
+					mazub.setHitPoints(s.hitPoints[e]- ((int) (s.timeInGas[e]/0.2))*4);
+					s.timeInGas[e] = s.timeInGas[e]%0.2;
+				}
+			}
+			if (! s.inGas[e]) {
+				mazub.setHitPoints(s.hitPoints[e]-4);
+				s.inGas[e] = true;
+			}
+		}
+	}
+
+	/**
+	 * Update the hit points of the given Slime at the given pixel position after the given
+	 * time. A Slime loses 4 hit points every 0.4 seconds in water, which also costs the
+	 * other Slimes of its school a hit point, gains 2 hit points every 0.3 seconds in gas,
+	 * and dies in magma. A Slime without hit points dies, and is terminated once it has
+	 * been dead for more than 0.6 seconds.
+	 */
+	static void slime(EntityStore s, int e, int newPosX, int newPosY, double deltaT) {
+		Slime slime = (Slime) s.handles[e];
+		int classes = slime.getOverlappedGeologicalClasses(newPosX,newPosY);
+		boolean inWater = (classes & Geological.WATER_MASK) != 0;
+		boolean inMagma = (classes & Geological.MAGMA_MASK) != 0;
+		boolean inGas = (classes & Geological.GAS_MASK) != 0;
+		if (! inWater) {
+			s.timeInWater[e] = 0;
+			s.inWater[e] = false;
+		}
+		if (inWater){
+			if (s.inWater[e]) {
+				s.timeInWater[e] = s.timeInWater[e] + deltaT;
+				if (s.timeInWater[e] >0.4) {
+					slime.setHitPoints(s.hitPoints[e]- ((int) (s.timeInWater[e]/0.4))*4);
+					slime.updateHitpointsSchool();
+					s.timeInWater[e] = s.timeInWater[e]%0.4;
+				}
+			}
+			else
+				s.inWater[e] = true;
+		}
+		if (! inGas) {
+			s.timeInGas[e] = 0;
+			s.inGas[e] = false;
+		}
+		if (inMagma) {
+			slime.kill();
+		}
+		if (inGas) {
+			if (s.inGas[e]) {
+				s.timeInGas[e] = s.timeInGas[e] + deltaT;
+				if (s.timeInGas[e] > 0.3) {
+					slime.setHitPoints(s.hitPoints[e]+ ((int) (s.timeInGas[e]/0.3))*2);
+					s.timeInGas[e] = s.timeInGas[e]%0.3;
+				}
+			}
+			else
+				s.inGas[e] = true;
+		}
+		if (s.hitPoints[e] <=0) {
+			slime.kill();
+			slime.setDelay(s.delay[e]+deltaT);
+			if (s.delay[e]>0.6) {
+				slime.terminate();
+			}
+		}
+	}
+
+	/**
+	 * Update the hit points of the given Shark at the given pixel position after the given
+	 * time. A Shark loses 6 hit points every 0.2 seconds out of water, counted from the
+	 * moment it has left the water.
+	 */
+	static void sharkOutOfWater(EntityStore s, int e, int posX, int posY, double deltaT) {
+		GameObject shark = s.handles[e];
+		if (shark.collidesWithGeological(posX,posY, Geological.WATER)==false) {
+			if (s.leftWater[e] == true) {
+				s.timeOutOfWater[e] = s.timeOutOfWater[e]+deltaT;
+			}
+			else
+				s.leftWater[e] = true;
+		}
+		if (shark.collidesWithGeological(posX,posY, Geological.WATER)==true) {
+			s.timeOutOfWater[e] = 0;
+			s.leftWater[e] = false;
+		}
+		if (s.timeOutOfWater[e] >= 0.2) {
+			shark.setHitPoints(s.hitPoints[e]-((int)(s.timeOutOfWater[e]/0.2))*6);
+			s.timeOutOfWater[e] = s.timeOutOfWater[e]%0.2;
+		}
+	}
+
+	/**
+	 * Update the hit points of the given Shark at the given pixel position after the given
+	 * time, by the water it is out of and by the game objects it touches.
+	 */
+	private static void shark(EntityStore s, int e, int posX, int posY, double deltaT) {
+		sharkOutOfWater(s, e, posX, posY, deltaT);
+		((Shark) s.handles[e]).updateHitpointsAfterInteractionsWithGameObjects(posX, posY);
+	}
+
+}
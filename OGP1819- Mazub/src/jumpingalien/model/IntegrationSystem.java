@@ -0,0 +1,259 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems integrating the motion of the game objects of an entity store: they
+ * divide the segment of each game object in substeps, compute the position it reaches
+ * after each substep, and commit its position and velocity at the end of the segment.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class IntegrationSystem {
+
+	private IntegrationSystem() {
+	}
+
+	/**
+	 * Return the actualX of the given game object after the given time period.
+	 *
+	 * @return | result == s.x[e] + (s.vx[e]*deltaT) + (0.5*s.ax[e]*deltaT*deltaT)
+	 */
+	static double positionX(EntityStore s, int e, double deltaT) {
+		return s.x[e] + (s.vx[e]*deltaT) + (0.5*s.ax[e]*deltaT*deltaT);
+	}
+
+	/**
+	 * Return the actualY of the given game object after the given time period.
+	 *
+	 * @return | result == s.y[e] + (s.vy[e]*deltaT) + (0.5*s.ay[e]*deltaT*deltaT)
+	 */
+	static double positionY(EntityStore s, int e, double deltaT) {
+		return s.y[e] + (s.vy[e]*deltaT) + (0.5*(s.ay[e])*deltaT*deltaT);
+	}
+
+	/**
+	 * Return the horizontal velocity of the given game object after the given time period.
+	 *
+	 * @return | result == s.vx[e] + (s.ax[e]*deltaT)
+	 */
+	static double velocityX(EntityStore s, int e, double deltaT) {
+		return s.vx[e] + (s.ax[e]*deltaT);
+	}
+
+	/**
+	 * Return the vertical velocity of the given game object after the given time period.
+	 *
+	 * @return | result == s.vy[e] + (s.ay[e]*deltaT)
+	 */
+	static double velocityY(EntityStore s, int e, double deltaT) {
+		return (s.vy[e] + (s.ay[e]*deltaT));
+	}
+
+	/**
+	 * Start the motion of the given game object whose segment starts. A game object
+	 * that moves in substeps gets the size of its substeps; a Mazub without a world moves over
+	 * the whole segment at once, and a Plant computes the position it moves to.
+	 */
+	static void beginSegment(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.STARTING)
+			return;
+		GameObject handle = s.handles[e];
+		double deltaT = s.segmentTime[e];
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_VOID:
+			handle.updatePosition(deltaT,deltaT);
+			handle.setHorizontalVelocity(velocityX(s, e, deltaT));
+			handle.setVerticalVelocity(velocityY(s, e, deltaT));
+			s.stage[e] = EntitySystems.ENDED;
+			break;
+		case EntitySystems.PLANT_MOVING:
+			if (s.kind[e] == EntityStore.SNEEZEWORT)
+				s.newX[e] = positionX(s, e, deltaT);
+			else
+				s.newY[e] = positionY(s, e, deltaT);
+			break;
+		case EntitySystems.MAZUB_IN_WORLD:
+		case EntitySystems.SHARK_MOVING:
+		case EntitySystems.SHARK_RESTING:
+		case EntitySystems.SLIME_MOVING:
+			s.deltaTX[e] = deltaT;
+			s.deltaTY[e] = deltaT;
+			s.dt[e] = handle.calculateDT(deltaT);
+			s.nbdtX[e] = 1;
+			s.nbdtY[e] = 1;
+			s.time[e] = s.dt[e];
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Start the next substep of the given game object if it is taking substeps, or if its
+	 * segment starts. A game object whose segment has no substep left goes on with its
+	 * remainder. A game object that can take several substeps without any contact event
+	 * takes them as one free substep; otherwise it computes the position it reaches after
+	 * its next substep.
+	 *
+	 * @return True if and only if the game object takes a substep.
+	 */
+	static boolean beginSubstep(EntityStore s, int e) {
+		byte stage = s.stage[e];
+		if (stage == EntitySystems.STARTING)
+			s.stage[e] = EntitySystems.SUBSTEPS;
+		else if (stage != EntitySystems.SUBSTEPS)
+			return false;
+		double deltaT = s.segmentTime[e];
+		double time = s.time[e];
+		double dt = s.dt[e];
+		byte segment = s.segment[e];
+		if ((segment == EntitySystems.MAZUB_IN_WORLD) ? (! (time <= deltaT)) : (! (time < deltaT))) {
+			s.stage[e] = EntitySystems.REMAINDER;
+			return false;
+		}
+		GameObject handle = s.handles[e];
+		switch (segment) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			s.free[e] = handle.getEventFreeSubsteps(s.nbdtX[e], s.nbdtY[e], dt, (int) ((deltaT - time)/dt) + 1);
+			break;
+		case EntitySystems.SHARK_MOVING:
+			s.free[e] = ((Shark) handle).isInWater(s.pixelX[e], s.pixelY[e]) ? 0 :
+				handle.getEventFreeSubsteps(s.nbdtX[e], s.nbdtY[e], dt, (int) Math.ceil((deltaT - time)/dt));
+			break;
+		case EntitySystems.SLIME_MOVING:
+			s.free[e] = handle.getEventFreeSubsteps(s.nbdtX[e], s.nbdtY[e], dt, (int) Math.ceil((deltaT - time)/dt));
+			break;
+		default:
+			s.free[e] = 0;
+			s.newY[e] = positionY(s, e, s.nbdtY[e]*dt);
+			s.nbdtY[e] += 1;
+			return true;
+		}
+		s.newX[e] = positionX(s, e, s.nbdtX[e]*dt);
+		s.newY[e] = positionY(s, e, s.nbdtY[e]*dt);
+		if (s.free[e] == 0) {
+			s.nbdtX[e] += 1;
+			s.nbdtY[e] += 1;
+		}
+		return true;
+	}
+
+	/**
+	 * End the substep of the given game object if it is taking substeps.
+	 */
+	static void endSubstep(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.SUBSTEPS)
+			return;
+		int free = s.free[e];
+		if (free > 0) {
+			s.time[e] += (free - 1)*s.dt[e];
+			s.nbdtX[e] += free;
+			s.nbdtY[e] += free;
+		}
+		s.time[e] += s.dt[e];
+	}
+
+	/**
+	 * Start the remainder of the segment of the given game object, by computing the
+	 * position it reaches at the end of its segment. A Shark commits that position at once. A
+	 * Mazub that died or was terminated, a Shark that was terminated and a Slime that left its
+	 * world have no remainder.
+	 */
+	static void beginRemainder(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		GameObject handle = s.handles[e];
+		s.placed[e] = false;
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			if ((s.dead[e]) || (s.terminated[e])) {
+				s.stage[e] = EntitySystems.ENDED;
+				break;
+			}
+			s.newX[e] = positionX(s, e, s.deltaTX[e]);
+			s.newY[e] = positionY(s, e, s.deltaTY[e]);
+			break;
+		case EntitySystems.SHARK_MOVING:
+			if (s.terminated[e]) {
+				s.stage[e] = EntitySystems.ENDED;
+				break;
+			}
+			s.newX[e] = positionX(s, e, s.deltaTX[e]);
+			s.newY[e] = positionY(s, e, s.deltaTY[e]);
+			handle.setActualX(s.newX[e]);
+			handle.setPixelX((int) (100 * s.newX[e]));
+			handle.setActualY(s.newY[e]);
+			handle.setPixelY((int) (100 * s.newY[e]));
+			break;
+		case EntitySystems.SHARK_RESTING:
+			if (s.terminated[e]) {
+				s.stage[e] = EntitySystems.ENDED;
+				break;
+			}
+			s.newY[e] = positionY(s, e, s.deltaTY[e]);
+			handle.setActualY(s.newY[e]);
+			handle.setPixelY((int) (100 * s.newY[e]));
+			break;
+		default:
+			if (handle.getWorld() == null) {
+				s.stage[e] = EntitySystems.ENDED;
+				break;
+			}
+			s.newX[e] = positionX(s, e, s.deltaTX[e]);
+			s.newY[e] = positionY(s, e, s.segmentTime[e]);
+			break;
+		}
+	}
+
+	/**
+	 * Commit the position of the given Mazub or Slime if no collision placed it at the
+	 * end of its segment, and the velocity of a Mazub. A Slime that left its world ends its
+	 * segment.
+	 */
+	static void commitRemainder(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		GameObject handle = s.handles[e];
+		if (s.segment[e] == EntitySystems.MAZUB_IN_WORLD) {
+			if (! s.placed[e])
+				handle.updatePosition(s.deltaTX[e],s.deltaTY[e]);
+			handle.setVerticalVelocity(velocityY(s, e, s.deltaTX[e]));
+			handle.setHorizontalVelocity(velocityX(s, e, s.deltaTY[e]));
+		}
+		else if (s.segment[e] == EntitySystems.SLIME_MOVING) {
+			if (! s.placed[e])
+				handle.updatePosition(s.deltaTX[e],s.segmentTime[e]);
+			if (handle.getWorld() == null)
+				s.stage[e] = EntitySystems.ENDED;
+		}
+	}
+
+	/**
+	 * End the segment of the given game object in its remainder, committing the
+	 * velocity of a Shark or Slime.
+	 */
+	static void endSegment(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		GameObject handle = s.handles[e];
+		switch (s.segment[e]) {
+		case EntitySystems.SHARK_MOVING:
+			handle.setHorizontalVelocity(velocityX(s, e, s.deltaTX[e]));
+			handle.setVerticalVelocity(velocityY(s, e, s.deltaTY[e]));
+			break;
+		case EntitySystems.SHARK_RESTING:
+			handle.setVerticalVelocity(velocityY(s, e, s.deltaTY[e]));
+			break;
+		case EntitySystems.SLIME_MOVING:
+			handle.setHorizontalVelocity(velocityX(s, e, s.deltaTX[e]));
+			handle.setVerticalVelocity(velocityY(s, e, s.deltaTX[e]));
+			break;
+		default:
+			break;
+		}
+		s.stage[e] = EntitySystems.ENDED;
+	}
+
+}
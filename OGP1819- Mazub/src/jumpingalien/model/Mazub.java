@@ -3,8 +3,6 @@ package jumpingalien.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Raw;
@@ -182,7 +180,6 @@ public class Mazub extends GameObject{
 		this(pixelX,pixelY,(double) pixelX/100,(double)pixelY/100,"front",0,1,3,0,0,0,false,0,0,
 				sprites[0],sprites);
 		}
-
 	
 	/**
 	 * Start moving the Mazub to the left.
@@ -202,7 +199,7 @@ public class Mazub extends GameObject{
 	 public void startMoveLeft() {
 		assert ! this.isMoving();
 		this.setOrientation("left");	
-		assert (orientation == "left");
+		assert (this.getOrientation() == "left");
 		this.setHorizontalVelocity(-1.0);	
 		if (! this.isDucking()) 
 			this.setHorizontalAcceleration(- movingAcceleration);
@@ -228,7 +225,7 @@ public class Mazub extends GameObject{
 	public void startMoveRight() {			
 		assert ! this.isMoving();
 		this.setOrientation("right");
-		assert (orientation == "right");
+		assert (this.getOrientation() == "right");
 	   	this.setHorizontalVelocity(1.0);
 	   	if (! this.isDucking()) {
 	   		this.setHorizontalAcceleration(movingAcceleration);	
@@ -272,7 +269,7 @@ public class Mazub extends GameObject{
 	 */
 	@Basic @Raw
 	public double getHorizontalAcceleration() {
-		return this.horizontalAcceleration;
+		return this.store.ax[this.entity];
 	}
 	
 	/**
@@ -372,7 +369,7 @@ public class Mazub extends GameObject{
 	 */
 	@Basic @Raw
 	public boolean getIsJumpingMazub() {
-		return this.isJumpingMazub;
+		return this.store.jumping[this.entity];
 	}
 	
 	/**
@@ -406,14 +403,9 @@ public class Mazub extends GameObject{
 			throws RuntimeException {
 		if (! isValidIsJumpingMazub(isJumpingMazub))
 			throw new RuntimeException();
-		this.isJumpingMazub = isJumpingMazub;
+		this.store.jumping[this.entity] = isJumpingMazub;
 	}
 	
-	/**
-	 * Variable registering the isJumpingMazub of this Mazub.
-	 */
-	private boolean isJumpingMazub;
-	
 	/**
 	 * Checking whether the Mazub is ducking or not.
 	 * @return True if and only if the Mazub has a ducking sprite as his currentSprite
@@ -422,11 +414,11 @@ public class Mazub extends GameObject{
 	 * 		 | (this.getCurrentSprite() == this.getSprites()[7])
 	 */
 	public boolean isDucking() {
-			if (this.getCurrentSprite() == this.getSprites()[1]) 
+			if (this.getCurrentSprite() == this.sprites[1]) 
 				return true;
-			if (this.getCurrentSprite() == this.getSprites()[6])
+			if (this.getCurrentSprite() == this.sprites[6])
 				return true;
-			if (this.getCurrentSprite() == this.getSprites()[7])
+			if (this.getCurrentSprite() == this.sprites[7])
 				return true;
 			else 
 				return false;
@@ -497,9 +489,8 @@ public class Mazub extends GameObject{
 			if (this.getOrientation() == "left") {
 				this.setHorizontalAcceleration(-movingAcceleration);
 				this.setCurrentSprite(this.getSprites()[8+m]);
-				if ((this.collidesWithGeologicals(this.getPixelX(), this.getPixelY(), Geological.getAllImpassable())) 
-							|| (this.collidesWithGeologicals(this.getPixelX(), this.getPixelY(),
-									Geological.getAllImpassable()))) {
+				if ((this.collidesWithImpassableTerrain(this.getPixelX(), this.getPixelY())) 
+							|| (this.collidesWithImpassableTerrain(this.getPixelX(), this.getPixelY()))) {
 					this.setCurrentSprite(oldSprite);
 					this.aboutToDuck = true;				
 				}
@@ -507,7 +498,7 @@ public class Mazub extends GameObject{
 			if (this.getOrientation() == "right") {			
 				this.setHorizontalAcceleration(movingAcceleration);
 				this.setCurrentSprite(this.getSprites()[8]);
-				if((this.collidesWithGeologicals(this.getPixelX(), this.getPixelY(), Geological.getAllImpassable())) 
+				if((this.collidesWithImpassableTerrain(this.getPixelX(), this.getPixelY())) 
 							|| (this.meetsObstacle(this.getPixelX(), this.getPixelY()))) {
 						this.setCurrentSprite(oldSprite);
 						this.aboutToDuck = true;			}
@@ -537,7 +528,7 @@ public class Mazub extends GameObject{
 	/**
 	 * Variable that checks whether the Mazub is tortured by a dead skullcab.
 	 */
-	private boolean skullcabDeadAndHurtsMazub;
+	boolean skullcabDeadAndHurtsMazub;
 	
 	@Override
 	public void advanceTime(double deltaT) throws IllegalArgumentException {
@@ -545,204 +536,7 @@ public class Mazub extends GameObject{
 			throw new IllegalArgumentException();
 		if (deltaT > 0.2) 
 			throw new IllegalArgumentException();
-		//int newPosX=this.getPixelY();
-		//int newPosY=this.getPixelX();
-		double deadtime = 0;
-		Sprite oldSprite= this.getCurrentSprite();
-		this.orientationCorrection(deltaT);
-		this.updateSprites(deltaT);
-		if (this.getWorld() == null) {
-			if (! this.isDead()) {
-				if (this.getActualY() > 0) {
-					this.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
-					}		
-					this.updatePosition(deltaT,deltaT);	
-					this.setHorizontalVelocity(this.calculateHorizontalVelocity(deltaT));
-					this.setVerticalVelocity(this.calculateVerticalVelocity(deltaT));
-			}				
-			else {
-				this.setDelay(this.getDelay()+deltaT);
-			}	
-		}
-		if (this.getWorld() != null) {	
-			//if (this.isBlockingShark())
-			if (! this.isDead()) {
-				if (this.meetsHorizontalObstacle(this.getPixelX(),this.getPixelY())){;
-					if (this.isMoving())
-						this.endMove();
-					this.setHorizontalAcceleration(0);
-					this.setHorizontalVelocity(0);
-					}
-				if ((!this.objectOnImpassableTerrain(this.getPixelX(),this.getPixelY()))&&
-						(!this.isStandingOnGameObject(this.getPixelX(), this.getPixelY()))){
-					this.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
-				}
-				double deltaTX = deltaT;
-				double deltaTY = deltaT;
-				double dt = calculateDT(deltaT);
-				int nbdtX = 1;
-				int nbdtY = 1;
-				this.updateHitPoints(this.getPixelX(), this.getPixelY(),0);
-				if (this.objectBumpsOnOtherObject(this.getPixelX(), this.getPixelY())) {
-					this.setVerticalVelocity(0);
-					this.setHorizontalAcceleration(0);
-					this.setHorizontalVelocity(0);
-
-				}
-				for (double time = dt; time <= deltaT;time+= dt) {
-					double newPosX = this.calculatePositionX(nbdtX*dt);
-					double newPosY = this.calculatePositionY(nbdtY*dt);
-					this.updateHitPoints((int)(100*newPosX),(int)(100*newPosY),dt);
-					nbdtX += 1;
-					nbdtY += 1;
-					//if ((this.objectOnImpassableTerrain(this.getPixelX(),this.getPixelY()))&&
-					//		(this.objectOnImpassableTerrain((int) newPosX, (int) newPosY))){
-					//	this.setVerticalAcceleration(VERTICAL_FALL_ACCELERATION);
-					//}
-					if (this.objectBumpsOnOtherObject((int) (100*newPosX),(int) (100*newPosY))) {
-						this.updatePosition((nbdtX-2)*dt, (nbdtY-2)*dt);
-						this.setVerticalVelocity(0);
-						if ((!this.objectOnImpassableTerrain(this.getPixelX(),this.getPixelY()))&&
-								(!this.isStandingOnGameObject(this.getPixelX(),this.getPixelY()))){
-							this.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
-						}
-						this.setHorizontalAcceleration(0);
-						this.setHorizontalVelocity(0);
-						deltaTX -= (nbdtX-2)*dt;
-						deltaTY -= (nbdtY-2)*dt;
-						nbdtX=2;
-						nbdtY = 2;
-					}
-					
-					if (((this.objectOnImpassableTerrain((int) (100*newPosX),(int) (100*newPosY)))||
-							(this.isStandingOnGameObject((int) (100*newPosX),(int) (100*newPosY))))
-							&&(this.getVerticalVelocity()< 0)) {			
-						this.setPixelY((int)(100*newPosY));
-						this.setActualY(newPosY);
-						deltaTY -= ((nbdtY-1)*dt);
-						nbdtY = 1;
-						this.setVerticalAcceleration(0);
-						this.setVerticalVelocity(0);
-							}
-					if ((this.objectBumpsImpassableTerrainAbove((int) (100*newPosX),(int) (100*newPosY)))
-							&&(this.getVerticalVelocity()> 0)) {
-						this.setPixelY((int)(100*newPosY));
-						this.setActualY(newPosY);
-						deltaTY -= ((nbdtY-1)*dt);
-						nbdtY = 1;
-						this.setVerticalVelocity(0);
-						}
-					if (this.meetsHorizontalObstacle((int) (100*newPosX),
-							(int) (100*newPosY))){
-						this.setPixelX((int)(100*newPosX));
-						this.setActualX(newPosX);
-						if (this.isMoving())
-							this.endMove();
-						deltaTX -= ((nbdtX-1)*dt);
-						nbdtX = 1;
-						this.setHorizontalAcceleration(0);
-						this.setHorizontalVelocity(0);
-						}
-
-						if (this.getHitPoints() <= 0) {
-							this.kill();
-							deadtime = deltaT-time;
-							this.setDelay(this.getDelay()+deadtime);
-							if (this.getDelay()>0.6) {
-								this.terminate();
-								}
-							break;
-						}
-						this.updateHitpointsAfterInteractionsWithGameObjects((int)(100*newPosX), (int) (100*newPosY));
-						this.eatPlants((int)(100*newPosX),(int) (100*newPosY),dt);
-						if (this.isOutOfThisWorld(newPosX, newPosY)) {
-							this.kill();
-							this.terminate();
-							break;
-							}
-					}
-					if ((! this.isDead())&&(!this.isTerminated())) {
-						double newPosX = this.calculatePositionX(deltaTX);
-						double newPosY = this.calculatePositionY(deltaTY);
-						if (this.objectBumpsOnOtherObject((int) (100*newPosX),(int) (100*newPosY))) {
-							this.updateHitpointsAfterInteractionsWithGameObjects((int) (100*newPosX), (int) (100*newPosY));
-							this.updatePosition(deltaTX-deltaT%dt, deltaTX-deltaT%dt);
-							if ((!this.objectOnImpassableTerrain((int) (100*newPosX),(int) (100*newPosY)))&&
-									(!this.isStandingOnGameObject((int) (100*newPosX),(int) (100*newPosY)))){
-								this.setVerticalAcceleration(Constants.VERTICAL_FALL_ACCELERATION);
-							}
-							this.setHorizontalAcceleration(0);
-							this.setHorizontalVelocity(0);	
-						}
-						else {
-							this.updatePosition(deltaTX,deltaTY);
-						}
-						this.setVerticalVelocity(this.calculateVerticalVelocity(deltaTX));		
-						this.setHorizontalVelocity(this.calculateHorizontalVelocity(deltaTY));
-						this.eatPlants(this.getPixelX(),this.getPixelY(),deltaT % dt);
-						this.updateHitPoints(this.getPixelX(),this.getPixelY(), deltaT%dt);
-						if (! this.isDead()){
-							if (this.getWorld() != null)
-								if (this.collidesWithGeologicals(this.getPixelX(),this.getPixelY(),
-										Geological.getAllImpassable())) 
-									{
-//									if (this.mazubBumpsSolidGroundAbove(this.getPixelX(), this.getPixelY())) {
-//										this.setCurrentSprite(oldSprite);
-//									}
-									if (! this.mazubStartingInImpassableTerrain(this.getPixelX(), this.getPixelY())) {
-										this.setCurrentSprite(oldSprite);
-									}
-									
-								}
-							//this.updateMazubAtTheBoundaryOfImpTile((int) (newPosX),(int) (newPosY));
-							//this.meetsNewMazub();
-	
-							if (((this.objectOnImpassableTerrain(this.getPixelX(),this.getPixelY()))||
-									(this.isStandingOnGameObject(this.getPixelX(),this.getPixelY())))
-									&&(this.getVerticalVelocity()< 0)) { 
-							if (this.isJumping())
-								this.endJump();
-							}
-						if (this.meetsSlime(this.getPixelX(),this.getPixelY())) {
-								if (this.getTimeSlimeBlocksMazub() == 0) {
-									this.setHitPoints(this.getHitPoints()-20);
-								}
-								this.setTimeSlimeBlocksMazub(this.getTimeSlimeBlocksMazub()+dt);
-								if (this.getTimeSlimeBlocksMazub() > 0.6) {
-									this.setHitPoints(this.getHitPoints()-
-										((int) (this.getTimeSlimeBlocksMazub()/0.6))*20);
-									this.setTimeSlimeBlocksMazub((this.getTimeSlimeBlocksMazub()%0.6));									
-								}		
-							}
-						if (this.meetsHorizontalObstacle(this.getPixelX(),this.getPixelY())) {
-							
-							this.setHorizontalAcceleration(0);
-							this.setHorizontalVelocity(0);
-								}
-//						if ((this.objectOnImpassableTerrain(this.getPixelX(),this.getPixelY()))&&
-//								(this.isStandingOnGameObject(this.getPixelX(),this.getPixelY())))  { 
-//							if (this.isJumping())	
-//								this.endJump();	
-//							}
-			
-						}
-							
-			
-						if (this.isOutOfThisWorld(this.getActualX(), this.getActualY())) {
-							this.kill();	
-							this.terminate();
-									}
-					}
-			}
-			
-			else {
-				this.setDelay(this.getDelay()+deltaT);
-				if (this.getDelay()>0.6) {
-					this.terminate();
-				}
-		}
-		}
-		this.skullcabDeadAndHurtsMazub = false;
+		EntitySystems.advanceOne(this, deltaT);
 		}
 
 	/**
@@ -783,7 +577,9 @@ public class Mazub extends GameObject{
 
 	public boolean meetsSlime(int newPosX,int newPosY) {
 		
-		for (GameObject otherGameObjects:this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(newPosX,newPosY);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObjects = near.get(index);
 			if (otherGameObjects instanceof Slime) {
 				if (this.collidesWithOtherGameObect(newPosX,newPosY,otherGameObjects))
 					return true;
@@ -802,7 +598,9 @@ public class Mazub extends GameObject{
 	 */
 	public boolean meetsShark(int newPosX,int newPosY) {
 		
-		for (GameObject otherGameObjects:this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(newPosX,newPosY);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObjects = near.get(index);
 			if (otherGameObjects instanceof Shark) {
 				if (this.collidesWithOtherGameObect(newPosX,newPosY,otherGameObjects))
 					return true;
@@ -844,10 +642,10 @@ public class Mazub extends GameObject{
 	 * 		 | 		this.getCurrentSprite().getWidth(), this.getCurrentSprite().getHeight())) 
 	 *       | 		if ((! plant.isDead()) && (this.getHitPoints() <500)) 
 	 *       |			if (plant instanceof Skullcab) 
-	 *       |				if (((Skullcab)plant).timeInContactWithMazub == 0)
+	 *       |				if (((Skullcab)plant).getTimeInContactWithMazub() == 0)
 	 *       | 					this.setHitPoints(this.getHitPoints()+50)
 	 *       |					((Skullcab)plant).setHitPoints(((Skullcab)plant).getHitPoints()-1)
-	 *       |				if (((Skullcab)i).timeInContactWithMazub >=0.6) 
+	 *       |				if (((Skullcab)i).getTimeInContactWithMazub() >=0.6) 
 	 *       | 					this.setHitPoints(this.getHitPoints()+50)
 	 *       |					((Skullcab)plant).setHitPoints(((Skullcab)plant).getHitPoints()-1)
 	 *       |					plant.terminate()
@@ -855,9 +653,10 @@ public class Mazub extends GameObject{
 	 *       |					((Skullcab)plant).kill()
 	 */
 	public void eatPlants(int newPosX,int newPosY,double dt) {
-		Set<GameObject> copyGameObjects = this.getWorld().getGameObjects();
-		Set<GameObject> newSet = copyGameObjects.stream().collect(Collectors.toSet());	
-		for (GameObject i: newSet) {	
+		World world = this.getWorld();
+		List<GameObject> near = this.fillGameObjectsNear(newPosX, newPosY);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject i = near.get(index);
 			if (i instanceof Plant) {
 				if (i.collidesWith(newPosX, newPosY,
 						this.getCurrentSprite().getWidth(), this.getCurrentSprite().getHeight())) {
@@ -872,15 +671,16 @@ public class Mazub extends GameObject{
 						this.setHitPoints(this.getHitPoints()+50);
 						}
 						if (i instanceof Skullcab) {
-							if (((Skullcab)i).timeInContactWithMazub == 0) {
+							if (((Skullcab)i).getTimeInContactWithMazub() == 0) {
 								this.setHitPoints(this.getHitPoints()+50);
 								((Skullcab)i).setHitPoints(((Skullcab)i).getHitPoints()-1);
 							}
 								
-							((Skullcab)i).timeInContactWithMazub += dt;
-							if (((Skullcab)i).timeInContactWithMazub >=0.6) {
+							((Skullcab)i).setTimeInContactWithMazub(((Skullcab)i).getTimeInContactWithMazub() + dt);
+							this.addSkullcabInContact((Skullcab)i);
+							if (((Skullcab)i).getTimeInContactWithMazub() >=0.6) {
 								this.setHitPoints(this.getHitPoints() +50);
-								((Skullcab)i).timeInContactWithMazub = ((Skullcab)i).timeInContactWithMazub%0.6;
+								((Skullcab)i).setTimeInContactWithMazub(((Skullcab)i).getTimeInContactWithMazub()%0.6);
 								((Skullcab)i).setHitPoints(((Skullcab)i).getHitPoints()-1);
 								if (((Skullcab)i).getHitPoints() == 0) {
 									this.skullcabDeadAndHurtsMazub = true;
@@ -891,14 +691,44 @@ public class Mazub extends GameObject{
 					}
 			
 				}
-			if (( ! i.collidesWith(newPosX, newPosY,
-					this.getCurrentSprite().getWidth(), this.getCurrentSprite().getHeight()))
-					&& (i instanceof Skullcab))
-				((Skullcab)i).timeInContactWithMazub = 0;
-			
 			}
 		}
+		List<Skullcab> skullcabs = this.skullcabsInContact;
+		int index = 0;
+		while (index < skullcabs.size()) {
+			Skullcab skullcab = skullcabs.get(index);
+			if ((skullcab.getWorld() == world) && ( ! skullcab.collidesWith(newPosX, newPosY,
+					this.getCurrentSprite().getWidth(), this.getCurrentSprite().getHeight())))
+				skullcab.setTimeInContactWithMazub(0);
+			if ((skullcab.getWorld() != world) || (skullcab.getTimeInContactWithMazub() == 0)) {
+				// remove the Skullcab by moving the last Skullcab into its place
+				skullcabs.set(index, skullcabs.get(skullcabs.size() - 1));
+				skullcabs.remove(skullcabs.size() - 1);
+			}
+			else
+				index++;
+		}
 	}
+	
+	/**
+	 * Register the given Skullcab as a Skullcab whose time in contact with this Mazub can be 
+	 * different from zero.
+	 * @param skullcab
+	 * 		  The Skullcab to register.
+	 * @post | new.skullcabsInContact.contains(skullcab)
+	 */
+	public void addSkullcabInContact(Skullcab skullcab) {
+		if (! this.skullcabsInContact.contains(skullcab))
+			this.skullcabsInContact.add(skullcab);
+	}
+	
+	/**
+	 * A list registering, each once, the Skullcabs whose time in contact with this Mazub can be
+	 * different from zero. Only these Skullcabs have to be reset when they lose contact with 
+	 * the Mazub, so eatPlants does not have to look at all Skullcabs of the world. eatPlants
+	 * loops over the list by index, so that it does not allocate an iterator in every substep.
+	 */
+	private final List<Skullcab> skullcabsInContact = new ArrayList<>();
 
 	/**
 	 * Updates the hitpoints of a mazub when time has passed and/or his position has changed.
@@ -938,64 +768,7 @@ public class Mazub extends GameObject{
 	 *		 |			this.setHitPoints(this.getHitPoints()-4)
 	 */
 	public void updateHitPoints(int newPosX, int newPosY, double deltaT) {
-		if ((this.collidesWithGeological(newPosX,newPosY, Geological.WATER)) && (
-				(! this.collidesWithGeological(newPosX,newPosY, Geological.MAGMA)) && 
-				(! this.collidesWithGeological(newPosX,newPosY, Geological.GAS)))){
-			if (this.isInWater()) {
-					this.setTimeInWater(this.getTimeInWater() + deltaT);
-					if (this.getTimeInWater() >0.2) {
-						this.setHitPoints(this.getHitPoints()- ((int) (this.getTimeInWater()/0.2))*2);
-						this.setTimeInWater(this.getTimeInWater()%0.2);
-						}
-			}
-			if (!this.isInWater())
-				this.setInWater(true);
-		}
-		if (! this.collidesWithGeological(newPosX,newPosY, Geological.WATER)) {
-			this.setTimeInWater(0);
-			this.setInWater(false);
-		}
-		if (! this.collidesWithGeological(newPosX,newPosY, Geological.MAGMA)) {
-			this.setTimeInMagma(0);
-			this.setInMagma(false);
-		
-		}
-		if (this.collidesWithGeological(newPosX,newPosY, Geological.MAGMA)) {
-			if (this.isInMagma()) {
-				this.setTimeInMagma(this.getTimeInMagma() + deltaT);
-				if (this.getTimeInMagma() > 0.2) {
-					this.setHitPoints(this.getHitPoints()- ((int) (this.getTimeInMagma()/0.2))*50);
-					this.setTimeInMagma(this.getTimeInMagma()%0.2);
-				}		
-			}
-			if (!this.isInMagma()) {
-				this.setHitPoints(this.getHitPoints()-50);
-				this.setInMagma(true);
-					}
-			}
-		
-		if (!this.collidesWithGeological(newPosX,newPosY, Geological.GAS)){
-			this.setTimeInGas(0);
-			this.setInGas(false);
-		}
-		
-		if ((this.collidesWithGeological(newPosX,newPosY, Geological.GAS))  && 
-				(! this.collidesWithGeological(newPosX,newPosY, Geological.MAGMA))){
-			
-			if (this.isInGas()) {
-				this.setTimeInGas(this.getTimeInGas() + deltaT);
-				if (this.getTimeInGas() > 0.2) {
-					this.setHitPoints(this.getHitPoints()- ((int) (this.getTimeInGas()/0.2))*4);
-					this.setTimeInGas(this.getTimeInGas()%0.2);	
-			}
-			}
-			if (!this.isInGas()) {
-				this.setHitPoints(this.getHitPoints()-4);
-				this.setInGas(true);	
-			}
-	
-			
-	}
+		HazardSystem.mazub(this.store, this.entity, newPosX, newPosY, deltaT);
 	}
 	
 	/**
@@ -1009,50 +782,15 @@ public class Mazub extends GameObject{
 	 * @effect if the new sprite has index 8 in the list of possible 
 	 *         sprites for the mazub, the Mazub is in a state where his currentSprite alternates.
 	 * 		 | if (this.determineSpriteIndex()==8)
-	 *       |     this.animatedSprites(deltaT,Arrays.copyOfRange(this.getSprites(), 8, 13))
+	 *       |     AnimationSystem.animate(this.store, this.entity, deltaT, 8, m)
 	 * @effect if the new sprite has index 8 + m in the list of possible 
 	 *         sprites for the mazub, the Mazub is in a state where his currentSprite alternates.
 	 * 		 | if (this.determineSpriteIndex()==8+m)
-	 *       |     this.animatedSprites(deltaT,Arrays.copyOfRange(this.getSprites(), 13, 18))
+	 *       |     AnimationSystem.animate(this.store, this.entity, deltaT, 8+m, m)
 	 */
 	public void updateSprites(double deltaT) {
-		int index = this.determineSpriteIndex();			
-		if (index < 8) {
-			this.setCurrentSprite(this.getSprites()[index]);
-			this.setRuntime(0);
-		}
-		if (index == 8) {
-			this.animatedSprites(deltaT,Arrays.copyOfRange(this.getSprites(), 8, 8+m));
-		}
-		if (index == 8+m) {
-			this.animatedSprites(deltaT,Arrays.copyOfRange(this.getSprites(), 8+m,8+2*m));
-		}
+		AnimationSystem.updateSprites(this.store, this.entity, deltaT);
 	}
-	
-
-	
-		
-	/**
-	 * A method to determine the right sprite it there are multiple sprites to describe the 
-	 * current state of the Mazub.
-	 * @param deltaT
-	 * 		  The time interval deltaT
-	 * @param subSpriteArray
-	 * 		  The array of images (a subset of the array of sprites) to describe the current state of the Mazub.
-	 * @effect The current sprite of the Mazub is set to the right sprite to describe its current position.
-	 */
-	private void animatedSprites(double deltaT,Sprite[] subSpriteArray) {
-		this.setRuntime(this.getRuntime()+deltaT);
-		int k = (int) (this.getRuntime() / 0.075);
-		int l = k% subSpriteArray.length;
-		int oldindex = this.returnIndexOfArray(subSpriteArray);
-		int newIndex = oldindex +l;
-		if (newIndex >=subSpriteArray.length) {
-			newIndex = newIndex - subSpriteArray.length;
-		}
-		this.setCurrentSprite(subSpriteArray[newIndex]);			
-		this.setRuntime(this.getRuntime() % 0.075);
-		}
 
 	/**
 	 * Returns the index of the currentSprite in an array with all possible sprites.
@@ -1125,13 +863,7 @@ public class Mazub extends GameObject{
      *		 |	this.setOrientation("front")
 	 */
 	public void orientationCorrection(double deltaT) {
-		if ((! this.isMoving()) && (this.getOrientation() != "front"))
-			this.setStandingStillTime(this.getStandingStillTime() + deltaT);
-			if (standingStillTime >= 1) {
-				this.setOrientation("front");
-				this.setStandingStillTime(0);
-			}	
-		
+		AnimationSystem.orientationCorrection(this.store, this.entity, deltaT);
 	}
 	
 	/**
@@ -1157,7 +889,7 @@ public class Mazub extends GameObject{
 	 */
 	@Basic @Raw
 	public double getRuntime() {
-		return this.runtime;
+		return this.store.runtime[this.entity];
 	}
 	
 	/**
@@ -1191,13 +923,9 @@ public class Mazub extends GameObject{
 			throws RuntimeException {
 		if (! isValidRuntime(runtime))
 			throw new RuntimeException();
-		this.runtime = runtime;
+		this.store.runtime[this.entity] = runtime;
 	}
 	
-	/**
-	 * Variable registering the runtime of this Mazub.
-	 */
-	private double runtime;
 	
 
 	@Basic @Raw
@@ -1205,7 +933,7 @@ public class Mazub extends GameObject{
 	 * Return the standingStillTime of this Mazub.
 	 */
 	public double getStandingStillTime() {
-		return this.standingStillTime;
+		return this.store.standingStillTime[this.entity];
 	}
 	
 	/**
@@ -1238,19 +966,14 @@ public class Mazub extends GameObject{
 			throws RuntimeException {
 		if (! isValidStandingStillTime(standingStillTime))
 			throw new RuntimeException();
-		this.standingStillTime = standingStillTime;
+		this.store.standingStillTime[this.entity] = standingStillTime;
 	}
 	
-	/**
-	 * Variable registering the time since the Mazub stopped moving.
-	 */
-	private double standingStillTime;
-	
 	/**
 	 * Return the blocksShark of this Mazub.
 	 */
 	private boolean getBlocksShark() {
-		return this.blocksShark;
+		return this.store.blocking[this.entity];
 	}
 	/**
 	 * Set the blocksShark that applies to all Mazubs to the given blocksShark.
@@ -1262,18 +985,13 @@ public class Mazub extends GameObject{
 	 *       | new.blocksShark = blocksShark;
 	 */
 	private void setBlocksShark(boolean blocksShark) {
-		this.blocksShark = blocksShark; 
+		this.store.blocking[this.entity] = blocksShark;
 	}
-
-	/**
-	 * A Boolean registering the blocksShark that applies to all Mazubs.
-	 */
-	private boolean blocksShark = false;
 	
 	/**
 	 * Return the m of this Mazub.
 	 */
-	private int getM() {
+	int getM() {
 		return this.m;
 	}
 	
@@ -1311,7 +1029,7 @@ public class Mazub extends GameObject{
 	 * Return the timeSlimeBlocksMazub of this Mazub.
 	 */
 	public double getTimeSlimeBlocksMazub() {
-		return this.timeSlimeBlocksMazub;
+		return this.store.contactTime[this.entity];
 	}
 	/**
 	 * Set the timeSlimeBlocksMazub that applies to all Mazubs to the given timeSlimeBlocksMazub.
@@ -1322,12 +1040,8 @@ public class Mazub extends GameObject{
 	 *       | new.timeSlimeBlocksMazub = timeSlimeBlocksMazub
 	 */
 	public void setTimeSlimeBlocksMazub(double timeSlimeBlocksMazub) {
-		this.timeSlimeBlocksMazub = timeSlimeBlocksMazub;
+		this.store.contactTime[this.entity] = timeSlimeBlocksMazub;
 	}
-	/**
-	 * Variable registering the timeSlimeBlocksMazub that applies to all Mazubs.
-	 */
-	public double timeSlimeBlocksMazub=0;
 
 	/**
 	 * A method that checks whether the new sprite of the mazub that just stopped ducking
@@ -1348,24 +1062,31 @@ public class Mazub extends GameObject{
 	public boolean endDuckBumpingOnObjectAbove(int x, int y) {
 		int xP = this.getPixelWidth();
 		int yP = this.getPixelHeight();
-		for (GameObject gameObjects: this.getWorld().getGameObjects()) {
-			if ((!( gameObjects instanceof Plant))&& (gameObjects != this)) {
-				int xOther = gameObjects.getPixelX();
-				int yOther = gameObjects.getPixelY();
-				int xPOther = gameObjects.getPixelWidth();
-				for (int index=0;index < xP;index ++) {
-					if (y + yP >= yOther) {
-						if ((xOther <= x+index) && (x+index < xOther +xPOther)) {
-							return true;
+		for (Class<? extends GameObject> type: BUMPING_CLASSES) {
+			for (GameObject gameObjects: this.getWorld().getGameObjectsOfClass(type)) {
+				if ((gameObjects != this) && (gameObjects.getWorld() == this.getWorld())) {
+					int xOther = gameObjects.getPixelX();
+					int yOther = gameObjects.getPixelY();
+					int xPOther = gameObjects.getPixelWidth();
+					for (int index=0;index < xP;index ++) {
+						if (y + yP >= yOther) {
+							if ((xOther <= x+index) && (x+index < xOther +xPOther)) {
+								return true;
+							}
 						}
 					}
 				}
-					}
-				
-					}
-				return false;
-				
 			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Constant registering the classes of the game objects on which a Mazub can bump when 
+	 * it stops ducking, which are all classes of game objects except the plants.
+	 */
+	private static final List<Class<? extends GameObject>> BUMPING_CLASSES = 
+			Arrays.asList(Mazub.class, Shark.class, Slime.class);
 	
 	/**
 	 * A method updating the hitpoints of the Mazub after interactions with other GameObjects
@@ -1389,7 +1110,9 @@ public class Mazub extends GameObject{
 	 *		  |				this.setHitPoints(this.getHitPoints() - 50)
 	 */
 	public void updateHitpointsAfterInteractionsWithGameObjects(int x, int y) {
-		for (GameObject otherGameObject: this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(x, y);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObject = near.get(index);
 			if (this.collidesWithOtherGameObect(x, y, otherGameObject)) {
 				if ((otherGameObject instanceof Slime)&& (! this.isDead()) &&
 								(! otherGameObject.isDead())) {
@@ -1428,16 +1151,16 @@ public class Mazub extends GameObject{
 	 * 		   has impassable terrain as its geological feature while the rest of the mazub is 
 	 * 		   not overlapping with impassable terrain.
 	 * 	     | for (index=0;index <=this.getCurrentSprite().getWidth();index ++) 
-	 *		 | if ((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-	 *		 |	(!Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY+1))))
+	 *		 | if ((this.getWorld().isImpassable(posX+index, posY)) &&
+	 *		 |	(!this.getWorld().isImpassable(posX+index, posY+1)))
 	 *		 |			return true
 	 */
 	public boolean mazubStartingInImpassableTerrain(int posX,int posY) {
 		int index;
 		for (index=0;index <this.getCurrentSprite().getWidth();
-				index ++) {
-			if ((Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY))) &&
-				(!Geological.getAllImpassable().contains(this.getWorld().getGeologicalFeature(posX+index, posY+1))))
+				index = this.getWorld().getLastPixelInTile(posX + index) - posX + 1) {
+			if ((this.getWorld().isImpassable(posX+index, posY)) &&
+				(!this.getWorld().isImpassable(posX+index, posY+1)))
 				return true;
 		}
 	
@@ -1489,54 +1212,55 @@ public class Mazub extends GameObject{
 	}
 	
 	/**
-	 * Return the DuckingVelocity that applies to all Mazubs.
+	 * Return the duckingVelocity of this Mazub.
 	 */
-	public static double getDuckingVelocity() {
-		return Mazub.duckingVelocity;
+	@Basic
+	public double getDuckingVelocity() {
+		return this.duckingVelocity;
 	}
 	/**
-	 * Set the duckingVelocity that applies to all Mazubs to the given duckingVelocity.
+	 * Set the duckingVelocity of this Mazub to the given duckingVelocity.
 	 * 
 	 * @param  duckingVelocity
-	 *         The new duckingVelocity for all Mazubs.
+	 *         The new duckingVelocity for this Mazub.
 	 * @post   The new duckingVelocity is equal to the given
 	 *         duckingVelocity.
-	 *       | Mazub.duckingVelocity = duckingVelocity;
+	 *       | new.getDuckingVelocity() == duckingVelocity
 	 */
-	public static void setDuckingVelocity(double duckingVelocity) {
-		Mazub.duckingVelocity = duckingVelocity;
+	public void setDuckingVelocity(double duckingVelocity) {
+		this.duckingVelocity = duckingVelocity;
 	}
 
 	/**
-	 * Variable registering the duckingVelocity that applies to all Mazubs.
+	 * Variable registering the duckingVelocity of this Mazub.
 	 */
-	public static double duckingVelocity = 1;
+	private double duckingVelocity = 1;
 	
 	/**
-	 * Return the moving acceleration that applies to all Mazubs in motion.
+	 * Return the moving acceleration of this Mazub in motion.
 	 */
-	
-	public static double getMovingAcceleration() {
-		return movingAcceleration;
+	@Basic
+	public double getMovingAcceleration() {
+		return this.movingAcceleration;
 	}
 	
 	/**
-	 * Set the movingAcceleration that applies to all Mazubs to the given movingAcceleration.
+	 * Set the movingAcceleration of this Mazub to the given movingAcceleration.
 	 * 
 	 * @param  movingAcceleration
-	 *         The new movingAcceleration for all Mazubs.
+	 *         The new movingAcceleration for this Mazub.
 	 * @post   The new movingAcceleration is equal to the given
 	 *         movingAcceleration.
-	 *       | Mazub.movingAcceleration = movingAcceleration;
+	 *       | new.getMovingAcceleration() == movingAcceleration
 	 */
-	public static void setMovingAcceleration(double movingAcceleration) {
-		Mazub.movingAcceleration = movingAcceleration;
+	public void setMovingAcceleration(double movingAcceleration) {
+		this.movingAcceleration = movingAcceleration;
 	}
 		
 	/**
-	 * Variable registering the movingAcceleration that applies to all Mazubs.
+	 * Variable registering the movingAcceleration of this Mazub.
 	 */
-	protected static double movingAcceleration = 0.9;
+	private double movingAcceleration = 0.9;
 
 	/**
 	 * Check whether the given minHorizontalVelocity is a valid minHorizontalVelocity for
@@ -0,0 +1,154 @@
+package jumpingalien.model;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of registries of counters of the work done by the game objects of a world.
+ *
+ * Each counter is striped, so that it can be incremented concurrently without contention.
+ * When the registry is disabled, incrementing a counter only checks whether it is enabled.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+public class ModelMetrics {
+
+	/**
+	 * An enumeration of the counters of a registry.
+	 */
+	public static enum Counter {
+		/**
+		 * Reads of the geological feature or class of a single tile.
+		 */
+		TILE_PROBES,
+		/**
+		 * Overlap tests between the rectangles of two game objects.
+		 */
+		OBJECT_PAIR_TESTS,
+		/**
+		 * Counts of a geological feature in a rectangle of tiles.
+		 */
+		TERRAIN_SCANS,
+		/**
+		 * Substeps planned by the game objects.
+		 */
+		SUBSTEPS,
+		/**
+		 * Game objects whose time is advanced by the world.
+		 */
+		OBJECTS_SIMULATED,
+		/**
+		 * Dormant game objects that are brought up to date when they become active again.
+		 */
+		CATCH_UPS,
+		/**
+		 * Calls of advanceTime of the world.
+		 */
+		TICKS
+	}
+
+	/**
+	 * Constant registering all counters, indexed by their ordinal.
+	 */
+	private static final Counter[] COUNTERS = Counter.values();
+
+	/**
+	 * Initialize this new registry with all counters at zero.
+	 */
+	public ModelMetrics() {
+		for (int index = 0; index < COUNTERS.length; index++)
+			this.counters[index] = new LongAdder();
+	}
+
+	/**
+	 * Check whether this registry counts the work of its world.
+	 */
+	@Basic @Raw
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Set whether this registry counts the work of its world.
+	 * @param enabled
+	 * 		The new state of this registry.
+	 * @post | new.isEnabled() == enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Variable registering whether this registry counts the work of its world.
+	 */
+	private volatile boolean enabled = false;
+
+	/**
+	 * Increment the given counter of this registry by one.
+	 * @param counter
+	 * 		The counter to increment.
+	 * @effect | this.add(counter, 1)
+	 */
+	void increment(Counter counter) {
+		if (this.enabled)
+			this.counters[counter.ordinal()].increment();
+	}
+
+	/**
+	 * Add the given amount to the given counter of this registry.
+	 * @param counter
+	 * 		The counter to add to.
+	 * @param amount
+	 * 		The amount to add.
+	 * @post | if (this.isEnabled())
+	 * 		 |	then new.get(counter) == this.get(counter) + amount
+	 */
+	void add(Counter counter, long amount) {
+		if (this.enabled)
+			this.counters[counter.ordinal()].add(amount);
+	}
+
+	/**
+	 * Return the value of the given counter of this registry.
+	 * @param counter
+	 * 		The counter to read.
+	 */
+	public long get(Counter counter) {
+		return this.counters[counter.ordinal()].sum();
+	}
+
+	/**
+	 * Return the values of all counters of this registry.
+	 * @return | for each counter in Counter:
+	 * 		   |	result.get(counter) == this.get(counter)
+	 */
+	public Map<Counter,Long> snapshot() {
+		Map<Counter,Long> result = new EnumMap<>(Counter.class);
+		for (Counter counter : COUNTERS)
+			result.put(counter, this.get(counter));
+		return result;
+	}
+
+	/**
+	 * Set all counters of this registry to zero.
+	 * @post | for each counter in Counter:
+	 * 		 |	new.get(counter) == 0
+	 */
+	public void reset() {
+		for (LongAdder counter : this.counters)
+			counter.reset();
+	}
+
+	/**
+	 * Array registering the counters of this registry, indexed by the ordinal of their counter.
+	 */
+	private final LongAdder[] counters = new LongAdder[COUNTERS.length];
+
+}
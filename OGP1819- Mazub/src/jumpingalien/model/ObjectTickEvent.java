@@ -0,0 +1,36 @@
+package jumpingalien.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A class of Flight Recorder events that span advancing the time of one game object in a
+ * call of advanceTime of a world. These events are nested in a world tick event.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+@Name("jumpingalien.ObjectTick")
+@Label("Object Tick")
+@Category({ "Jumping Alien", "Simulation" })
+@Description("Advancing the time of one game object of a world")
+class ObjectTickEvent extends Event {
+
+	/**
+	 * Variable registering the simple name of the class of the game object.
+	 */
+	@Label("Object Type")
+	String objectType;
+
+	/**
+	 * Variable registering the number of substeps planned by the game object.
+	 */
+	@Label("Substeps")
+	long substeps;
+
+}
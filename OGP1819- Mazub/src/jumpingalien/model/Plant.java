@@ -83,14 +83,19 @@ public abstract class Plant extends GameObject {
 	 */
 	@Basic @Raw
 	public double getLifeTime(){
-		return this.lifeTime;	
+		return this.store.lifeTime[this.entity];
 	}
-	
+
 	/**
-	 * Variable registering the life time of this Plant.
+	 * Set the life time of this Plant to the given life time.
+	 * @param lifeTime
+	 * 		  The new life time of this Plant.
+	 * @post new.getLifeTime() == lifeTime
 	 */
-	protected double lifeTime;
-		
+	@Raw
+	protected void setLifeTime(double lifeTime) {
+		this.store.lifeTime[this.entity] = lifeTime;
+	}
 	
 	/**
 	 * Set the given moving time as the moving time of this Plant.
@@ -99,20 +104,15 @@ public abstract class Plant extends GameObject {
 	 * @post new.getMovingTime = movingTime
 	 */
 	public void setMovingTime(double movingTime) {
-		this.movingTime = movingTime;
+		this.store.movingTime[this.entity] = movingTime;
 	}
 	
-	
 	/**
 	 * Return the moving time of this Plant.
 	 */
 	@Basic @Raw
 	public double getMovingTime() {
-		return movingTime;
+		return this.store.movingTime[this.entity];
 	}
 	
-	/**
-	 * Variable registering the moving time of this Plant.
-	 */
-	private double movingTime;
 }
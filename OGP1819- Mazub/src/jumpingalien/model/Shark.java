@@ -31,6 +31,10 @@ public class Shark extends GameObject{
 	 * @effect
 	 *		| uper(pixelX, pixelY,(double) pixelX/100,(double)pixelY/100,"left",0,0,Double.POSITIVE_INFINITY,0,0,0,100,sprites[0], sprites)
 	 * @effect
+	 * 		| this.setIsJumping(true)
+	 * @effect
+	 * 		| this.setGameJustStarted(true)
+	 * @effect
 	 * 		| if (this.getWorld() != null)
 	 * 		|		if (!(this.collidesWithGeological(pixelX, pixelY, Geological.WATER)))
 	 * 		|			this.setLeftWater(true)
@@ -46,6 +50,8 @@ public class Shark extends GameObject{
 	 */
 	public Shark(int pixelX, int pixelY, Sprite[] sprites) throws RuntimeException {
 		super(pixelX, pixelY,(double) pixelX/100,(double)pixelY/100,"left",0,0,Double.POSITIVE_INFINITY,0,0,0,100,sprites[0], sprites);
+		this.setIsJumping(true);
+		this.setGameJustStarted(true);
 
 		if (this.getWorld() != null) {
 			if (!(this.collidesWithGeological(pixelX, pixelY, Geological.WATER))) {
@@ -96,244 +102,7 @@ public class Shark extends GameObject{
 
 	@Override
 	public void advanceTime(double deltaT) {
-		if (this.getGameJustStarted()) {
-			this.setGameJustStarted(false);
-			this.startJump();
-			this.setOrientation("left");
-			this.setHorizontalAcceleration(-1.5);
-			this.setCurrentSprite(sprites[1]);
-		}
-		if (this.isBlockingMazub()) {
-			this.setTimeMeetingWithMazub(this.getTimeMeetingWithMazub()+deltaT);
-			if (this.getTimeMeetingWithMazub() > 0.6) {
-				this.setBlocksMazub(false);
-				this.advanceTime(this.getTimeMeetingWithMazub()-0.6);
-			}
-		}
-		else if (this.isMoving()) {
-			if (this.getMovingTime()+deltaT < 0.5){
-				int nbdtX = 1;
-				int nbdtY = 1;
-				double deltaTX= deltaT;
-				double deltaTY = deltaT;
-				this.setMovingTime(this.getMovingTime()+deltaT);
-				double dt = calculateDT(deltaT);
-				if (this.meetsHorizontalObstacle(this.getPixelX(),this.getPixelY())) {
-					this.stopMove();
-				}
-				if (this.objectBumpsOnOtherObject(this.getPixelX(),this.getPixelY())) {
-					this.setVerticalVelocity(0);
-					this.setHorizontalAcceleration(0);
-					this.setHorizontalVelocity(0);
-				}
-				for (double time = dt; time < deltaT;time+= dt) {
-					double newPosX = this.calculatePositionX(nbdtX*dt);
-					double newPosY = this.calculatePositionY(nbdtY*dt);
-					nbdtX +=1;
-					nbdtY += 1;
-					if (this.objectBumpsOnOtherObject((int) (100*newPosX),(int) (100*newPosY))) {
-						this.updatePosition((nbdtX-2)*dt, (nbdtY-2)*dt);
-						this.setVerticalVelocity(0);
-						this.setHorizontalAcceleration(0);
-						this.setHorizontalVelocity(0);
-						deltaTX -= (nbdtX-2)*dt;
-						deltaTY -= (nbdtY-2)*dt;
-						nbdtX=2;
-						nbdtY = 2;
-					}
-					if (this.meetsHorizontalObstacle((int) (100 * newPosX),
-							(int) (100 * newPosY))) {
-						this.updatePosition(deltaTX, deltaTY);	
-						this.stopMove();
-						deltaTX -= (nbdtX-1) *dt;
-						nbdtX = 1;
-					
-					}
-					if ((this.objectBumpsImpassableTerrainAbove((int) (100 * newPosX),
-							(int) (100 * newPosY)))&& (this.getVerticalVelocity()>0)) {
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));	
-						this.endJump();
-						deltaTY -= (nbdtY-1) *dt;
-						nbdtY = 1;
-					}
-					if ((this.isInWater(this.getPixelX(),this.getPixelY()))&&
-							(! this.isInWater((int) (100 * newPosX),(int) (100 * newPosY)))) {
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));	
-						this.setVerticalVelocity(this.calculateVerticalVelocity((nbdtY-1) *dt));
-						this.setVerticalAcceleration(-10);
-						deltaTY -= (nbdtY-1) *dt;
-						nbdtY = 1;
-					}
-					if ((! this.isInWater(this.getPixelX(),this.getPixelY()))&&
-							(this.isInWater((int) (100 * newPosX),(int) (100 * newPosY)))) {
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));	
-						this.endJump();
-						deltaTY -= (nbdtY-1) *dt;
-						nbdtY = 1;
-					}
-					if ((this.objectOnImpassableTerrain((int) (100 * newPosX),
-							(int) (100 * newPosY)))&&(this.getVerticalVelocity()<0)){
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));		
-						this.endJump();
-						deltaTY -= (nbdtY-1) *dt;
-						nbdtY = 1;
-					}
-					if ((this.isInWater((int) (100 * newPosX),
-							(int) (100 * newPosY)))&&(this.getVerticalVelocity()<0)){
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));		
-						this.endJump();
-						deltaTY -= (nbdtY-1) *dt;
-						nbdtY = 1;
-					}
-						
-					if (this.isOutOfThisWorld(newPosX, newPosY)){
-						this.terminate();
-						break;
-					}
-					if (this.isBlockingMazub()) {
-						this.setTimeMeetingWithMazub(this.getTimeMeetingWithMazub()+ dt);
-					}
-					this.updateHitpoints((int) (100*newPosX),
-							(int) (100*newPosY), dt);
-				}
-				if (!this.isTerminated()) {
-					double defPosX = this.calculatePositionX(deltaTX);
-					double defPosY = this.calculatePositionY(deltaTY);
-					this.setActualX(defPosX);
-					this.setPixelX((int) (100 * defPosX));	
-					this.setActualY(defPosY);
-					this.setPixelY((int) (100 * defPosY));	
-					if (this.meetsHorizontalObstacle(this.getPixelX(),this.getPixelY())) {	
-						this.stopMove();
-	
-					}
-					if ((this.objectBumpsImpassableTerrainAbove((int) (100 * defPosX),
-							(int) (100 * defPosY))) && (this.getVerticalVelocity()>0)) {	
-						this.endJump();
-					}
-					if ((this.objectOnImpassableTerrain((int) (100 * defPosX),
-							(int) (100 * defPosY)))&&(this.getVerticalVelocity()<0)){	
-						this.endJump();
-					}
-					
-					
-					if (this.isOutOfThisWorld(this.getActualX(), this.getActualY())) {
-						this.terminate();
-					}
-					if (this.isBlockingMazub()) {
-						this.setTimeMeetingWithMazub(this.getTimeMeetingWithMazub()+deltaT%dt);
-					}
-					this.updateHitpoints(this.getPixelX(),
-							this.getPixelY(),deltaT%dt);
-					
-					this.setHorizontalVelocity(this.calculateHorizontalVelocity(deltaTX));
-					this.setVerticalVelocity(this.calculateVerticalVelocity(deltaTY));
-				}
-			}
-			else if (this.getMovingTime()+deltaT >= 0.5) {
-				double nbOfSecondsBeforeStop = 0.5-this.getMovingTime();
-				this.setMovingTime(0);
-				this.advanceTime(nbOfSecondsBeforeStop);
-				this.setOldOrientation(this.getOrientation());
-				this.setOrientation("front");
-				this.stopMove();
-				this.setCurrentSprite(this.getSprites()[0]);
-				this.endJump();
-				this.setMovingTime(0);
-				this.advanceTime(deltaT-nbOfSecondsBeforeStop);
-			}
-		}
-		else if (! this.isMoving()) {
-			if (this.getMovingTime()+deltaT < 1) {
-				this.setMovingTime(this.getMovingTime()+deltaT);
-				if (!this.objectOnImpassableTerrain(this.getPixelX(), this.getPixelY())&&
-						(!this.isInWater(this.getPixelX(),this.getPixelY()))) {
-					int nbdtY = 1;
-					double deltaTY = deltaT;
-					double dt = calculateDT(deltaT);
-					for (double time = dt; time < deltaT;time+= dt) {
-
-						double newPosY = this.calculatePositionY(nbdtY*dt);	
-						nbdtY += 1;
-						if ((this.objectBumpsImpassableTerrainAbove(this.getPixelX(),
-								(int) (100 * newPosY)))&&(this.getVerticalVelocity()>0)) {
-							this.setActualY(newPosY);
-							this.setPixelY((int) (100 * newPosY));	
-							
-							this.endJump();
-							deltaTY -= (nbdtY-1)*dt;
-							nbdtY = 1;
-						}
-						if ((this.objectOnImpassableTerrain(this.getPixelX(),
-								(int) (100 * newPosY)))&&(this.getVerticalVelocity()<0)){
-							this.setActualY(newPosY);
-							this.setPixelY((int) (100 * newPosY));		
-							this.endJump();
-							deltaTY -= (nbdtY-1)*dt;
-							nbdtY = 1;
-						}
-						if ((! this.isInWater(this.getPixelX(),this.getPixelY()))&&
-								(this.isInWater(this.getPixelX(),(int) (100 * newPosY)))) {
-							this.setActualY(newPosY);
-							this.setPixelY((int) (100 * newPosY));		
-							this.endJump();
-							deltaTY -= (nbdtY-1) *dt;
-							nbdtY = 1;
-						}
-						if (this.isOutOfThisWorld(this.getActualX(), newPosY)){
-							this.terminate();
-							break;
-						}
-						this.updateHitpoints(this.getPixelX(), this.getPixelY(), dt);
-					}
-					if (!this.isTerminated()) {
-						double newPosY = this.calculatePositionY(deltaTY);
-						this.setActualY(newPosY);
-						this.setPixelY((int) (100 * newPosY));	
-		
-						if (this.objectBumpsImpassableTerrainAbove(this.getPixelX(),
-								(int) (100 * newPosY))) {	
-							this.endJump();
-						}
-						if ((this.objectOnImpassableTerrain(this.getPixelY(),
-								(int) (100 * newPosY)))&&(this.getVerticalVelocity()<0)){	
-							this.endJump();
-						}
-						if (this.isOutOfThisWorld(this.getActualX(),this.getActualY())){
-							this.terminate();
-						}
-						this.updateHitpoints(this.getPixelX(),
-								this.getPixelY(),deltaT%dt);
-						this.setVerticalVelocity(this.calculateVerticalVelocity(deltaTY));		
-						}		
-		}
-			}
-			else if (this.getMovingTime()+deltaT >= 1) {
-				double nbOfSecondsBeforeStart = 1-this.getMovingTime();
-				this.setMovingTime(0);
-				this.advanceTime(nbOfSecondsBeforeStart);
-				this.startJump();
-				if (this.getOldOrientation() == "left") {
-					this.setOrientation("right");
-					this.setHorizontalAcceleration(1.5);
-					this.setCurrentSprite(sprites[2]);
-				}
-				else if (this.getOldOrientation() == "right") {
-					this.setOrientation("left");
-					this.setHorizontalAcceleration(-1.5);
-					this.setCurrentSprite(sprites[1]);
-				}
-				this.setMovingTime(0);
-				this.advanceTime(deltaT-nbOfSecondsBeforeStart);
-		}
-		}
-			
-		
+		EntitySystems.advanceOne(this, deltaT);
 	}
 	/**
 	 * A method that makes the Shark start Jumping
@@ -409,7 +178,7 @@ public class Shark extends GameObject{
 		
 		int index;
 		for (index=0;index <=this.getCurrentSprite().getWidth();
-				index ++) {
+				index = this.getWorld().getLastPixelInTile(posX + index) - posX + 1) {
 			if (this.getWorld().getGeologicalFeature(posX+index, posY) == Geological.WATER)
 				return true;
 			}
@@ -440,7 +209,9 @@ public class Shark extends GameObject{
 	public void updateHitpointsAfterInteractionsWithGameObjects(int x, int y) {
 		int xP = this.getPixelWidth();
 		int yP = this.getPixelHeight();
-		for (GameObject otherGameObject: this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(x, y);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObject = near.get(index);
 			if (this.collidesWithOtherGameObect(x, y, otherGameObject)) {
 				if ((otherGameObject instanceof Slime)&& (! this.isDead()) &&
 								(! otherGameObject.isDead())) {
@@ -485,21 +256,7 @@ public class Shark extends GameObject{
 	 *		 |		this.setTimeOutWater((this.getTimeOutWater()%0.2))
 	 */
 	public void updateHitpointsSharkNotInWater(int posX, int posY, double deltaT) {
-		if (this.collidesWithGeological(posX,posY, Geological.WATER)==false) {
-			if (this.getLeftWater() == true) {
-				this.setTimeOutWater(this.getTimeOutWater()+deltaT);
-			}
-			else
-				this.setLeftWater(true);
-		}
-		if (this.collidesWithGeological(posX,posY, Geological.WATER)==true) {
-			this.setTimeOutWater(0);
-			this.setLeftWater(false);
-		}
-		if (this.getTimeOutWater() >= 0.2) {
-			this.setHitPoints(this.getHitPoints()-((int)(this.getTimeOutWater()/0.2))*6);
-			this.setTimeOutWater((this.getTimeOutWater()%0.2));
-		}
+		HazardSystem.sharkOutOfWater(this.store, this.entity, posX, posY, deltaT);
 	}
 	
 	/**
@@ -529,25 +286,14 @@ public class Shark extends GameObject{
 	 *       | new.blocksMazub = blocksMazub
 	 */
 	private void setBlocksMazub(boolean blocksMazub) {
-		this.blocksMazub = blocksMazub; 
-	}
-	
-	/**
-	 * Return the blocksMazub of this Shark.
-	 */
-	private boolean isBlockingMazub() {
-		return this.blocksMazub;
+		this.store.blocking[this.entity] = blocksMazub;
 	}
 	
-	/**
-	 * A variable that checks whether the Shark is blocked by a Shark.
-	 */
-	private boolean blocksMazub = false;
 
 	/**
 	 * Return the oldOrientation of this Shark.
 	 */
-	private String getOldOrientation() {
+	String getOldOrientation() {
 		return this.oldOrientation;
 	}
 	
@@ -559,7 +305,7 @@ public class Shark extends GameObject{
 	 * @post   
 	 *       | new.oldOrientation = oldOrientation
 	 */
-	private void setOldOrientation(String oldOrientation){
+	void setOldOrientation(String oldOrientation){
 		this.oldOrientation = oldOrientation; 
 	}
 	
@@ -596,20 +342,16 @@ public class Shark extends GameObject{
 	 *       | new.timeOutWater = timeOutWater
 	 */
 	public void setTimeOutWater(double timeOutWater) {
-		this.timeOutWater = timeOutWater;
+		this.store.timeOutOfWater[this.entity] = timeOutWater;
 	}
 	
 	/**
 	 * Return the timeOutWater of this Shark.
 	 */
 	public double getTimeOutWater() {
-		return timeOutWater;
+		return this.store.timeOutOfWater[this.entity];
 	}
 	
-	/**
-	 * A variable registering the time the Shark has spend out of the water.
-	 */
-	private double timeOutWater=0;
 	
 	
 	/**
@@ -621,20 +363,15 @@ public class Shark extends GameObject{
 	 *       | new.movingTime = movingTime
 	 */
 	public void setMovingTime(double movingTime) {
-		this.movingTime = movingTime;
+		this.store.movingTime[this.entity] = movingTime;
 	}
 	/**
 	 * Return the movingTime of this Shark.
 	 */
 	public double getMovingTime() {
-		return this.movingTime;
+		return this.store.movingTime[this.entity];
 	}
 	
-	/**
-	 * A variable keeps track of the time since the Shark stopped or started moving.
-	 */
-	public double movingTime=0;
-	
 	/**
 	 * Set the isJumping that applies to all Sharks to the given isJumping.
 	 * 
@@ -644,26 +381,21 @@ public class Shark extends GameObject{
 	 *       | new.isJumping = isJumping
 	 */
 	public void setIsJumping(boolean isJumping) {
-		this.isJumping = isJumping;
+		this.store.jumping[this.entity] = isJumping;
 	}
 	
 	/**
 	 * Return the isJumping of this Shark.
 	 */
 	public boolean isJuming() {
-		return this.isJumping;
+		return this.store.jumping[this.entity];
 	}
 	
-	/**
-	 * A boolean that gives whether the Shark is jumping.
-	 */
-	public boolean isJumping=true;
-	
 	/**
 	 * Return the gameJustStarted of this Shark.
 	 */
 	public boolean getGameJustStarted(){
-		return this.gameJustStarted;
+		return this.store.justStarted[this.entity];
 	}
 	
 	/**
@@ -674,12 +406,8 @@ public class Shark extends GameObject{
 	 *       | new.gameJustStarted = gameJustStarted
 	 */
 	public void setGameJustStarted(boolean gameJustStarted) {
-		this.gameJustStarted = gameJustStarted;
+		this.store.justStarted[this.entity] = gameJustStarted;
 	}
-	/**
-	 * A boolean that is true until the first invocation of advanceTime.
-	 */
-	public boolean gameJustStarted = true;
 	@Override
 	boolean isValidHorizontalAcceleration(double horizontalAcceleration) {
 		return ((horizontalAcceleration==0)||
@@ -690,7 +418,7 @@ public class Shark extends GameObject{
 	 * Return the hasLeftWater of this Shark.
 	 */
 	private boolean getLeftWater() {
-		return this.hasLeftWater;
+		return this.store.leftWater[this.entity];
 	}
 	
 	/**
@@ -702,19 +430,14 @@ public class Shark extends GameObject{
 	 *       | new.hasLeftWater = hasLeftWater
 	 */
 	public void setLeftWater(boolean hasLeftWater) {
-		this.hasLeftWater = hasLeftWater;
+		this.store.leftWater[this.entity] = hasLeftWater;
 	}
 	
-	/**
-	 * A boolean that gives whether the Shark has left the Water.
-	 */
-	public boolean hasLeftWater = false;
-	
 	/**
 	 * Return the timeMeetingWithMazub of this Shark.
 	 */
 	public double getTimeMeetingWithMazub() {
-		return this.timeMeetingWithMazub;
+		return this.store.contactTime[this.entity];
 	}
 	
 	/**
@@ -726,14 +449,9 @@ public class Shark extends GameObject{
 	 *       | new.timeMeetingWithMazub = timeMeetingWithMazub
 	 */
 	public void setTimeMeetingWithMazub(double timeMeetingWithMazub) {
-		this.timeMeetingWithMazub = timeMeetingWithMazub;
+		this.store.contactTime[this.entity] = timeMeetingWithMazub;
 		
 	}
-	/**
-	 * A variable that keeps track of the duration of the time since the last collision
-	 * between a Shark and a Mazub.
-	 */
-	public double timeMeetingWithMazub = 0;
 	
 	/**
 	 * Return the collidingWithSlime of this Shark.
@@ -757,7 +475,7 @@ public class Shark extends GameObject{
 	/**
 	 * A variable that gives whether the Shark is colliding with a Slime.
 	 */
-	public boolean collidingWithSlime=false;
+	private boolean collidingWithSlime=false;
 
 	/**
 	 * Check whether the given horizontalVelocity is a valid horizontalVelocity for
@@ -1,5 +1,7 @@
 package jumpingalien.model;
 
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
 import jumpingalien.util.Sprite;
 
 /**
@@ -21,7 +23,7 @@ public class Skullcab extends Plant {
 	 * @param  sprites
      *         The sprites for this new Skullcab. 
      * @effect
-     * 		| this.lifeTime = 12
+     * 		| this.setLifeTime(12)
      * @effect
      * 		| this.setHitPoints(3)
      * @effect
@@ -31,7 +33,7 @@ public class Skullcab extends Plant {
 	 */
 	public Skullcab(int pixelX,int pixelY, Sprite... sprites) {
 		super(pixelX,pixelY,sprites);
-		this.lifeTime = 12;
+		this.setLifeTime(12);
 		this.setHitPoints(3);
 		this.setCurrentSprite(sprites[0]);
 		this.setOrientation("up");
@@ -67,14 +69,15 @@ public class Skullcab extends Plant {
 		int yPMazub = this.getWorld().getPlayableMazub().getCurrentSprite().getHeight();
 		int mazubCurrentHitPoints = this.getWorld().getPlayableMazub().getHitPoints();
 			if (this.collidesWith(xMazub,yMazub,xPMazub,yPMazub)) {
-				if (this.timeInContactWithMazub == 0) {
+				if (this.getTimeInContactWithMazub() == 0) {
 				this.getWorld().getPlayableMazub().setHitPoints(mazubCurrentHitPoints +50);
 				this.setHitPoints(this.getHitPoints()-1);
 				}
-				this.timeInContactWithMazub += dt;
-				if (this.timeInContactWithMazub >=0.6) {
+				this.setTimeInContactWithMazub(this.getTimeInContactWithMazub() + dt);
+				this.getWorld().getPlayableMazub().addSkullcabInContact(this);
+				if (this.getTimeInContactWithMazub() >=0.6) {
 					this.getWorld().getPlayableMazub().setHitPoints(mazubCurrentHitPoints +50);
-					this.timeInContactWithMazub = this.timeInContactWithMazub%0.6;
+					this.setTimeInContactWithMazub(this.getTimeInContactWithMazub()%0.6);
 					this.setHitPoints(this.getHitPoints()-1);
 					if (this.getHitPoints() == 0) {
 						this.terminate();
@@ -82,7 +85,7 @@ public class Skullcab extends Plant {
 				}	
 			}
 			if ( ! this.collidesWith(xMazub,yMazub,xPMazub,yPMazub)) {
-				this.timeInContactWithMazub = 0;
+				this.setTimeInContactWithMazub(0);
 			}
 		}	
 	}
@@ -94,57 +97,28 @@ public class Skullcab extends Plant {
 			throw new IllegalArgumentException();
 		if (deltaT > 0.2) 
 			throw new IllegalArgumentException();
-		if (! this.isDead()) {
-			this.setMovingTime(this.getMovingTime() + deltaT);
-			if (this.getMovingTime() <= 0.5) {				
-				this.lifeTime -= deltaT;
-				double newPosY = this.calculatePositionY(deltaT);
-				if (((int) (100 * newPosY) < 0) || ((int) (100 * newPosY) >
-				this.getWorld().getWorldHeight())){
-					this.terminate();
-				}
-				else if ((newPosY >= 0) && (newPosY <=
-				this.getWorld().getWorldHeight())) {
-					this.setActualY(newPosY);
-					this.setPixelY((int) (100 * newPosY));
-				}
-				if (this.getLifeTime() <= 0) {
-					this.kill();
-					}
-				
-			}
-			if (this.getMovingTime() > 0.5) {
-				double nbOfSecondsAfterSwitch = this.getMovingTime()-0.5;
-				this.setMovingTime(0);
-				this.advanceTime(deltaT-nbOfSecondsAfterSwitch);
-				if (this.getVerticalVelocity()>0) {
-					this.setVerticalVelocity(-0.5);
-					this.setCurrentSprite(sprites[1]);
-				}
-				else {
-					this.setVerticalVelocity(0.5);
-					this.setCurrentSprite(sprites[0]);
-					}
-				this.setMovingTime(0);
-				this.advanceTime(nbOfSecondsAfterSwitch);
-				this.setMovingTime(nbOfSecondsAfterSwitch);
-				
-			}
-			this.skullcabOverlapsPlayableMazub(deltaT);
-		}
-		
-		else {
-			this.setDelay(this.getDelay()+deltaT);
-			if (this.getDelay() >=0.6)
-				this.terminate();
-			}
-		
+		EntitySystems.advanceOne(this, deltaT);
 	}
 	
 	/**
-	 * Variable registering the time this Skullcab is in contact with the playableMazub.
+	 * Return the time this Skullcab is in contact with the playableMazub.
+	 */
+	@Basic @Raw
+	public double getTimeInContactWithMazub() {
+		return this.store.contactTime[this.entity];
+	}
+
+	/**
+	 * Set the time this Skullcab is in contact with the playableMazub to the given time.
+	 * @param timeInContactWithMazub
+	 * 		  The new time this Skullcab is in contact with the playableMazub.
+	 * @post | new.getTimeInContactWithMazub() == timeInContactWithMazub
 	 */
-	public double timeInContactWithMazub=0;
+	@Raw
+	public void setTimeInContactWithMazub(double timeInContactWithMazub) {
+		this.store.contactTime[this.entity] = timeInContactWithMazub;
+	}
+
 	/**
 	 * Check whether the given horizontalVelocity is a valid horizontalVelocity for
 	 * any Skullcab.
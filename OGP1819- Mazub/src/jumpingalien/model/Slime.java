@@ -1,6 +1,6 @@
 package jumpingalien.model;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Raw;
@@ -53,10 +53,8 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 *	|		then this.setInWater(true)
 	 *	|	if (this.collidesWithGeological(pixelX, pixelY, Geological.GAS)) then
 	 *	|		this.setInGas(true)
-	 * @throws RuntimeException
-	 * 			| if IDs.contains(ID)
 	 */
-	public Slime(long ID,int pixelX, int pixelY,School<Slime> school, Sprite[] sprites) throws RuntimeException {
+	public Slime(long ID,int pixelX, int pixelY,School<Slime> school, Sprite[] sprites) {
 		super(pixelX, pixelY,(double) pixelX/100,(double)pixelY/100,"right",0,
 				0,2.5,0,0.7,0,100,sprites[0],sprites);
 		this.ID =ID;
@@ -69,10 +67,6 @@ public class Slime extends GameObject implements Comparable<Slime>{
 				this.setInGas(true);
 			}
 		}
-		if (IDs.contains(ID))
-			throw new RuntimeException();
-		IDs.add(ID);
-		
 	}
 	
 	/**
@@ -98,157 +92,7 @@ public class Slime extends GameObject implements Comparable<Slime>{
 			throw new IllegalArgumentException();
 		if (deltaT > 0.2) 
 			throw new IllegalArgumentException();
-		if (this.hasCollidedRecently()){
-			if (! this.meetsMazub(this.getPixelX(),this.getPixelY()) ) {
-				if (this.getOrientation()=="right")
-					this.setHorizontalAcceleration(0.7);
-				if (this.getOrientation()=="left") {
-					this.setHorizontalAcceleration(-0.7);
-				}
-
-			}
-			}
-		if (! this.isDead()) {
-			double dt = calculateDT(deltaT);
-			int nbdtX = 1;
-			int nbdtY = 1; 
-			this.updateHitPoints(this.getPixelX(),this.getPixelY(),0);
-			double deltaTX = deltaT;
-			for (double time = dt; time < deltaT;time+= dt) {
-				double newPosX = this.calculatePositionX(nbdtX*dt);
-				double newPosY = this.calculatePositionY(nbdtY*dt);
-				nbdtX += 1;
-				nbdtY += 1;
-				if (this.objectBumpsImpassableTerrainRight((int) (100*newPosX),(int) (100*newPosY))) {
-					this.setActualX(newPosX);
-					this.setPixelX((int) (100 * newPosX));	
-					deltaTX -= (nbdtX-1) *dt;
-					nbdtX = 1;
-					this.setHorizontalAcceleration(0);
-					this.setHorizontalVelocity(0);
-				}
-				if (this.objectBumpsImpassableTerrainLeft((int) (100*newPosX),(int) (100*newPosY))) {
-					this.setActualX(newPosX);
-					this.setPixelX((int) (100 * newPosX));	
-					deltaTX -= (nbdtX-1) *dt;
-					nbdtX = 1;
-					this.setHorizontalAcceleration(0);
-					this.setHorizontalVelocity(0);
-					
-				}
-				if (this.hasCollidedRecently()) {
-					this.timeSlimeBlocksMazub += dt;
-					if (timeSlimeBlocksMazub >= 0.6) {
-						this.timeSlimeBlocksMazub = (this.timeSlimeBlocksMazub%0.6);
-						this.setCollidedRecently(false);
-					}
-						
-				}
-				if (this.meetsMazub((int)(100*newPosX), (int) (100*newPosY))) {
-					this.updatePosition((nbdtX-2)*dt, (nbdtY-2)*dt);
-					deltaTX -= (nbdtX-2)*dt;
-					nbdtX = 2;
-					this.setHorizontalVelocity(0);
-					this.setHorizontalAcceleration(0);
-					if (! this.hasCollidedRecently()) {
-						this.setHitPoints(this.getHitPoints()-30);
-						this.updateHitpointsSchool();
-						this.setCollidedRecently(true);
-					}
-					}
-				
-					
-				if ((( !this.objectBumpsImpassableTerrainRight((int) (100*newPosX),(int) (100*newPosY))) &&
-						(! this.objectBumpsImpassableTerrainLeft((int) (100*newPosX),(int) (100*newPosY)))) && 
-						((this.meetsOtherSlime((int)(100*newPosX), (int) (100*newPosY))))
-					) {
-						this.updatePosition((nbdtX-2)*dt, (nbdtY-2)*dt);
-						deltaTX -= (nbdtX-2)*dt;	
-						nbdtX = 2;
-	
-					if (this.getOrientation() == "right") {
-						this.setOrientation("left");
-						this.setCurrentSprite(this.getSprites()[1]);
-						this.setHorizontalVelocity(0);
-						this.setHorizontalAcceleration(-0.7);
-					}
-					else if (this.getOrientation() == "left") {
-						this.setOrientation("right");
-						this.setCurrentSprite(this.getSprites()[0]);
-						this.setHorizontalVelocity(0);
-						this.setHorizontalAcceleration(0.7);
-					}
-	
-				}
-				if (this.meetsShark((int)(100*newPosX), (int) (100*newPosY))) {
-					this.kill();
-					this.terminate();
-				}
-				if ((newPosX < 0) || (newPosX >this.getWorld().getWorldWidth())){
-					this.terminate();
-				}
-				
-				this.updateHitPoints((int) (100*newPosX),(int) (100*newPosY), dt);	
-			}
-			double newPosX = this.calculatePositionX(deltaTX);
-			double newPosY = this.calculatePositionY(deltaT);
-			if (this.hasCollidedRecently()) {
-				this.timeSlimeBlocksMazub += (deltaTX%dt);
-				if (timeSlimeBlocksMazub >=0.6) {
-					this.timeSlimeBlocksMazub = (this.timeSlimeBlocksMazub%0.6);
-					this.setCollidedRecently(false);
-				}
-			}
-		
-			if (this.meetsOtherSlime((int) (100*newPosX),(int) (100*newPosY))){
-				this.updatePosition(deltaTX-deltaT%dt, deltaT);
-				this.setHorizontalVelocity(0);
-				if (this.getOrientation() == "right") {
-					this.setOrientation("left");
-					this.setCurrentSprite(this.getSprites()[1]);
-					this.setHorizontalVelocity(0);
-					this.setHorizontalAcceleration(-0.7);
-				}
-				else if (this.getOrientation() == "left") {
-					this.setOrientation("right");
-					this.setCurrentSprite(this.getSprites()[0]);
-					this.setHorizontalVelocity(0);
-					this.setHorizontalAcceleration(0.7);
-				}
-			}
-			else if (this.meetsShark((int) (100*newPosX),(int) (100*newPosY))){
-				this.kill();
-				this.terminate();
-			}
-			else if (this.meetsMazub((int) (100*newPosX),(int) (100*newPosY))){
-				this.updatePosition(deltaTX-deltaT%dt, deltaT);
-				this.setHorizontalVelocity(0);
-				this.setHorizontalAcceleration(0);
-				if (! this.hasCollidedRecently()) {
-					this.setHitPoints(this.getHitPoints()-30);
-					this.updateHitpointsSchool();
-					this.setCollidedRecently(true);
-				}
-			}
-			else {
-				this.updatePosition(deltaTX,deltaT);
-			}
-			
-			this.updateHitPoints(this.getPixelX(),this.getPixelY(), deltaT%dt);
-			if ((this.getPixelX() < 0) || (this.getPixelX()>
-			this.getWorld().getWorldWidth())){
-				this.terminate();
-			}
-
-				this.setHorizontalVelocity(this.calculateHorizontalVelocity(deltaTX));
-				this.setVerticalVelocity(this.calculateVerticalVelocity(deltaTX));
-		}
-		else {
-			this.setDelay(this.getDelay()+deltaT);
-			if (this.getDelay()>0.6) {
-				this.terminate();
-			}
-		}
+		EntitySystems.advanceOne(this, deltaT);
 	}
 	
 	/**
@@ -404,47 +248,7 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 *		 |			this.terminate()
 	 */
 	public void updateHitPoints(int newPosX, int newPosY, double deltaT) {
-		if (! this.collidesWithGeological(newPosX,newPosY, Geological.WATER)) {
-			this.setTimeInWater(0);
-			this.setInWater(false);
-		}
-		if (this.collidesWithGeological(newPosX,newPosY, Geological.WATER)){
-			if (this.isInWater()) {
-				this.setTimeInWater(this.getTimeInWater() + deltaT);
-				if (this.getTimeInWater() >0.4) {
-					this.setHitPoints(this.getHitPoints()- ((int) (this.getTimeInWater()/0.4))*4);
-					this.updateHitpointsSchool();
-					this.setTimeInWater(this.getTimeInWater()%0.4);
-					}
-			}
-			else
-				this.setInWater(true);
-		}
-		if (! this.collidesWithGeological(newPosX,newPosY, Geological.GAS)) {
-			this.setTimeInGas(0);
-			this.setInGas(false);
-		}
-		if (this.collidesWithGeological(newPosX,newPosY, Geological.MAGMA)) {
-			this.kill();
-		}
-		if (this.collidesWithGeological(newPosX,newPosY, Geological.GAS)) {
-			if (this.isInGas()) {
-				this.setTimeInGas(this.getTimeInGas() + deltaT);
-				if (this.getTimeInGas() > 0.3) {
-					this.setHitPoints(this.getHitPoints()+ ((int) (this.getTimeInGas()/0.3))*2);
-					this.setTimeInGas(this.getTimeInGas()%0.3);
-				}
-			}
-			else
-				this.setInGas(true);	
-			}
-		if (this.getHitPoints() <=0) {
-			this.kill();
-			this.setDelay(this.getDelay()+deltaT);
-			if (this.getDelay()>0.6) {
-				this.terminate();
-				}
-		}
+		HazardSystem.slime(this.store, this.entity, newPosX, newPosY, deltaT);
 	}
 	
 	/**
@@ -465,20 +269,6 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	}
 	
 
-	/**
-	 * ArrayList storing all the IDs of the Slimes of this class.
-	 */
-	public static ArrayList<Long> IDs = new ArrayList<>();
-	
-	/**
-	 * Clear the list that is storing the IDs of all Slimes of this class.
-	 * @effect 
-	 * 		| IDs.clear()
-	 */
-	public static void clearSlimeIDs() {
-		IDs.clear();
-	}
-	
 	/**
 	 * Checks whether this Slime overlaps with the playableMazub.
 	 * @param newPosX
@@ -517,7 +307,9 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 *		| then result == true
 	 */
 	public boolean meetsOtherSlime(int newPosX,int newPosY) {
-		for (GameObject otherGameObjects:this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(newPosX,newPosY);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObjects = near.get(index);
 			if ((otherGameObjects instanceof Slime) && (otherGameObjects != this)) {
 				if (this.collidesWithOtherGameObect(newPosX,newPosY,otherGameObjects)) {
 					if ((this.getSchool() !=null) && (((Slime) otherGameObjects).getSchool() != null)) {
@@ -548,7 +340,9 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 */
 	public boolean meetsShark(int newPosX,int newPosY) {
 		
-		for (GameObject otherGameObjects:this.getWorld().getGameObjects()) {
+		List<GameObject> near = this.fillGameObjectsNear(newPosX,newPosY);
+		for (int index = 0; index < near.size(); index++) {
+			GameObject otherGameObjects = near.get(index);
 			if ((otherGameObjects instanceof Shark) && (! otherGameObjects.isDead())) {
 				if (this.collidesWithOtherGameObect(newPosX,newPosY,otherGameObjects)) {
 					return true;
@@ -568,7 +362,7 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 */
 	@Raw
 	public void setCollidedRecently(boolean booleanValue) {
-		this.collidedRecently = booleanValue;
+		this.store.blocking[this.entity] = booleanValue;
 	}
 	
 	/**
@@ -576,18 +370,10 @@ public class Slime extends GameObject implements Comparable<Slime>{
 	 */
 	@Basic @Raw
 	public boolean hasCollidedRecently() {
-		return this.collidedRecently;
+		return this.store.blocking[this.entity];
 	}
 	
-	/**
-	 * Boolean registering whether this Slime has recently collided with the playableMazub.
-	 */
-	public boolean collidedRecently = false;
 	
-	/**
-	 * Variable registering the time the Slime is blocked by the Mazub.
-	 */
-	private double timeSlimeBlocksMazub;
 
 	/**
 	 * Check whether the given horizontalVelocity is a valid horizontalVelocity for
@@ -22,7 +22,7 @@ public class Sneezewort extends Plant {
 	 * @param  sprites
      *         The sprites for this new Sneezewort. 
      * @effect
-     * 		| this.lifeTime = 10
+     * 		| this.setLifeTime(10)
      * @effect
      * 		| this.setHitPoints(1)
      * @effect
@@ -32,7 +32,7 @@ public class Sneezewort extends Plant {
 	 */
 	public Sneezewort(int pixelX,int pixelY, Sprite... sprites) {
 		super(pixelX,pixelY,sprites);
-		this.lifeTime = 10;
+		this.setLifeTime(10);
 		this.setHitPoints(1);
 		this.setOrientation("left");
 		this.setHorizontalVelocity(-0.5);
@@ -67,52 +67,7 @@ public class Sneezewort extends Plant {
 			throw new IllegalArgumentException();
 		if (deltaT > 0.2) 
 			throw new IllegalArgumentException();
-		if (! this.isDead()) {
-			this.setMovingTime(this.getMovingTime() + deltaT);
-			if (this.getMovingTime() <= 0.5) {				
-				this.lifeTime -= deltaT;
-				double newPosX = this.calculatePositionX(deltaT);
-				if ((newPosX < 0) || (newPosX >
-				this.getWorld().getWorldWidth())){
-					this.terminate();
-				}
-				if ((newPosX >= 0) && (newPosX <=
-				this.getWorld().getWorldWidth())) {
-					this.setActualX(newPosX);
-					this.setPixelX((int) (100 * newPosX));
-				}
-				if (this.getLifeTime() <= 0) {
-					this.kill();
-					}
-				
-			}
-			if (this.getMovingTime() > 0.5) {
-				double nbOfSecondsAfterSwitch = this.getMovingTime()-0.5;
-				this.setMovingTime(0);
-				this.advanceTime(deltaT-nbOfSecondsAfterSwitch);
-				if (this.getOrientation() == "left") {
-					this.setOrientation("right");
-					this.setHorizontalVelocity(0.5);
-					this.setCurrentSprite(sprites[1]);
-				}
-				else {
-					this.setOrientation("left");
-					this.setHorizontalVelocity(-0.5);
-					this.setCurrentSprite(sprites[0]);
-					}
-				this.setMovingTime(0);
-				this.advanceTime(nbOfSecondsAfterSwitch);
-				this.setMovingTime(nbOfSecondsAfterSwitch);
-	
-			}
-			this.sneezewortOverlapsPlayableMazub();
-		}
-		
-		else {
-			this.setDelay(this.getDelay()+deltaT);
-			if (this.getDelay() >=0.6)
-				this.terminate();
-			}
+		EntitySystems.advanceOne(this, deltaT);
 	}
 	/**
 	 * Check whether the given horizontalVelocity is a valid horizontalVelocity for
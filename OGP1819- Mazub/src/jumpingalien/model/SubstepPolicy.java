@@ -0,0 +1,75 @@
+package jumpingalien.model;
+
+import be.kuleuven.cs.som.annotate.Value;
+
+/**
+ * An enumeration introducing different policies to divide a time period of a game object
+ * in smaller substeps.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ *
+ */
+@Value
+public enum SubstepPolicy {
+
+	/**
+	 * A game object moves at most 0.01 meter in each substep.
+	 */
+	CURRENT {
+		@Override
+		public double calculateDT(double speed, double acceleration, double deltaT, World world) {
+			return 0.01/(speed + acceleration*deltaT);
+		}
+	},
+
+	/**
+	 * A time period is divided in the fixed substep count of the world.
+	 */
+	FIXED_COUNT {
+		@Override
+		public double calculateDT(double speed, double acceleration, double deltaT, World world) {
+			return deltaT/world.getFixedSubstepCount();
+		}
+	},
+
+	/**
+	 * A game object moves at most the substep distance of the world in each substep.
+	 */
+	DISTANCE {
+		@Override
+		public double calculateDT(double speed, double acceleration, double deltaT, World world) {
+			return world.getSubstepDistance()/(speed + acceleration*deltaT);
+		}
+	},
+
+	/**
+	 * A game object moves at most the length of one tile of the world in each substep,
+	 * so that it crosses at most one tile boundary along each axis.
+	 */
+	TILE_CROSSING {
+		@Override
+		public double calculateDT(double speed, double acceleration, double deltaT, World world) {
+			return (world.getTileLength()/100.0)/(speed + acceleration*deltaT);
+		}
+	};
+
+	/**
+	 * Return the length of a substep of the given time period for a game object with the
+	 * given speed and acceleration in the given world.
+	 * @param speed
+	 * 		The magnitude of the velocity of the game object, in meters per second.
+	 * @param acceleration
+	 * 		The magnitude of the acceleration of the game object, in meters per second squared.
+	 * @param deltaT
+	 * 		The time period that is divided in substeps.
+	 * @param world
+	 * 		The world of the game object.
+	 * @pre The speed and the acceleration are not both zero.
+	 * 		| (speed != 0) || (acceleration != 0)
+	 */
+	public abstract double calculateDT(double speed, double acceleration, double deltaT, World world);
+
+}
@@ -0,0 +1,300 @@
+package jumpingalien.model;
+
+/**
+ * A class of square chunks of the tiles of a world.
+ *
+ * A chunk whose tiles all have the same geological feature is immutable and shared by all
+ * worlds: there is one such uniform chunk for each geological feature. Any other chunk is
+ * materialised and stores the ordinals of the geological features of its tiles, together
+ * with a summed-area table for each geological feature, so that the tiles with a given
+ * geological feature in a rectangle of the chunk are counted with four array reads.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+class TerrainChunk {
+
+	/**
+	 * Constant registering the base two logarithm of the number of tiles on a side of a chunk.
+	 */
+	static final int SHIFT = 5;
+
+	/**
+	 * Constant registering the number of tiles on a side of a chunk.
+	 */
+	static final int SIZE = 1 << SHIFT;
+
+	/**
+	 * Constant registering the mask that turns a column or row of a world into the column
+	 * or row of its tile in its chunk.
+	 */
+	static final int MASK = SIZE - 1;
+
+	/**
+	 * Constant registering the number of entries on a row of a summed-area table.
+	 */
+	private static final int STRIDE = SIZE + 1;
+
+	/**
+	 * Constant registering all geological features, indexed by their ordinal.
+	 */
+	private static final Geological[] FEATURES = Geological.values();
+
+	/**
+	 * Constant registering the uniform chunks, indexed by the ordinal of their geological feature.
+	 */
+	private static final TerrainChunk[] UNIFORM_CHUNKS = new TerrainChunk[FEATURES.length];
+
+	static {
+		for (Geological feature : FEATURES)
+			UNIFORM_CHUNKS[feature.ordinal()] = new TerrainChunk(feature);
+	}
+
+	/**
+	 * Return the shared chunk whose tiles all have the given geological feature.
+	 * @param feature
+	 * 		The geological feature of the tiles of the chunk.
+	 * @return | result.isUniform() && result.getUniformFeature() == feature
+	 */
+	static TerrainChunk uniform(Geological feature) {
+		return UNIFORM_CHUNKS[feature.ordinal()];
+	}
+
+	/**
+	 * Return a chunk whose tiles have the geological features of the tiles of a world with
+	 * the given geological features and number of columns, in the rectangle with the given
+	 * first column and row and the given dimensions. The tiles of the chunk outside this
+	 * rectangle, and the tiles of the world with an index beyond the given geological
+	 * features, are air.
+	 * @param features
+	 * 		The geological features of the tiles of the world, on index row * nbTilesX + column.
+	 * @param nbTilesX
+	 * 		The number of columns of the world.
+	 * @param firstColumn
+	 * 		The column of the world of the first column of the chunk.
+	 * @param firstRow
+	 * 		The row of the world of the first row of the chunk.
+	 * @param width
+	 * 		The number of columns of the chunk that lie in the world.
+	 * @param height
+	 * 		The number of rows of the chunk that lie in the world.
+	 * @return If all tiles in the rectangle have the same geological feature, the uniform chunk
+	 * 		   of that geological feature.
+	 * 		   | if (for each column in 0..width-1, row in 0..height-1
+	 * 		   |		features[(firstRow + row) * nbTilesX + firstColumn + column] == feature)
+	 * 		   |	then result == uniform(feature)
+	 */
+	static TerrainChunk of(Geological[] features, int nbTilesX, int firstColumn, int firstRow,
+			int width, int height) {
+		Geological first = getFeature(features, firstRow * nbTilesX + firstColumn);
+		boolean uniform = true;
+		for (int row = 0; row < height && uniform; row++)
+			for (int column = 0; column < width && uniform; column++)
+				uniform = getFeature(features, (firstRow + row) * nbTilesX + firstColumn + column) == first;
+		if (uniform)
+			return uniform(first);
+		TerrainChunk result = new TerrainChunk(null);
+		for (int row = 0; row < height; row++)
+			for (int column = 0; column < width; column++)
+				result.ordinals[(row << SHIFT) + column] = (byte) getFeature(features,
+						(firstRow + row) * nbTilesX + firstColumn + column).ordinal();
+		result.buildSums();
+		return result;
+	}
+
+	/**
+	 * Return the geological feature on the given index of the given geological features, or
+	 * air if the index lies beyond them.
+	 */
+	private static Geological getFeature(Geological[] features, int index) {
+		return index < features.length ? features[index] : Geological.AIR;
+	}
+
+	/**
+	 * Return a new materialised chunk whose tiles have the geological features of the tiles
+	 * of the given chunk.
+	 * @param chunk
+	 * 		The chunk to copy.
+	 * @return | for each column, row in 0..SIZE-1
+	 * 		   |	result.getGeologicalFeature(column, row) == chunk.getGeologicalFeature(column, row)
+	 */
+	private static TerrainChunk materialise(TerrainChunk chunk) {
+		TerrainChunk result = new TerrainChunk(null);
+		for (int row = 0; row < SIZE; row++)
+			for (int column = 0; column < SIZE; column++)
+				result.ordinals[(row << SHIFT) + column] =
+						(byte) chunk.getGeologicalFeature(column, row).ordinal();
+		result.buildSums();
+		return result;
+	}
+
+	/**
+	 * Initialize this new chunk as a uniform chunk of the given geological feature, or as a
+	 * materialised chunk of air if no geological feature is given.
+	 * @param uniformFeature
+	 * 		The geological feature of all tiles of this new chunk, or null.
+	 */
+	private TerrainChunk(Geological uniformFeature) {
+		this.uniformFeature = uniformFeature;
+		if (uniformFeature == null) {
+			this.ordinals = new byte[SIZE * SIZE];
+			this.sums = new short[FEATURES.length][];
+		}
+		else {
+			this.ordinals = null;
+			this.sums = null;
+		}
+	}
+
+	/**
+	 * Check whether all tiles of this chunk have the same geological feature and this chunk
+	 * is shared.
+	 */
+	boolean isUniform() {
+		return this.uniformFeature != null;
+	}
+
+	/**
+	 * Return the geological feature of all tiles of this chunk, or null if this chunk is
+	 * materialised.
+	 */
+	Geological getUniformFeature() {
+		return this.uniformFeature;
+	}
+
+	/**
+	 * Variable registering the geological feature of all tiles of this chunk, or null if
+	 * this chunk is materialised.
+	 */
+	private final Geological uniformFeature;
+
+	/**
+	 * Variable registering the ordinals of the geological features of the tiles of this
+	 * chunk, on index row * SIZE + column, or null if this chunk is uniform.
+	 */
+	private final byte[] ordinals;
+
+	/**
+	 * Variable registering, for each geological feature (indexed by its ordinal), the
+	 * summed-area table of the tiles of this chunk with that geological feature, or null if
+	 * this chunk is uniform. The entry on row * (SIZE + 1) + column counts the tiles with a
+	 * smaller row and column. The table of a geological feature that no tile of this chunk
+	 * has is null.
+	 */
+	private final short[][] sums;
+
+	/**
+	 * Return the geological feature of the tile of this chunk on the given column and row.
+	 * @param column
+	 * 		The column of the tile in this chunk.
+	 * @param row
+	 * 		The row of the tile in this chunk.
+	 */
+	Geological getGeologicalFeature(int column, int row) {
+		if (this.uniformFeature != null)
+			return this.uniformFeature;
+		return FEATURES[this.ordinals[(row << SHIFT) + column]];
+	}
+
+	/**
+	 * Set the geological feature of the tile of this chunk on the given column and row to the
+	 * given geological feature, and return the chunk that holds the result.
+	 * A uniform chunk is never changed: if the tile differs, a materialised copy is changed
+	 * and returned instead.
+	 * @param column
+	 * 		The column of the tile in this chunk.
+	 * @param row
+	 * 		The row of the tile in this chunk.
+	 * @param feature
+	 * 		The new geological feature of the tile.
+	 * @return | result.getGeologicalFeature(column, row) == feature
+	 */
+	TerrainChunk setGeologicalFeature(int column, int row, Geological feature) {
+		if (this.uniformFeature == feature)
+			return this;
+		TerrainChunk result = this.isUniform() ? materialise(this) : this;
+		int index = (row << SHIFT) + column;
+		Geological oldFeature = FEATURES[result.ordinals[index]];
+		if (oldFeature == feature)
+			return result;
+		result.ordinals[index] = (byte) feature.ordinal();
+		result.updateSums(column, row, oldFeature, feature);
+		return result;
+	}
+
+	/**
+	 * Return the number of tiles of this chunk with the given geological feature in the
+	 * rectangle of the given columns and rows.
+	 * @param firstColumn
+	 * 		The first column of the rectangle.
+	 * @param firstRow
+	 * 		The first row of the rectangle.
+	 * @param endColumn
+	 * 		The column after the last column of the rectangle.
+	 * @param endRow
+	 * 		The row after the last row of the rectangle.
+	 * @param feature
+	 * 		The geological feature to count.
+	 * @return | result == number of column in firstColumn..endColumn-1 and row in
+	 * 		   |	firstRow..endRow-1 with this.getGeologicalFeature(column, row) == feature
+	 */
+	int countGeologicalFeature(int firstColumn, int firstRow, int endColumn, int endRow,
+			Geological feature) {
+		if (this.uniformFeature != null)
+			return this.uniformFeature == feature ? (endColumn - firstColumn) * (endRow - firstRow) : 0;
+		short[] table = this.sums[feature.ordinal()];
+		if (table == null)
+			return 0;
+		return table[endRow * STRIDE + endColumn] - table[firstRow * STRIDE + endColumn] -
+				table[endRow * STRIDE + firstColumn] + table[firstRow * STRIDE + firstColumn];
+	}
+
+	/**
+	 * Build the summed-area tables of this materialised chunk.
+	 */
+	private void buildSums() {
+		for (int index = 0; index < SIZE * SIZE; index++)
+			if (this.sums[this.ordinals[index]] == null)
+				this.sums[this.ordinals[index]] = new short[STRIDE * STRIDE];
+		for (int type = 0; type < FEATURES.length; type++) {
+			short[] table = this.sums[type];
+			if (table == null)
+				continue;
+			for (int row = 0; row < SIZE; row++)
+				for (int column = 0; column < SIZE; column++)
+					table[(row + 1) * STRIDE + column + 1] = (short) (table[row * STRIDE + column + 1] +
+							table[(row + 1) * STRIDE + column] - table[row * STRIDE + column] +
+							(this.ordinals[(row << SHIFT) + column] == type ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Update the summed-area tables of this materialised chunk for a tile on the given column
+	 * and row that changed from the given old geological feature to the given new geological
+	 * feature. Only the entries that count the changed tile are updated.
+	 * @param column
+	 * 		The column of the changed tile.
+	 * @param row
+	 * 		The row of the changed tile.
+	 * @param oldFeature
+	 * 		The previous geological feature of the tile.
+	 * @param newFeature
+	 * 		The new geological feature of the tile.
+	 */
+	private void updateSums(int column, int row, Geological oldFeature, Geological newFeature) {
+		short[] oldSums = this.sums[oldFeature.ordinal()];
+		short[] newSums = this.sums[newFeature.ordinal()];
+		if (newSums == null) {
+			newSums = new short[STRIDE * STRIDE];
+			this.sums[newFeature.ordinal()] = newSums;
+		}
+		for (int sumRow = row + 1; sumRow < STRIDE; sumRow++)
+			for (int sumColumn = column + 1; sumColumn < STRIDE; sumColumn++) {
+				oldSums[sumRow * STRIDE + sumColumn] -= 1;
+				newSums[sumRow * STRIDE + sumColumn] += 1;
+			}
+	}
+
+}
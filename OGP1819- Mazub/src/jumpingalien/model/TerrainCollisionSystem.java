@@ -0,0 +1,378 @@
+package jumpingalien.model;
+
+/**
+ * A class of systems handling the collisions of the game objects of an entity store with
+ * impassable terrain, water and the borders of their world.
+ *
+ * @version 1.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+final class TerrainCollisionSystem {
+
+	private TerrainCollisionSystem() {
+	}
+
+	/**
+	 * Stop the given Mazub whose segment starts against an obstacle at its side.
+	 */
+	static void beginSegment(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.STARTING) || (s.segment[e] != EntitySystems.MAZUB_IN_WORLD))
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		if (mazub.meetsHorizontalObstacle(s.pixelX[e],s.pixelY[e])){
+			if (mazub.isMoving())
+				mazub.endMove();
+			mazub.setHorizontalAcceleration(0);
+			mazub.setHorizontalVelocity(0);
+		}
+	}
+
+	/**
+	 * Stop the given moving Shark whose segment starts against an obstacle at its side,
+	 * and move the given Plant whose segment starts to the position it computed if that
+	 * position lies inside its world. A Plant that would leave its world is terminated.
+	 */
+	static void checkStart(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.STARTING)
+			return;
+		GameObject handle = s.handles[e];
+		if (s.segment[e] == EntitySystems.SHARK_MOVING) {
+			if (handle.meetsHorizontalObstacle(s.pixelX[e],s.pixelY[e]))
+				((Shark) handle).stopMove();
+		}
+		else if (s.segment[e] == EntitySystems.PLANT_MOVING) {
+			if (s.kind[e] == EntityStore.SNEEZEWORT) {
+				double newPosX = s.newX[e];
+				if ((newPosX < 0) || (newPosX >
+				handle.getWorld().getWorldWidth())){
+					handle.terminate();
+				}
+				if ((newPosX >= 0) && (newPosX <=
+				handle.getWorld().getWorldWidth())) {
+					handle.setActualX(newPosX);
+					handle.setPixelX((int) (100 * newPosX));
+				}
+			}
+			else {
+				double newPosY = s.newY[e];
+				if (((int) (100 * newPosY) < 0) || ((int) (100 * newPosY) >
+				handle.getWorld().getWorldHeight())){
+					handle.terminate();
+				}
+				else if ((newPosY >= 0) && (newPosY <=
+				handle.getWorld().getWorldHeight())) {
+					handle.setActualY(newPosY);
+					handle.setPixelY((int) (100 * newPosY));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Let the given game object that takes a substep that is not free react to the
+	 * terrain at the position it reaches: it lands, bumps its head, bumps into an obstacle at
+	 * its side, or leaves or enters water. The game object then stays at that position along
+	 * the direction in which it collided, and starts counting its substeps in that direction
+	 * anew.
+	 */
+	static void substep(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0))
+			return;
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			substepMazub(s, e);
+			break;
+		case EntitySystems.SHARK_MOVING:
+			substepMovingShark(s, e);
+			break;
+		case EntitySystems.SHARK_RESTING:
+			substepRestingShark(s, e);
+			break;
+		default:
+			substepSlime(s, e);
+			break;
+		}
+	}
+
+	/**
+	 * Let the given Mazub react to the terrain at the end of its substep.
+	 */
+	private static void substepMazub(EntityStore s, int e) {
+		Mazub mazub = (Mazub) s.handles[e];
+		double newPosX = s.newX[e];
+		double newPosY = s.newY[e];
+		double dt = s.dt[e];
+		TickProfiler.Phase phase = mazub.enterPhase(TickProfiler.Phase.TERRAIN_COLLISION);
+		if (((mazub.objectOnImpassableTerrain((int) (100*newPosX),(int) (100*newPosY)))||
+				(mazub.isStandingOnGameObject((int) (100*newPosX),(int) (100*newPosY))))
+				&&(s.vy[e]< 0)) {
+			mazub.setPixelY((int)(100*newPosY));
+			mazub.setActualY(newPosY);
+			s.deltaTY[e] -= ((s.nbdtY[e]-1)*dt);
+			s.nbdtY[e] = 1;
+			mazub.setVerticalAcceleration(0);
+			mazub.setVerticalVelocity(0);
+		}
+		if ((mazub.objectBumpsImpassableTerrainAbove((int) (100*newPosX),(int) (100*newPosY)))
+				&&(s.vy[e]> 0)) {
+			mazub.setPixelY((int)(100*newPosY));
+			mazub.setActualY(newPosY);
+			s.deltaTY[e] -= ((s.nbdtY[e]-1)*dt);
+			s.nbdtY[e] = 1;
+			mazub.setVerticalVelocity(0);
+		}
+		if (mazub.meetsHorizontalObstacle((int) (100*newPosX),
+				(int) (100*newPosY))){
+			mazub.setPixelX((int)(100*newPosX));
+			mazub.setActualX(newPosX);
+			if (mazub.isMoving())
+				mazub.endMove();
+			s.deltaTX[e] -= ((s.nbdtX[e]-1)*dt);
+			s.nbdtX[e] = 1;
+			mazub.setHorizontalAcceleration(0);
+			mazub.setHorizontalVelocity(0);
+		}
+		mazub.exitPhase(phase);
+	}
+
+	/**
+	 * Let the given moving Shark react to the terrain at the end of its substep.
+	 */
+	private static void substepMovingShark(EntityStore s, int e) {
+		Shark shark = (Shark) s.handles[e];
+		double newPosX = s.newX[e];
+		double newPosY = s.newY[e];
+		double dt = s.dt[e];
+		TickProfiler.Phase phase = shark.enterPhase(TickProfiler.Phase.TERRAIN_COLLISION);
+		if (shark.meetsHorizontalObstacle((int) (100 * newPosX),
+				(int) (100 * newPosY))) {
+			shark.updatePosition(s.deltaTX[e], s.deltaTY[e]);
+			shark.stopMove();
+			s.deltaTX[e] -= (s.nbdtX[e]-1) *dt;
+			s.nbdtX[e] = 1;
+		}
+		if ((shark.objectBumpsImpassableTerrainAbove((int) (100 * newPosX),
+				(int) (100 * newPosY)))&& (s.vy[e]>0)) {
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		if ((shark.isInWater(s.pixelX[e],s.pixelY[e]))&&
+				(! shark.isInWater((int) (100 * newPosX),(int) (100 * newPosY)))) {
+			shark.setActualY(newPosY);
+			shark.setPixelY((int) (100 * newPosY));
+			shark.setVerticalVelocity(IntegrationSystem.velocityY(s, e, (s.nbdtY[e]-1) *dt));
+			shark.setVerticalAcceleration(-10);
+			s.deltaTY[e] -= (s.nbdtY[e]-1) *dt;
+			s.nbdtY[e] = 1;
+		}
+		if ((! shark.isInWater(s.pixelX[e],s.pixelY[e]))&&
+				(shark.isInWater((int) (100 * newPosX),(int) (100 * newPosY)))) {
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		if ((shark.objectOnImpassableTerrain((int) (100 * newPosX),
+				(int) (100 * newPosY)))&&(s.vy[e]<0)){
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		if ((shark.isInWater((int) (100 * newPosX),
+				(int) (100 * newPosY)))&&(s.vy[e]<0)){
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		shark.exitPhase(phase);
+	}
+
+	/**
+	 * Let the given resting Shark react to the terrain at the end of its substep.
+	 */
+	private static void substepRestingShark(EntityStore s, int e) {
+		Shark shark = (Shark) s.handles[e];
+		double newPosY = s.newY[e];
+		if ((shark.objectBumpsImpassableTerrainAbove(s.pixelX[e],
+				(int) (100 * newPosY)))&&(s.vy[e]>0)) {
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		if ((shark.objectOnImpassableTerrain(s.pixelX[e],
+				(int) (100 * newPosY)))&&(s.vy[e]<0)){
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+		if ((! shark.isInWater(s.pixelX[e],s.pixelY[e]))&&
+				(shark.isInWater(s.pixelX[e],(int) (100 * newPosY)))) {
+			placeY(s, e, newPosY);
+			shark.endJump();
+		}
+	}
+
+	/**
+	 * Let the given Slime react to the terrain at the end of its substep.
+	 */
+	private static void substepSlime(EntityStore s, int e) {
+		Slime slime = (Slime) s.handles[e];
+		double newPosX = s.newX[e];
+		double newPosY = s.newY[e];
+		TickProfiler.Phase phase = slime.enterPhase(TickProfiler.Phase.TERRAIN_COLLISION);
+		if (slime.objectBumpsImpassableTerrainRight((int) (100*newPosX),(int) (100*newPosY)))
+			placeX(s, e, newPosX);
+		if (slime.objectBumpsImpassableTerrainLeft((int) (100*newPosX),(int) (100*newPosY)))
+			placeX(s, e, newPosX);
+		slime.exitPhase(phase);
+	}
+
+	/**
+	 * Place the given Shark at the given actualY, and count its vertical substeps anew.
+	 */
+	private static void placeY(EntityStore s, int e, double newPosY) {
+		GameObject handle = s.handles[e];
+		handle.setActualY(newPosY);
+		handle.setPixelY((int) (100 * newPosY));
+		s.deltaTY[e] -= (s.nbdtY[e]-1) *s.dt[e];
+		s.nbdtY[e] = 1;
+	}
+
+	/**
+	 * Stop the given Slime at the given actualX, and count its horizontal substeps anew.
+	 */
+	private static void placeX(EntityStore s, int e, double newPosX) {
+		GameObject handle = s.handles[e];
+		handle.setActualX(newPosX);
+		handle.setPixelX((int) (100 * newPosX));
+		s.deltaTX[e] -= (s.nbdtX[e]-1) *s.dt[e];
+		s.nbdtX[e] = 1;
+		handle.setHorizontalAcceleration(0);
+		handle.setHorizontalVelocity(0);
+	}
+
+	/**
+	 * End the segment of the given game object that took a substep that is not free if
+	 * it left its world: a Mazub dies, and a Mazub, Shark or Slime is terminated.
+	 */
+	static void bounds(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.SUBSTEPS) || (s.free[e] > 0))
+			return;
+		GameObject handle = s.handles[e];
+		switch (s.segment[e]) {
+		case EntitySystems.MAZUB_IN_WORLD:
+			if (handle.isOutOfThisWorld(s.newX[e], s.newY[e])) {
+				handle.kill();
+				handle.terminate();
+				s.stage[e] = EntitySystems.ENDED;
+			}
+			break;
+		case EntitySystems.SHARK_MOVING:
+			if (handle.isOutOfThisWorld(s.newX[e], s.newY[e])){
+				handle.terminate();
+				s.stage[e] = EntitySystems.ENDED;
+			}
+			break;
+		case EntitySystems.SHARK_RESTING:
+			if (handle.isOutOfThisWorld(s.x[e], s.newY[e])){
+				handle.terminate();
+				s.stage[e] = EntitySystems.ENDED;
+			}
+			break;
+		default:
+			if (handle.getWorld() == null)
+				s.stage[e] = EntitySystems.ENDED;
+			else if ((s.newX[e] < 0) || (s.newX[e] >handle.getWorld().getWorldWidth())){
+				handle.terminate();
+				s.stage[e] = EntitySystems.ENDED;
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Let the given Shark in its remainder react to the terrain at the end of its
+	 * segment, and terminate it if it left its world.
+	 */
+	static void remainder(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		if (s.segment[e] == EntitySystems.SHARK_MOVING) {
+			Shark shark = (Shark) s.handles[e];
+			double defPosX = s.newX[e];
+			double defPosY = s.newY[e];
+			if (shark.meetsHorizontalObstacle(s.pixelX[e],s.pixelY[e]))
+				shark.stopMove();
+			if ((shark.objectBumpsImpassableTerrainAbove((int) (100 * defPosX),
+					(int) (100 * defPosY))) && (s.vy[e]>0))
+				shark.endJump();
+			if ((shark.objectOnImpassableTerrain((int) (100 * defPosX),
+					(int) (100 * defPosY)))&&(s.vy[e]<0))
+				shark.endJump();
+			if (shark.isOutOfThisWorld(s.x[e], s.y[e]))
+				shark.terminate();
+		}
+		else if (s.segment[e] == EntitySystems.SHARK_RESTING) {
+			Shark shark = (Shark) s.handles[e];
+			double newPosY = s.newY[e];
+			if (shark.objectBumpsImpassableTerrainAbove(s.pixelX[e],
+					(int) (100 * newPosY)))
+				shark.endJump();
+			// the pixelY is passed as pixelX, as the resting Shark always did
+			if ((shark.objectOnImpassableTerrain(s.pixelY[e],
+					(int) (100 * newPosY)))&&(s.vy[e]<0))
+				shark.endJump();
+			if (shark.isOutOfThisWorld(s.x[e],s.y[e]))
+				shark.terminate();
+		}
+	}
+
+	/**
+	 * End the jump of the given living Mazub in its remainder if it landed on impassable
+	 * terrain or on another game object.
+	 */
+	static void land(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.REMAINDER) || (! s.settled[e]))
+			return;
+		Mazub mazub = (Mazub) s.handles[e];
+		if (((mazub.objectOnImpassableTerrain(s.pixelX[e],s.pixelY[e]))||
+				(mazub.isStandingOnGameObject(s.pixelX[e],s.pixelY[e])))
+				&&(s.vy[e]< 0)) {
+			if (mazub.isJumping())
+				mazub.endJump();
+		}
+	}
+
+	/**
+	 * Stop the given living Mazub in its remainder if it ends its segment against an
+	 * obstacle at its side.
+	 */
+	static void settleSides(EntityStore s, int e) {
+		if ((s.stage[e] != EntitySystems.REMAINDER) || (! s.settled[e]))
+			return;
+		GameObject mazub = s.handles[e];
+		if (mazub.meetsHorizontalObstacle(s.pixelX[e],s.pixelY[e])) {
+			mazub.setHorizontalAcceleration(0);
+			mazub.setHorizontalVelocity(0);
+		}
+	}
+
+	/**
+	 * Terminate the given Mazub or Slime in its remainder if it ends its segment outside
+	 * its world. Such a Mazub also dies.
+	 */
+	static void endBounds(EntityStore s, int e) {
+		if (s.stage[e] != EntitySystems.REMAINDER)
+			return;
+		GameObject handle = s.handles[e];
+		if (s.segment[e] == EntitySystems.MAZUB_IN_WORLD) {
+			if (handle.isOutOfThisWorld(s.x[e], s.y[e])) {
+				handle.kill();
+				handle.terminate();
+			}
+		}
+		else if (s.segment[e] == EntitySystems.SLIME_MOVING) {
+			if ((s.pixelX[e] < 0) || (s.pixelX[e]>
+			handle.getWorld().getWorldWidth())){
+				handle.terminate();
+			}
+		}
+	}
+
+}
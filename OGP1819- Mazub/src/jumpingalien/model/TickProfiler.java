@@ -0,0 +1,364 @@
+package jumpingalien.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of profilers that record the wall time and the substeps of the game objects of a
+ * world in each call of advanceTime, per class of game object and per phase.
+ *
+ * The time of a game object is charged to the phase it is in. A game object is in the movement
+ * phase, unless its advanceTime method has entered another phase around the collision checks or
+ * the updates of hit points or sprites it makes. A time step that ends with an exception still
+ * closes its game object and its tick.
+ * When this profiler is disabled, entering and leaving a phase only checks whether it is enabled.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+public class TickProfiler {
+
+	/**
+	 * An enumeration of the phases of advancing the time of a game object.
+	 */
+	public static enum Phase {
+		MOVEMENT, TERRAIN_COLLISION, OBJECT_COLLISION, HIT_POINTS, SPRITE
+	}
+
+	/**
+	 * Constant registering all phases, indexed by their ordinal.
+	 */
+	private static final Phase[] PHASES = Phase.values();
+
+	/**
+	 * Check whether this profiler records the ticks of its world.
+	 */
+	@Basic @Raw
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Set whether this profiler records the ticks of its world.
+	 * @param enabled
+	 * 		The new state of this profiler.
+	 * @post | new.isEnabled() == enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Variable registering whether this profiler records the ticks of its world.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Start recording a new tick.
+	 * @post The times and substeps of the last tick are zero.
+	 * 		| for each type in Class<? extends GameObject>, phase in Phase:
+	 * 		|	new.getTime(type, phase) == 0 && new.getSubsteps(type) == 0
+	 */
+	void beginTick() {
+		if (! this.isEnabled())
+			return;
+		for (long[] times : this.tickTimes.values())
+			Arrays.fill(times, 0);
+		for (long[] substeps : this.tickSubsteps.values())
+			substeps[0] = 0;
+		this.tickStart = System.nanoTime();
+		this.recording = true;
+	}
+
+	/**
+	 * Stop recording the current tick.
+	 * @post The times and substeps of the current tick are added to the totals of this profiler.
+	 */
+	void endTick() {
+		if (! this.recording)
+			return;
+		this.tickTime = System.nanoTime() - this.tickStart;
+		this.recording = false;
+		this.currentTimes = null;
+		this.totalTickTime += this.tickTime;
+		this.nbTicks += 1;
+		for (Map.Entry<Class<? extends GameObject>,long[]> entry : this.tickTimes.entrySet()) {
+			long[] totals = getCounters(this.totalTimes, entry.getKey(), PHASES.length);
+			for (int index = 0; index < PHASES.length; index++)
+				totals[index] += entry.getValue()[index];
+		}
+		for (Map.Entry<Class<? extends GameObject>,long[]> entry : this.tickSubsteps.entrySet())
+			getCounters(this.totalSubsteps, entry.getKey(), 1)[0] += entry.getValue()[0];
+	}
+
+	/**
+	 * Start recording the given game object in the movement phase.
+	 * @param object
+	 * 		The game object whose time is advanced.
+	 */
+	void beginObject(GameObject object) {
+		if (! this.recording)
+			return;
+		this.currentTimes = getCounters(this.tickTimes, object.getClass(), PHASES.length);
+		this.currentPhase = Phase.MOVEMENT;
+		this.lastSwitch = System.nanoTime();
+	}
+
+	/**
+	 * Stop recording the current game object.
+	 */
+	void endObject() {
+		if (this.currentTimes == null)
+			return;
+		this.charge();
+		this.currentTimes = null;
+	}
+
+	/**
+	 * Charge the time from now on to the given phase.
+	 * @param phase
+	 * 		The phase that is entered.
+	 * @return The phase that was left, or null if no game object is being recorded.
+	 */
+	Phase enterPhase(Phase phase) {
+		if (this.currentTimes == null)
+			return null;
+		this.charge();
+		Phase previous = this.currentPhase;
+		this.currentPhase = phase;
+		return previous;
+	}
+
+	/**
+	 * Charge the time from now on to the given phase, that was left when the current phase
+	 * was entered.
+	 * @param previous
+	 * 		The phase that is returned to, as returned by enterPhase.
+	 */
+	void exitPhase(Phase previous) {
+		if ((previous == null) || (this.currentTimes == null))
+			return;
+		this.charge();
+		this.currentPhase = previous;
+	}
+
+	/**
+	 * Charge the time since the last switch to the current phase.
+	 */
+	private void charge() {
+		long now = System.nanoTime();
+		this.currentTimes[this.currentPhase.ordinal()] += now - this.lastSwitch;
+		this.lastSwitch = now;
+	}
+
+	/**
+	 * Add the given number of substeps to the current tick of the given type.
+	 * @param type
+	 * 		The type of the game object that used the substeps.
+	 * @param nbSubsteps
+	 * 		The number of substeps.
+	 */
+	void addSubsteps(Class<? extends GameObject> type, long nbSubsteps) {
+		if (! this.recording)
+			return;
+		getCounters(this.tickSubsteps, type, 1)[0] += nbSubsteps;
+	}
+
+	/**
+	 * Return the counters of the given type in the given map, adding them if they are not
+	 * registered yet.
+	 */
+	private static long[] getCounters(Map<Class<? extends GameObject>,long[]> counters,
+			Class<? extends GameObject> type, int length) {
+		long[] result = counters.get(type);
+		if (result == null) {
+			result = new long[length];
+			counters.put(type, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the wall time in nanoseconds of the last recorded tick.
+	 */
+	@Basic
+	public long getTickTime() {
+		return this.tickTime;
+	}
+
+	/**
+	 * Return the wall time in nanoseconds the game objects of the given type spent in the given
+	 * phase during the last recorded tick.
+	 * @param type
+	 * 		The type of the game objects.
+	 * @param phase
+	 * 		The phase.
+	 */
+	public long getTime(Class<? extends GameObject> type, Phase phase) {
+		long[] times = this.tickTimes.get(type);
+		return times == null ? 0 : times[phase.ordinal()];
+	}
+
+	/**
+	 * Return the number of substeps the game objects of the given type used during the last
+	 * recorded tick.
+	 * @param type
+	 * 		The type of the game objects.
+	 */
+	public long getSubsteps(Class<? extends GameObject> type) {
+		long[] substeps = this.tickSubsteps.get(type);
+		return substeps == null ? 0 : substeps[0];
+	}
+
+	/**
+	 * Return the number of ticks recorded since the last reset of this profiler.
+	 */
+	@Basic
+	public long getNbTicks() {
+		return this.nbTicks;
+	}
+
+	/**
+	 * Return the total wall time in nanoseconds of all ticks recorded since the last reset of
+	 * this profiler.
+	 */
+	@Basic
+	public long getTotalTickTime() {
+		return this.totalTickTime;
+	}
+
+	/**
+	 * Return the total wall time in nanoseconds the game objects of the given type spent in the
+	 * given phase since the last reset of this profiler.
+	 * @param type
+	 * 		The type of the game objects.
+	 * @param phase
+	 * 		The phase.
+	 */
+	public long getTotalTime(Class<? extends GameObject> type, Phase phase) {
+		long[] times = this.totalTimes.get(type);
+		return times == null ? 0 : times[phase.ordinal()];
+	}
+
+	/**
+	 * Return the total number of substeps the game objects of the given type used since the last
+	 * reset of this profiler.
+	 * @param type
+	 * 		The type of the game objects.
+	 */
+	public long getTotalSubsteps(Class<? extends GameObject> type) {
+		long[] substeps = this.totalSubsteps.get(type);
+		return substeps == null ? 0 : substeps[0];
+	}
+
+	/**
+	 * Return the types of game objects that have been recorded by this profiler.
+	 */
+	public Set<Class<? extends GameObject>> getProfiledTypes() {
+		Set<Class<? extends GameObject>> result = new HashSet<>(this.tickTimes.keySet());
+		result.addAll(this.totalTimes.keySet());
+		return result;
+	}
+
+	/**
+	 * Clear all recorded times and substeps of this profiler.
+	 * @post | new.getNbTicks() == 0 && new.getTotalTickTime() == 0 && new.getTickTime() == 0
+	 * @post | new.getProfiledTypes().isEmpty()
+	 */
+	public void reset() {
+		this.tickTimes.clear();
+		this.tickSubsteps.clear();
+		this.totalTimes.clear();
+		this.totalSubsteps.clear();
+		this.tickTime = 0;
+		this.totalTickTime = 0;
+		this.nbTicks = 0;
+	}
+
+	/**
+	 * Return a summary of the last recorded tick, with the time in milliseconds per type for each
+	 * phase in the order of the phases, and the number of substeps per type.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder result = new StringBuilder(String.format("%.2fms", this.getTickTime() / 1e6));
+		for (Map.Entry<Class<? extends GameObject>,long[]> entry : this.tickTimes.entrySet()) {
+			result.append(String.format(" | %s ", entry.getKey().getSimpleName()));
+			for (Phase phase : PHASES)
+				result.append(String.format(phase.ordinal() == 0 ? "%.2f" : "/%.2f",
+						entry.getValue()[phase.ordinal()] / 1e6));
+			result.append(String.format(" (%d substeps)", this.getSubsteps(entry.getKey())));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Map registering the times per phase of the last tick, per type of game object.
+	 */
+	private final Map<Class<? extends GameObject>,long[]> tickTimes = new HashMap<>();
+
+	/**
+	 * Map registering the substeps of the last tick, per type of game object.
+	 */
+	private final Map<Class<? extends GameObject>,long[]> tickSubsteps = new HashMap<>();
+
+	/**
+	 * Map registering the total times per phase since the last reset, per type of game object.
+	 */
+	private final Map<Class<? extends GameObject>,long[]> totalTimes = new HashMap<>();
+
+	/**
+	 * Map registering the total substeps since the last reset, per type of game object.
+	 */
+	private final Map<Class<? extends GameObject>,long[]> totalSubsteps = new HashMap<>();
+
+	/**
+	 * Variable registering the times of the game object that is being recorded, or null if no
+	 * game object is being recorded.
+	 */
+	private long[] currentTimes;
+
+	/**
+	 * Variable registering the phase the recorded game object is in.
+	 */
+	private Phase currentPhase = Phase.MOVEMENT;
+
+	/**
+	 * Variable registering the moment of the last phase switch, in nanoseconds.
+	 */
+	private long lastSwitch;
+
+	/**
+	 * Variable registering whether a tick is being recorded.
+	 */
+	private boolean recording;
+
+	/**
+	 * Variable registering the start of the current tick in nanoseconds.
+	 */
+	private long tickStart;
+
+	/**
+	 * Variable registering the wall time of the last tick in nanoseconds.
+	 */
+	private long tickTime;
+
+	/**
+	 * Variable registering the total wall time of all recorded ticks in nanoseconds.
+	 */
+	private long totalTickTime;
+
+	/**
+	 * Variable registering the number of recorded ticks.
+	 */
+	private long nbTicks;
+
+}
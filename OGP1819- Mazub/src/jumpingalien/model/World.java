@@ -1,9 +1,23 @@
 package jumpingalien.model;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
+import jumpingalien.util.Sprite;
 import be.kuleuven.cs.som.annotate.Basic;
 import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Raw;
@@ -95,7 +109,7 @@ public class World {
 			throw new RuntimeException();
 		this.visibleWindowHeight = visibleWindowHeight;
 		this.setGeologicalFeatures(geologicalFeatures);
-		
+		this.initializeGrid();
 	}
 
 	/**
@@ -292,16 +306,35 @@ public class World {
 	 */
 	public int[] getPositionGeologicalFeature(int index) {
 		int pixelX = this.getTileLength()*(index%this.getNbTilesX());
-		int pixelY = this.getTileLength()*((int)(index/this.getNbTilesX()));
+		int pixelY = this.getTileLength()*(index/this.getNbTilesX());
 		return new int[] {pixelX,pixelY};
 	}
 	
 	/**
-	 * Return the geologicalFeatures of this World.
+	 * Return the geologicalFeatures of this World, on index row * this.getNbTilesX() + column.
+	 * The result is a new array that is assembled from the terrain chunks of this World.
+	 * @return
+	 * 		| result.length == this.getNbTilesX()*this.getNbTilesY() &&
+	 * 		| for each index in 0..result.length-1
+	 * 		|	result[index] == this.getGeologicalFeature(this.getPositionGeologicalFeature(index)[0],
+	 * 		|		this.getPositionGeologicalFeature(index)[1])
 	 */
-	@Basic @Raw
+	@Raw
 	public Geological[] getGeologicalFeatures() {
-		return this.geologicalFeatures;
+		int nbTilesX = this.getNbTilesX();
+		Geological[] result = new Geological[this.getNbTiles()];
+		for (int index = 0; index < result.length; index++)
+			result[index] = this.getTile(index % nbTilesX, index / nbTilesX);
+		return result;
+	}
+	
+	/**
+	 * Return the number of tiles of this World.
+	 * @return
+	 * 		| result == this.getNbTilesX()*this.getNbTilesY()
+	 */
+	private int getNbTiles() {
+		return this.getNbTilesX()*this.getNbTilesY();
 	}
 	
 	/**
@@ -345,15 +378,10 @@ public class World {
 	 *		 |	geologicalFeatures[index0] = Geological.AIR
 	 *		 |	
 	 *       |if (isValidGeologicalFeatures(geologicalFeatures)) 		
-	 *		 |	int index;
-	 *		 |		if (geologicalFeatures.length == 0) 
-	 *		 |			then for (index = 0;index < totalNbTiles; index++ )
-	 *	     |					geologicalFeaturesCopy[index] = Geological.AIR
-	 *		 |	
-	 *		 |	if (geologicalFeatures.length < totalNbTiles && geologicalFeatures.length !=0 ) 
-	 *		 | 		then for (index = geologicalFeatures.length;index < totalNbTiles; index++ )
-	 *		 |				geologicalFeaturesCopy[index] = Geological.AIR
-	 *		 |	this.geologicalFeatures = geologicalFeatures
+	 *		 |	for (index = 0;index < totalNbTiles; index++ )
+	 *		 |		if (index < geologicalFeatures.length)
+	 *		 |			then new.getGeologicalFeatures()[index] == geologicalFeatures[index]
+	 *		 |		else new.getGeologicalFeatures()[index] == Geological.AIR
 	 *      
 	 */
 	@Raw
@@ -362,27 +390,81 @@ public class World {
 			if (! isValidGeologicalFeature(geologicalFeatures[index0])) {
 				geologicalFeatures[index0] = Geological.AIR;
 			}
-		int totalNbTiles = this.getNbTilesX()*this.getNbTilesY();
-		Geological[] geologicalFeaturesCopy = Arrays.copyOf(geologicalFeatures, totalNbTiles);
-		if (isValidGeologicalFeatures(geologicalFeatures)) {		
-			if (geologicalFeatures.length == 0) {
-				for (int index = 0;index < totalNbTiles; index++ )
-					geologicalFeaturesCopy[index] = Geological.AIR;
-			}
-			if (geologicalFeatures.length < totalNbTiles && geologicalFeatures.length !=0 ) {
-				for (int index = geologicalFeatures.length;index < totalNbTiles; index++ )
-					
-					geologicalFeaturesCopy[index] = Geological.AIR;
-			}
-			this.geologicalFeatures = geologicalFeaturesCopy;
+		if (isValidGeologicalFeatures(geologicalFeatures)) {
+			int nbTilesX = this.getNbTilesX();
+			int nbTilesY = this.getNbTilesY();
+			this.nbTerrainChunksX = (nbTilesX + TerrainChunk.MASK) >> TerrainChunk.SHIFT;
+			int nbTerrainChunksY = (nbTilesY + TerrainChunk.MASK) >> TerrainChunk.SHIFT;
+			this.terrainChunks = new TerrainChunk[this.nbTerrainChunksX * nbTerrainChunksY];
+			for (int chunkRow = 0; chunkRow < nbTerrainChunksY; chunkRow++)
+				for (int chunkColumn = 0; chunkColumn < this.nbTerrainChunksX; chunkColumn++) {
+					int firstColumn = chunkColumn << TerrainChunk.SHIFT;
+					int firstRow = chunkRow << TerrainChunk.SHIFT;
+					this.terrainChunks[chunkRow * this.nbTerrainChunksX + chunkColumn] = TerrainChunk.of(
+							geologicalFeatures, nbTilesX, firstColumn, firstRow,
+							Math.min(TerrainChunk.SIZE, nbTilesX - firstColumn),
+							Math.min(TerrainChunk.SIZE, nbTilesY - firstRow));
+				}
 		}
 
 	}
 	
 	/**
-	 * Variable registering the geologicalFeatures of this World.
+	 * Variable registering the terrain chunks of this World, on index
+	 * chunkRow * nbTerrainChunksX + chunkColumn. The chunk on chunkColumn and chunkRow holds
+	 * the tiles whose column and row, shifted right by TerrainChunk.SHIFT, are chunkColumn
+	 * and chunkRow. Chunks whose tiles in this World all have the same geological feature
+	 * are shared uniform chunks.
+	 */
+	private TerrainChunk[] terrainChunks;
+	
+	/**
+	 * Variable registering the number of columns of terrain chunks of this World.
+	 */
+	private int nbTerrainChunksX;
+	
+	/**
+	 * Return the terrain chunk of this World that holds the tile on the given column and row.
+	 * @param column
+	 * 		The column of the tile.
+	 * @param row
+	 * 		The row of the tile.
+	 */
+	private TerrainChunk getTerrainChunk(int column, int row) {
+		return this.terrainChunks[(row >> TerrainChunk.SHIFT) * this.nbTerrainChunksX +
+				(column >> TerrainChunk.SHIFT)];
+	}
+	
+	/**
+	 * Return the geological feature of the tile of this World on the given column and row.
+	 * @param column
+	 * 		The column of the tile.
+	 * @param row
+	 * 		The row of the tile.
+	 */
+	private Geological getTile(int column, int row) {
+		return this.getTerrainChunk(column, row).getGeologicalFeature(column & TerrainChunk.MASK,
+				row & TerrainChunk.MASK);
+	}
+	
+	/**
+	 * Return the number of terrain chunks of this World whose tiles are stored separately,
+	 * because not all of their tiles have the same geological feature.
+	 */
+	public int getNbMaterialisedTerrainChunks() {
+		int result = 0;
+		for (TerrainChunk chunk: this.terrainChunks)
+			if (! chunk.isUniform())
+				result++;
+		return result;
+	}
+	
+	/**
+	 * Return the total number of terrain chunks of this World.
 	 */
-	private Geological[] geologicalFeatures;
+	public int getNbTerrainChunks() {
+		return this.terrainChunks.length;
+	}
 	
 	/**
 	 * Check whether the given geological feature is a valid geological feature.
@@ -416,13 +498,70 @@ public class World {
 	 */
 	@Basic @Raw
 	public Geological getGeologicalFeature(int pixelX,int pixelY) {
-		int tilePosX = ((int) pixelX/this.getTileLength());
-		int tilePosY = ((int) pixelY/this.getTileLength());
-		int index = tilePosY * this.getNbTilesX() + tilePosX;
-		if (index >= this.getGeologicalFeatures().length)
+		this.metrics.increment(ModelMetrics.Counter.TILE_PROBES);
+		int tilePosX = (pixelX/this.getTileLength());
+		int tilePosY = (pixelY/this.getTileLength());
+		return this.getTileOnPosition(tilePosX, tilePosY);
+	}
+	
+	/**
+	 * Return the geological feature of the tile of this World on the given tile position.
+	 * @param tilePosX
+	 * 		The column of the tile.
+	 * @param tilePosY
+	 * 		The row of the tile.
+	 * @return 
+	 * 		| int index = tilePosY * this.getNbTilesX() + tilePosX
+	 *		|	if (index >= this.getNbTilesX()*this.getNbTilesY())
+	 *		|	then result == Geological.AIR
+	 *		| else
+	 *		|   result == this.getGeologicalFeatures()[index]
+	 * @throws ArrayIndexOutOfBoundsException
+	 * 		| tilePosY * this.getNbTilesX() + tilePosX < 0
+	 */
+	private Geological getTileOnPosition(int tilePosX, int tilePosY) throws ArrayIndexOutOfBoundsException {
+		if (tilePosX >= 0 && tilePosX < this.getNbTilesX() && tilePosY >= 0 && tilePosY < this.getNbTilesY())
+			return this.getTile(tilePosX, tilePosY);
+		int index = this.checkTileIndex(tilePosY * this.getNbTilesX() + tilePosX);
+		if (index >= this.getNbTiles())
 			return Geological.AIR;
-		
-		return this.getGeologicalFeatures()[index];
+		return this.getTile(index % this.getNbTilesX(), index / this.getNbTilesX());
+	}
+	
+	/**
+	 * Return the given index of a tile of this World, if it is not negative.
+	 * A tile position with a column outside this World maps to the index of a tile on another
+	 * row, as in the geologicalFeatures of this World; only negative indices have no tile.
+	 * @param index
+	 * 		The index to check.
+	 * @return | result == index
+	 * @throws ArrayIndexOutOfBoundsException
+	 * 		| index < 0
+	 */
+	private int checkTileIndex(int index) throws ArrayIndexOutOfBoundsException {
+		if (index < 0)
+			throw new ArrayIndexOutOfBoundsException(index);
+		return index;
+	}
+	
+	/**
+	 * Return the last pixel coordinate that lies in the same tile as the given pixel coordinate,
+	 * as seen by getGeologicalFeature. All pixels from the given pixel coordinate up to the
+	 * result have the same geological feature, so an edge can be probed once per tile.
+	 * @param pixel
+	 * 		The pixelX or pixelY to start from.
+	 * @return The largest pixel coordinate whose truncated tile coordinate equals the truncated
+	 * 		   tile coordinate of the given pixel coordinate.
+	 * 		| let tilePos = (int) pixel/this.getTileLength()
+	 * 		| if (pixel > -this.getTileLength())
+	 * 		|	then result == (tilePos + 1) * this.getTileLength() - 1
+	 * 		| else result == tilePos * this.getTileLength()
+	 */
+	public int getLastPixelInTile(int pixel) {
+		int tilePos = pixel/this.getTileLength();
+		if (pixel > -this.getTileLength())
+			return (tilePos + 1) * this.getTileLength() - 1;
+		return tilePos * this.getTileLength();
 	}
 	
 	/**
@@ -436,25 +575,259 @@ public class World {
 	 * 		The geological feature to set on the given position in this world.
 	 * @post
 	 * 		|int index = tilePosY * this.getNbTilesX() + tilePosX
-	 *		|	if (index < this.getGeologicalFeatures().length)
+	 *		|	if (index < this.getNbTilesX()*this.getNbTilesY())
 	 *		|		then if (isValidGeologicalFeature(geologicalFeature)) 
-	 *		|				then new.geologicalFeatures[index] = geologicalFeature;
+	 *		|				then new.getGeologicalFeatures()[index] == geologicalFeature;
 	 *		|		else 
-	 *		|			new.geologicalFeatures[index] = Geological.AIR;
+	 *		|			new.getGeologicalFeatures()[index] == Geological.AIR;
 	 */
 	public void setGeologicalFeature(int pixelX, int pixelY,Geological geologicalFeature) {
-		int tilePosX = ((int) pixelX/this.getTileLength());
-		int tilePosY = ((int) pixelY/this.getTileLength());
-		int index = tilePosY * this.getNbTilesX() + tilePosX;
-		if (index < this.getGeologicalFeatures().length)
-			if (isValidGeologicalFeature(geologicalFeature)) {
-				this.geologicalFeatures[index] = geologicalFeature;
-			}
-			else {
-				this.geologicalFeatures[index] = Geological.AIR;
+		int tilePosX = (pixelX/this.getTileLength());
+		int tilePosY = (pixelY/this.getTileLength());
+		int index = this.checkTileIndex(tilePosY * this.getNbTilesX() + tilePosX);
+		if (index < this.getNbTiles()) {
+			if (! isValidGeologicalFeature(geologicalFeature))
+				geologicalFeature = Geological.AIR;
+			int column = index % this.getNbTilesX();
+			int row = index / this.getNbTilesX();
+			int chunkIndex = (row >> TerrainChunk.SHIFT) * this.nbTerrainChunksX + (column >> TerrainChunk.SHIFT);
+			TerrainChunk chunk = this.terrainChunks[chunkIndex].setGeologicalFeature(
+					column & TerrainChunk.MASK, row & TerrainChunk.MASK, geologicalFeature);
+			// share the uniform chunk again once all tiles of the chunk in this World are equal
+			int firstColumn = column & ~TerrainChunk.MASK;
+			int firstRow = row & ~TerrainChunk.MASK;
+			int width = Math.min(TerrainChunk.SIZE, this.getNbTilesX() - firstColumn);
+			int height = Math.min(TerrainChunk.SIZE, this.getNbTilesY() - firstRow);
+			if (! chunk.isUniform() &&
+					chunk.countGeologicalFeature(0, 0, width, height, geologicalFeature) == width * height)
+				chunk = TerrainChunk.uniform(geologicalFeature);
+			this.terrainChunks[chunkIndex] = chunk;
+		}
+	}
+	
+	/**
+	 * Return the class mask of the geological feature of this World on a given position.
+	 * @param pixelX
+	 * 		The pixelX (x-position) of the geological feature.
+	 * @param pixelY
+	 * 		The pixelY (y-position) of the geological feature.
+	 * @return 
+	 * 		| result == this.getGeologicalFeature(pixelX,pixelY).getClassMask()
+	 */
+	public byte getGeologicalClass(int pixelX,int pixelY) {
+		return this.getGeologicalFeature(pixelX, pixelY).getClassMask();
+	}
+	
+	/**
+	 * Check whether the geological feature of this World on a given position is impassable.
+	 * @param pixelX
+	 * 		The pixelX (x-position) of the geological feature.
+	 * @param pixelY
+	 * 		The pixelY (y-position) of the geological feature.
+	 * @return 
+	 * 		| result == this.getGeologicalFeature(pixelX,pixelY).isImpassable()
+	 */
+	public boolean isImpassable(int pixelX,int pixelY) {
+		return (this.getGeologicalClass(pixelX, pixelY) & Geological.IMPASSABLE_MASK) != 0;
+	}
+
+	/**
+	 * Return the column of the tile of this World that contains the given pixelX, clipped
+	 * to the columns of this World.
+	 * @param pixelX
+	 * 		The pixelX to convert.
+	 * @return
+	 * 		| result == Math.min(Math.max(Math.floorDiv(pixelX,this.getTileLength()),0),this.getNbTilesX()-1)
+	 */
+	private int getTileColumn(int pixelX) {
+		int column = Math.floorDiv(pixelX,this.getTileLength());
+		return Math.min(Math.max(column,0),this.getNbTilesX()-1);
+	}
+
+	/**
+	 * Return the row of the tile of this World that contains the given pixelY, clipped
+	 * to the rows of this World.
+	 * @param pixelY
+	 * 		The pixelY to convert.
+	 * @return
+	 * 		| result == Math.min(Math.max(Math.floorDiv(pixelY,this.getTileLength()),0),this.getNbTilesY()-1)
+	 */
+	private int getTileRow(int pixelY) {
+		int row = Math.floorDiv(pixelY,this.getTileLength());
+		return Math.min(Math.max(row,0),this.getNbTilesY()-1);
+	}
+
+	/**
+	 * Check whether the rectangle with the given bottom left pixel and the given dimensions
+	 * lies (partly) outside the tiles of this World.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @return
+	 * 		| result == (width <= 0) || (height <= 0) || (pixelX + width - 1 < 0) ||
+	 * 		|	(pixelY + height - 1 < 0) || (pixelX >= this.getWorldWidth()) || (pixelY >= this.getWorldHeight())
+	 */
+	private boolean isOutsideTiles(int pixelX, int pixelY, int width, int height) {
+		return (width <= 0) || (height <= 0) || (pixelX + width - 1 < 0) || (pixelY + height - 1 < 0) ||
+				(pixelX >= this.getWorldWidth()) || (pixelY >= this.getWorldHeight());
+	}
 
+	/**
+	 * Return the number of tiles of this World with the given geological feature that are
+	 * overlapped by the rectangle with the given bottom left pixel and the given dimensions.
+	 * The number is summed over the terrain chunks that the rectangle overlaps: a uniform
+	 * chunk contributes its overlapped area or nothing, and any other chunk reads the number
+	 * from its summed-area table of the geological feature with four array reads.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @param geologicalFeature
+	 * 		The geological feature to count.
+	 * @return
+	 * 		| if (this.isOutsideTiles(pixelX, pixelY, width, height))
+	 * 		|	then result == 0
+	 * 		| else result == number of tileX in getTileColumn(pixelX)..getTileColumn(pixelX + width - 1)
+	 * 		|	and tileY in getTileRow(pixelY)..getTileRow(pixelY + height - 1) with
+	 * 		|		this.getGeologicalFeatures()[tileY * this.getNbTilesX() + tileX] == geologicalFeature
+	 */
+	public int countGeologicalFeature(int pixelX, int pixelY, int width, int height,
+			Geological geologicalFeature) {
+		this.metrics.increment(ModelMetrics.Counter.TERRAIN_SCANS);
+		if (this.isOutsideTiles(pixelX, pixelY, width, height))
+			return 0;
+		int firstColumn = this.getTileColumn(pixelX);
+		int lastColumn = this.getTileColumn(pixelX + width - 1);
+		int firstRow = this.getTileRow(pixelY);
+		int lastRow = this.getTileRow(pixelY + height - 1);
+		int count = 0;
+		for (int chunkRow = firstRow >> TerrainChunk.SHIFT; chunkRow <= lastRow >> TerrainChunk.SHIFT; chunkRow++) {
+			int chunkFirstRow = chunkRow << TerrainChunk.SHIFT;
+			int startRow = Math.max(firstRow, chunkFirstRow) - chunkFirstRow;
+			int endRow = Math.min(lastRow, chunkFirstRow + TerrainChunk.MASK) + 1 - chunkFirstRow;
+			for (int chunkColumn = firstColumn >> TerrainChunk.SHIFT; 
+					chunkColumn <= lastColumn >> TerrainChunk.SHIFT; chunkColumn++) {
+				int chunkFirstColumn = chunkColumn << TerrainChunk.SHIFT;
+				int startColumn = Math.max(firstColumn, chunkFirstColumn) - chunkFirstColumn;
+				int endColumn = Math.min(lastColumn, chunkFirstColumn + TerrainChunk.MASK) + 1 - chunkFirstColumn;
+				count += this.terrainChunks[chunkRow * this.nbTerrainChunksX + chunkColumn].countGeologicalFeature(
+						startColumn, startRow, endColumn, endRow, geologicalFeature);
+			}
 		}
+		return count;
+	}
+
+	/**
+	 * Check whether the rectangle with the given bottom left pixel and the given dimensions
+	 * overlaps a tile of this World with the given geological feature.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @param geologicalFeature
+	 * 		The geological feature to look for.
+	 * @return
+	 * 		| result == (this.countGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature) > 0)
+	 */
+	public boolean overlapsGeologicalFeature(int pixelX, int pixelY, int width, int height,
+			Geological geologicalFeature) {
+		return this.countGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature) > 0;
+	}
+
+	/**
+	 * Check whether the rectangle with the given bottom left pixel and the given dimensions
+	 * overlaps a tile of this World with one of the given geological features.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @param geologicalFeatures
+	 * 		The set of geological features to look for.
+	 * @return
+	 * 		| result == for some geologicalFeature in geologicalFeatures
+	 * 		|	this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature)
+	 */
+	public boolean overlapsGeologicalFeatures(int pixelX, int pixelY, int width, int height,
+			Set<Geological> geologicalFeatures) {
+		for (Geological geologicalFeature: geologicalFeatures)
+			if (this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Check whether the rectangle with the given bottom left pixel and the given dimensions
+	 * overlaps a tile of this World whose class mask shares a bit with the given class mask.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @param classMask
+	 * 		The class mask to look for.
+	 * @return
+	 * 		| result == for some geologicalFeature in Geological.values() with 
+	 * 		|	(geologicalFeature.getClassMask() & classMask) != 0
+	 * 		|		this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature)
+	 */
+	public boolean overlapsGeologicalClass(int pixelX, int pixelY, int width, int height, int classMask) {
+		for (Geological geologicalFeature: GEOLOGICAL_FEATURES)
+			if (((geologicalFeature.getClassMask() & classMask) != 0) &&
+					(this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature)))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Return the union of the class masks of all tiles of this World that are overlapped by
+	 * the rectangle with the given bottom left pixel and the given dimensions.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @return
+	 * 		| for each geologicalFeature in Geological.values()
+	 * 		|	if (this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature))
+	 * 		|	then (result & geologicalFeature.getClassMask()) == geologicalFeature.getClassMask()
+	 */
+	public int getOverlappedGeologicalClasses(int pixelX, int pixelY, int width, int height) {
+		int classes = 0;
+		for (Geological geologicalFeature: GEOLOGICAL_FEATURES)
+			if ((geologicalFeature.getClassMask() != 0) &&
+					(this.overlapsGeologicalFeature(pixelX, pixelY, width, height, geologicalFeature)))
+				classes |= geologicalFeature.getClassMask();
+		return classes;
 	}
+	
+	/**
+	 * Constant registering all geological features, so that iterating over them does not
+	 * copy Geological.values().
+	 */
+	private static final Geological[] GEOLOGICAL_FEATURES = Geological.values();
 
 	/**
 	 * Return the targetTile of this World.
@@ -732,9 +1105,57 @@ public class World {
 	 */
 	@Basic @Raw
 	public Set<GameObject> getGameObjects() {
-		return this.gameObjects;
+		if (this.removedInTick == null)
+			return this.gameObjects;
+		return this.gameObjectsInTick;
 	}
 	
+	/**
+	 * A view of the game objects of this World that are not removed while islands are 
+	 * advanced in parallel. The view cannot be modified.
+	 */
+	private final Set<GameObject> gameObjectsInTick = new AbstractSet<GameObject>() {
+		
+		@Override
+		public Iterator<GameObject> iterator() {
+			Iterator<GameObject> objects = World.this.gameObjects.iterator();
+			return new Iterator<GameObject>() {
+				
+				@Override
+				public boolean hasNext() {
+					while ((this.next == null) && objects.hasNext()) {
+						GameObject object = objects.next();
+						if (World.this.hasAsGameObject(object))
+							this.next = object;
+					}
+					return this.next != null;
+				}
+				
+				@Override
+				public GameObject next() {
+					if (! this.hasNext())
+						throw new NoSuchElementException();
+					GameObject result = this.next;
+					this.next = null;
+					return result;
+				}
+				
+				private GameObject next = null;
+			};
+		}
+		
+		@Override
+		public int size() {
+			Set<GameObject> removed = World.this.removedInTick;
+			return World.this.gameObjects.size() - ((removed == null) ? 0 : removed.size());
+		}
+		
+		@Override
+		public boolean contains(Object object) {
+			return (object instanceof GameObject) && World.this.hasAsGameObject((GameObject) object);
+		}
+	};
+	
 	/**
 	 * Check whether the given gameObjects is a valid gameObjects for
 	 * any World.
@@ -765,13 +1186,150 @@ public class World {
 			throws RuntimeException {
 		if (! isValidGameObjects(gameObjects))
 			throw new RuntimeException();
+		for (GameObject object: this.gameObjects)
+			if (! gameObjects.contains(object))
+				this.entities.remove(object);
+		for (GameObject object: gameObjects)
+			this.entities.attach(object);
 		this.gameObjects = gameObjects;
+		this.tickOrder.clear();
+		this.tickRanks.clear();
+		for (GameObject object: gameObjects)
+			this.addToTickOrder(object);
+		for (Set<GameObject> partition: this.partitions.values())
+			partition.clear();
+		for (GameObject object: gameObjects)
+			this.addToPartition(object);
+		this.pendingRemovals.clear();
+		this.initializeGrid();
+		for (GameObject object: gameObjects)
+			this.updateGridCells(object);
 	}
 	
 	/**
 	 * Variable registering the gameObjects of this World.
 	 */
-	private Set<GameObject>  gameObjects = new HashSet<GameObject>();
+	private Set<GameObject>  gameObjects = new LinkedHashSet<GameObject>();
+
+	/**
+	 * Variable referencing the store that owns the state of the game objects of this world.
+	 */
+	final EntityStore entities = new EntityStore(16);
+	
+	/**
+	 * Return the game objects of this world whose class is the given class, in the order 
+	 * in which they were added. The result is a view that cannot be modified and that 
+	 * follows the game objects of this world, so iterating it does not scan the other
+	 * game objects.
+	 * @param type
+	 * 		The class of the game objects to return.
+	 * @return | for each object in this.getGameObjects():
+	 * 		   |	result.contains(object) == (object.getClass() == type)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends GameObject> Set<T> getGameObjectsOfClass(Class<T> type) {
+		Set<GameObject> partition = this.partitionViews.get(type);
+		if (partition == null)
+			return Collections.emptySet();
+		return (Set<T>) partition;
+	}
+	
+	/**
+	 * Register the given game object in the partition of its class.
+	 * @param object
+	 * 		The game object to register.
+	 */
+	private void addToPartition(GameObject object) {
+		Set<GameObject> partition = this.partitions.get(object.getClass());
+		if (partition == null) {
+			partition = new LinkedHashSet<>();
+			this.partitions.put(object.getClass(), partition);
+			this.partitionViews.put(object.getClass(), Collections.unmodifiableSet(partition));
+		}
+		partition.add(object);
+	}
+	
+	/**
+	 * Remove the given game object from the partition of its class.
+	 * @param object
+	 * 		The game object to remove.
+	 */
+	private void removeFromPartition(GameObject object) {
+		Set<GameObject> partition = this.partitions.get(object.getClass());
+		if (partition != null)
+			partition.remove(object);
+	}
+	
+	/**
+	 * Map registering for each class of game objects the game objects of this world of that
+	 * class, and a view on them that cannot be modified.
+	 */
+	private final Map<Class<? extends GameObject>,Set<GameObject>> partitions = new HashMap<>();
+	private final Map<Class<? extends GameObject>,Set<GameObject>> partitionViews = new HashMap<>();
+	
+	/**
+	 * List registering the game objects of this world in the order in which they are 
+	 * advanced, which is the order in which they were added. 
+	 * While this world advances its game objects, removed game objects stay in this list 
+	 * until the end of the tick.
+	 */
+	private final List<GameObject> tickOrder = new ArrayList<>();
+	
+	/**
+	 * Add the given game object at the end of the tick order of this world.
+	 * @param object
+	 * 		The game object to add.
+	 */
+	private void addToTickOrder(GameObject object) {
+		this.tickOrder.add(object);
+		this.tickRanks.put(object, this.nextTickRank++);
+	}
+	
+	/**
+	 * Map registering for each game object of this world its rank in the tick order of this
+	 * world. Game objects with a lower rank are advanced first.
+	 */
+	private final Map<GameObject,Integer> tickRanks = new HashMap<>();
+	
+	/**
+	 * Variable registering the rank in the tick order of the next game object added to this world.
+	 */
+	private int nextTickRank = 0;
+	
+	/**
+	 * Comparator ordering game objects of this world by their rank in its tick order.
+	 */
+	private final Comparator<GameObject> byTickRank = 
+			(first, second) -> Integer.compare(this.tickRanks.get(first), this.tickRanks.get(second));
+	
+	/**
+	 * List registering the game objects that were removed from this world while it advances
+	 * its game objects, and that still have to be removed from its tick order.
+	 */
+	private final List<GameObject> pendingRemovals = new ArrayList<>();
+	
+	/**
+	 * Variable registering whether this world is advancing its game objects.
+	 */
+	private boolean advancing = false;
+	
+	/**
+	 * Remove the game objects that were removed from this world while it advanced its game
+	 * objects from its tick order, keeping the order of the other game objects.
+	 * @post | new.pendingRemovals.isEmpty()
+	 */
+	private void applyPendingRemovals() {
+		if (this.pendingRemovals.isEmpty())
+			return;
+		int kept = 0;
+		for (int index = 0; index < this.tickOrder.size(); index++) {
+			GameObject object = this.tickOrder.get(index);
+			if (object.getWorld() == this)
+				this.tickOrder.set(kept++, object);
+		}
+		this.tickOrder.subList(kept, this.tickOrder.size()).clear();
+		this.pendingRemovals.clear();
+	}
 	
 	/**
 	 * Add the given object to the world.
@@ -792,13 +1350,13 @@ public class World {
 	 * @throws RuntimeException
 	 * 		| ((this.gameObjects.size() == this.maxGameObjects))
 	 * @throws RuntimeExcpetion
-	 *      | ((object.collidesWithGeological(object.getPixelX(), object.getPixelY(), Geological.getAllImpassable())) 
+	 *      | ((object.collidesWithImpassableTerrain(object.getPixelX(), object.getPixelY())) 
 	 *		|	&&  (object instanceof Mazub)) 
 	 *		|   &&  ( ! ((Mazub) object).mazubOnSolidGround())
 	 * @throws RuntimeException
 	 * 		| ((object instanceof Shark) || (object instanceof Slime)) 
-	 *		|		and ((object.collidesWithGeologicals(object.getPixelX(), 
-	 *		|		   object.getPixelY(), Geological.getAllImpassable()))
+	 *		|		and ((object.collidesWithImpassableTerrain(object.getPixelX(), 
+	 *		|		   object.getPixelY()))
 	 *		|		and  ( ! object.objectOnImpassableTerrain(object.getPixelX(),object.getPixelY()))) 					
 	 */
 	
@@ -815,8 +1373,12 @@ public class World {
 			if ((this.playableMazub == null) && (object instanceof Mazub)) {
 				this.setPlayableMazub((Mazub) object);
 				this.gameObjects.add(object);
+				this.entities.attach(object);
+				this.addToTickOrder(object);
+				this.addToPartition(object);
 				object.setWorld(this);
-				if ((object.collidesWithGeologicals(object.getPixelX(), object.getPixelY(), Geological.getAllImpassable())) &&
+				this.updateGridCells(object);
+				if ((object.collidesWithImpassableTerrain(object.getPixelX(), object.getPixelY())) &&
 						(object instanceof Mazub)) {
 							if ( ! (object.objectOnImpassableTerrain(object.getPixelX(),object.getPixelY()))) {
 								this.removeGameObject(object);
@@ -827,11 +1389,15 @@ public class World {
 			else {
 				
 				this.gameObjects.add(object);
+				this.entities.attach(object);
+				this.addToTickOrder(object);
+				this.addToPartition(object);
 				object.setWorld(this);
+				this.updateGridCells(object);
 				if (object instanceof Mazub)
 					throw new  RuntimeException();
 				if ((object instanceof Shark) || (object instanceof Slime))
-					if ((object.collidesWithGeologicals(object.getPixelX(), object.getPixelY(), Geological.getAllImpassable()))
+					if ((object.collidesWithImpassableTerrain(object.getPixelX(), object.getPixelY()))
 							&&  ( ! object.objectOnImpassableTerrain(
 									object.getPixelX(),object.getPixelY()))) {
 						this.removeGameObject(object);
@@ -871,11 +1437,35 @@ public class World {
 		else { 
 			if (this.getPlayableMazub() == object)
 				this.setPlayableMazub(null);
-			this.gameObjects.remove(object);
+			Set<GameObject> removed = this.removedInTick;
+			if (removed != null)
+				removed.add(object);
+			else {
+				this.gameObjects.remove(object);
+				this.unregister(object);
+			}
 			object.setWorld(null);
 		}		
 	}
 	
+	/**
+	 * Remove the given game object, that was removed from the game objects of this world,
+	 * from the other structures of this world.
+	 * @param object
+	 * 		The removed game object.
+	 */
+	private void unregister(GameObject object) {
+		this.dormantSince.remove(object);
+		this.tickRanks.remove(object);
+		this.removeFromPartition(object);
+		this.entities.remove(object);
+		if (this.advancing)
+			this.pendingRemovals.add(object);
+		else
+			this.tickOrder.remove(object);
+		this.removeFromGrid(object);
+	}
+	
 	/**
 	 * Boolean checking whether the world contains the given game object.
 	 * @param object
@@ -884,66 +1474,272 @@ public class World {
 	 * 		
 	 */
 	public boolean hasAsGameObject(GameObject object) {
-		return this.gameObjects.contains(object);
+		Set<GameObject> removed = this.removedInTick;
+		return this.gameObjects.contains(object) && ((removed == null) || (! removed.contains(object)));
 	}
 	
 	/**
-	 * Set the maximum of game objects of this world to the given maximum.
-	 * @param maximum
-	 * 			The maximum of game objects in this world.
-	 * @post new.maxGameObjects = gameObjects
+	 * Constant registering the length in pixels of the square cells of the grid in which
+	 * the game objects of a world are registered.
 	 */
-	@Raw
-	public void setMaxGameObjects(int max) {
-		this.maxGameObjects = max;
-	}
+	private static final int GRID_CELL_LENGTH = 256;
 	
 	/**
-	 * A method to get the maximum of game objects of this world.
-	 * @ return this.maxGameObjects
+	 * Return the column of the grid cell of this World that contains the given pixelX,
+	 * clipped to the columns of the grid.
+	 * @param pixelX
+	 * 		The pixelX to convert.
+	 * @return
+	 * 		| result == Math.min(Math.max(Math.floorDiv(pixelX,GRID_CELL_LENGTH),0),this.gridColumns-1)
 	 */
-	@Basic @Raw
-	public int getMaxGameObjects(){
-		return this.maxGameObjects;
-		
+	private int getGridColumn(int pixelX) {
+		return Math.min(Math.max(Math.floorDiv(pixelX,GRID_CELL_LENGTH),0),this.gridColumns-1);
 	}
 	
 	/**
-	 * A variable registering the maximum of game objects in the world
+	 * Return the row of the grid cell of this World that contains the given pixelY,
+	 * clipped to the rows of the grid.
+	 * @param pixelY
+	 * 		The pixelY to convert.
+	 * @return
+	 * 		| result == Math.min(Math.max(Math.floorDiv(pixelY,GRID_CELL_LENGTH),0),this.gridRows-1)
 	 */
-	private int maxGameObjects =  101;
+	private int getGridRow(int pixelY) {
+		return Math.min(Math.max(Math.floorDiv(pixelY,GRID_CELL_LENGTH),0),this.gridRows-1);
+	}
 	
 	/**
-	 * Set the given Mazub as the playable Mazub of this world.
-	 * @param mazub
-	 * 		The mazub to set as playable Mazub for this world.
-	 * @post
-	 *     | new.getPlayableMazub() == mazub
+	 * Create the (empty) grid of this World, with cells covering the whole world.
+	 * Game objects outside the world are registered in the cells at the border of the world.
 	 */
-	public void setPlayableMazub(Mazub mazub) {
-		this.playableMazub = mazub;
-		this.setVisibleWindowX();
-		this.setVisibleWindowY();
+	private void initializeGrid() {
+		this.gridColumns = Math.max((this.getWorldWidth() - 1)/GRID_CELL_LENGTH + 1, 1);
+		this.gridRows = Math.max((this.getWorldHeight() - 1)/GRID_CELL_LENGTH + 1, 1);
+		this.grid = new ArrayList<>(this.gridColumns*this.gridRows);
+		for (int index = 0; index < this.gridColumns*this.gridRows; index++)
+			this.grid.add(new ArrayList<GameObject>());
+		this.gridCells.clear();
 	}
 	
 	/**
-	 * A method to return the playable mazub of this world.
-	 * @return this.playableMazub
+	 * Register the given game object in the cells of the grid of this World that are covered 
+	 * by its current sprite, if it is not already registered in exactly these cells.
+	 * @param object
+	 * 		The game object to register.
+	 * @post The given game object is registered in each grid cell that is covered by its 
+	 * 		 current sprite on its current position, and in no other grid cell.
+	 * 		 While islands are advanced in parallel, the grid is not changed: the game objects 
+	 * 		 of the islands are registered again when all islands have been advanced.
 	 */
-	@Basic @Raw 
-	public Mazub getPlayableMazub() {
-		return this.playableMazub;
-		
+	void updateGridCells(GameObject object) {
+		if ((this.grid == null) || (this.removedInTick != null) || (! this.hasAsGameObject(object)) || 
+				(object.getCurrentSprite() == null))
+			return;
+		int firstColumn = this.getGridColumn(object.getPixelX());
+		int lastColumn = this.getGridColumn(object.getPixelX() + object.getCurrentSprite().getWidth() - 1);
+		int firstRow = this.getGridRow(object.getPixelY());
+		int lastRow = this.getGridRow(object.getPixelY() + object.getCurrentSprite().getHeight() - 1);
+		int[] cells = this.gridCells.get(object);
+		if (cells != null) {
+			if ((cells[0] == firstColumn) && (cells[1] == lastColumn) && (cells[2] == firstRow) && 
+					(cells[3] == lastRow))
+				return;
+			this.removeFromGridCells(object, cells);
+		}
+		else {
+			cells = new int[4];
+			this.gridCells.put(object, cells);
+		}
+		cells[0] = firstColumn;
+		cells[1] = lastColumn;
+		cells[2] = firstRow;
+		cells[3] = lastRow;
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++)
+				this.grid.get(row*this.gridColumns + column).add(object);
 	}
 	
 	/**
-	 * Variable registering the playable mazub.
+	 * Remove the given game object from the grid of this World.
+	 * @param object
+	 * 		The game object to remove.
+	 * @post The given game object is not registered in any grid cell of this World.
 	 */
-	private Mazub playableMazub;
+	private void removeFromGrid(GameObject object) {
+		int[] cells = this.gridCells.remove(object);
+		if (cells != null)
+			this.removeFromGridCells(object, cells);
+	}
 	
+	/**
+	 * Remove the given game object from the given range of grid cells of this World.
+	 * @param object
+	 * 		The game object to remove.
+	 * @param cells
+	 * 		The first column, last column, first row and last row of the range.
+	 */
+	private void removeFromGridCells(GameObject object, int[] cells) {
+		for (int row = cells[2]; row <= cells[3]; row++)
+			for (int column = cells[0]; column <= cells[1]; column++)
+				this.grid.get(row*this.gridColumns + column).remove(object);
+	}
 	
 	/**
-	 * Terminate the given world
+	 * Return the game objects of this World that are registered in a grid cell covered by the
+	 * rectangle with the given bottom left pixel and the given dimensions.
+	 * Each game object is returned once. Every game object whose current sprite overlaps 
+	 * the rectangle is part of the result, but the result can also contain game objects that
+	 * are near the rectangle without overlapping it.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @return
+	 * 		| for each object in this.getGameObjects()
+	 * 		|	if (object.collidesWithOtherGameObect(...) with the given rectangle)
+	 * 		|	then result.contains(object)
+	 */
+	public List<GameObject> getGameObjectsNear(int pixelX, int pixelY, int width, int height) {
+		List<GameObject> result = new ArrayList<>();
+		this.getGameObjectsNear(pixelX, pixelY, width, height, result);
+		return result;
+	}
+	
+	/**
+	 * Replace the contents of the given list by the game objects of this World near the 
+	 * given rectangle, without allocating a new list.
+	 * @param pixelX
+	 * 		The pixelX of the bottom left pixel of the rectangle.
+	 * @param pixelY
+	 * 		The pixelY of the bottom left pixel of the rectangle.
+	 * @param width
+	 * 		The width of the rectangle in pixels.
+	 * @param height
+	 * 		The height of the rectangle in pixels.
+	 * @param result
+	 * 		The list to fill.
+	 * @post | new.result.equals(this.getGameObjectsNear(pixelX, pixelY, width, height))
+	 * @note While islands are advanced in parallel, the grid is not changed. The game objects
+	 * 		 of the island that is advanced by the current thread are then looked up on their 
+	 * 		 current position instead of in the grid.
+	 */
+	public void getGameObjectsNear(int pixelX, int pixelY, int width, int height, 
+			List<GameObject> result) {
+		result.clear();
+		if (this.grid == null)
+			return;
+		int firstColumn = this.getGridColumn(pixelX);
+		int lastColumn = this.getGridColumn(pixelX + width - 1);
+		int firstRow = this.getGridRow(pixelY);
+		int lastRow = this.getGridRow(pixelY + height - 1);
+		Set<GameObject> removed = this.removedInTick;
+		List<GameObject> island = (removed == null) ? null : this.currentIsland.get();
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++) {
+				List<GameObject> cell = this.grid.get(row*this.gridColumns + column);
+				for (int index = 0; index < cell.size(); index++) {
+					GameObject object = cell.get(index);
+					if ((removed != null) && (removed.contains(object) || 
+							((island != null) && (this.islandOf.get(object) == island))))
+						continue;
+					// Only report an object in the first cell it shares with the rectangle.
+					int[] cells = this.gridCells.get(object);
+					if ((column == Math.max(cells[0], firstColumn)) && (row == Math.max(cells[2], firstRow)))
+						result.add(object);
+				}
+			}
+		if (island != null)
+			for (GameObject object: island)
+				if ((object.getWorld() == this) && 
+						(this.getGridColumn(object.getPixelX()) <= lastColumn) &&
+						(firstColumn <= this.getGridColumn(object.getPixelX() + object.getCurrentSprite().getWidth() - 1)) &&
+						(this.getGridRow(object.getPixelY()) <= lastRow) &&
+						(firstRow <= this.getGridRow(object.getPixelY() + object.getCurrentSprite().getHeight() - 1)))
+					result.add(object);
+	}
+	
+	/**
+	 * Variable registering the cells of the grid of this World, row by row.
+	 */
+	private List<List<GameObject>> grid;
+	
+	/**
+	 * Variable registering, for each game object in the grid of this World, the first column,
+	 * last column, first row and last row of the grid cells in which it is registered.
+	 */
+	private final Map<GameObject,int[]> gridCells = new HashMap<>();
+	
+	/**
+	 * Variable registering the number of columns of the grid of this World.
+	 */
+	private int gridColumns;
+	
+	/**
+	 * Variable registering the number of rows of the grid of this World.
+	 */
+	private int gridRows;
+	
+	/**
+	 * Set the maximum of game objects of this world to the given maximum.
+	 * @param maximum
+	 * 			The maximum of game objects in this world.
+	 * @post new.maxGameObjects = gameObjects
+	 */
+	@Raw
+	public void setMaxGameObjects(int max) {
+		this.maxGameObjects = max;
+	}
+	
+	/**
+	 * A method to get the maximum of game objects of this world.
+	 * @ return this.maxGameObjects
+	 */
+	@Basic @Raw
+	public int getMaxGameObjects(){
+		return this.maxGameObjects;
+		
+	}
+	
+	/**
+	 * A variable registering the maximum of game objects in the world
+	 */
+	private int maxGameObjects =  101;
+	
+	/**
+	 * Set the given Mazub as the playable Mazub of this world.
+	 * @param mazub
+	 * 		The mazub to set as playable Mazub for this world.
+	 * @post
+	 *     | new.getPlayableMazub() == mazub
+	 */
+	public void setPlayableMazub(Mazub mazub) {
+		this.playableMazub = mazub;
+		this.setVisibleWindowX();
+		this.setVisibleWindowY();
+	}
+	
+	/**
+	 * A method to return the playable mazub of this world.
+	 * @return this.playableMazub
+	 */
+	@Basic @Raw 
+	public Mazub getPlayableMazub() {
+		return this.playableMazub;
+		
+	}
+	
+	/**
+	 * Variable registering the playable mazub.
+	 */
+	private Mazub playableMazub;
+	
+	
+	/**
+	 * Terminate the given world
 	 * @post new.isTerminated()
 	 * @post 
 	 * 		|if (! this.isTerminated())
@@ -983,20 +1779,702 @@ public class World {
 			throw new IllegalArgumentException();
 		if (deltaT > 0.2) 
 			throw new IllegalArgumentException();
-		if (this.getPlayableMazub()!= null) {
-			this.getPlayableMazub().advanceTime(deltaT);
-		}
-		Set<GameObject> copyGameObjects = this.getGameObjects();
-		Set<GameObject> newSet = copyGameObjects.stream().collect(Collectors.toSet());	
-		for (GameObject i: newSet) {
-			if (i != this.getPlayableMazub()) {
-				i.advanceTime(deltaT);
+		WorldTickEvent tickEvent = new WorldTickEvent();
+		tickEvent.begin();
+		long substepsBefore = this.totalSubsteps;
+		int objectCount = 0;
+		this.tickProfiler.beginTick();
+		this.metrics.increment(ModelMetrics.Counter.TICKS);
+		List<GameObject> objects = this.tickOrder;
+		if (this.isActiveRegionEnabled())
+			objects = this.updateActiveGameObjects();
+		else
+			this.activeObjects = null;
+		boolean checkDormant = ! this.dormantSince.isEmpty();
+		List<GameObject> parallelObjects = null;
+		boolean inPasses = this.isEntitySystemsEnabled() && (! this.tickProfiler.isEnabled());
+		if (this.isParallelTickEnabled() && (! inPasses) && (! this.tickProfiler.isEnabled()))
+			parallelObjects = new ArrayList<>(this.tickOrder.size());
+		this.advancing = true;
+		this.entities.beginAdvance();
+		try {
+			if (this.getPlayableMazub()!= null) {
+				if (inPasses)
+					this.addToPass(this.getPlayableMazub(), objectCount);
+				else
+					this.advanceTimeOf(this.getPlayableMazub(), deltaT);
+				objectCount++;
+			}
+			// Game objects removed during the loop stay in the tick order until the loop ends.
+			int nbObjects = objects.size();
+			for (int index = 0; index < nbObjects; index++) {
+				GameObject object = objects.get(index);
+				if ((object == this.getPlayableMazub()) || (object.getWorld() != this))
+					continue;
+				if (checkDormant && this.isDormant(object)) {
+					this.catchUp(object);
+					if (object.getWorld() != this)
+						continue;
+				}
+				if (inPasses)
+					this.addToPass(object, objectCount);
+				else if (parallelObjects != null)
+					parallelObjects.add(object);
+				else
+					this.advanceTimeOf(object, deltaT);
+				objectCount++;
 			}
+			if (inPasses)
+				EntitySystems.advance(this.entities, this.passBatch, objectCount, deltaT);
+			if (parallelObjects != null)
+				this.advanceTimeInParallel(parallelObjects, deltaT);
+		} finally {
+			this.advancing = false;
+			this.applyPendingRemovals();
+			this.entities.endAdvance();
+			this.time += deltaT;
+			this.tickProfiler.endTick();
 		}
 		this.setVisibleWindowX();
 		this.setVisibleWindowY();
+		tickEvent.end();
+		if (tickEvent.shouldCommit()) {
+			tickEvent.deltaT = deltaT;
+			tickEvent.objectCount = objectCount;
+			tickEvent.substeps = this.totalSubsteps - substepsBefore;
+			tickEvent.commit();
+		}
 	}
 	
+	/**
+	 * Constant referencing an object tick event that is never committed. It tells whether 
+	 * object tick events are recorded, so that no event is created for each game object 
+	 * while they are not.
+	 */
+	private static final ObjectTickEvent OBJECT_TICK_EVENTS = new ObjectTickEvent();
+	
+	/**
+	 * Advance the time of the given game object of this world, while counting and profiling its work.
+	 * @param gameObject
+	 * 		The game object whose time is advanced.
+	 * @param deltaT
+	 * 		The time by which the game object is advanced.
+	 * @effect | gameObject.advanceTime(deltaT)
+	 * @effect | this.getMetrics().increment(ModelMetrics.Counter.OBJECTS_SIMULATED)
+	 */
+	private void advanceTimeOf(GameObject gameObject, double deltaT) {
+		ObjectTickEvent objectEvent = null;
+		if (OBJECT_TICK_EVENTS.isEnabled()) {
+			objectEvent = new ObjectTickEvent();
+			objectEvent.begin();
+		}
+		long[] substeps = this.threadSubsteps.get();
+		long substepsBefore = substeps[0];
+		this.metrics.increment(ModelMetrics.Counter.OBJECTS_SIMULATED);
+		this.tickProfiler.beginObject(gameObject);
+		try {
+			gameObject.advanceTime(deltaT);
+		} finally {
+			this.tickProfiler.endObject();
+		}
+		if (objectEvent == null)
+			return;
+		objectEvent.end();
+		if (objectEvent.shouldCommit()) {
+			objectEvent.objectType = gameObject.getClass().getSimpleName();
+			objectEvent.substeps = substeps[0] - substepsBefore;
+			objectEvent.commit();
+		}
+	}
+	
+	/**
+	 * Put the given game object of this world on the given position of the batch of game 
+	 * objects that this world advances in passes in the current tick, and count it.
+	 * @param gameObject
+	 * 		The game object to advance in passes.
+	 * @param position
+	 * 		The position of the game object in the batch.
+	 * @effect | this.getMetrics().increment(ModelMetrics.Counter.OBJECTS_SIMULATED)
+	 */
+	private void addToPass(GameObject gameObject, int position) {
+		if (position == this.passBatch.length)
+			this.passBatch = Arrays.copyOf(this.passBatch, 2 * position);
+		this.passBatch[position] = gameObject.entity;
+		this.metrics.increment(ModelMetrics.Counter.OBJECTS_SIMULATED);
+	}
+	
+	/**
+	 * Variable registering the indices in the store of this world of the game objects that 
+	 * this world advances in passes in the current tick. The array is reused from tick to tick.
+	 */
+	private int[] passBatch = new int[16];
+	
+	/**
+	 * Return the game objects in the active region of this world, other than the playable 
+	 * Mazub, in the order in which this world advances them. The game objects in the active
+	 * region are looked up in the grid of this world. The game objects that were advanced in 
+	 * the previous tick, or all game objects if the active region was not enabled then, and 
+	 * that are no longer in the active region become dormant.
+	 * @return | for each object in this.getGameObjects()
+	 * 		   |	result.contains(object) == 
+	 * 		   |		((object != this.getPlayableMazub()) && this.isInActiveRegion(object))
+	 * @post | for each object in this.getGameObjects()
+	 * 		 |	if ((object != this.getPlayableMazub()) && (! this.isInActiveRegion(object)))
+	 * 		 |		then new.isDormant(object)
+	 */
+	private List<GameObject> updateActiveGameObjects() {
+		List<GameObject> previous = (this.activeObjects == null) ? this.tickOrder : this.activeObjects;
+		List<GameObject> active = this.nextActiveObjects;
+		int margin = this.getActiveRegionMargin();
+		// The rectangle also covers the pixels just outside the active region, which game
+		// objects in the active region can touch.
+		this.getGameObjectsNear(this.getVisibleWindowX() - margin - 1, this.getVisibleWindowY() - margin - 1, 
+				this.getVisibleWindowWidth() + 2*margin + 2, this.getVisibleWindowHeight() + 2*margin + 2, active);
+		int kept = 0;
+		for (int index = 0; index < active.size(); index++) {
+			GameObject object = active.get(index);
+			if ((object != this.getPlayableMazub()) && this.isInActiveRegion(object))
+				active.set(kept++, object);
+		}
+		active.subList(kept, active.size()).clear();
+		active.sort(this.byTickRank);
+		// Both lists are in tick order, so the game objects that left are found in one pass.
+		int next = 0;
+		for (int index = 0; index < previous.size(); index++) {
+			GameObject object = previous.get(index);
+			if ((object == this.getPlayableMazub()) || (object.getWorld() != this))
+				continue;
+			int rank = this.tickRanks.get(object);
+			while ((next < active.size()) && (this.tickRanks.get(active.get(next)) < rank))
+				next++;
+			if ((next == active.size()) || (active.get(next) != object))
+				this.dormantSince.putIfAbsent(object, this.time);
+		}
+		this.nextActiveObjects = (this.activeObjects == null) ? new ArrayList<>() : this.activeObjects;
+		this.activeObjects = active;
+		return active;
+	}
+	
+	/**
+	 * Variable registering the game objects that were in the active region of this world in
+	 * the last tick, or null if the active region was not enabled in the last tick.
+	 */
+	private List<GameObject> activeObjects = null;
+	
+	/**
+	 * Variable registering the list in which the game objects in the active region of this 
+	 * world are collected in the next tick.
+	 */
+	private List<GameObject> nextActiveObjects = new ArrayList<>();
+	
+	/**
+	 * Check whether the given game object is in the active region of this world. 
+	 * The active region is the visible window of this world, extended by
+	 * the active region margin of this world on each side. The playable Mazub is always in
+	 * the active region.
+	 * @param object
+	 * 		The game object to check.
+	 * @return | if (object == this.getPlayableMazub())
+	 * 		   |	then result == true
+	 * 		   | else result == 
+	 * 		   |	(object.getPixelX() + object.getCurrentSprite().getWidth() >= this.getVisibleWindowX() - this.getActiveRegionMargin())
+	 * 		   |	&& (object.getPixelX() <= this.getVisibleWindowX() + this.getVisibleWindowWidth() + this.getActiveRegionMargin())
+	 * 		   |	&& (object.getPixelY() + object.getCurrentSprite().getHeight() >= this.getVisibleWindowY() - this.getActiveRegionMargin())
+	 * 		   |	&& (object.getPixelY() <= this.getVisibleWindowY() + this.getVisibleWindowHeight() + this.getActiveRegionMargin())
+	 */
+	public boolean isInActiveRegion(GameObject object) {
+		if (object == this.getPlayableMazub())
+			return true;
+		int margin = this.getActiveRegionMargin();
+		return (object.getPixelX() + object.getCurrentSprite().getWidth() >= this.getVisibleWindowX() - margin) 
+				&& (object.getPixelX() <= this.getVisibleWindowX() + this.getVisibleWindowWidth() + margin)
+				&& (object.getPixelY() + object.getCurrentSprite().getHeight() >= this.getVisibleWindowY() - margin)
+				&& (object.getPixelY() <= this.getVisibleWindowY() + this.getVisibleWindowHeight() + margin);
+	}
+	
+	/**
+	 * Bring the given dormant game object of this world up to the current time of this world,
+	 * in steps of at most CATCH_UP_STEP, as long as it stays in this world. A game object 
+	 * catches up on at most MAX_CATCH_UP_TIME seconds: the rest of the time it was dormant
+	 * is skipped, so that bringing it up to date takes a bounded number of steps.
+	 * @param object
+	 * 		The game object to bring up to date.
+	 * @post | ! new.isDormant(object)
+	 */
+	private void catchUp(GameObject object) {
+		this.metrics.increment(ModelMetrics.Counter.CATCH_UPS);
+		double time = Math.min(this.time - this.dormantSince.remove(object), MAX_CATCH_UP_TIME);
+		while ((time > 0) && (object.getWorld() == this)) {
+			double step = Math.min(time, CATCH_UP_STEP);
+			this.advanceTimeOf(object, step);
+			time -= step;
+		}
+	}
+	
+	/**
+	 * Constant registering the largest step in seconds by which dormant game objects are 
+	 * brought up to date.
+	 */
+	private static final double CATCH_UP_STEP = 0.2;
+	
+	/**
+	 * Constant registering the largest time in seconds on which a dormant game object 
+	 * catches up.
+	 */
+	private static final double MAX_CATCH_UP_TIME = 1.0;
+	
+	/**
+	 * Check whether the given game object of this world is dormant.
+	 * @param object
+	 * 		The game object to check.
+	 */
+	public boolean isDormant(GameObject object) {
+		return this.dormantSince.containsKey(object);
+	}
+	
+	/**
+	 * Return the number of dormant game objects in this world.
+	 */
+	public int getNbDormantGameObjects() {
+		return this.dormantSince.size();
+	}
+	
+	/**
+	 * Return the time by which this world has been advanced since it was created.
+	 */
+	@Basic @Raw
+	public double getTime() {
+		return this.time;
+	}
+	
+	/**
+	 * Variable registering the time by which this world has been advanced since it was created.
+	 */
+	private double time = 0;
+	
+	/**
+	 * Map registering for each dormant game object of this world the time of this world
+	 * at which it was advanced for the last time.
+	 */
+	private final Map<GameObject,Double> dormantSince = new HashMap<>();
+	
+	/**
+	 * Check whether this world only advances the game objects in its active region.
+	 */
+	@Basic @Raw
+	public boolean isActiveRegionEnabled() {
+		return this.activeRegionEnabled;
+	}
+	
+	/**
+	 * Set whether this world only advances the game objects in its active region. 
+	 * When disabled, all dormant game objects are brought up to date in the next tick.
+	 * @param enabled
+	 * 		The new state of the active region of this world.
+	 * @post | new.isActiveRegionEnabled() == enabled
+	 */
+	public void setActiveRegionEnabled(boolean enabled) {
+		this.activeRegionEnabled = enabled;
+	}
+	
+	/**
+	 * Variable registering whether this world only advances the game objects in its active region.
+	 */
+	private boolean activeRegionEnabled = false;
+	
+	/**
+	 * Return the number of pixels by which the active region of this world extends the visible 
+	 * window on each side.
+	 */
+	@Basic @Raw
+	public int getActiveRegionMargin() {
+		return this.activeRegionMargin;
+	}
+	
+	/**
+	 * Set the number of pixels by which the active region of this world extends the visible 
+	 * window on each side.
+	 * @param margin
+	 * 		The new margin of the active region of this world.
+	 * @post | new.getActiveRegionMargin() == margin
+	 * @throws IllegalArgumentException
+	 * 		| margin < 0
+	 */
+	public void setActiveRegionMargin(int margin) throws IllegalArgumentException {
+		if (margin < 0)
+			throw new IllegalArgumentException();
+		this.activeRegionMargin = margin;
+	}
+	
+	/**
+	 * Variable registering the number of pixels by which the active region of this world 
+	 * extends the visible window on each side.
+	 */
+	private int activeRegionMargin = 500;
+	
+	/**
+	 * Advance the time of the given game objects, which do not include the playable Mazub, 
+	 * by advancing independent islands of game objects in parallel.
+	 * The islands are advanced after the island of game objects that may touch the playable 
+	 * Mazub, in batches of consecutive islands with about the same number of game objects. 
+	 * Within an island, the game objects are advanced in the order of the given list. 
+	 * Game objects in different islands cannot touch each other within the given time, so the 
+	 * result is the same as advancing all game objects in the order of the given list.
+	 * While the islands are advanced in parallel, game objects that are removed from this 
+	 * world stay in the set of game objects of this world until all islands are advanced, but 
+	 * they are no longer part of the result of getGameObjects and hasAsGameObject. The grid
+	 * and the partitions of this world are only read, and every batch counts its substeps on 
+	 * its own, so the threads do not wait for each other.
+	 * @param gameObjects
+	 * 		The game objects to advance.
+	 * @param deltaT
+	 * 		The time by which the game objects are advanced.
+	 * @throws RuntimeException
+	 * 		Advancing one of the game objects failed. The first failure in the order of the
+	 * 		islands is thrown after all islands have been advanced.
+	 */
+	private void advanceTimeInParallel(List<GameObject> gameObjects, double deltaT) throws RuntimeException {
+		List<List<GameObject>> islands = this.getIslands(gameObjects, this.getPlayableMazub(), deltaT);
+		for (GameObject object: islands.get(0))
+			this.advanceTimeOf(object, deltaT);
+		int nbBatches = Math.min(islands.size() - 1, this.getTickPool().getParallelism() * BATCHES_PER_THREAD);
+		if (nbBatches <= BATCHES_PER_THREAD) {
+			for (int index = 1; index < islands.size(); index++)
+				for (GameObject object: islands.get(index))
+					this.advanceTimeOf(object, deltaT);
+			return;
+		}
+		RuntimeException failure = null;
+		Map<GameObject,List<GameObject>> islandOf = new IdentityHashMap<>(gameObjects.size());
+		for (int index = 1; index < islands.size(); index++)
+			for (GameObject object: islands.get(index))
+				islandOf.put(object, islands.get(index));
+		List<Map<Class<? extends GameObject>,long[]>> batchSubsteps = new ArrayList<>(nbBatches);
+		this.islandOf = islandOf;
+		this.removedInTick = ConcurrentHashMap.newKeySet();
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(nbBatches);
+			int batchSize = (gameObjects.size() - islands.get(0).size() + nbBatches - 1) / nbBatches;
+			int first = 1;
+			while (first < islands.size()) {
+				int last = first;
+				int size = islands.get(first).size();
+				while ((last + 1 < islands.size()) && (size + islands.get(last + 1).size() <= batchSize))
+					size += islands.get(++last).size();
+				List<List<GameObject>> batch = islands.subList(first, last + 1);
+				Map<Class<? extends GameObject>,long[]> substeps = new HashMap<>();
+				batchSubsteps.add(substeps);
+				tasks.add(this.getTickPool().submit(() -> this.advanceBatch(batch, substeps, deltaT)));
+				first = last + 1;
+			}
+			for (ForkJoinTask<?> task: tasks) {
+				try {
+					task.join();
+				} catch (RuntimeException exc) {
+					if (failure == null)
+						failure = exc;
+				}
+			}
+		} finally {
+			Set<GameObject> removed = this.removedInTick;
+			this.removedInTick = null;
+			this.islandOf = null;
+			this.gameObjects.removeAll(removed);
+			for (GameObject object: removed)
+				this.unregister(object);
+			for (Map<Class<? extends GameObject>,long[]> substeps: batchSubsteps)
+				for (Map.Entry<Class<? extends GameObject>,long[]> entry: substeps.entrySet()) {
+					getSubstepCounter(this.substepCounts, entry.getKey())[0] += entry.getValue()[0];
+					this.totalSubsteps += entry.getValue()[0];
+				}
+			for (GameObject object: islandOf.keySet())
+				this.updateGridCells(object);
+		}
+		if (failure != null)
+			throw failure;
+	}
+	
+	/**
+	 * Advance the time of the game objects of the given batch of islands on the current thread,
+	 * counting their substeps in the given map.
+	 * @param batch
+	 * 		The islands to advance.
+	 * @param substeps
+	 * 		The map in which the substeps of the game objects are counted per type.
+	 * @param deltaT
+	 * 		The time by which the game objects are advanced.
+	 */
+	private void advanceBatch(List<List<GameObject>> batch, Map<Class<? extends GameObject>,long[]> substeps,
+			double deltaT) {
+		this.batchSubsteps.set(substeps);
+		try {
+			for (List<GameObject> island: batch) {
+				this.currentIsland.set(island);
+				for (GameObject object: island)
+					this.advanceTimeOf(object, deltaT);
+			}
+		} finally {
+			this.currentIsland.remove();
+			this.batchSubsteps.remove();
+		}
+	}
+	
+	/**
+	 * Return the islands of the given game objects for advancing them by the given time. 
+	 * Two game objects are in the same island if they can reach each other within the given 
+	 * time, or if they are Slimes of the same School. The first island contains the game 
+	 * objects that can reach the given Mazub, and is empty if there is no Mazub.
+	 * Every island lists its game objects in the order of the given list.
+	 * @param gameObjects
+	 * 		The game objects to divide in islands.
+	 * @param mazub
+	 * 		The playable Mazub, which is not advanced anymore, or null.
+	 * @param deltaT
+	 * 		The time by which the game objects are advanced.
+	 */
+	private List<List<GameObject>> getIslands(List<GameObject> gameObjects, Mazub mazub, double deltaT) {
+		int nbObjects = gameObjects.size();
+		int[][] reaches = new int[nbObjects + 1][];
+		int[] parents = new int[nbObjects + 1];
+		Map<School,Integer> schoolIslands = new HashMap<>();
+		for (int index = 0; index < nbObjects; index++) {
+			GameObject object = gameObjects.get(index);
+			parents[index] = index;
+			reaches[index] = this.getReach(object, deltaT);
+			if ((object instanceof Slime) && (((Slime) object).getSchool() != null)) {
+				Integer member = schoolIslands.putIfAbsent(((Slime) object).getSchool(), index);
+				if (member != null)
+					union(parents, member, index);
+			}
+		}
+		parents[nbObjects] = nbObjects;
+		if (mazub != null)
+			reaches[nbObjects] = this.getReach(mazub, 0);
+		List<Integer> byLeft = new ArrayList<>(nbObjects + 1);
+		for (int index = 0; index <= nbObjects; index++)
+			if (reaches[index] != null)
+				byLeft.add(index);
+		byLeft.sort((first, second) -> Integer.compare(reaches[first][0], reaches[second][0]));
+		List<Integer> active = new ArrayList<>();
+		for (int index: byLeft) {
+			int[] reach = reaches[index];
+			active.removeIf(other -> reaches[other][1] < reach[0]);
+			for (int other: active)
+				if ((reaches[other][2] <= reach[3]) && (reach[2] <= reaches[other][3]))
+					union(parents, other, index);
+			active.add(index);
+		}
+		List<List<GameObject>> islands = new ArrayList<>();
+		islands.add(new ArrayList<>());
+		int[] islandIndices = new int[nbObjects + 1];
+		Arrays.fill(islandIndices, -1);
+		if (mazub != null)
+			islandIndices[find(parents, nbObjects)] = 0;
+		for (int index = 0; index < nbObjects; index++) {
+			int root = find(parents, index);
+			if (islandIndices[root] < 0) {
+				islandIndices[root] = islands.size();
+				islands.add(new ArrayList<>());
+			}
+			islands.get(islandIndices[root]).add(gameObjects.get(index));
+		}
+		return islands;
+	}
+	
+	/**
+	 * Return the rectangle that the given game object can reach within the given time, as its
+	 * left, right, bottom and top pixel. The rectangle covers all sprites of the game object,
+	 * and bounds the velocity it can get during the given time by its current velocity and 
+	 * acceleration, increased by REACH_SPEED_BOUND and REACH_ACCELERATION_BOUND.
+	 * @param object
+	 * 		The game object to get the reach for.
+	 * @param deltaT
+	 * 		The time within which the rectangle is reached.
+	 */
+	private int[] getReach(GameObject object, double deltaT) {
+		int width = object.getCurrentSprite().getWidth();
+		int height = object.getCurrentSprite().getHeight();
+		for (Sprite sprite: object.sprites) {
+			width = Math.max(width, sprite.getWidth());
+			height = Math.max(height, sprite.getHeight());
+		}
+		double speed = Math.abs(object.getHorizontalVelocity()) + Math.abs(object.getVerticalVelocity()) 
+				+ REACH_SPEED_BOUND;
+		double acceleration = Math.abs(object.getHorizontalAcceleration()) + 
+				Math.abs(object.getVerticalAcceleration()) + REACH_ACCELERATION_BOUND;
+		int reach = (int) Math.ceil((speed*deltaT + acceleration*deltaT*deltaT)*100) + REACH_MARGIN;
+		return new int[] {object.getPixelX() - reach, object.getPixelX() + width + reach, 
+				object.getPixelY() - reach, object.getPixelY() + height + reach};
+	}
+	
+	/**
+	 * Constants registering the bounds on the speed in m/s and the acceleration in m/s² that a 
+	 * game object can get during a call of advanceTime on top of its current velocity and 
+	 * acceleration, and the number of pixels around a game object that it can look at.
+	 */
+	private static final double REACH_SPEED_BOUND = 10;
+	private static final double REACH_ACCELERATION_BOUND = 20;
+	private static final int REACH_MARGIN = 4;
+	
+	/**
+	 * Constant registering the number of batches of islands that are advanced in parallel
+	 * for each thread of the tick pool. Islands are advanced one after another if there are
+	 * no more batches than this.
+	 */
+	private static final int BATCHES_PER_THREAD = 4;
+	
+	/**
+	 * Return the root of the island of the given index in the given array of parents.
+	 */
+	private static int find(int[] parents, int index) {
+		while (parents[index] != index) {
+			parents[index] = parents[parents[index]];
+			index = parents[index];
+		}
+		return index;
+	}
+	
+	/**
+	 * Merge the islands of the given indices in the given array of parents.
+	 */
+	private static void union(int[] parents, int first, int second) {
+		int firstRoot = find(parents, first);
+		int secondRoot = find(parents, second);
+		if (firstRoot < secondRoot)
+			parents[secondRoot] = firstRoot;
+		else
+			parents[firstRoot] = secondRoot;
+	}
+	
+	/**
+	 * Check whether this world advances independent game objects in parallel.
+	 */
+	@Basic @Raw
+	public boolean isParallelTickEnabled() {
+		return this.parallelTickEnabled;
+	}
+	
+	/**
+	 * Set whether this world advances independent game objects in parallel. While the tick 
+	 * profiler of this world is enabled, the game objects are advanced one after another.
+	 * @param enabled
+	 * 		The new state of the parallel tick of this world.
+	 * @post | new.isParallelTickEnabled() == enabled
+	 */
+	public void setParallelTickEnabled(boolean enabled) {
+		this.parallelTickEnabled = enabled;
+	}
+	
+	/**
+	 * Variable registering whether this world advances independent game objects in parallel.
+	 */
+	private boolean parallelTickEnabled = false;
+	
+	/**
+	 * Check whether this world advances its game objects in passes of the entity systems.
+	 */
+	@Basic @Raw
+	public boolean isEntitySystemsEnabled() {
+		return this.entitySystemsEnabled;
+	}
+	
+	/**
+	 * Set whether this world advances its game objects in passes of the entity systems, in 
+	 * which each system handles all game objects of a tick before the next system runs, 
+	 * instead of advancing one game object after another. The passes take precedence over 
+	 * the parallel tick. While the tick profiler of this world is enabled, the game objects 
+	 * are advanced one after another.
+	 * @param enabled
+	 * 		The new state of the entity systems of this world.
+	 * @post | new.isEntitySystemsEnabled() == enabled
+	 */
+	public void setEntitySystemsEnabled(boolean enabled) {
+		this.entitySystemsEnabled = enabled;
+	}
+	
+	/**
+	 * Variable registering whether this world advances its game objects in passes of the 
+	 * entity systems.
+	 */
+	private boolean entitySystemsEnabled = false;
+	
+	/**
+	 * Return the pool on which this world advances independent game objects in parallel.
+	 */
+	@Basic @Raw
+	public ForkJoinPool getTickPool() {
+		return this.tickPool;
+	}
+	
+	/**
+	 * Set the pool on which this world advances independent game objects in parallel.
+	 * @param pool
+	 * 		The new pool of this world.
+	 * @post | new.getTickPool() == pool
+	 * @throws IllegalArgumentException
+	 * 		| pool == null
+	 */
+	public void setTickPool(ForkJoinPool pool) throws IllegalArgumentException {
+		if (pool == null)
+			throw new IllegalArgumentException();
+		this.tickPool = pool;
+	}
+	
+	/**
+	 * Variable registering the pool on which this world advances independent game objects 
+	 * in parallel.
+	 */
+	private ForkJoinPool tickPool = ForkJoinPool.commonPool();
+	
+	/**
+	 * Variable registering the game objects that were removed from this world while islands 
+	 * are advanced in parallel, or null if no islands are advanced in parallel.
+	 */
+	private volatile Set<GameObject> removedInTick = null;
+	
+	/**
+	 * Variable registering the island of each game object that is advanced in parallel, or 
+	 * null if no islands are advanced in parallel.
+	 */
+	private volatile Map<GameObject,List<GameObject>> islandOf = null;
+	
+	/**
+	 * Variable registering for each thread the island it is advancing in parallel.
+	 */
+	private final ThreadLocal<List<GameObject>> currentIsland = new ThreadLocal<>();
+	
+	/**
+	 * Variable registering for each thread the map in which it counts the substeps of the 
+	 * batch of islands it is advancing in parallel.
+	 */
+	private final ThreadLocal<Map<Class<? extends GameObject>,long[]>> batchSubsteps = new ThreadLocal<>();
+	
+	/**
+	 * Return the profiler of the ticks of this world.
+	 */
+	@Basic @Immutable
+	public TickProfiler getTickProfiler() {
+		return this.tickProfiler;
+	}
+	
+	/**
+	 * Variable registering the profiler of the ticks of this world.
+	 */
+	private final TickProfiler tickProfiler = new TickProfiler();
+	
+	/**
+	 * Return the registry of the work counters of this world.
+	 */
+	@Basic @Immutable
+	public ModelMetrics getMetrics() {
+		return this.metrics;
+	}
+	
+	/**
+	 * Variable registering the registry of the work counters of this world.
+	 */
+	private final ModelMetrics metrics = new ModelMetrics();
+	
 	/**
 	 * Start a game in the given world.
 	 * @post new.startGame()
@@ -1020,6 +2498,220 @@ public class World {
 	 */
 	private boolean started = false;
 	
+	/**
+	 * Check whether the game objects of this world skip the substeps in which they have no 
+	 * contact event.
+	 */
+	@Basic @Raw
+	public boolean isContinuousCollisionEnabled() {
+		return this.continuousCollisionEnabled;
+	}
+	
+	/**
+	 * Set whether the game objects of this world skip the substeps in which they have no 
+	 * contact event.
+	 * @param enabled
+	 * 		The new state of continuous collision detection in this world.
+	 * @post | new.isContinuousCollisionEnabled() == enabled
+	 */
+	public void setContinuousCollisionEnabled(boolean enabled) {
+		this.continuousCollisionEnabled = enabled;
+	}
+	
+	/**
+	 * Variable registering whether the game objects of this world skip the substeps in which
+	 * they have no contact event. When it is false, every substep is simulated.
+	 */
+	private boolean continuousCollisionEnabled = false;
+
+	/**
+	 * Return the policy by which the game objects of this world divide their time periods
+	 * in substeps.
+	 */
+	@Basic @Raw
+	public SubstepPolicy getSubstepPolicy() {
+		return this.substepPolicy;
+	}
+
+	/**
+	 * Set the substep policy of this world to the given policy.
+	 * @param policy
+	 * 		The new substep policy of this world.
+	 * @post | new.getSubstepPolicy() == policy
+	 * @throws IllegalArgumentException
+	 * 		| policy == null
+	 */
+	public void setSubstepPolicy(SubstepPolicy policy) throws IllegalArgumentException {
+		if (policy == null)
+			throw new IllegalArgumentException();
+		this.substepPolicy = policy;
+	}
+
+	/**
+	 * Variable registering the substep policy of this world.
+	 */
+	private SubstepPolicy substepPolicy = SubstepPolicy.CURRENT;
+
+	/**
+	 * Return the number of substeps in which a time period is divided by the fixed count
+	 * substep policy.
+	 */
+	@Basic @Raw
+	public int getFixedSubstepCount() {
+		return this.fixedSubstepCount;
+	}
+
+	/**
+	 * Set the number of substeps of the fixed count substep policy of this world to the given count.
+	 * @param count
+	 * 		The new number of substeps of the fixed count substep policy of this world.
+	 * @post | new.getFixedSubstepCount() == count
+	 * @throws IllegalArgumentException
+	 * 		| count < 1
+	 */
+	public void setFixedSubstepCount(int count) throws IllegalArgumentException {
+		if (count < 1)
+			throw new IllegalArgumentException();
+		this.fixedSubstepCount = count;
+	}
+
+	/**
+	 * Variable registering the number of substeps of the fixed count substep policy of this world.
+	 */
+	private int fixedSubstepCount = 10;
+
+	/**
+	 * Return the maximal distance in meters a game object moves in one substep with the
+	 * distance substep policy.
+	 */
+	@Basic @Raw
+	public double getSubstepDistance() {
+		return this.substepDistance;
+	}
+
+	/**
+	 * Set the substep distance of this world to the given distance.
+	 * @param distance
+	 * 		The new substep distance of this world.
+	 * @post | new.getSubstepDistance() == distance
+	 * @throws IllegalArgumentException
+	 * 		| !(distance > 0) || Double.isInfinite(distance)
+	 */
+	public void setSubstepDistance(double distance) throws IllegalArgumentException {
+		if (!(distance > 0) || Double.isInfinite(distance))
+			throw new IllegalArgumentException();
+		this.substepDistance = distance;
+	}
+
+	/**
+	 * Variable registering the substep distance of this world.
+	 */
+	private double substepDistance = 0.01;
+
+	/**
+	 * Return the maximal number of substeps of one game object in one call of advanceTime.
+	 */
+	@Basic @Raw
+	public int getMaxSubstepsPerTick() {
+		return this.maxSubstepsPerTick;
+	}
+
+	/**
+	 * Set the maximal number of substeps per tick of this world to the given number.
+	 * @param maxSubsteps
+	 * 		The new maximal number of substeps per tick of this world.
+	 * @post | new.getMaxSubstepsPerTick() == maxSubsteps
+	 * @throws IllegalArgumentException
+	 * 		| maxSubsteps < 1
+	 */
+	public void setMaxSubstepsPerTick(int maxSubsteps) throws IllegalArgumentException {
+		if (maxSubsteps < 1)
+			throw new IllegalArgumentException();
+		this.maxSubstepsPerTick = maxSubsteps;
+	}
+
+	/**
+	 * Variable registering the maximal number of substeps per tick of this world.
+	 * By default the number of substeps is not limited.
+	 */
+	private int maxSubstepsPerTick = Integer.MAX_VALUE;
+
+	/**
+	 * Return the number of substeps the game objects of the given type have used in this world
+	 * since the last reset of the substep counts.
+	 * @param type
+	 * 		The type of game objects.
+	 * @return The sum of the substeps of the game objects whose class is the given type.
+	 */
+	public long getSubstepCount(Class<? extends GameObject> type) {
+		long[] count = this.substepCounts.get(type);
+		if (count == null)
+			return 0;
+		return count[0];
+	}
+
+	/**
+	 * Add the given number of substeps to the substep count of the given type.
+	 * @param type
+	 * 		The type of the game object that used the substeps.
+	 * @param nbSubsteps
+	 * 		The number of substeps to add.
+	 * @post | new.getSubstepCount(type) == this.getSubstepCount(type) + nbSubsteps
+	 * @effect | this.getTickProfiler().addSubsteps(type, nbSubsteps)
+	 * @effect | this.getMetrics().add(ModelMetrics.Counter.SUBSTEPS, nbSubsteps)
+	 */
+	void addSubsteps(Class<? extends GameObject> type, long nbSubsteps) {
+		if (this.removedInTick != null)
+			// The substeps of a batch of islands are added when all islands have been advanced.
+			getSubstepCounter(this.batchSubsteps.get(), type)[0] += nbSubsteps;
+		else {
+			getSubstepCounter(this.substepCounts, type)[0] += nbSubsteps;
+			this.totalSubsteps += nbSubsteps;
+		}
+		this.tickProfiler.addSubsteps(type, nbSubsteps);
+		this.metrics.add(ModelMetrics.Counter.SUBSTEPS, nbSubsteps);
+		this.threadSubsteps.get()[0] += nbSubsteps;
+	}
+	
+	/**
+	 * Return the substep counter of the given type in the given map, adding it if it is not
+	 * registered yet.
+	 */
+	private static long[] getSubstepCounter(Map<Class<? extends GameObject>,long[]> counts, 
+			Class<? extends GameObject> type) {
+		long[] count = counts.get(type);
+		if (count == null) {
+			count = new long[1];
+			counts.put(type, count);
+		}
+		return count;
+	}
+	
+	/**
+	 * Variable registering the number of substeps used by all game objects in this world.
+	 */
+	private long totalSubsteps = 0;
+	
+	/**
+	 * Variable registering for each thread the number of substeps used by the game objects
+	 * it advanced in this world.
+	 */
+	private final ThreadLocal<long[]> threadSubsteps = ThreadLocal.withInitial(() -> new long[1]);
+
+	/**
+	 * Reset the substep counts of all types in this world.
+	 * @post | for each type in Class<? extends GameObject>:
+	 * 		 |	new.getSubstepCount(type) == 0
+	 */
+	public void resetSubstepCounts() {
+		this.substepCounts.clear();
+	}
+
+	/**
+	 * Map registering the substep counts of this world per type of game object.
+	 */
+	private final Map<Class<? extends GameObject>,long[]> substepCounts = new HashMap<>();
+
 	/**
 	 * A method to check whether the playable mazub of this world has reached the target tile.
 	 * @return
@@ -1055,42 +2747,44 @@ public class World {
 	 * @effect
 	 * 		| this.schools.add(school)
 	 * @throws RuntimeException
-	 * 		| (this.getSchools().size() == 10)
+	 * 		| (this.getSchools().size() >= this.getMaxSchools())
 	 */
 	public void addSchool(School school) throws RuntimeException {
-		if (this.getSchools().size() == 10)
+		if (this.schools.size() >= this.getMaxSchools())
 			throw new RuntimeException();
 		this.schools.add(school);
 	}
+	
+	/**
+	 * Set the maximum number of schools of this world to the given maximum.
+	 * @param max
+	 * 		The maximum number of schools in this world.
+	 * @post | new.getMaxSchools() == max
+	 */
+	@Raw
+	public void setMaxSchools(int max) {
+		this.maxSchools = max;
+	}
+	
+	/**
+	 * Return the maximum number of schools of this world.
+	 */
+	@Basic @Raw
+	public int getMaxSchools() {
+		return this.maxSchools;
+	}
+	
+	/**
+	 * Variable registering the maximum number of schools in this world.
+	 */
+	private int maxSchools = 10;
+	
 	/**
 	 * Return (a set of) all the schools of this world.
 	 */
 	@Raw
 	public Set<School> getSchools(){
-		Set<School> allSchools = new HashSet<>();
-		Iterator<School> myIterator = new Iterator<School>(){
-			private int index=0;
-			@Override
-			public boolean hasNext() {
-				if (index < schools.size())
-					return true;
-				return false;
-			}
-			@Override
-			public School next() {
-				// TODO Auto-generated method stub
-				if (hasNext()) {
-					index++;
-					return (School) schools.toArray()[index-1];
-				}
-				else
-					throw new RuntimeException();	
-			}
-		};
-		
-		myIterator.forEachRemaining((e) -> allSchools.add(e));
-		return allSchools;
-		
+		return new HashSet<>(this.schools);
 	}
 	
 	/**
@@ -0,0 +1,41 @@
+package jumpingalien.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A class of Flight Recorder events that span one call of advanceTime of a world.
+ *
+ * @version 3.0
+ *
+ * @author Timm Lamberechts
+ * @author Maarten Volkaerts
+ */
+@Name("jumpingalien.WorldTick")
+@Label("World Tick")
+@Category({ "Jumping Alien", "Simulation" })
+@Description("Advancing the time of all game objects of a world")
+class WorldTickEvent extends Event {
+
+	/**
+	 * Variable registering the time by which the world is advanced, in seconds.
+	 */
+	@Label("Delta T")
+	double deltaT;
+
+	/**
+	 * Variable registering the number of game objects whose time is advanced.
+	 */
+	@Label("Object Count")
+	int objectCount;
+
+	/**
+	 * Variable registering the number of substeps planned by the game objects.
+	 */
+	@Label("Substeps")
+	long substeps;
+
+}
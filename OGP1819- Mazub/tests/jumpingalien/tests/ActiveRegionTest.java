@@ -0,0 +1,127 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the active region of a world, outside which game objects are dormant.
+ *
+ * Each test plays a level in which Mazub stands still far away from islands with a pool of
+ * water, a Shark and a School of Slimes, so that all of them become dormant.
+ */
+class ActiveRegionTest {
+
+	// Length of the tiles of the world and number of tiles on each side.
+	private final static int TILE_LENGTH = 10;
+	private final static int NB_TILES_X = 1000;
+	private final static int NB_TILES_Y = 60;
+
+	// Number of islands and distance in pixels between them.
+	private final static int NB_ISLANDS = 8;
+	private final static int ISLAND_DISTANCE = 1000;
+
+	// Duration of a tick in seconds, and number of ticks for which the islands are dormant.
+	private final static double DELTA_T = 0.1;
+	private final static int NB_DORMANT_TICKS = 200;
+
+	// Largest number of steps by which a dormant game object catches up: 1 s in steps of 0.2 s.
+	private final static int MAX_CATCH_UP_STEPS = 5;
+
+	private static Sprite[] mazubSprites;
+	private static Sprite[] sharkSprites;
+	private static Sprite[] slimeSprites;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		mazubSprites = new Sprite[18];
+		for (int i = 0; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Mazub " + i, 70, 97);
+		sharkSprites = new Sprite[] { new Sprite("Shark 1", 66, 45), new Sprite("Shark 2", 66, 45),
+				new Sprite("Shark 3", 66, 45) };
+		slimeSprites = new Sprite[] { new Sprite("Slime 1", 50, 28), new Sprite("Slime 2", 50, 28) };
+	}
+
+	IFacade facade = new Facade();
+
+	World world;
+
+	List<GameObject> islandObjects = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		facade.cleanAllSlimeIds();
+		int[] features = new int[NB_TILES_X * NB_TILES_Y];
+		for (int row = 0; row < NB_TILES_Y; row++)
+			for (int column = 0; column < NB_TILES_X; column++) {
+				if (row < 2)
+					features[row * NB_TILES_X + column] = 1;
+				else if ((row < 6) && (column % (ISLAND_DISTANCE / TILE_LENGTH) >= 20) &&
+						(column % (ISLAND_DISTANCE / TILE_LENGTH) < 40))
+					features[row * NB_TILES_X + column] = 2;
+			}
+		world = facade.createWorld(TILE_LENGTH, NB_TILES_X, NB_TILES_Y, new int[] { NB_TILES_X - 1, 2 },
+				500, 400, features);
+		world.setActiveRegionEnabled(true);
+		world.setActiveRegionMargin(100);
+		world.getMetrics().setEnabled(true);
+		facade.addGameObject(facade.createMazub(50, 20, mazubSprites), world);
+		for (int island = 1; island <= NB_ISLANDS; island++) {
+			int pixelX = island * ISLAND_DISTANCE;
+			add(facade.createShark(pixelX + 250, 20, sharkSprites));
+			School<?> school = facade.createSchool(world);
+			for (int slime = 0; slime < 3; slime++)
+				add(facade.createSlime(island * 10 + slime, pixelX + 100 * slime, 20, school, slimeSprites));
+		}
+		facade.startGame(world);
+		for (int tick = 0; tick < NB_DORMANT_TICKS; tick++)
+			facade.advanceWorldTime(world, DELTA_T);
+	}
+
+	private void add(GameObject object) throws Exception {
+		facade.addGameObject(object, world);
+		islandObjects.add(object);
+	}
+
+	@Test
+	void advanceTime_ObjectsOutsideActiveRegionDormant() throws Exception {
+		assertEquals(islandObjects.size(), world.getNbDormantGameObjects());
+		for (GameObject object : islandObjects) {
+			assertTrue(world.isDormant(object));
+			assertFalse(world.isInActiveRegion(object));
+		}
+	}
+
+	@Test
+	void advanceTime_AllDormantObjectsCatchUpInOneTick() throws Exception {
+		world.setActiveRegionEnabled(false);
+		world.getMetrics().reset();
+		facade.advanceWorldTime(world, DELTA_T);
+		assertEquals(0, world.getNbDormantGameObjects());
+		assertEquals(islandObjects.size(), world.getMetrics().get(ModelMetrics.Counter.CATCH_UPS));
+		// every game object catches up on a bounded time and is then advanced by the tick itself
+		assertTrue(world.getMetrics().get(ModelMetrics.Counter.OBJECTS_SIMULATED) <=
+				1 + islandObjects.size() * (MAX_CATCH_UP_STEPS + 1));
+	}
+
+	@Test
+	void advanceTime_CaughtUpObjectsAdvancedLikeActiveObjects() throws Exception {
+		world.setActiveRegionEnabled(false);
+		facade.advanceWorldTime(world, DELTA_T);
+		// game objects that died while catching up may have left the world
+		int nbObjects = world.getGameObjects().size();
+		world.getMetrics().reset();
+		facade.advanceWorldTime(world, DELTA_T);
+		assertEquals(0, world.getMetrics().get(ModelMetrics.Counter.CATCH_UPS));
+		assertEquals(nbObjects, world.getMetrics().get(ModelMetrics.Counter.OBJECTS_SIMULATED));
+	}
+
+}
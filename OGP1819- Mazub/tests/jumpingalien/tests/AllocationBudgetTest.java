@@ -0,0 +1,196 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Regression tests for the number of bytes the model allocates per call of advanceTime.
+ *
+ * Each scenario is first run on fresh worlds to warm up the JIT, and then on a few more
+ * fresh worlds whose allocations are measured after a few more warmup ticks. The budgets are about
+ * one and a half times the worst allocations measured on the current hot paths. Lower a
+ * budget when a hot path allocates less; a budget of zero keeps a hot path allocation free.
+ */
+class AllocationBudgetTest {
+
+	// Number of ticks before measuring and number of measured ticks.
+	private final static int WARMUP_TICKS = 50;
+	private final static int MEASURED_TICKS = 200;
+
+	// Number of times each scenario is run on a fresh world before measuring, and number of
+	// measured runs of which the cheapest counts.
+	private final static int WARMUP_RUNS = 20;
+	private final static int MEASURED_RUNS = 3;
+
+	// Time by which the world is advanced in each tick.
+	private final static double DT = 0.02;
+
+	// Length of the tiles of the worlds of the scenarios.
+	private final static int TILE_LENGTH = 10;
+
+	// Variable referencing the facade.
+	IFacade facade = new Facade();
+
+	private static Sprite[] mazubSprites;
+	private static Sprite[] plantSprites;
+	private static Sprite[] slimeSprites;
+	private static Sprite[] sharkSprites;
+
+	// Variable referencing the bean measuring the allocations of the current thread.
+	private static com.sun.management.ThreadMXBean threadBean;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		mazubSprites = new Sprite[18];
+		mazubSprites[0] = new Sprite("Stationary Idle", 100, 50);
+		mazubSprites[1] = new Sprite("Stationary Ducking", 75, 30);
+		for (int i = 2; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Moving " + i, 90, (i == 6 || i == 7) ? 30 : 45);
+		plantSprites = new Sprite[] { new Sprite("Plant 1", 40, 30),
+				new Sprite("Plant 2", 40, 30) };
+		slimeSprites = new Sprite[] { new Sprite("Slime Moving Right", 60, 60),
+				new Sprite("Slime Moving Left", 60, 60) };
+		sharkSprites = new Sprite[] { new Sprite("Shark Resting", 70, 30),
+				new Sprite("Shark Moving Left", 70, 30),
+				new Sprite("Shark Moving Right", 70, 30) };
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)
+			threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		assumeTrue(threadBean != null && threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		facade.cleanAllSlimeIds();
+	}
+
+	/**
+	 * Return the geological features of a world with two rows of solid ground and,
+	 * if requested, a pool of water on top of the ground in its right half.
+	 */
+	private static int[] createFeatures(int nbTilesX, int nbTilesY, boolean pool) {
+		int[] features = new int[nbTilesX * nbTilesY];
+		for (int col = 0; col < nbTilesX; col++) {
+			features[col] = Geological.SOLID_GROUND.getNumber();
+			features[nbTilesX + col] = Geological.SOLID_GROUND.getNumber();
+			if (pool && col > nbTilesX / 2)
+				for (int row = 2; row < 10; row++)
+					features[row * nbTilesX + col] = Geological.WATER.getNumber();
+		}
+		return features;
+	}
+
+	private World createWorld(int nbTilesX, boolean pool) {
+		int nbTilesY = 60;
+		World world = facade.createWorld(TILE_LENGTH, nbTilesX, nbTilesY,
+				new int[] { nbTilesX - 1, 2 }, 500, 400, createFeatures(nbTilesX, nbTilesY, pool));
+		return world;
+	}
+
+	/**
+	 * Return the average number of bytes allocated by the current thread per call of
+	 * advanceTime on the worlds of the given scenario, after warming it up. The cheapest of
+	 * a few measured runs counts, so that a JIT compilation during one run does not count.
+	 */
+	private long bytesPerTick(Supplier<World> scenario) {
+		for (int run = 0; run < WARMUP_RUNS; run++) {
+			facade.cleanAllSlimeIds();
+			World world = scenario.get();
+			for (int tick = 0; tick < WARMUP_TICKS + MEASURED_TICKS; tick++)
+				facade.advanceWorldTime(world, DT);
+		}
+		long result = Long.MAX_VALUE;
+		for (int run = 0; run < MEASURED_RUNS; run++) {
+			facade.cleanAllSlimeIds();
+			World world = scenario.get();
+			for (int tick = 0; tick < WARMUP_TICKS; tick++)
+				facade.advanceWorldTime(world, DT);
+			long threadId = Thread.currentThread().getId();
+			long before = threadBean.getThreadAllocatedBytes(threadId);
+			for (int tick = 0; tick < MEASURED_TICKS; tick++)
+				facade.advanceWorldTime(world, DT);
+			long after = threadBean.getThreadAllocatedBytes(threadId);
+			result = Math.min(result, (after - before) / MEASURED_TICKS);
+		}
+		return result;
+	}
+
+	private void assertBudget(long budget, Supplier<World> scenario) {
+		long bytes = bytesPerTick(scenario);
+		assertTrue(bytes <= budget, "Allocated " + bytes + " bytes per tick, budget is " + budget);
+	}
+
+	@Test
+	void advanceTime_IdleMazub() throws Exception {
+		assertBudget(250, () -> {
+			World world = createWorld(100, false);
+			facade.addGameObject(facade.createMazub(50, 2 * TILE_LENGTH, mazubSprites), world);
+			facade.startGame(world);
+			return world;
+		});
+	}
+
+	@Test
+	void advanceTime_RunningMazub() throws Exception {
+		assertBudget(700, () -> {
+			World world = createWorld(1000, false);
+			Mazub alien = facade.createMazub(50, 2 * TILE_LENGTH, mazubSprites);
+			facade.addGameObject(alien, world);
+			facade.startGame(world);
+			facade.startMoveRight(alien);
+			return world;
+		});
+	}
+
+	@Test
+	void advanceTime_Plants() throws Exception {
+		assertBudget(1_450, () -> {
+			World world = createWorld(200, false);
+			facade.addGameObject(facade.createMazub(50, 2 * TILE_LENGTH, mazubSprites), world);
+			for (int i = 0; i < 10; i++) {
+				facade.addGameObject(facade.createSneezewort(300 + 150 * i, 200, plantSprites), world);
+				facade.addGameObject(facade.createSkullcab(300 + 150 * i, 400, plantSprites), world);
+			}
+			facade.startGame(world);
+			return world;
+		});
+	}
+
+	@Test
+	void advanceTime_Sharks() throws Exception {
+		assertBudget(850, () -> {
+			World world = createWorld(400, true);
+			facade.addGameObject(facade.createMazub(50, 2 * TILE_LENGTH, mazubSprites), world);
+			for (int i = 0; i < 10; i++)
+				facade.addGameObject(facade.createShark(2100 + 180 * i, 2 * TILE_LENGTH, sharkSprites),
+						world);
+			facade.startGame(world);
+			return world;
+		});
+	}
+
+	@Test
+	void advanceTime_Slimes() throws Exception {
+		assertBudget(850, () -> {
+			World world = createWorld(400, false);
+			facade.addGameObject(facade.createMazub(50, 2 * TILE_LENGTH, mazubSprites), world);
+			School<?> school = facade.createSchool(world);
+			for (int i = 0; i < 10; i++)
+				facade.addGameObject(facade.createSlime(i + 1, 500 + 300 * i, 2 * TILE_LENGTH, school,
+						slimeSprites), world);
+			facade.startGame(world);
+			return world;
+		});
+	}
+
+}
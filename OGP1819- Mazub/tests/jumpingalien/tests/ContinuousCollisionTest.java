@@ -0,0 +1,139 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests that skipping contact-free substeps with continuous collision detection does not
+ * change the game.
+ *
+ * Each test plays the same level twice, once with continuous collision detection and once
+ * without it, and compares the game objects after every tick.
+ */
+class ContinuousCollisionTest {
+
+	// Length of the tiles of the world and number of tiles on each side.
+	private final static int TILE_LENGTH = 10;
+	private final static int NB_TILES_X = 200;
+	private final static int NB_TILES_Y = 300;
+
+	private final static int NB_TICKS = 250;
+
+	private static Sprite[] mazubSprites;
+	private static Sprite[] sharkSprites;
+	private static Sprite[] slimeSprites;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		mazubSprites = new Sprite[18];
+		for (int i = 0; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Mazub " + i, 70, 97);
+		sharkSprites = new Sprite[] { new Sprite("Shark 1", 66, 45), new Sprite("Shark 2", 66, 45),
+				new Sprite("Shark 3", 66, 45) };
+		slimeSprites = new Sprite[] { new Sprite("Slime 1", 50, 28), new Sprite("Slime 2", 50, 28) };
+	}
+
+	/**
+	 * A level with two rows of solid ground, a wall, a pool of water and a lot of air, played
+	 * by a Mazub that falls from high up and a Slime on one side of the wall, and by two
+	 * Sharks on the other side of the wall.
+	 */
+	private static class Level {
+
+		final IFacade facade = new Facade();
+
+		final World world;
+
+		final List<GameObject> objects = new ArrayList<>();
+
+		final Mazub alien;
+
+		Level(boolean continuousCollision) throws Exception {
+			facade.cleanAllSlimeIds();
+			int[] features = new int[NB_TILES_X * NB_TILES_Y];
+			for (int row = 0; row < NB_TILES_Y; row++)
+				for (int column = 0; column < NB_TILES_X; column++) {
+					if (row < 2)
+						features[row * NB_TILES_X + column] = 1;
+					else if ((column == 100) && (row < 60))
+						features[row * NB_TILES_X + column] = 1;
+					else if ((row < 10) && (column > 130) && (column < 160))
+						features[row * NB_TILES_X + column] = 2;
+				}
+			world = facade.createWorld(TILE_LENGTH, NB_TILES_X, NB_TILES_Y, new int[] { NB_TILES_X - 1, 2 },
+					500, 400, features);
+			world.setContinuousCollisionEnabled(continuousCollision);
+			alien = facade.createMazub(100, 2500, mazubSprites);
+			add(alien);
+			add(facade.createShark(1700, 1800, sharkSprites));
+			add(facade.createShark(1400, 50, sharkSprites));
+			School<?> school = facade.createSchool(world);
+			add(facade.createSlime(1, 850, 20, school, slimeSprites));
+			facade.startGame(world);
+		}
+
+		private void add(GameObject object) throws Exception {
+			facade.addGameObject(object, world);
+			objects.add(object);
+		}
+
+		void play(int tick) throws Exception {
+			if ((alien.getWorld() != null) && (! alien.isDead())) {
+				if ((tick % 60 == 1) && (! facade.isMoving(alien)))
+					facade.startMoveRight(alien);
+				if ((tick % 60 == 45) && facade.isMoving(alien))
+					facade.endMove(alien);
+				if ((tick % 50 == 10) && (! facade.isJumping(alien)))
+					facade.startJump(alien);
+				if ((tick % 50 == 20) && facade.isJumping(alien))
+					facade.endJump(alien);
+			}
+			facade.advanceWorldTime(world, 0.05 + (tick % 7) * 0.02);
+		}
+
+	}
+
+	@Test
+	void advanceTime_SameGameWithAndWithoutContinuousCollision() throws Exception {
+		Level reference = new Level(false);
+		Level continuous = new Level(true);
+		for (int tick = 0; tick < NB_TICKS; tick++) {
+			reference.play(tick);
+			continuous.play(tick);
+			for (int index = 0; index < reference.objects.size(); index++) {
+				GameObject expected = reference.objects.get(index);
+				GameObject actual = continuous.objects.get(index);
+				String message = "tick " + tick + ", " + expected.getClass().getSimpleName() + " " + index;
+				assertEquals(expected.getPixelX(), actual.getPixelX(), message);
+				assertEquals(expected.getPixelY(), actual.getPixelY(), message);
+				assertEquals(expected.getHitPoints(), actual.getHitPoints(), message);
+				assertEquals(expected.isDead(), actual.isDead(), message);
+				assertEquals(expected.isTerminated(), actual.isTerminated(), message);
+			}
+		}
+	}
+
+	@Test
+	void advanceTime_FewerTileProbesWithContinuousCollision() throws Exception {
+		Level reference = new Level(false);
+		Level continuous = new Level(true);
+		reference.world.getMetrics().setEnabled(true);
+		continuous.world.getMetrics().setEnabled(true);
+		for (int tick = 0; tick < NB_TICKS; tick++) {
+			reference.play(tick);
+			continuous.play(tick);
+		}
+		assertTrue(continuous.world.getMetrics().get(ModelMetrics.Counter.TILE_PROBES) <
+				reference.world.getMetrics().get(ModelMetrics.Counter.TILE_PROBES));
+	}
+
+}
@@ -0,0 +1,144 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests that advancing independent islands of game objects in parallel does not change the
+ * game.
+ *
+ * Each test plays the same level twice, once one game object after another and once with the
+ * parallel tick, and compares the game objects after every tick.
+ */
+class ParallelTickTest {
+
+	// Length of the tiles of the world and number of tiles on each side.
+	private final static int TILE_LENGTH = 10;
+	private final static int NB_TILES_X = 1000;
+	private final static int NB_TILES_Y = 60;
+
+	// Number of islands and distance in pixels between them.
+	private final static int NB_ISLANDS = 8;
+	private final static int ISLAND_DISTANCE = 1000;
+
+	private final static int NB_TICKS = 200;
+
+	private static Sprite[] mazubSprites;
+	private static Sprite[] sharkSprites;
+	private static Sprite[] slimeSprites;
+
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		mazubSprites = new Sprite[18];
+		for (int i = 0; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Mazub " + i, 70, 97);
+		sharkSprites = new Sprite[] { new Sprite("Shark 1", 66, 45), new Sprite("Shark 2", 66, 45),
+				new Sprite("Shark 3", 66, 45) };
+		slimeSprites = new Sprite[] { new Sprite("Slime 1", 50, 28), new Sprite("Slime 2", 50, 28) };
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void tearDownAfterClass() throws Exception {
+		pool.shutdown();
+	}
+
+	/**
+	 * A level with two rows of solid ground and a pool of water on every island, played by a
+	 * Mazub far away from all islands. Every island has a Shark, which moves in and out of its
+	 * pool, and a School of three Slimes, one of which is eaten by the Shark.
+	 */
+	private static class Level {
+
+		final IFacade facade = new Facade();
+
+		final World world;
+
+		final List<GameObject> objects = new ArrayList<>();
+
+		Level(boolean parallel) throws Exception {
+			facade.cleanAllSlimeIds();
+			int[] features = new int[NB_TILES_X * NB_TILES_Y];
+			for (int row = 0; row < NB_TILES_Y; row++)
+				for (int column = 0; column < NB_TILES_X; column++) {
+					if (row < 2)
+						features[row * NB_TILES_X + column] = 1;
+					else if ((row < 6) && (column % (ISLAND_DISTANCE / TILE_LENGTH) >= 20) &&
+							(column % (ISLAND_DISTANCE / TILE_LENGTH) < 40))
+						features[row * NB_TILES_X + column] = 2;
+				}
+			world = facade.createWorld(TILE_LENGTH, NB_TILES_X, NB_TILES_Y, new int[] { NB_TILES_X - 1, 2 },
+					500, 400, features);
+			world.setParallelTickEnabled(parallel);
+			world.setTickPool(pool);
+			add(facade.createMazub(50, 20, mazubSprites));
+			for (int island = 1; island <= NB_ISLANDS; island++) {
+				int pixelX = island * ISLAND_DISTANCE;
+				add(facade.createShark(pixelX + 250, 20, sharkSprites));
+				School<?> school = facade.createSchool(world);
+				for (int slime = 0; slime < 3; slime++)
+					add(facade.createSlime(island * 10 + slime, pixelX + 100 * slime, 20, school, slimeSprites));
+			}
+			facade.startGame(world);
+		}
+
+		private void add(GameObject object) throws Exception {
+			facade.addGameObject(object, world);
+			objects.add(object);
+		}
+
+		void play(int tick) throws Exception {
+			facade.advanceWorldTime(world, 0.05 + (tick % 7) * 0.02);
+		}
+
+	}
+
+	@Test
+	void advanceTime_SameGameInSerialAndInParallel() throws Exception {
+		Level serial = new Level(false);
+		Level parallel = new Level(true);
+		for (int tick = 0; tick < NB_TICKS; tick++) {
+			serial.play(tick);
+			parallel.play(tick);
+			for (int index = 0; index < serial.objects.size(); index++) {
+				GameObject expected = serial.objects.get(index);
+				GameObject actual = parallel.objects.get(index);
+				String message = "tick " + tick + ", " + expected.getClass().getSimpleName() + " " + index;
+				assertEquals(expected.getPixelX(), actual.getPixelX(), message);
+				assertEquals(expected.getPixelY(), actual.getPixelY(), message);
+				assertEquals(expected.getHitPoints(), actual.getHitPoints(), message);
+				assertEquals(expected.isDead(), actual.isDead(), message);
+				assertEquals(expected.isTerminated(), actual.isTerminated(), message);
+			}
+			assertEquals(serial.world.getGameObjects().size(), parallel.world.getGameObjects().size(),
+					"tick " + tick);
+		}
+		assertEquals(serial.world.getSubstepCount(Shark.class), parallel.world.getSubstepCount(Shark.class));
+		assertEquals(serial.world.getSubstepCount(Slime.class), parallel.world.getSubstepCount(Slime.class));
+	}
+
+	@Test
+	void advanceTime_ParallelGridMatchesPositions() throws Exception {
+		Level parallel = new Level(true);
+		for (int tick = 0; tick < NB_TICKS; tick++) {
+			parallel.play(tick);
+			for (GameObject object : parallel.objects)
+				if (object.getWorld() == parallel.world)
+					assertTrue(parallel.world.getGameObjectsNear(object.getPixelX(), object.getPixelY(), 1, 1)
+							.contains(object), "tick " + tick);
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+import jumpingalien.util.Sprite;
+
+/**
+ * Tests for the grid of a world that answers which game objects are near a rectangle.
+ *
+ * The grid cells are 256 pixels wide and high. The world of each test is 1024 by 1024
+ * pixels of air, so its grid has 4 by 4 cells.
+ */
+class WorldGridTest {
+
+	// Length of the tiles of the world and number of tiles on each side.
+	private final static int TILE_LENGTH = 8;
+	private final static int NB_TILES = 128;
+
+	// Variable referencing the facade.
+	IFacade facade = new Facade();
+
+	private World world;
+
+	private static Sprite[] smallSprites;
+	private static Sprite[] largeSprites;
+	private static Sprite[] mazubSprites;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		smallSprites = new Sprite[] { new Sprite("Small 1", 20, 20), new Sprite("Small 2", 20, 20) };
+		largeSprites = new Sprite[] { new Sprite("Large 1", 300, 300), new Sprite("Large 2", 300, 300) };
+		mazubSprites = new Sprite[18];
+		for (int i = 0; i < mazubSprites.length; i++)
+			mazubSprites[i] = new Sprite("Mazub " + i, 20, 20);
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		world = facade.createWorld(TILE_LENGTH, NB_TILES, NB_TILES, new int[] { NB_TILES - 1, 0 }, 500, 400,
+				new int[NB_TILES * NB_TILES]);
+	}
+
+	private List<GameObject> near(int pixelX, int pixelY, int width, int height) {
+		return world.getGameObjectsNear(pixelX, pixelY, width, height);
+	}
+
+	private static int count(List<GameObject> objects, GameObject object) {
+		int count = 0;
+		for (GameObject other : objects)
+			if (other == object)
+				count++;
+		return count;
+	}
+
+	@Test
+	void getGameObjectsNear_ObjectInOneCell() throws Exception {
+		Sneezewort plant = facade.createSneezewort(300, 300, smallSprites);
+		facade.addGameObject(plant, world);
+		assertEquals(1, count(near(310, 310, 1, 1), plant));
+		assertEquals(1, count(near(256, 256, 256, 256), plant));
+		assertEquals(0, count(near(0, 0, 256, 256), plant));
+		assertEquals(0, count(near(600, 300, 10, 10), plant));
+	}
+
+	@Test
+	void getGameObjectsNear_ObjectSpanningSeveralCells() throws Exception {
+		// covers the pixels 200..499 in both directions, so the cells 0..1 in both directions
+		Sneezewort plant = facade.createSneezewort(200, 200, largeSprites);
+		facade.addGameObject(plant, world);
+		assertEquals(1, count(near(210, 210, 1, 1), plant));
+		assertEquals(1, count(near(490, 210, 1, 1), plant));
+		assertEquals(1, count(near(210, 490, 1, 1), plant));
+		assertEquals(1, count(near(490, 490, 1, 1), plant));
+		// a rectangle covering all cells of the object reports it once
+		assertEquals(1, count(near(0, 0, 1024, 1024), plant));
+		assertEquals(1, count(near(250, 250, 20, 20), plant));
+		assertEquals(0, count(near(600, 600, 10, 10), plant));
+		assertEquals(0, count(near(100, 600, 10, 10), plant));
+	}
+
+	@Test
+	void getGameObjectsNear_ObjectMovingAcrossCellBorders() throws Exception {
+		Mazub alien = facade.createMazub(100, 100, mazubSprites);
+		facade.addGameObject(alien, world);
+		assertEquals(1, count(near(110, 110, 1, 1), alien));
+		// move to the cell on the right
+		facade.changeActualPosition(alien, new double[] { 3.0, 1.0 });
+		assertEquals(0, count(near(0, 0, 256, 256), alien));
+		assertEquals(1, count(near(310, 110, 1, 1), alien));
+		// move onto the corner of four cells
+		facade.changeActualPosition(alien, new double[] { 2.5, 2.5 });
+		assertEquals(1, count(near(0, 0, 256, 256), alien));
+		assertEquals(1, count(near(260, 0, 10, 256), alien));
+		assertEquals(1, count(near(0, 260, 256, 10), alien));
+		assertEquals(1, count(near(260, 260, 10, 10), alien));
+		assertEquals(1, count(near(0, 0, 1024, 1024), alien));
+		// move far away
+		facade.changeActualPosition(alien, new double[] { 9.0, 9.0 });
+		assertEquals(0, count(near(0, 0, 512, 512), alien));
+		assertEquals(1, count(near(900, 900, 50, 50), alien));
+	}
+
+	@Test
+	void getGameObjectsNear_ObjectOutsideWorld() throws Exception {
+		// objects beyond the border are registered in the cells at the border
+		Sneezewort plant = facade.createSneezewort(1000, 1000, largeSprites);
+		facade.addGameObject(plant, world);
+		assertEquals(1, count(near(1010, 1010, 1, 1), plant));
+		assertEquals(1, count(near(2000, 2000, 10, 10), plant));
+	}
+
+	@Test
+	void getGameObjectsNear_RemovedObject() throws Exception {
+		Sneezewort large = facade.createSneezewort(200, 200, largeSprites);
+		Sneezewort small = facade.createSneezewort(300, 300, smallSprites);
+		facade.addGameObject(large, world);
+		facade.addGameObject(small, world);
+		facade.removeGameObject(large, world);
+		List<GameObject> objects = near(0, 0, 1024, 1024);
+		assertEquals(0, count(objects, large));
+		assertEquals(1, count(objects, small));
+		facade.removeGameObject(small, world);
+		assertTrue(near(0, 0, 1024, 1024).isEmpty());
+	}
+
+}
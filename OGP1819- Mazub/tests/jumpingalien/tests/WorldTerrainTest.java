@@ -0,0 +1,205 @@
+package jumpingalien.tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import jumpingalien.facade.Facade;
+import jumpingalien.facade.IFacade;
+import jumpingalien.model.*;
+
+/**
+ * Tests for the terrain of a world, which is stored in chunks of 32 by 32 tiles.
+ *
+ * The terrain is checked against a dense array of geological features, on index
+ * row * nbTilesX + column, that is changed in the same way as the world. A tile position
+ * with a column outside the world maps to a tile on another row, as in that array; a
+ * position beyond the last tile is air and a negative index has no tile.
+ */
+class WorldTerrainTest {
+
+	// Number of tiles on a side of a terrain chunk.
+	private final static int CHUNK_SIZE = 32;
+
+	// Length of the tiles of the worlds of the tests that do not choose it at random.
+	private final static int TILE_LENGTH = 10;
+
+	private final static Geological[] FEATURES = Geological.values();
+
+	// Variable referencing the facade.
+	IFacade facade = new Facade();
+
+	private World createWorld(int tileLength, int nbTilesX, int nbTilesY, Geological[] features) {
+		int[] numbers = new int[features.length];
+		for (int index = 0; index < features.length; index++)
+			numbers[index] = features[index].getNumber();
+		return facade.createWorld(tileLength, nbTilesX, nbTilesY, new int[] { 0, 0 }, 1, 1, numbers);
+	}
+
+	private World createWorld(int nbTilesX, int nbTilesY, Geological feature) {
+		Geological[] features = new Geological[nbTilesX * nbTilesY];
+		Arrays.fill(features, feature);
+		return createWorld(TILE_LENGTH, nbTilesX, nbTilesY, features);
+	}
+
+	/**
+	 * Return the geological feature of the dense array on the given index, or air if the
+	 * index lies beyond it.
+	 */
+	private static Geological get(Geological[] dense, int index) {
+		return index < dense.length ? dense[index] : Geological.AIR;
+	}
+
+	/**
+	 * Return the number of tiles of the dense array with the given geological feature that
+	 * are overlapped by the given rectangle of pixels, clipped to the world.
+	 */
+	private static int count(Geological[] dense, int tileLength, int nbTilesX, int nbTilesY,
+			int pixelX, int pixelY, int width, int height, Geological feature) {
+		if ((width <= 0) || (height <= 0) || (pixelX + width - 1 < 0) || (pixelY + height - 1 < 0) ||
+				(pixelX >= nbTilesX * tileLength) || (pixelY >= nbTilesY * tileLength))
+			return 0;
+		int firstColumn = clip(Math.floorDiv(pixelX, tileLength), nbTilesX);
+		int lastColumn = clip(Math.floorDiv(pixelX + width - 1, tileLength), nbTilesX);
+		int firstRow = clip(Math.floorDiv(pixelY, tileLength), nbTilesY);
+		int lastRow = clip(Math.floorDiv(pixelY + height - 1, tileLength), nbTilesY);
+		int result = 0;
+		for (int row = firstRow; row <= lastRow; row++)
+			for (int column = firstColumn; column <= lastColumn; column++)
+				if (dense[row * nbTilesX + column] == feature)
+					result++;
+		return result;
+	}
+
+	private static int clip(int value, int nbTiles) {
+		return Math.min(Math.max(value, 0), nbTiles - 1);
+	}
+
+	@Test
+	void terrain_MatchesDenseReference() throws Exception {
+		Random random = new Random(1);
+		for (int trial = 0; trial < 200; trial++) {
+			int tileLength = 1 + random.nextInt(12);
+			int nbTilesX = 1 + random.nextInt(100);
+			int nbTilesY = 1 + random.nextInt(100);
+			// some worlds get fewer geological features than tiles, the other tiles are air
+			int nbFeatures = random.nextInt(4) == 0 ? random.nextInt(nbTilesX * nbTilesY + 1) : nbTilesX * nbTilesY;
+			boolean sparse = random.nextBoolean();
+			Geological[] features = new Geological[nbFeatures];
+			for (int index = 0; index < nbFeatures; index++)
+				features[index] = (sparse && random.nextInt(20) != 0) ? Geological.AIR :
+						FEATURES[random.nextInt(FEATURES.length)];
+			Geological[] dense = new Geological[nbTilesX * nbTilesY];
+			for (int index = 0; index < dense.length; index++)
+				dense[index] = get(features, index);
+			World world = createWorld(tileLength, nbTilesX, nbTilesY, features);
+			for (int step = 0; step < 1000; step++) {
+				// positions up to two columns past the last column and a row above the world
+				int pixelX = Math.max(random.nextInt((nbTilesX + 3) * tileLength) - tileLength / 2, 1 - tileLength);
+				int pixelY = Math.max(random.nextInt((nbTilesY + 2) * tileLength) - tileLength / 2, 1 - tileLength);
+				int index = (pixelY / tileLength) * nbTilesX + pixelX / tileLength;
+				String message = "trial " + trial + ", step " + step;
+				switch (random.nextInt(3)) {
+				case 0:
+					Geological feature = random.nextInt(3) == 0 ? Geological.AIR : FEATURES[random.nextInt(FEATURES.length)];
+					world.setGeologicalFeature(pixelX, pixelY, feature);
+					if (index < dense.length)
+						dense[index] = feature;
+					break;
+				case 1:
+					assertEquals(get(dense, index), world.getGeologicalFeature(pixelX, pixelY), message);
+					assertEquals(get(dense, index).getClassMask(), world.getGeologicalClass(pixelX, pixelY), message);
+					break;
+				default:
+					int x = random.nextInt(2 * nbTilesX * tileLength) - nbTilesX * tileLength / 2;
+					int y = random.nextInt(2 * nbTilesY * tileLength) - nbTilesY * tileLength / 2;
+					int width = random.nextInt(nbTilesX * tileLength + 5);
+					int height = random.nextInt(nbTilesY * tileLength + 5);
+					Geological counted = FEATURES[random.nextInt(FEATURES.length)];
+					assertEquals(count(dense, tileLength, nbTilesX, nbTilesY, x, y, width, height, counted),
+							world.countGeologicalFeature(x, y, width, height, counted), message);
+				}
+			}
+			assertArrayEquals(dense, world.getGeologicalFeatures(), "trial " + trial);
+		}
+	}
+
+	@Test
+	void terrain_EdgeChunks() throws Exception {
+		// 40 by 35 tiles: the chunks on the right and on top only have 8 columns or 3 rows
+		World world = createWorld(40, 35, Geological.AIR);
+		assertEquals(4, world.getNbTerrainChunks());
+		world.setGeologicalFeature(39 * TILE_LENGTH, 34 * TILE_LENGTH, Geological.WATER);
+		world.setGeologicalFeature(CHUNK_SIZE * TILE_LENGTH, 0, Geological.MAGMA);
+		world.setGeologicalFeature(0, CHUNK_SIZE * TILE_LENGTH, Geological.GAS);
+		assertEquals(Geological.WATER, world.getGeologicalFeature(39 * TILE_LENGTH + 9, 34 * TILE_LENGTH + 9));
+		assertEquals(Geological.MAGMA, world.getGeologicalFeature(CHUNK_SIZE * TILE_LENGTH, 0));
+		assertEquals(Geological.GAS, world.getGeologicalFeature(0, CHUNK_SIZE * TILE_LENGTH));
+		assertEquals(Geological.AIR, world.getGeologicalFeature(CHUNK_SIZE * TILE_LENGTH - 1, 0));
+		assertEquals(3, world.getNbMaterialisedTerrainChunks());
+		// a rectangle over all chunks counts each tile once, and nothing outside the world
+		assertEquals(1, world.countGeologicalFeature(-100, -100, 1000, 1000, Geological.WATER));
+		assertEquals(1, world.countGeologicalFeature(0, 0, 400, 350, Geological.MAGMA));
+		assertEquals(40 * 35 - 3, world.countGeologicalFeature(0, 0, 400, 350, Geological.AIR));
+		assertEquals(0, world.countGeologicalFeature(400, 0, 100, 350, Geological.AIR));
+	}
+
+	@Test
+	void terrain_PastLastColumn() throws Exception {
+		World world = createWorld(40, 35, Geological.AIR);
+		// two columns past the last column of row 3 is the tile on column 1 of row 4
+		world.setGeologicalFeature(41 * TILE_LENGTH, 3 * TILE_LENGTH, Geological.SOLID_GROUND);
+		assertEquals(Geological.SOLID_GROUND, world.getGeologicalFeature(TILE_LENGTH, 4 * TILE_LENGTH));
+		assertEquals(Geological.SOLID_GROUND, world.getGeologicalFeature(41 * TILE_LENGTH, 3 * TILE_LENGTH));
+		// a row below the world with a column past the last column is a tile on row 0
+		world.setGeologicalFeature(3 * TILE_LENGTH, 0, Geological.ICE);
+		assertEquals(Geological.ICE, world.getGeologicalFeature(43 * TILE_LENGTH, -TILE_LENGTH));
+		// positions beyond the last tile are air, and setting them changes nothing
+		world.setGeologicalFeature(5 * TILE_LENGTH, 40 * TILE_LENGTH, Geological.MAGMA);
+		assertEquals(Geological.AIR, world.getGeologicalFeature(5 * TILE_LENGTH, 40 * TILE_LENGTH));
+		assertEquals(0, world.countGeologicalFeature(0, 0, 400, 350, Geological.MAGMA));
+	}
+
+	@Test
+	void terrain_NegativeIndex() throws Exception {
+		World world = createWorld(40, 35, Geological.WATER);
+		// pixels less than a tile left of or below the world lie in the first column or row
+		assertEquals(Geological.WATER, world.getGeologicalFeature(1 - TILE_LENGTH, 1 - TILE_LENGTH));
+		assertThrows(ArrayIndexOutOfBoundsException.class,
+				() -> world.getGeologicalFeature(-TILE_LENGTH, 0));
+		assertThrows(ArrayIndexOutOfBoundsException.class,
+				() -> world.getGeologicalFeature(0, -TILE_LENGTH));
+		assertThrows(ArrayIndexOutOfBoundsException.class,
+				() -> world.setGeologicalFeature(-TILE_LENGTH, 0, Geological.AIR));
+		assertEquals(40 * 35, world.countGeologicalFeature(0, 0, 400, 350, Geological.WATER));
+	}
+
+	@Test
+	void terrain_UniformChunksShared() throws Exception {
+		World world = createWorld(40, 35, Geological.AIR);
+		assertEquals(0, world.getNbMaterialisedTerrainChunks());
+		world.setGeologicalFeature(5 * TILE_LENGTH, 5 * TILE_LENGTH, Geological.SOLID_GROUND);
+		assertEquals(1, world.getNbMaterialisedTerrainChunks());
+		world.setGeologicalFeature(5 * TILE_LENGTH, 5 * TILE_LENGTH, Geological.AIR);
+		assertEquals(0, world.getNbMaterialisedTerrainChunks());
+		// the chunk on the top right is shared again once its 8 by 3 tiles in the world are water
+		for (int row = CHUNK_SIZE; row < 35; row++)
+			for (int column = CHUNK_SIZE; column < 39; column++)
+				world.setGeologicalFeature(column * TILE_LENGTH, row * TILE_LENGTH, Geological.WATER);
+		world.setGeologicalFeature(39 * TILE_LENGTH, CHUNK_SIZE * TILE_LENGTH, Geological.WATER);
+		world.setGeologicalFeature(39 * TILE_LENGTH, (CHUNK_SIZE + 1) * TILE_LENGTH, Geological.WATER);
+		assertEquals(1, world.getNbMaterialisedTerrainChunks());
+		world.setGeologicalFeature(39 * TILE_LENGTH, 34 * TILE_LENGTH, Geological.WATER);
+		assertEquals(0, world.getNbMaterialisedTerrainChunks());
+		assertEquals(8 * 3, world.countGeologicalFeature(0, 0, 400, 350, Geological.WATER));
+		// a uniform chunk is shared between worlds, so changing one world leaves the other alone
+		World other = createWorld(40, 35, Geological.AIR);
+		other.setGeologicalFeature(0, 0, Geological.MAGMA);
+		assertEquals(Geological.AIR, world.getGeologicalFeature(0, 0));
+		assertEquals(1, other.getNbMaterialisedTerrainChunks());
+	}
+
+}